@@ -0,0 +1,119 @@
+package com.MediConnect.benchmark;
+
+import com.MediConnect.Entities.AppointmentEntity;
+import com.MediConnect.Entities.AppointmentStatus;
+import com.MediConnect.EntryRelated.entities.BlockedTimeSlot;
+import com.MediConnect.EntryRelated.entities.DayAvailability;
+import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.MediConnect.EntryRelated.repository.AppointmentRepository;
+import com.MediConnect.EntryRelated.repository.BlockedTimeSlotRepository;
+import com.MediConnect.EntryRelated.repository.DayAvailabilityRepository;
+import com.MediConnect.EntryRelated.repository.HealthcareProviderRepo;
+import com.MediConnect.EntryRelated.service.appointment.impl.AppointmentServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slot lookup for one day: {@code AppointmentServiceImpl.getAvailableTimeSlots}. The service
+ * loads every appointment of the doctor and filters them to the requested day in memory, so
+ * {@code appointments} (the doctor's whole history) drives the cost as much as the slot grid
+ * does. A 08:00-18:00 day in 15-minute slots with two blocked ranges.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailableSlotsBenchmark {
+
+    private static final long DOCTOR_ID = 1_000L;
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 12);
+
+    @Param({"50", "2000"})
+    public int appointments;
+
+    private AppointmentServiceImpl service;
+
+    @Setup
+    public void setup() {
+        Fixtures.quietOutput();
+        Random random = new Random(11);
+        HealthcareProvider doctor = Fixtures.doctor(DOCTOR_ID, random);
+        doctor.setAppointmentDurationMinutes(15);
+
+        DayAvailability wednesday = new DayAvailability();
+        wednesday.setProvider(doctor);
+        wednesday.setDayOfWeek("Wednesday");
+        wednesday.setEnabled(true);
+        wednesday.setStartTime("08:00");
+        wednesday.setEndTime("18:00");
+
+        Date day = Date.from(DAY.atStartOfDay(ZoneOffset.UTC).toInstant());
+        List<BlockedTimeSlot> blocked = List.of(block(doctor, day, "12:00", "13:00"), block(doctor, day, "16:30", "17:15"));
+
+        // History spread over a year around the requested day; a handful fall on it
+        AppointmentStatus[] statuses = AppointmentStatus.values();
+        List<AppointmentEntity> history = new ArrayList<>();
+        for (int i = 0; i < appointments; i++) {
+            AppointmentEntity appointment = new AppointmentEntity();
+            appointment.setId(i + 1);
+            appointment.setHealthcareProvider(doctor);
+            appointment.setStatus(statuses[random.nextInt(statuses.length)]);
+            long dayOffset = i % 25 == 0 ? 0 : random.nextInt(365) - 182;
+            appointment.setAppointmentDateTime(Date.from(DAY.plusDays(dayOffset)
+                    .atTime(8 + random.nextInt(10), random.nextBoolean() ? 0 : 30)
+                    .toInstant(ZoneOffset.UTC)));
+            history.add(appointment);
+        }
+
+        HealthcareProviderRepo providers = Fixtures.stub(HealthcareProviderRepo.class, Map.of(
+                "findById", args -> Optional.of(doctor)));
+        DayAvailabilityRepository availability = Fixtures.stub(DayAvailabilityRepository.class, Map.of(
+                "findByProviderAndDayOfWeek", args -> Optional.of(wednesday)));
+        AppointmentRepository appointmentRepository = Fixtures.stub(AppointmentRepository.class, Map.of(
+                "findByHealthcareProviderId", args -> history));
+        BlockedTimeSlotRepository blockedSlots = Fixtures.stub(BlockedTimeSlotRepository.class, Map.of(
+                "findByProviderAndDate", args -> blocked));
+
+        service = new AppointmentServiceImpl(appointmentRepository, null, providers, availability, blockedSlots,
+                null, null, null, null);
+        Object status = slots().get("status");
+        if (!"success".equals(status)) {
+            throw new IllegalStateException("Slot lookup failed: " + slots());
+        }
+    }
+
+    private static BlockedTimeSlot block(HealthcareProvider doctor, Date day, String start, String end) {
+        BlockedTimeSlot slot = new BlockedTimeSlot();
+        slot.setProvider(doctor);
+        slot.setBlockedDate(day);
+        slot.setStartTime(start);
+        slot.setEndTime(end);
+        return slot;
+    }
+
+    @Benchmark
+    public Map<String, Object> slots() {
+        return service.getAvailableTimeSlots(DOCTOR_ID, DAY.toString(), "09:00", "17:00");
+    }
+}
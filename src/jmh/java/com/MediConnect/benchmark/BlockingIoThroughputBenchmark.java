@@ -0,0 +1,136 @@
+package com.MediConnect.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request throughput when handlers block on slow external I/O, such as a Cloudinary upload or
+ * an SMTP send, and then hold a JDBC connection briefly.
+ * <ul>
+ *   <li>{@code platform}: Tomcat's default of 200 platform worker threads.</li>
+ *   <li>{@code virtual}: one virtual thread per request with no request cap.</li>
+ *   <li>{@code virtual-limited}: what {@code spring.threads.virtual.enabled} ships, virtual threads behind
+ *       the {@code RequestConcurrencyLimitFilter} semaphore of {@code requestLimit} permits, held for the
+ *       whole request.</li>
+ * </ul>
+ * Every request takes one of {@code dbConnections} permits for its query. This models the Hikari pool.
+ * Each invocation pushes a burst of {@value #REQUESTS} requests through, so the score is requests per second.
+ * <p>
+ * The virtual mode needs a Java 21 runtime: {@code mvn -Pjmh,java21 test-compile exec:exec -Djmh.args="BlockingIo"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class BlockingIoThroughputBenchmark {
+
+    private static final int REQUESTS = 2_000;
+
+    @Param({"platform", "virtual", "virtual-limited"})
+    public String threads;
+
+    /**
+     * The filter's default, {@code server.tomcat.threads.max}.
+     */
+    @Param({"200"})
+    public int requestLimit;
+
+    @Param({"50"})
+    public int externalIoMillis;
+
+    @Param({"20"})
+    public int dbConnections;
+
+    @Param({"2"})
+    public int queryMillis;
+
+    private Executor executor;
+    private ExecutorService platformPool;
+    private Semaphore connectionPool;
+    private Semaphore requestPermits;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        connectionPool = new Semaphore(dbConnections, true);
+        if ("platform".equals(threads)) {
+            platformPool = Executors.newFixedThreadPool(200);
+            executor = platformPool;
+        } else {
+            if (Runtime.version().feature() < 21) {
+                throw new IllegalStateException("virtual mode needs a Java 21 runtime (build with -Pjava21)");
+            }
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("bench-virtual-");
+            virtual.setVirtualThreads(true);
+            executor = virtual;
+            if ("virtual-limited".equals(threads)) {
+                requestPermits = new Semaphore(requestLimit, true);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (platformPool != null) {
+            platformPool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            executor.execute(() -> {
+                try {
+                    if (requestPermits == null) {
+                        handleRequest();
+                    } else {
+                        requestPermits.acquire();
+                        try {
+                            handleRequest();
+                        } finally {
+                            requestPermits.release();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private void handleRequest() throws InterruptedException {
+        Thread.sleep(externalIoMillis);
+        connectionPool.acquire();
+        try {
+            Thread.sleep(queryMillis);
+        } finally {
+            connectionPool.release();
+        }
+    }
+}
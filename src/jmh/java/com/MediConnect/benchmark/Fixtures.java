@@ -0,0 +1,108 @@
+package com.MediConnect.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.MediConnect.EntryRelated.entities.AccountStatus;
+import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.MediConnect.EntryRelated.entities.Patient;
+import com.MediConnect.EntryRelated.entities.SpecializationType;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory stand-ins for the service benchmarks: seeded entities and repository stubs.
+ * <p>
+ * A stub answers the repository methods it is given by name and throws for anything else, so a
+ * benchmark fails loudly if the code under test starts issuing a query it did not account for.
+ */
+final class Fixtures {
+
+    static final String[] CITIES = {"Boston", "Chicago", "Denver", "Austin", "Seattle", "Miami"};
+    static final String[] STATES = {"MA", "IL", "CO", "TX", "WA", "FL"};
+    static final String[] INSURERS = {"Blue Cross Blue Shield", "Aetna", "Cigna", "UnitedHealthcare", "Humana", "Kaiser Permanente"};
+
+    private static final SpecializationType[] SPECIALIZATIONS = SpecializationType.values();
+
+    private Fixtures() {
+    }
+
+    /**
+     * Repository stub answering the named methods; anything else throws.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> repository, Map<String, Function<Object[], Object>> answers) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> repository.getSimpleName() + " stub";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(repository.getSimpleName() + "." + method.getName());
+            };
+        };
+        return (T) Proxy.newProxyInstance(Fixtures.class.getClassLoader(), new Class<?>[]{repository}, handler);
+    }
+
+    static List<HealthcareProvider> doctors(int count, long seed) {
+        Random random = new Random(seed);
+        return IntStream.range(0, count)
+                .mapToObj(i -> doctor(1_000L + i, random))
+                .toList();
+    }
+
+    static HealthcareProvider doctor(long id, Random random) {
+        HealthcareProvider doctor = new HealthcareProvider();
+        doctor.setId(id);
+        doctor.setUsername("doctor" + id);
+        doctor.setFirstName("Doctor" + id);
+        doctor.setLastName("Lastname" + (id % 97));
+        doctor.setEmail("doctor" + id + "@example.org");
+        int place = random.nextInt(CITIES.length);
+        doctor.setCity(CITIES[place]);
+        doctor.setState(STATES[place]);
+        doctor.setCountry("USA");
+        doctor.setClinicName("Clinic " + (id % 50));
+        doctor.setBio("Board-certified physician with a focus on preventive care and patient education.");
+        doctor.setConsultationFee(80.0 + random.nextInt(120));
+        doctor.setProfilePicture("https://res.cloudinary.com/demo/image/upload/doctor" + id + ".jpg");
+        doctor.setSpecializations(List.of(SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)]));
+        doctor.setInsuranceAccepted(List.of(INSURERS[random.nextInt(INSURERS.length)], INSURERS[random.nextInt(INSURERS.length)]));
+        doctor.setAccountStatus(random.nextInt(20) == 0 ? AccountStatus.PENDING : AccountStatus.ACTIVE);
+        doctor.setAdminFlagged(random.nextInt(50) == 0);
+        doctor.setRegistrationDate(new Date(1_700_000_000_000L - id * 86_400_000L));
+        return doctor;
+    }
+
+    static Patient patient(long id) {
+        Patient patient = new Patient();
+        patient.setId(id);
+        patient.setUsername("patient" + id);
+        patient.setFirstName("Patient" + id);
+        patient.setLastName("Lastname" + (id % 89));
+        patient.setEmail("patient" + id + "@example.org");
+        patient.setProfilePicture("https://res.cloudinary.com/demo/image/upload/patient" + id + ".jpg");
+        return patient;
+    }
+
+    /**
+     * Services under test log at INFO and print debug lines to stdout. To keep the JMH console
+     * readable only warnings are logged, and stdout is discarded after the strings are built.
+     */
+    static void quietOutput() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+}
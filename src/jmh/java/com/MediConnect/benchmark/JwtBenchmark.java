@@ -0,0 +1,66 @@
+package com.MediConnect.benchmark;
+
+import com.MediConnect.config.JWTService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token work in {@link JWTService}: {@code parse} is what the JWT filter does first
+ * ({@code extractUserName}), {@code validate} is the follow-up check, which parses and verifies
+ * the signature again for the expiry. {@code generate} is the login path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    // Over 64 bytes, so the key selects HS512 like the configured jwt.secret
+    private static final String SECRET =
+            "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JWTService jwtService;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JWTService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        user = User.withUsername("patient42").password("unused").roles("PATIENT").build();
+        token = jwtService.generateToken(user);
+        if (!jwtService.validateToken(token, user)) {
+            throw new IllegalStateException("Generated token does not validate");
+        }
+    }
+
+    @Benchmark
+    public String parse() {
+        return jwtService.extractUserName(token);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtService.validateToken(token, user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken(user);
+    }
+}
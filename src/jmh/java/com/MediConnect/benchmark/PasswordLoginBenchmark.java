@@ -0,0 +1,95 @@
+package com.MediConnect.benchmark;
+
+import com.MediConnect.config.password.PasswordHashingConfig;
+import com.MediConnect.config.password.PasswordHashingPool;
+import com.MediConnect.config.password.PooledPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login latency under concurrent load: {@code DaoAuthenticationProvider} with hashing on the
+ * calling threads ({@code inline}, the previous setup) versus on the bounded hashing pool
+ * ({@code pooled}). Sixteen threads stand in for a burst on Tomcat workers.
+ * <p>
+ * Sample-time mode, so the JMH report includes p50/p90/p99/p99.9 per configuration, e.g.
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="PasswordLogin -p strength=12"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(16)
+@Fork(1)
+public class PasswordLoginBenchmark {
+
+    private static final int USERS = 64;
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"inline", "pooled"})
+    public String mode;
+
+    @Param({"bcrypt"})
+    public String algorithm;
+
+    @Param({"10", "12"})
+    public int strength;
+
+    private PasswordHashingPool pool;
+    private DaoAuthenticationProvider provider;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        PasswordEncoder hashing = PasswordHashingConfig.hashingEncoder(algorithm, strength, 19456, 2, 1);
+        PasswordEncoder encoder = hashing;
+        if ("pooled".equals(mode)) {
+            pool = new PasswordHashingPool(0, 1024, Duration.ofSeconds(30), Duration.ofSeconds(30),
+                    new SimpleMeterRegistry());
+            encoder = new PooledPasswordEncoder(hashing, pool);
+        }
+
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager();
+        String hash = hashing.encode(PASSWORD);
+        for (int i = 0; i < USERS; i++) {
+            users.createUser(User.withUsername("user" + i).password(hash).roles("PATIENT").build());
+        }
+        provider = new DaoAuthenticationProvider(users);
+        provider.setPasswordEncoder(encoder);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Benchmark
+    public Authentication login() {
+        String username = "user" + ThreadLocalRandom.current().nextInt(USERS);
+        return provider.authenticate(new UsernamePasswordAuthenticationToken(username, PASSWORD));
+    }
+}
@@ -0,0 +1,219 @@
+package com.MediConnect.benchmark;
+
+import com.MediConnect.EntryRelated.entities.Users;
+import com.MediConnect.socialmedia.entity.MedicalPost;
+import com.MediConnect.socialmedia.entity.MedicalPostLike;
+import com.MediConnect.socialmedia.entity.Notification;
+import com.MediConnect.socialmedia.entity.NotificationType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JDBC round trips for the two hottest insert paths, using the real entity mappings and the
+ * Hibernate settings from {@code application-prod.properties}:
+ * <ul>
+ *   <li>notification fan-out: one {@link Notification} per admin in a single transaction, as in
+ *   {@code NotificationService.createAdminNotification}</li>
+ *   <li>{@link MedicalPostLike} inserts</li>
+ * </ul>
+ * With {@code batchSize=1}, every row is a separate statement. With {@code batchSize=50} and the
+ * pooled sequences, 100 rows take two {@code executeBatch} calls and two sequence fetches.
+ * The counts are printed once per trial. The database is in-memory H2 in PostgreSQL mode, so the
+ * timings are indicative only. On PostgreSQL, {@code reWriteBatchedInserts} additionally turns
+ * each batch into multi-row INSERTs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PersistenceBatchingBenchmark {
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    @Param({"100"})
+    public int rows;
+
+    private final RoundTripCounter counter = new RoundTripCounter();
+    private GenericApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private long invocations;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:batching-" + batchSize + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        h2.setUser("sa");
+
+        // Entity listeners are constructor-injected, as under Spring Boot
+        context = new GenericApplicationContext();
+        context.refresh();
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.hbm2ddl.auto", "create");
+        properties.put("hibernate.jdbc.batch_size", batchSize);
+        properties.put("hibernate.order_inserts", true);
+        properties.put("hibernate.order_updates", true);
+        properties.put("hibernate.resource.beans.container", new SpringBeanContainer(context.getBeanFactory()));
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(counter.wrap(h2));
+        factory.setPackagesToScan("com.MediConnect");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(properties);
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+
+        // Rows only reference users and posts by id; skip the foreign keys instead of seeding profiles
+        EntityManager em = entityManagerFactory.createEntityManager();
+        em.getTransaction().begin();
+        em.createNativeQuery("SET REFERENTIAL_INTEGRITY FALSE").executeUpdate();
+        em.getTransaction().commit();
+        em.close();
+        counter.reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[round trips] batch_size=%d, %d rows: %.1f statements/op, %.1f executeBatch/op, %.1f batched rows/op%n",
+                batchSize, rows,
+                counter.statements.get() / (double) invocations,
+                counter.batches.get() / (double) invocations,
+                counter.batchedRows.get() / (double) invocations);
+        entityManagerFactory.close();
+        context.close();
+    }
+
+    @Benchmark
+    public void notificationFanOut() {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        em.getTransaction().begin();
+        Users actor = em.getReference(Users.class, 1L);
+        for (int i = 0; i < rows; i++) {
+            Notification notification = new Notification();
+            notification.setRecipient(em.getReference(Users.class, 100L + i));
+            notification.setActor(actor);
+            notification.setType(NotificationType.ADMIN_POST_REPORTED);
+            notification.setMessage("A post was reported");
+            notification.setIsRead(false);
+            notification.setCreatedAt(LocalDateTime.now());
+            em.persist(notification);
+        }
+        em.getTransaction().commit();
+        em.close();
+        invocations++;
+    }
+
+    @Benchmark
+    public void postLikes() {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        em.getTransaction().begin();
+        MedicalPost post = em.getReference(MedicalPost.class, 1L);
+        for (int i = 0; i < rows; i++) {
+            MedicalPostLike like = new MedicalPostLike();
+            like.setPost(post);
+            like.setLikeGiverId(100L + i);
+            like.setCreatedAt(new Date());
+            em.persist(like);
+        }
+        em.getTransaction().commit();
+        em.close();
+        invocations++;
+    }
+
+    /**
+     * Counts statements sent to the database: each {@code execute*} call on a statement and
+     * each {@code executeBatch}, plus the rows that went through {@code addBatch}.
+     */
+    static final class RoundTripCounter {
+        final AtomicLong statements = new AtomicLong();
+        final AtomicLong batches = new AtomicLong();
+        final AtomicLong batchedRows = new AtomicLong();
+
+        void reset() {
+            statements.set(0);
+            batches.set(0);
+            batchedRows.set(0);
+        }
+
+        DataSource wrap(DataSource target) {
+            return proxy(DataSource.class, target, (method, result) ->
+                    result instanceof Connection connection ? proxy(Connection.class, connection, this::statement) : result);
+        }
+
+        private Object statement(Method method, Object result) {
+            if (result instanceof PreparedStatement prepared) {
+                return proxy(PreparedStatement.class, prepared, this::count);
+            }
+            if (result instanceof Statement plain) {
+                return proxy(Statement.class, plain, this::count);
+            }
+            return result;
+        }
+
+        private Object count(Method method, Object result) {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                batchedRows.incrementAndGet();
+            } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                batches.incrementAndGet();
+                statements.incrementAndGet();
+            } else if (name.startsWith("execute")) {
+                statements.incrementAndGet();
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                try {
+                    return afterCall.apply(method, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            };
+            return (T) Proxy.newProxyInstance(PersistenceBatchingBenchmark.class.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+
+        @FunctionalInterface
+        private interface AfterCall {
+            Object apply(Method method, Object result);
+        }
+    }
+}
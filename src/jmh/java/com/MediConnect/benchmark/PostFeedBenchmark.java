@@ -0,0 +1,98 @@
+package com.MediConnect.benchmark;
+
+import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.MediConnect.socialmedia.entity.MedicalPost;
+import com.MediConnect.socialmedia.repository.MedicalPostCommentRepository;
+import com.MediConnect.socialmedia.repository.MedicalPostLikeRepository;
+import com.MediConnect.socialmedia.repository.MedicalPostRepository;
+import com.MediConnect.socialmedia.service.post.impl.MedicalPostServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The feed page: {@code MedicalPostServiceImpl.getAllPostsWithDetails(userId, page, size)}, i.e.
+ * {@code batchFetchPostData} (like counts, the viewer's likes, comment counts) and one
+ * {@code buildPostDTO} per post, plus the pagination envelope. Repositories are in-memory stubs
+ * returning the same rows the queries would, so the score is the service's own CPU and
+ * allocation cost per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostFeedBenchmark {
+
+    private static final long VIEWER_ID = 42L;
+    private static final long TOTAL_POSTS = 10_000L;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private MedicalPostServiceImpl service;
+
+    @Setup
+    public void setup() {
+        Fixtures.quietOutput();
+        Random random = new Random(7);
+        List<HealthcareProvider> doctors = Fixtures.doctors(50, 7);
+
+        List<MedicalPost> page = new ArrayList<>();
+        List<Object[]> likeCounts = new ArrayList<>();
+        List<Object[]> commentCounts = new ArrayList<>();
+        List<Long> likedByViewer = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            MedicalPost post = new MedicalPost();
+            post.setId(TOTAL_POSTS - i);
+            post.setPostProvider(doctors.get(random.nextInt(doctors.size())));
+            post.setContent("Seasonal allergy tips: keep windows closed on high-pollen days and rinse after outdoor activity. #" + i);
+            post.setMediaUrls("[\"https://res.cloudinary.com/demo/image/upload/post" + i + ".jpg\"]");
+            post.setCreatedAt(new Date(1_700_000_000_000L - i * 3_600_000L));
+            page.add(post);
+            likeCounts.add(new Object[]{post.getId(), (long) random.nextInt(500)});
+            commentCounts.add(new Object[]{post.getId(), (long) random.nextInt(60)});
+            if (random.nextInt(4) == 0) {
+                likedByViewer.add(post.getId());
+            }
+        }
+
+        MedicalPostRepository posts = Fixtures.stub(MedicalPostRepository.class, Map.of(
+                "findAll", args -> new PageImpl<>(page, (Pageable) args[0], TOTAL_POSTS)));
+        MedicalPostLikeRepository likes = Fixtures.stub(MedicalPostLikeRepository.class, Map.of(
+                "countLikesByPostIds", args -> likeCounts,
+                "findPostIdsLikedByUser", args -> likedByViewer));
+        MedicalPostCommentRepository comments = Fixtures.stub(MedicalPostCommentRepository.class, Map.of(
+                "countCommentsByPostIds", args -> commentCounts));
+
+        service = new MedicalPostServiceImpl(posts, null, null, null, likes, comments, null, null, null);
+    }
+
+    @Benchmark
+    public Map<String, Object> feedPage() {
+        return service.getAllPostsWithDetails(VIEWER_ID, 0, pageSize);
+    }
+
+    @Benchmark
+    public Map<String, Object> anonymousFeedPage() {
+        return service.getAllPostsWithDetails(null, 0, pageSize);
+    }
+}
@@ -0,0 +1,104 @@
+package com.MediConnect.benchmark;
+
+import com.MediConnect.ai.dto.PatientContextDTO;
+import com.MediConnect.ai.service.PatientRecommendationChatService;
+import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The local part of a recommendation chat turn in {@link PatientRecommendationChatService}, everything
+ * before the model call:
+ * <ul>
+ *   <li>{@code catalogue}: {@code loadDoctorCatalogue}, which filters the providers, infers the
+ *   specialisation from the symptoms and scores every doctor on location, insurance and
+ *   specialisation.</li>
+ *   <li>{@code exactSpecialisation} / {@code fuzzySpecialisation}: {@code detectSpecialisationFromMessage}
+ *   on a message naming a specialist, and on one that only matches after edit-distance lookup.</li>
+ * </ul>
+ * The helpers are private, so they are called through method handles; the OpenAI client is not involved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecommendationScoringBenchmark {
+
+    private static final String EXACT_MESSAGE = "Hi, I think I need to see a dermatologist about a rash on my arm";
+    private static final String FUZZY_MESSAGE = "can you recommend a good neurolgist near denver for my headaches";
+
+    @State(Scope.Benchmark)
+    public static class Service {
+        PatientRecommendationChatService service;
+        MethodHandle loadDoctorCatalogue;
+        MethodHandle detectSpecialisation;
+
+        @Setup
+        public void setup() throws Throwable {
+            Fixtures.quietOutput();
+            service = new PatientRecommendationChatService(null, new ObjectMapper(), null, null, null, null, null);
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(PatientRecommendationChatService.class, MethodHandles.lookup());
+            loadDoctorCatalogue = lookup.findVirtual(PatientRecommendationChatService.class, "loadDoctorCatalogue",
+                    MethodType.methodType(List.class, PatientContextDTO.class, List.class));
+            detectSpecialisation = lookup.findVirtual(PatientRecommendationChatService.class, "detectSpecialisationFromMessage",
+                    MethodType.methodType(String.class, String.class));
+            if (!"DERMATOLOGY".equals(detectSpecialisation.invoke(service, EXACT_MESSAGE))
+                    || !"NEUROLOGY".equals(detectSpecialisation.invoke(service, FUZZY_MESSAGE))) {
+                throw new IllegalStateException("Specialisation fixtures no longer match");
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Catalogue {
+        @Param({"100", "1000"})
+        public int doctors;
+
+        List<HealthcareProvider> providers;
+        PatientContextDTO context;
+
+        @Setup
+        public void setup() {
+            providers = Fixtures.doctors(doctors, 3);
+            context = new PatientContextDTO();
+            context.setPrimaryConcern("recurring migraine with numbness in the left hand");
+            context.setAdditionalSymptoms("sensitivity to light");
+            context.setCity("Denver");
+            context.setState("CO");
+            context.setCountry("USA");
+            context.setInsuranceProvider("Blue Cross");
+        }
+    }
+
+    @Benchmark
+    public Object catalogue(Service service, Catalogue catalogue) throws Throwable {
+        return service.loadDoctorCatalogue.invoke(service.service, catalogue.context, catalogue.providers);
+    }
+
+    @Benchmark
+    public Object exactSpecialisation(Service service) throws Throwable {
+        return service.detectSpecialisation.invoke(service.service, EXACT_MESSAGE);
+    }
+
+    @Benchmark
+    public Object fuzzySpecialisation(Service service) throws Throwable {
+        return service.detectSpecialisation.invoke(service.service, FUZZY_MESSAGE);
+    }
+}
@@ -0,0 +1,100 @@
+package com.MediConnect.benchmark;
+
+import com.MediConnect.EntryRelated.entities.AccountStatus;
+import com.MediConnect.EntryRelated.entities.Users;
+import com.MediConnect.config.cache.CacheSerializers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size and (de)serialization cost of Redis cache values: the JSON serializer versus the compact
+ * Smile serializer with and without LZ4, on the payloads the app actually caches
+ * ({@code adminUsers} lists and {@code unreadCount} longs).
+ * <p>
+ * Encoded sizes are printed once per trial, since JMH only reports times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    @Param({"json", "compact", "compact-lz4"})
+    public String serializer;
+
+    @Param({"unreadCount", "adminUsers-5", "users-200"})
+    public String payload;
+
+    private RedisSerializer<Object> redisSerializer;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        redisSerializer = switch (serializer) {
+            case "json" -> CacheSerializers.json();
+            case "compact" -> CacheSerializers.compact(0);
+            case "compact-lz4" -> CacheSerializers.compact(256);
+            default -> throw new IllegalArgumentException(serializer);
+        };
+        value = switch (payload) {
+            case "unreadCount" -> 17L;
+            case "adminUsers-5" -> users(5);
+            case "users-200" -> users(200);
+            default -> throw new IllegalArgumentException(payload);
+        };
+        encoded = redisSerializer.serialize(value);
+        System.out.printf("%n[size] %s / %s: %d bytes%n", serializer, payload, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return redisSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return redisSerializer.deserialize(encoded);
+    }
+
+    private static List<Users> users(int count) {
+        List<Users> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Users user = new Users();
+            user.setId(1000L + i);
+            user.setUsername("admin" + i);
+            user.setPassword("$2a$12$R9h/cIPz0gi.URNNX3kh2OPST9/PgBkqquzi.Ss7KIUgO2t0jWMUW");
+            user.setRole("ADMIN");
+            user.setFirstName("System" + i);
+            user.setLastName("Administrator");
+            user.setEmail("admin" + i + "@meddiconnect.com");
+            user.setGender("Other");
+            user.setDateOfBirth(new Date(315532800000L));
+            user.setRegistrationDate(new Date(1735689600000L + i * 86_400_000L));
+            user.setPhoneNumber("+1-555-010" + (i % 10));
+            user.setCity("Beirut");
+            user.setCountry("Lebanon");
+            user.setAccountStatus(AccountStatus.ACTIVE);
+            users.add(user);
+        }
+        return users;
+    }
+}
@@ -0,0 +1,149 @@
+package com.MediConnect.benchmark;
+
+import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.MediConnect.EntryRelated.entities.Patient;
+import com.MediConnect.EntryRelated.entities.Users;
+import com.MediConnect.Repos.UserRepo;
+import com.MediConnect.socialmedia.entity.ChatChannel;
+import com.MediConnect.socialmedia.entity.ChatMessage;
+import com.MediConnect.socialmedia.entity.MedicalPost;
+import com.MediConnect.socialmedia.entity.Notification;
+import com.MediConnect.socialmedia.entity.NotificationType;
+import com.MediConnect.socialmedia.repository.ChatMessageRepository;
+import com.MediConnect.socialmedia.repository.NotificationRepository;
+import com.MediConnect.socialmedia.service.ChatService;
+import com.MediConnect.socialmedia.service.NotificationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code Map<String, Object>} response builders on list endpoints, one call per list:
+ * <ul>
+ *   <li>{@code notifications}: {@code NotificationService.getUserNotifications}, one {@code convertToMap}
+ *   per notification.</li>
+ *   <li>{@code chatHistory}: {@code ChatService.convertMessageToMap} over a channel's messages.</li>
+ *   <li>{@code channelList}: {@code ChatService.convertChannelToMap} per channel, including the
+ *   last-message lookup (a stub here).</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMapBenchmark {
+
+    private static final long RECIPIENT_ID = 42L;
+
+    @Param({"50", "500"})
+    public int items;
+
+    private NotificationService notificationService;
+    private ChatService chatService;
+    private List<ChatMessage> messages;
+    private List<ChatChannel> channels;
+
+    @Setup
+    public void setup() {
+        Fixtures.quietOutput();
+        Random random = new Random(5);
+        List<HealthcareProvider> doctors = Fixtures.doctors(20, 5);
+        Patient recipient = Fixtures.patient(RECIPIENT_ID);
+        NotificationType[] types = NotificationType.values();
+
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            Notification notification = new Notification();
+            notification.setId((long) i + 1);
+            notification.setRecipient(recipient);
+            notification.setActor(doctors.get(random.nextInt(doctors.size())));
+            notification.setType(types[random.nextInt(types.length)]);
+            notification.setMessage("Dr. Lastname liked your comment on \"Managing seasonal allergies\"");
+            notification.setIsRead(random.nextBoolean());
+            notification.setCreatedAt(LocalDateTime.of(2025, 3, 1, 9, 0).minusMinutes(i * 37L));
+            notification.setRelatedEntityId((long) random.nextInt(10_000));
+            if (random.nextBoolean()) {
+                MedicalPost post = new MedicalPost();
+                post.setId((long) random.nextInt(10_000));
+                post.setContent("Seasonal allergy tips: keep windows closed on high-pollen days.");
+                notification.setPost(post);
+            }
+            notifications.add(notification);
+        }
+        notificationService = new NotificationService();
+        ReflectionTestUtils.setField(notificationService, "userRepo", Fixtures.stub(UserRepo.class, Map.of(
+                "findById", args -> Optional.<Users>of(recipient))));
+        ReflectionTestUtils.setField(notificationService, "notificationRepository", Fixtures.stub(NotificationRepository.class, Map.of(
+                "findByRecipientOrderByCreatedAtDesc", args -> notifications)));
+
+        HealthcareProvider doctor = doctors.get(0);
+        messages = new ArrayList<>();
+        channels = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            ChatChannel channel = new ChatChannel();
+            channel.setId((long) i + 1);
+            channel.setPatient(i == 0 ? recipient : Fixtures.patient(RECIPIENT_ID + i));
+            channel.setDoctor(doctors.get(i % doctors.size()));
+            channel.setCreatedAt(new Date(1_700_000_000_000L - i * 86_400_000L));
+            channel.setLastActivityAt(new Date(1_700_000_000_000L - i * 60_000L));
+            channels.add(channel);
+
+            ChatMessage message = new ChatMessage();
+            message.setId((long) i + 1);
+            message.setChannel(channels.get(0));
+            message.setSender(i % 2 == 0 ? recipient : doctor);
+            message.setContent("Thanks, doctor. The new dosage seems to help, but I still wake up with a headache.");
+            message.setSentAt(new Date(1_700_000_000_000L + i * 90_000L));
+            message.setIsRead(i < items - 3);
+            message.setReadAt(i < items - 3 ? new Date(1_700_000_000_000L + i * 90_000L + 30_000L) : null);
+            messages.add(message);
+        }
+        ChatMessage last = messages.get(messages.size() - 1);
+        ChatMessageRepository messageRepository = Fixtures.stub(ChatMessageRepository.class, Map.of(
+                "findFirstByChannelIdOrderBySentAtDesc", args -> last));
+        chatService = new ChatService(null, messageRepository, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> notifications() {
+        return notificationService.getUserNotifications(RECIPIENT_ID);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> chatHistory() {
+        List<Map<String, Object>> result = new ArrayList<>(messages.size());
+        for (ChatMessage message : messages) {
+            result.add(chatService.convertMessageToMap(message));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> channelList() {
+        List<Map<String, Object>> result = new ArrayList<>(channels.size());
+        for (ChatChannel channel : channels) {
+            result.add(chatService.convertChannelToMap(channel));
+        }
+        return result;
+    }
+}
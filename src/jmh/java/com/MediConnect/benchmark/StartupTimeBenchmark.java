@@ -0,0 +1,94 @@
+package com.MediConnect.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of the packaged application, from launching the JVM to a refreshed context
+ * ({@code -Dspring.context.exit=onRefresh}). Each measurement starts a new process:
+ * <ul>
+ *   <li>{@code standard}: default configuration.</li>
+ *   <li>{@code lazy}: the fast-start profile (lazy beans, deferred startup tasks) without AOT or CDS.</li>
+ *   <li>{@code fast-start}: the profile plus the AOT-generated bean definitions and the AppCDS archive.</li>
+ * </ul>
+ * Needs the fast-start build first, and no database: Flyway is off in every mode and the pools
+ * connect lazily.
+ * <pre>
+ * mvn -Pfast-start package -DskipTests
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="StartupTime"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupTimeBenchmark {
+
+    private static final String JAR = "MediConnect-0.0.1-SNAPSHOT.jar";
+    private static final String CDS_ARCHIVE = "application.jsa";
+
+    @Param({"standard", "lazy", "fast-start"})
+    public String mode;
+
+    @Param({"target/fast-start"})
+    public String appDir;
+
+    private List<String> command;
+
+    @Setup
+    public void setup() {
+        Path dir = Path.of(appDir);
+        if (!Files.exists(dir.resolve(JAR)) || !Files.exists(dir.resolve(CDS_ARCHIVE))) {
+            throw new IllegalStateException(dir.toAbsolutePath() + " has no fast-start build; run mvn -Pfast-start package first");
+        }
+        command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if ("fast-start".equals(mode)) {
+            command.add("-XX:SharedArchiveFile=" + CDS_ARCHIVE);
+            command.add("-Xlog:cds=off");
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.add("-Dspring.context.exit=onRefresh");
+        command.add("-jar");
+        command.add(JAR);
+        command.add("--spring.flyway.enabled=false");
+        if (!"standard".equals(mode)) {
+            command.add("--spring.profiles.active=fast-start");
+        }
+    }
+
+    @Benchmark
+    public int start() throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command)
+                .directory(Path.of(appDir).toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        if (!process.waitFor(2, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            throw new IllegalStateException(mode + " did not start within two minutes");
+        }
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException(mode + " exited with " + process.exitValue() + "; rerun " + command + " to see why");
+        }
+        return process.exitValue();
+    }
+}
@@ -0,0 +1,80 @@
+package com.MediConnect.loadtest;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills the migrated database with loadtest/seed.sql. The script generates every row inside
+ * PostgreSQL ({@code generate_series}), so seeding the default volumes takes seconds rather than
+ * a few hundred thousand round trips. Volumes are passed as session settings on the connection
+ * that runs the script.
+ */
+final class DataSeeder {
+
+    /** Seeded patients that take part in the workload: their username and their chat channel. */
+    record ActivePatient(String username, long channelId) {
+    }
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    DataSeeder(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    void seed(LoadTestSettings.Seed seed, String passwordHash) throws SQLException {
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("doctors", String.valueOf(seed.doctors()));
+        settings.put("patients", String.valueOf(seed.patients()));
+        settings.put("posts_per_doctor", String.valueOf(seed.postsPerDoctor()));
+        settings.put("likes_per_post", String.valueOf(seed.likesPerPost()));
+        settings.put("comments_per_post", String.valueOf(seed.commentsPerPost()));
+        settings.put("appointments_per_patient", String.valueOf(seed.appointmentsPerPatient()));
+        settings.put("messages_per_channel", String.valueOf(seed.messagesPerChannel()));
+        settings.put("notifications_per_patient", String.valueOf(seed.notificationsPerPatient()));
+        settings.put("password_hash", passwordHash);
+
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT set_config(?, ?, false)")) {
+                for (Map.Entry<String, String> setting : settings.entrySet()) {
+                    statement.setString(1, "loadtest." + setting.getKey());
+                    statement.setString(2, setting.getValue());
+                    statement.execute();
+                }
+            }
+            ScriptUtils.executeSqlScript(connection, new EncodedResource(new ClassPathResource("loadtest/seed.sql"), StandardCharsets.UTF_8));
+        }
+    }
+
+    /** Row counts of the seeded tables, for the report. */
+    Map<String, Long> counts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String table : List.of("healthcare_provider", "patient", "medical_post", "medical_post_like", "medical_post_comment",
+                "appointment_entity", "chat_channels", "chat_messages", "notifications")) {
+            counts.put(table, jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class));
+        }
+        return counts;
+    }
+
+    List<ActivePatient> activePatients(int limit) {
+        return jdbcTemplate.query(
+                "SELECT u.username, c.id FROM chat_channels c JOIN users u ON u.id = c.patient_id ORDER BY c.id LIMIT ?",
+                (rs, row) -> new ActivePatient(rs.getString(1), rs.getLong(2)), limit);
+    }
+
+    List<Long> doctorIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM healthcare_provider ORDER BY id", Long.class);
+    }
+}
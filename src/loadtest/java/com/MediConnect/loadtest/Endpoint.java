@@ -0,0 +1,22 @@
+package com.MediConnect.loadtest;
+
+/**
+ * The endpoints in the load-test mix; weights are {@code loadtest.mix.<name>}, e.g. {@code loadtest.mix.chat-send}.
+ */
+enum Endpoint {
+    FEED("GET /posts/feed"),
+    DOCTOR_SEARCH("GET /healthprovider/search"),
+    AVAILABLE_SLOTS("GET /appointments/available-slots"),
+    NOTIFICATIONS("GET /notifications"),
+    CHAT_SEND("POST /chat/channels/{id}/messages");
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+}
@@ -0,0 +1,123 @@
+package com.MediConnect.loadtest;
+
+import com.MediConnect.MediConnectApplication;
+import com.MediConnect.EntryRelated.service.MyUserDetailsService;
+import com.MediConnect.config.JWTService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end load test, fully offline:
+ * <ol>
+ *   <li>starts embedded PostgreSQL, Redis and SMTP ({@link LocalInfrastructure});</li>
+ *   <li>boots the application against them with the {@code loadtest} profile on a random port, so
+ *   Flyway builds the schema exactly as in production;</li>
+ *   <li>seeds doctors, patients, posts, likes, comments, appointments, chat history and
+ *   notifications ({@link DataSeeder});</li>
+ *   <li>issues JWTs for the active patients and drives the endpoint mix over HTTP ({@link WorkloadDriver});</li>
+ *   <li>prints throughput and p50/p90/p99 latency per endpoint and writes them to {@code loadtest.report}.</li>
+ * </ol>
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--loadtest.users=64 --loadtest.duration=5m --loadtest.mix.chat-send=0"
+ * </pre>
+ * The driver shares the JVM and the machine with the application and the databases, so compare runs
+ * on the same machine rather than reading the numbers as production capacity.
+ */
+public final class LoadTestApplication {
+
+    private static final String PASSWORD = "LoadTest@123";
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.load(args);
+        PrintStream console = System.out;
+        Path appLog = Path.of(settings.appLog());
+        if (appLog.getParent() != null) {
+            Files.createDirectories(appLog.getParent());
+        }
+        // The application logs and prints per request; keep that cost but send it to a file
+        PrintStream applicationOutput = new PrintStream(new BufferedOutputStream(Files.newOutputStream(appLog)), false, StandardCharsets.UTF_8);
+        System.setOut(applicationOutput);
+        System.setErr(applicationOutput);
+        int exitCode = 0;
+        try {
+            run(settings, args, console);
+        } catch (Exception e) {
+            e.printStackTrace(console);
+            exitCode = 1;
+        } finally {
+            applicationOutput.flush();
+            System.setOut(console);
+        }
+        // Non-daemon threads of the stopped context (Redis clients, schedulers) must not keep the JVM alive
+        System.exit(exitCode);
+    }
+
+    private static void run(LoadTestSettings settings, String[] args, PrintStream console) throws Exception {
+        long started = System.nanoTime();
+        // DevTools would relaunch main() in a restart class loader and start a second set of servers
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        console.println("Starting embedded PostgreSQL, Redis and SMTP");
+        try (LocalInfrastructure infrastructure = LocalInfrastructure.start()) {
+            List<String> applicationArgs = new ArrayList<>(infrastructure.applicationArguments());
+            applicationArgs.addAll(List.of(args));
+            console.printf("Starting the application (output in %s)%n", settings.appLog());
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MediConnectApplication.class)
+                    .profiles("loadtest")
+                    .run(applicationArgs.toArray(new String[0]))) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                console.printf("Application up on port %d after %.1f s%n", port, (System.nanoTime() - started) / 1e9);
+
+                long seedStarted = System.nanoTime();
+                DataSeeder seeder = new DataSeeder(context.getBean(DataSource.class));
+                seeder.seed(settings.seed(), context.getBean(PasswordEncoder.class).encode(PASSWORD));
+                Map<String, Long> counts = seeder.counts();
+                console.printf("Seeded in %.1f s: %s%n", (System.nanoTime() - seedStarted) / 1e9, counts);
+
+                JWTService jwtService = context.getBean(JWTService.class);
+                MyUserDetailsService userDetailsService = context.getBean(MyUserDetailsService.class);
+                List<Workload.Session> sessions = new ArrayList<>();
+                for (DataSeeder.ActivePatient patient : seeder.activePatients(settings.activePatients())) {
+                    String token = jwtService.generateToken(userDetailsService.loadUserByUsername(patient.username()));
+                    sessions.add(new Workload.Session("Bearer " + token, patient.channelId()));
+                }
+                Workload workload = new Workload(URI.create("http://127.0.0.1:" + port), settings.requestTimeout(),
+                        sessions, seeder.doctorIds(), settings.mix());
+
+                console.printf("Driving %d users (%d active patients) for %s after %s warm-up, mix %s%n",
+                        settings.users(), sessions.size(), settings.duration(), settings.warmup(), settings.mix());
+                LoadTestReport report = new WorkloadDriver(workload, settings, console).run();
+                report.print(console);
+
+                Map<String, Object> run = new LinkedHashMap<>();
+                run.put("users", settings.users());
+                run.put("activePatients", sessions.size());
+                run.put("thinkTime", settings.thinkTime().toString());
+                run.put("warmup", settings.warmup().toString());
+                run.put("duration", settings.duration().toString());
+                run.put("mix", settings.mix());
+                run.put("seeded", counts);
+                run.put("emailsReceived", infrastructure.receivedEmails());
+                report.write(Path.of(settings.report()), run);
+                console.printf("%nReport written to %s%n", settings.report());
+            }
+        }
+    }
+}
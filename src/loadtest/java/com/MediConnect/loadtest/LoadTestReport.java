@@ -0,0 +1,104 @@
+package com.MediConnect.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint results of the measured window: latency histograms (microseconds, three significant
+ * digits), error counts and the last error seen. Requests count as errors on a non-2xx status or
+ * an I/O failure; their latency is still recorded.
+ */
+final class LoadTestReport {
+
+    private final Map<Endpoint, ConcurrentHistogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, String> lastErrors = new EnumMap<>(Endpoint.class);
+    private volatile double measuredSeconds;
+
+    LoadTestReport() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    void record(Endpoint endpoint, long latencyNanos, String error) {
+        latencies.get(endpoint).recordValue(Math.max(1, latencyNanos / 1_000));
+        if (error != null) {
+            errors.get(endpoint).increment();
+            synchronized (lastErrors) {
+                lastErrors.put(endpoint, error);
+            }
+        }
+    }
+
+    void measuredSeconds(double seconds) {
+        this.measuredSeconds = seconds;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-36s %9s %7s %9s %9s %9s %9s %9s%n", "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            totalErrors += errors.get(endpoint).sum();
+            printRow(out, endpoint.label(), histogram, errors.get(endpoint).sum());
+        }
+        printRow(out, "All endpoints", total, totalErrors);
+        synchronized (lastErrors) {
+            lastErrors.forEach((endpoint, error) -> out.printf("Last error on %s: %s%n", endpoint.label(), error));
+        }
+    }
+
+    void write(Path path, Map<String, Object> run) throws IOException {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("requests", histogram.getTotalCount());
+            result.put("errors", errors.get(endpoint).sum());
+            result.put("throughputPerSecond", histogram.getTotalCount() / measuredSeconds);
+            result.put("p50Ms", millis(histogram, 50));
+            result.put("p90Ms", millis(histogram, 90));
+            result.put("p99Ms", millis(histogram, 99));
+            result.put("maxMs", histogram.getMaxValue() / 1_000.0);
+            result.put("meanMs", histogram.getMean() / 1_000.0);
+            endpoints.put(endpoint.label(), result);
+        }
+        Map<String, Object> document = new LinkedHashMap<>(run);
+        document.put("measuredSeconds", measuredSeconds);
+        document.put("endpoints", endpoints);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), document);
+    }
+
+    private void printRow(PrintStream out, String label, Histogram histogram, long errorCount) {
+        out.printf("%-36s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", label, histogram.getTotalCount(), errorCount,
+                histogram.getTotalCount() / measuredSeconds, millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                histogram.getMaxValue() / 1_000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+}
@@ -0,0 +1,52 @@
+package com.MediConnect.loadtest;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * {@code loadtest.*} from application-loadtest.properties and the command line. Read before the
+ * application starts, since the output redirect and the embedded servers come first.
+ */
+record LoadTestSettings(Seed seed,
+                        int users,
+                        int activePatients,
+                        Duration thinkTime,
+                        Duration warmup,
+                        Duration duration,
+                        Duration requestTimeout,
+                        Map<Endpoint, Integer> mix,
+                        String report,
+                        String appLog) {
+
+    record Seed(int doctors,
+                int patients,
+                int postsPerDoctor,
+                int likesPerPost,
+                int commentsPerPost,
+                int appointmentsPerPatient,
+                int messagesPerChannel,
+                int notificationsPerPatient) {
+    }
+
+    static LoadTestSettings load(String[] args) throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        environment.getPropertySources().addLast(new ResourcePropertySource(new ClassPathResource("application-loadtest.properties")));
+        LoadTestSettings settings = Binder.get(environment).bind("loadtest", LoadTestSettings.class)
+                .orElseThrow(() -> new IllegalStateException("No loadtest.* settings found"));
+        if (settings.users() < 1 || settings.activePatients() < 1) {
+            throw new IllegalArgumentException("loadtest.users and loadtest.active-patients must be at least 1");
+        }
+        if (settings.mix() == null || settings.mix().values().stream().noneMatch(weight -> weight > 0)) {
+            throw new IllegalArgumentException("loadtest.mix needs at least one endpoint with a positive weight");
+        }
+        return settings;
+    }
+}
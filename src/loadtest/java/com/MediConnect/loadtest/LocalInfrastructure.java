@@ -0,0 +1,94 @@
+package com.MediConnect.loadtest;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.List;
+
+/**
+ * Local stand-ins for the application's servers, all from jars on the test classpath: PostgreSQL 14
+ * (embedded-postgres, in a temporary data directory), redis-server 6.2 without persistence and a
+ * GreenMail SMTP server that accepts every message. Each listens on a free port on the loopback
+ * interface, so nothing leaves the machine.
+ */
+final class LocalInfrastructure implements AutoCloseable {
+
+    private static final String LOOPBACK = "127.0.0.1";
+
+    private final EmbeddedPostgres postgres;
+    private final RedisServer redis;
+    private final int redisPort;
+    private final GreenMail smtp;
+
+    private LocalInfrastructure(EmbeddedPostgres postgres, RedisServer redis, int redisPort, GreenMail smtp) {
+        this.postgres = postgres;
+        this.redis = redis;
+        this.redisPort = redisPort;
+        this.smtp = smtp;
+    }
+
+    static LocalInfrastructure start() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "200")
+                .start();
+        RedisServer redis = null;
+        try {
+            int redisPort = freePort();
+            redis = RedisServer.newRedisServer()
+                    .bind(LOOPBACK)
+                    .port(redisPort)
+                    .setting("save \"\"")
+                    .setting("appendonly no")
+                    .build();
+            redis.start();
+            GreenMail smtp = new GreenMail(new ServerSetup(freePort(), LOOPBACK, ServerSetup.PROTOCOL_SMTP));
+            smtp.start();
+            return new LocalInfrastructure(postgres, redis, redisPort, smtp);
+        } catch (IOException | RuntimeException e) {
+            if (redis != null) {
+                redis.stop();
+            }
+            postgres.close();
+            throw e;
+        }
+    }
+
+    /** Command-line arguments pointing the application at these servers; they take precedence over application.properties. */
+    List<String> applicationArguments() {
+        return List.of(
+                "--spring.datasource.url=jdbc:postgresql://" + LOOPBACK + ":" + postgres.getPort() + "/postgres",
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--spring.data.redis.host=" + LOOPBACK,
+                "--spring.data.redis.port=" + redisPort,
+                "--spring.mail.host=" + LOOPBACK,
+                "--spring.mail.port=" + smtp.getSmtp().getPort());
+    }
+
+    int receivedEmails() {
+        return smtp.getReceivedMessages().length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            smtp.stop();
+            redis.stop();
+        } finally {
+            postgres.close();
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
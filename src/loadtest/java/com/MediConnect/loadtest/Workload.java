@@ -0,0 +1,93 @@
+package com.MediConnect.loadtest;
+
+import com.MediConnect.EntryRelated.entities.SpecializationType;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Builds the next request of the mix. Endpoints are drawn by weight, the caller is a random active
+ * patient (a pre-issued JWT), and parameters are spread the way users spread them: mostly the first
+ * feed page, searches by seeded city and sometimes specialisation, slot lookups over the next two weeks.
+ */
+final class Workload {
+
+    /** An active patient as the load test signs in: bearer token plus the chat channel they write to. */
+    record Session(String authorization, long channelId) {
+    }
+
+    private static final String[] CITIES = {"New York", "Los Angeles", "Chicago", "Houston", "Phoenix", "Denver", "Seattle", "Boston", "Atlanta", "Miami"};
+    private static final SpecializationType[] SPECIALISATIONS = SpecializationType.values();
+    private static final String[] MESSAGES = {
+            "Thank you, doctor. I will follow the instructions.",
+            "The symptoms are a bit better today.",
+            "Could you confirm the dosage once more?",
+            "I uploaded the lab results this morning."
+    };
+
+    private final URI baseUri;
+    private final Duration timeout;
+    private final List<Session> sessions;
+    private final List<Long> doctorIds;
+    private final Endpoint[] wheel;
+
+    Workload(URI baseUri, Duration timeout, List<Session> sessions, List<Long> doctorIds, Map<Endpoint, Integer> mix) {
+        if (sessions.isEmpty() || doctorIds.isEmpty()) {
+            throw new IllegalStateException("The seed produced no active patients or no doctors");
+        }
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+        this.sessions = sessions;
+        this.doctorIds = doctorIds;
+        List<Endpoint> slots = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(endpoint);
+            }
+        });
+        this.wheel = slots.toArray(new Endpoint[0]);
+    }
+
+    Endpoint next(Random random) {
+        return wheel[random.nextInt(wheel.length)];
+    }
+
+    HttpRequest request(Endpoint endpoint, Random random) {
+        Session session = sessions.get(random.nextInt(sessions.size()));
+        return switch (endpoint) {
+            case FEED -> get("/posts/feed?page=" + (random.nextInt(10) < 7 ? 0 : 1 + random.nextInt(9)) + "&size=20")
+                    .header("Authorization", session.authorization())
+                    .build();
+            case DOCTOR_SEARCH -> {
+                String query = "/healthprovider/search?city=" + CITIES[random.nextInt(CITIES.length)].replace(" ", "%20");
+                if (random.nextBoolean()) {
+                    query += "&specialty=" + SPECIALISATIONS[random.nextInt(SPECIALISATIONS.length)].name();
+                }
+                yield get(query).build();
+            }
+            case AVAILABLE_SLOTS -> get("/appointments/available-slots?doctorId=" + doctorIds.get(random.nextInt(doctorIds.size()))
+                    + "&date=" + LocalDate.now().plusDays(1 + random.nextInt(14))
+                    + "&startTime=08:00&endTime=17:00")
+                    .build();
+            case NOTIFICATIONS -> get("/notifications")
+                    .header("Authorization", session.authorization())
+                    .build();
+            case CHAT_SEND -> HttpRequest.newBuilder(baseUri.resolve("/chat/channels/" + session.channelId() + "/messages"))
+                    .timeout(timeout)
+                    .header("Authorization", session.authorization())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"content\":\"" + MESSAGES[random.nextInt(MESSAGES.length)] + "\"}"))
+                    .build();
+        };
+    }
+
+    private HttpRequest.Builder get(String pathAndQuery) {
+        return HttpRequest.newBuilder(baseUri.resolve(pathAndQuery)).timeout(timeout).GET();
+    }
+}
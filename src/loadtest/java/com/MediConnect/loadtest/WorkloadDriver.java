@@ -0,0 +1,107 @@
+package com.MediConnect.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop driver: {@code loadtest.users} threads each send a request, wait for the full response,
+ * pause for the think time and repeat. Requests started during the warm-up are sent but not
+ * recorded. Because a slow response delays that user's next request, throughput drops under
+ * saturation instead of queueing, and the percentiles describe the requests actually sent.
+ */
+final class WorkloadDriver {
+
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final Workload workload;
+    private final LoadTestSettings settings;
+    private final PrintStream console;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    WorkloadDriver(Workload workload, LoadTestSettings settings, PrintStream console) {
+        this.workload = workload;
+        this.settings = settings;
+        this.console = console;
+    }
+
+    LoadTestReport run() throws InterruptedException {
+        LoadTestReport report = new LoadTestReport();
+        AtomicLong sent = new AtomicLong();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService users = Executors.newFixedThreadPool(settings.users(), task -> {
+            Thread thread = new Thread(task, "loadtest-user-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        SplittableRandom seeds = new SplittableRandom(42);
+        for (int i = 0; i < settings.users(); i++) {
+            Random random = new Random(seeds.nextLong());
+            users.execute(() -> runUser(random, report, sent, measureFrom, end));
+        }
+        users.shutdown();
+
+        long nextProgress = start + PROGRESS_INTERVAL_NANOS;
+        while (!users.awaitTermination(Math.max(1, nextProgress - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+            long now = System.nanoTime();
+            console.printf("  %3ds %s, %d requests sent%n", TimeUnit.NANOSECONDS.toSeconds(now - start),
+                    now < measureFrom ? "warming up" : "measuring", sent.get());
+            nextProgress += PROGRESS_INTERVAL_NANOS;
+        }
+        report.measuredSeconds((end - measureFrom) / 1e9);
+        return report;
+    }
+
+    private void runUser(Random random, LoadTestReport report, AtomicLong sent, long measureFrom, long end) {
+        long thinkMillis = settings.thinkTime().toMillis();
+        while (System.nanoTime() < end) {
+            Endpoint endpoint = workload.next(random);
+            HttpRequest request = workload.request(endpoint, random);
+            long begin = System.nanoTime();
+            String error;
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                error = response.statusCode() / 100 == 2 ? null : "HTTP " + response.statusCode() + " " + abbreviate(response.body());
+            } catch (IOException e) {
+                error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long finished = System.nanoTime();
+            sent.incrementAndGet();
+            if (begin >= measureFrom && finished <= end) {
+                report.record(endpoint, finished - begin, error);
+            }
+            if (thinkMillis > 0) {
+                try {
+                    Thread.sleep(thinkMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static String abbreviate(String body) {
+        return body == null || body.length() <= 200 ? body : body.substring(0, 200) + "...";
+    }
+}
@@ -0,0 +1,223 @@
+-- Load test data set (DataSeeder), applied once to the freshly migrated database.
+-- Volumes and the shared password hash arrive as session settings: current_setting('loadtest.<name>').
+-- random() is seeded, so every run with the same volumes gets the same rows.
+
+SELECT setseed(0.42);
+
+-- Doctors, then patients: rows in users (JOINED inheritance), each group with contiguous ids
+INSERT INTO users (account_status, address, city, state, country, zipcode, date_of_birth, email, first_name, last_name,
+                   gender, password, phone_number, registration_date, role, two_factor_enabled, username)
+SELECT 'ACTIVE',
+       (100 + n % 900) || ' Main Street',
+       (ARRAY['New York', 'Los Angeles', 'Chicago', 'Houston', 'Phoenix', 'Denver', 'Seattle', 'Boston', 'Atlanta', 'Miami'])[1 + n % 10],
+       (ARRAY['NY', 'CA', 'IL', 'TX', 'AZ', 'CO', 'WA', 'MA', 'GA', 'FL'])[1 + n % 10],
+       'USA',
+       (10000 + n % 89999)::text,
+       DATE '1960-01-01' + (n * 37) % 12000,
+       'lt-doctor-' || n || '@loadtest.local',
+       (ARRAY['James', 'Mary', 'Robert', 'Patricia', 'John', 'Jennifer', 'Michael', 'Linda', 'David', 'Elizabeth', 'William', 'Susan', 'Richard', 'Jessica', 'Joseph', 'Sarah'])[1 + n % 16],
+       (ARRAY['Smith', 'Johnson', 'Williams', 'Brown', 'Jones', 'Garcia', 'Miller', 'Davis', 'Rodriguez', 'Martinez', 'Hernandez', 'Lopez', 'Gonzalez', 'Wilson', 'Anderson', 'Thomas'])[1 + (n / 16) % 16],
+       CASE WHEN n % 2 = 0 THEN 'Male' ELSE 'Female' END,
+       current_setting('loadtest.password_hash'),
+       '+1555' || lpad(n::text, 7, '0'),
+       now() - (n % 700) * INTERVAL '1 day',
+       'HEALTHPROVIDER',
+       false,
+       'lt-doctor-' || n
+FROM generate_series(1, current_setting('loadtest.doctors')::int) AS n;
+
+INSERT INTO users (account_status, address, city, state, country, zipcode, date_of_birth, email, first_name, last_name,
+                   gender, password, phone_number, registration_date, role, two_factor_enabled, username)
+SELECT 'ACTIVE',
+       (100 + n % 900) || ' Oak Avenue',
+       (ARRAY['New York', 'Los Angeles', 'Chicago', 'Houston', 'Phoenix', 'Denver', 'Seattle', 'Boston', 'Atlanta', 'Miami'])[1 + (n * 7) % 10],
+       (ARRAY['NY', 'CA', 'IL', 'TX', 'AZ', 'CO', 'WA', 'MA', 'GA', 'FL'])[1 + (n * 7) % 10],
+       'USA',
+       (10000 + n % 89999)::text,
+       DATE '1950-01-01' + (n * 53) % 25000,
+       'lt-patient-' || n || '@loadtest.local',
+       (ARRAY['Olivia', 'Liam', 'Emma', 'Noah', 'Ava', 'Elijah', 'Sophia', 'Lucas', 'Mia', 'Mason', 'Amelia', 'Ethan', 'Harper', 'Logan', 'Evelyn', 'Aiden'])[1 + n % 16],
+       (ARRAY['Taylor', 'Moore', 'Jackson', 'Martin', 'Lee', 'Perez', 'Thompson', 'White', 'Harris', 'Sanchez', 'Clark', 'Ramirez', 'Lewis', 'Robinson', 'Walker', 'Young'])[1 + (n / 16) % 16],
+       CASE WHEN n % 2 = 0 THEN 'Female' ELSE 'Male' END,
+       current_setting('loadtest.password_hash'),
+       '+1556' || lpad(n::text, 7, '0'),
+       now() - (n % 700) * INTERVAL '1 day',
+       'PATIENT',
+       false,
+       'lt-patient-' || n
+FROM generate_series(1, current_setting('loadtest.patients')::int) AS n;
+
+INSERT INTO healthcare_provider (id, admin_flagged, appointment_duration_minutes, available_time_start, available_time_end,
+                                 bio, clinic_name, consultation_fee, license_number)
+SELECT id,
+       false,
+       (ARRAY[15, 20, 30])[1 + id % 3],
+       '08:00',
+       '17:00',
+       'Board-certified physician with ' || (5 + id % 25) || ' years of practice. Accepting new patients.',
+       last_name || ' ' || (ARRAY['Medical Group', 'Family Clinic', 'Health Center', 'Specialists'])[1 + id % 4],
+       50 + (id % 16) * 10,
+       'LT-' || lpad(id::text, 8, '0')
+FROM users
+WHERE username LIKE 'lt-doctor-%';
+
+-- One specialisation each, a second one for every third doctor
+WITH specialisations(names) AS (
+    SELECT ARRAY['INTERNAL_MEDICINE', 'GENERAL_SURGERY', 'PEDIATRICS', 'OBSTETRICS_GYNECOLOGY', 'FAMILY_MEDICINE', 'PSYCHIATRY',
+                 'EMERGENCY_MEDICINE', 'ANESTHESIOLOGY', 'RADIOLOGY', 'PATHOLOGY', 'ORTHOPEDIC_SURGERY', 'NEUROSURGERY',
+                 'CARDIOLOGY', 'DERMATOLOGY', 'NEUROLOGY', 'UROLOGY', 'PLASTIC_SURGERY', 'OPHTHALMOLOGY']
+)
+INSERT INTO healthcare_provider_specializations (healthcare_provider_id, specialization)
+SELECT p.id, names[1 + p.id % 18]
+FROM healthcare_provider p, specialisations
+UNION ALL
+SELECT p.id, names[1 + (p.id + 1 + (p.id / 18) % 17) % 18]
+FROM healthcare_provider p, specialisations
+WHERE p.id % 3 = 0;
+
+WITH insurers(names) AS (
+    SELECT ARRAY['Blue Cross', 'Aetna', 'Cigna', 'UnitedHealthcare', 'Humana', 'Kaiser Permanente', 'Medicare', 'Medicaid']
+)
+INSERT INTO provider_insurance (healthcare_provider_id, insurance_accepted)
+SELECT p.id, names[1 + (p.id + k * 3) % 8]
+FROM healthcare_provider p, insurers, generate_series(0, 1) AS k;
+
+INSERT INTO provider_availability (healthcare_provider_id, available_days)
+SELECT p.id, d
+FROM healthcare_provider p, unnest(ARRAY['Monday', 'Tuesday', 'Wednesday', 'Thursday', 'Friday']) AS d;
+
+-- Weekdays 08:00-17:00, Saturday mornings for a quarter of the doctors
+INSERT INTO day_availability (provider_id, day_of_week, enabled, start_time, end_time)
+SELECT p.id,
+       d,
+       d NOT IN ('Saturday', 'Sunday') OR (d = 'Saturday' AND p.id % 4 = 0),
+       CASE WHEN d = 'Saturday' THEN '09:00' ELSE '08:00' END,
+       CASE WHEN d = 'Saturday' THEN '13:00' ELSE '17:00' END
+FROM healthcare_provider p, unnest(ARRAY['Monday', 'Tuesday', 'Wednesday', 'Thursday', 'Friday', 'Saturday', 'Sunday']) AS d;
+
+INSERT INTO blocked_time_slots (blocked_date, created_at, start_time, end_time, reason, provider_id)
+SELECT current_date + ((p.id + k * 5) % 14)::int, now(), '12:00', '13:00', 'Team meeting', p.id
+FROM healthcare_provider p, generate_series(0, 1) AS k;
+
+INSERT INTO patient (id, admin_flagged, blood_type, height, weight, insurance_provider, insurance_number, allergies, medical_conditions)
+SELECT id,
+       false,
+       (ARRAY['A_POSITIVE', 'A_NEGATIVE', 'B_POSITIVE', 'B_NEGATIVE', 'AB_POSITIVE', 'AB_NEGATIVE', 'O_POSITIVE', 'O_NEGATIVE'])[1 + id % 8],
+       150 + id % 45,
+       50 + id % 60,
+       (ARRAY['Blue Cross', 'Aetna', 'Cigna', 'UnitedHealthcare', 'Humana', 'Kaiser Permanente', 'Medicare', 'Medicaid'])[1 + id % 8],
+       'INS-' || lpad(id::text, 9, '0'),
+       CASE WHEN id % 5 = 0 THEN 'Penicillin' END,
+       CASE WHEN id % 7 = 0 THEN 'Hypertension' WHEN id % 11 = 0 THEN 'Type 2 diabetes' END
+FROM users
+WHERE username LIKE 'lt-patient-%';
+
+-- Posts over the last year; ids come from the pooled medical_post_seq default
+INSERT INTO medical_post (admin_flagged, content, created_at, media_urls, privacy, provider_id)
+SELECT false,
+       (ARRAY['Seasonal allergy tips: keep windows closed on high-pollen days and rinse after outdoor activity.',
+              'Reminder: annual flu shots are available at the clinic this month. Walk-ins welcome.',
+              'Five small habits that lower blood pressure, from salt to sleep.',
+              'Persistent headaches are not something to push through. Here is when to get them checked.',
+              'Sunscreen every day, even when it is cloudy. UV damage adds up over the years.',
+              'How to prepare for your first physical therapy session after knee surgery.'])[1 + (p.id + n) % 6] || ' #' || n,
+       now() - random() * INTERVAL '365 days',
+       CASE WHEN n % 3 = 0 THEN '["https://res.cloudinary.com/demo/image/upload/sample.jpg"]' END,
+       'PUBLIC',
+       p.id
+FROM healthcare_provider p, generate_series(1, current_setting('loadtest.posts_per_doctor')::int) AS n;
+
+-- On average likes_per_post likes and comments_per_post comments per post, from random patients
+WITH patients AS (SELECT min(id) AS first_id, count(*) AS total FROM patient)
+INSERT INTO medical_post_like (created_at, like_giver_id, post_id)
+SELECT mp.created_at + random() * INTERVAL '7 days', patients.first_id + floor(random() * patients.total)::bigint, mp.id
+FROM medical_post mp, patients, generate_series(1, 2 * current_setting('loadtest.likes_per_post')::int) AS n
+WHERE random() < 0.5;
+
+WITH patients AS (SELECT min(id) AS first_id, count(*) AS total FROM patient)
+INSERT INTO medical_post_comment (commenter_id, content, created_at, post_id)
+SELECT patients.first_id + floor(random() * patients.total)::bigint,
+       (ARRAY['Thank you, this is really helpful!', 'Does this apply to children as well?', 'Shared this with my family.',
+              'I had no idea, thanks for posting.'])[1 + (mp.id + n) % 4],
+       mp.created_at + random() * INTERVAL '7 days',
+       mp.id
+FROM medical_post mp, patients, generate_series(1, 2 * current_setting('loadtest.comments_per_post')::int) AS n
+WHERE random() < 0.5;
+
+-- Appointments from 180 days ago to 30 days ahead. Each patient's first one is CONFIRMED and gets the chat channel
+WITH doctors AS (SELECT min(id) AS first_id, count(*) AS total FROM healthcare_provider)
+INSERT INTO appointment_entity (appointment_date_time, created_at, duration_minutes, is_call_active, is_video_call, reason,
+                                reminder_24h_sent, share_medical_records, status, type, updated_at, provider_id, patient_id)
+SELECT a.at,
+       a.at - INTERVAL '10 days',
+       30,
+       false,
+       (a.patient_id + a.n) % 4 = 0,
+       (ARRAY['Annual check-up', 'Follow-up on test results', 'Persistent cough', 'Back pain', 'Skin rash', 'Recurring headaches'])[1 + (a.patient_id + a.n) % 6],
+       a.at < now(),
+       false,
+       CASE WHEN a.n = 1 THEN 'CONFIRMED'
+            WHEN a.at < now() THEN (ARRAY['COMPLETED', 'COMPLETED', 'COMPLETED', 'CANCELLED'])[1 + (a.patient_id + a.n) % 4]
+            ELSE (ARRAY['PENDING', 'CONFIRMED'])[1 + (a.patient_id + a.n) % 2] END,
+       (ARRAY['CONSULTATION', 'FOLLOW_UP', 'CHECKUP', 'EMERGENCY', 'VACCINATION', 'SURGERY', 'THERAPY'])[1 + (a.patient_id * 7 + a.n) % 7],
+       a.at - INTERVAL '10 days',
+       a.provider_id,
+       a.patient_id
+FROM (SELECT p.id AS patient_id,
+             n,
+             doctors.first_id + floor(random() * doctors.total)::bigint AS provider_id,
+             date_trunc('day', now()) + (floor(random() * 210) - 180) * INTERVAL '1 day'
+                 + (8 + floor(random() * 9)) * INTERVAL '1 hour' + (floor(random() * 2) * 30) * INTERVAL '1 minute' AS at
+      FROM patient p, doctors, generate_series(1, current_setting('loadtest.appointments_per_patient')::int) AS n) AS a;
+
+INSERT INTO doctor_review (created_at, notes, rating, appointment_id, doctor_id, patient_id)
+SELECT a.appointment_date_time + INTERVAL '1 day',
+       (ARRAY['Very thorough and kind.', 'Explained everything clearly.', 'Short wait, friendly staff.'])[1 + a.id % 3],
+       3 + a.id % 3,
+       a.id,
+       a.provider_id,
+       a.patient_id
+FROM appointment_entity a
+WHERE a.status = 'COMPLETED' AND a.id % 3 = 0;
+
+INSERT INTO chat_channels (created_at, is_active, last_activity_at, appointment_id, doctor_id, patient_id)
+SELECT DISTINCT ON (a.patient_id) a.created_at, true, a.created_at, a.id, a.provider_id, a.patient_id
+FROM appointment_entity a
+WHERE a.status = 'CONFIRMED'
+ORDER BY a.patient_id, a.id;
+
+-- Alternating patient/doctor messages, all read except the last two
+INSERT INTO chat_messages (channel_id, content, is_deleted, is_read, read_at, sent_at, sender_id)
+SELECT c.id,
+       (ARRAY['Hello doctor, I have a question about my prescription.', 'Of course, what would you like to know?',
+              'Should I take it before or after meals?', 'After meals, and with a full glass of water.',
+              'The rash is looking better since yesterday.', 'Good. Keep applying the cream twice a day.',
+              'Can I move my appointment to next week?', 'Yes, please pick a new slot in the app.'])[1 + (n - 1) % 8],
+       false,
+       n <= m.total - 2,
+       CASE WHEN n <= m.total - 2 THEN c.created_at + n * INTERVAL '2 hours' + INTERVAL '5 minutes' END,
+       c.created_at + n * INTERVAL '2 hours',
+       CASE WHEN n % 2 = 1 THEN c.patient_id ELSE c.doctor_id END
+FROM chat_channels c,
+     (SELECT current_setting('loadtest.messages_per_channel')::int AS total) AS m,
+     generate_series(1, m.total) AS n;
+
+UPDATE chat_channels c
+SET last_activity_at = latest.sent_at
+FROM (SELECT channel_id, max(sent_at) AS sent_at FROM chat_messages GROUP BY channel_id) AS latest
+WHERE latest.channel_id = c.id;
+
+-- Appointment and chat notifications over the last 60 days, most of them read
+WITH doctors AS (SELECT min(id) AS first_id, count(*) AS total FROM healthcare_provider)
+INSERT INTO notifications (created_at, is_read, message, related_entity_id, type, actor_id, recipient_id)
+SELECT now() - random() * INTERVAL '60 days',
+       random() < 0.7,
+       (ARRAY['Your appointment has been confirmed.', 'Reminder: you have an appointment tomorrow.',
+              'You have a new message from your doctor.', 'Your appointment has been rescheduled.'])[1 + (p.id + n) % 4],
+       floor(random() * 100000)::bigint,
+       (ARRAY['APPOINTMENT_CONFIRMED', 'APPOINTMENT_REMINDER_24H', 'CHAT_MESSAGE', 'APPOINTMENT_RESCHEDULED'])[1 + (p.id + n) % 4],
+       doctors.first_id + floor(random() * doctors.total)::bigint,
+       p.id
+FROM patient p, doctors, generate_series(1, current_setting('loadtest.notifications_per_patient')::int) AS n;
+
+ANALYZE;
@@ -2,6 +2,7 @@ package com.MediConnect.Entities;
 
 import com.MediConnect.EntryRelated.entities.HealthcareProvider;
 import com.MediConnect.EntryRelated.entities.Patient;
+import com.MediConnect.EntryRelated.entities.listener.AppointmentEntityListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,6 +10,7 @@ import lombok.Setter;
 import java.util.Date;
 
 @Entity
+@EntityListeners(AppointmentEntityListener.class)
 @Getter
 @Setter
 public class AppointmentEntity {
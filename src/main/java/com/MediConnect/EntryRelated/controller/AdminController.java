@@ -6,6 +6,7 @@ import com.MediConnect.EntryRelated.entities.Users;
 import com.MediConnect.Repos.UserRepo;
 import com.MediConnect.Service.UserService;
 import com.MediConnect.EntryRelated.exception.AccountStatusException;
+import com.MediConnect.config.password.PasswordHashingBusyException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,7 +35,7 @@ public class AdminController {
     private final UserRepo userRepo;
 
     @PostMapping("/login")
-    public ResponseEntity<AdminLoginResponseDTO> login(@Valid @RequestBody AdminLoginRequestDTO request) {
+    public ResponseEntity<?> login(@Valid @RequestBody AdminLoginRequestDTO request) {
         String username = request.getUsername().trim();
         Users admin = userRepo.findByUsername(username)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid username or password"));
@@ -54,6 +55,8 @@ public class AdminController {
         } catch (BadCredentialsException ex) {
             log.warn("Invalid credentials provided for admin login attempt '{}'", username);
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid username or password");
+        } catch (PasswordHashingBusyException ex) {
+            return RetryLaterResponses.busy(ex);
         }
     }
 
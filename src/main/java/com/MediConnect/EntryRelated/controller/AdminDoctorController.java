@@ -1,5 +1,7 @@
 package com.MediConnect.EntryRelated.controller;
 
+import com.MediConnect.EntryRelated.dto.admin.AdminAccountFilter;
+import com.MediConnect.EntryRelated.dto.admin.AdminDoctorListItemDTO;
 import com.MediConnect.EntryRelated.dto.admin.UpdateAccountFlagRequest;
 import com.MediConnect.EntryRelated.dto.admin.UpdateAccountStatusRequest;
 import com.MediConnect.EntryRelated.entities.AccountStatus;
@@ -8,9 +10,12 @@ import com.MediConnect.EntryRelated.entities.HealthcareProvider;
 import com.MediConnect.EntryRelated.entities.SpecializationType;
 import com.MediConnect.EntryRelated.entities.WorkExperience;
 import com.MediConnect.EntryRelated.repository.HealthcareProviderRepo;
+import com.MediConnect.EntryRelated.service.admin.AdminDirectoryService;
 import com.MediConnect.EntryRelated.service.notification.DoctorAccountNotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.util.StringUtils;
@@ -29,82 +34,62 @@ public class AdminDoctorController {
 
     private final HealthcareProviderRepo healthcareProviderRepo;
     private final DoctorAccountNotificationService notificationService;
+    private final AdminDirectoryService adminDirectoryService;
 
+    /**
+     * Lists doctors for the admin console. Filtering always runs in the database.
+     * When {@code page} or {@code size} is supplied the response is a page of list-column
+     * projections with pagination metadata; otherwise the full profiles are returned as before.
+     */
     @GetMapping
     public ResponseEntity<Map<String, Object>> getDoctors(
             @RequestParam(value = "name", required = false) String name,
             @RequestParam(value = "city", required = false) String city,
             @RequestParam(value = "specialty", required = false) String specialty,
             @RequestParam(value = "status", required = false) String status,
-            @RequestParam(value = "includeFlagged", required = false, defaultValue = "false") boolean includeFlagged
+            @RequestParam(value = "includeFlagged", required = false, defaultValue = "false") boolean includeFlagged,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "sort", required = false, defaultValue = "registrationDate") String sort,
+            @RequestParam(value = "direction", required = false, defaultValue = "desc") String direction
     ) {
 
-        List<HealthcareProvider> providers = healthcareProviderRepo.findAll();
+        AdminAccountFilter filter = new AdminAccountFilter();
+        filter.setName(name);
+        filter.setCity(city);
+        filter.setIncludeFlagged(includeFlagged);
 
-        String normalizedName = StringUtils.hasText(name) ? name.trim().toLowerCase(Locale.ROOT) : null;
-        String normalizedCity = StringUtils.hasText(city) ? city.trim().toLowerCase(Locale.ROOT) : null;
-
-        SpecializationType parsedSpecialization = null;
         if (StringUtils.hasText(specialty)) {
             try {
-                parsedSpecialization = SpecializationType.valueOf(specialty.trim().toUpperCase(Locale.ROOT));
+                filter.setSpecialization(SpecializationType.valueOf(specialty.trim().toUpperCase(Locale.ROOT)));
             } catch (IllegalArgumentException ex) {
                 log.warn("Ignoring unknown specialty filter value: {}", specialty);
             }
         }
-        final SpecializationType specializationFilter = parsedSpecialization;
-        AccountStatus statusFilter = null;
         if (StringUtils.hasText(status)) {
             try {
-                statusFilter = AccountStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+                filter.setStatus(AccountStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)));
             } catch (IllegalArgumentException ex) {
                 log.warn("Ignoring unknown status filter value: {}", status);
             }
         }
-        final AccountStatus finalStatusFilter = statusFilter;
-
-        List<Map<String, Object>> doctors = providers.stream()
-                .filter(provider -> {
-                    if (normalizedName != null) {
-                        String fullName = (provider.getFirstName() + " " + provider.getLastName()).toLowerCase(Locale.ROOT);
-                        String clinicName = provider.getClinicName() != null ? provider.getClinicName().toLowerCase(Locale.ROOT) : "";
-                        if (!fullName.contains(normalizedName) && !clinicName.contains(normalizedName)) {
-                            return false;
-                        }
-                    }
-
-                    if (normalizedCity != null) {
-                        String providerCity = provider.getCity() != null ? provider.getCity().toLowerCase(Locale.ROOT) : "";
-                        if (!providerCity.contains(normalizedCity)) {
-                            return false;
-                        }
-                    }
-
-                    if (specializationFilter != null) {
-                        List<SpecializationType> specializations = provider.getSpecializations();
-                        if (specializations == null || specializations.stream().noneMatch(spec -> spec == specializationFilter)) {
-                            return false;
-                        }
-                    }
-
-                    if (finalStatusFilter != null) {
-                        AccountStatus providerStatus = Optional.ofNullable(provider.getAccountStatus()).orElse(AccountStatus.ACTIVE);
-                        if (providerStatus != finalStatusFilter) {
-                            return false;
-                        }
-                    }
-
-                    if (!includeFlagged && Boolean.TRUE.equals(provider.getAdminFlagged())) {
-                        return false;
-                    }
-
-                    return true;
-                })
-                .map(this::mapProviderToSummary)
-                .collect(Collectors.toList());
 
         Map<String, Object> response = new HashMap<>();
         response.put("status", "success");
+
+        if (page != null || size != null) {
+            Pageable pageable = adminDirectoryService.pageRequest(page, size, sort, direction);
+            Page<AdminDoctorListItemDTO> doctorPage = adminDirectoryService.findDoctorPage(filter, pageable);
+            response.put("count", doctorPage.getTotalElements());
+            response.put("doctors", doctorPage.getContent());
+            response.put("pagination", adminDirectoryService.paginationMetadata(doctorPage));
+            return ResponseEntity.ok(response);
+        }
+
+        List<Map<String, Object>> doctors = adminDirectoryService.findDoctors(filter).stream()
+                .map(this::mapProviderToSummary)
+                .collect(Collectors.toList());
+
         response.put("count", doctors.size());
         response.put("doctors", doctors);
         return ResponseEntity.ok(response);
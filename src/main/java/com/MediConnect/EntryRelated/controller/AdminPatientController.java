@@ -1,12 +1,17 @@
 package com.MediConnect.EntryRelated.controller;
 
+import com.MediConnect.EntryRelated.dto.admin.AdminAccountFilter;
+import com.MediConnect.EntryRelated.dto.admin.AdminPatientListItemDTO;
 import com.MediConnect.EntryRelated.dto.admin.UpdateAccountFlagRequest;
 import com.MediConnect.EntryRelated.dto.admin.UpdateAccountStatusRequest;
 import com.MediConnect.EntryRelated.entities.AccountStatus;
 import com.MediConnect.EntryRelated.entities.Patient;
 import com.MediConnect.EntryRelated.repository.PatientRepo;
+import com.MediConnect.EntryRelated.service.admin.AdminDirectoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.util.StringUtils;
@@ -23,59 +28,50 @@ import java.util.stream.Collectors;
 public class AdminPatientController {
 
     private final PatientRepo patientRepo;
+    private final AdminDirectoryService adminDirectoryService;
 
+    /**
+     * Lists patients for the admin console. Filtering always runs in the database.
+     * When {@code page} or {@code size} is supplied the response is a page of list-column
+     * projections with pagination metadata; otherwise all matching patients are returned as before.
+     */
     @GetMapping
     public ResponseEntity<Map<String, Object>> getPatients(
             @RequestParam(value = "name", required = false) String name,
             @RequestParam(value = "city", required = false) String city,
             @RequestParam(value = "status", required = false) String status,
-            @RequestParam(value = "includeFlagged", required = false, defaultValue = "false") boolean includeFlagged
+            @RequestParam(value = "includeFlagged", required = false, defaultValue = "false") boolean includeFlagged,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "sort", required = false, defaultValue = "registrationDate") String sort,
+            @RequestParam(value = "direction", required = false, defaultValue = "desc") String direction
     ) {
 
-        List<Patient> patients = patientRepo.findAll();
+        AdminAccountFilter filter = new AdminAccountFilter();
+        filter.setName(name);
+        filter.setCity(city);
+        filter.setIncludeFlagged(includeFlagged);
 
-        String normalizedName = StringUtils.hasText(name) ? name.trim().toLowerCase(Locale.ROOT) : null;
-        String normalizedCity = StringUtils.hasText(city) ? city.trim().toLowerCase(Locale.ROOT) : null;
-
-        AccountStatus statusFilter = null;
         if (StringUtils.hasText(status)) {
             try {
-                statusFilter = AccountStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+                filter.setStatus(AccountStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)));
             } catch (IllegalArgumentException ex) {
                 log.warn("Ignoring unknown status filter value: {}", status);
             }
         }
-        final AccountStatus finalStatusFilter = statusFilter;
-
-        List<Map<String, Object>> summaries = patients.stream()
-                .filter(patient -> {
-                    if (normalizedName != null) {
-                        String fullName = (patient.getFirstName() + " " + patient.getLastName()).toLowerCase(Locale.ROOT);
-                        if (!fullName.contains(normalizedName)) {
-                            return false;
-                        }
-                    }
-
-                    if (normalizedCity != null) {
-                        String patientCity = patient.getCity() != null ? patient.getCity().toLowerCase(Locale.ROOT) : "";
-                        if (!patientCity.contains(normalizedCity)) {
-                            return false;
-                        }
-                    }
-
-                    if (finalStatusFilter != null) {
-                        AccountStatus patientStatus = Optional.ofNullable(patient.getAccountStatus()).orElse(AccountStatus.ACTIVE);
-                        if (patientStatus != finalStatusFilter) {
-                            return false;
-                        }
-                    }
-
-                    if (!includeFlagged && Boolean.TRUE.equals(patient.getAdminFlagged())) {
-                        return false;
-                    }
-
-                    return true;
-                })
+
+        if (page != null || size != null) {
+            Pageable pageable = adminDirectoryService.pageRequest(page, size, sort, direction);
+            Page<AdminPatientListItemDTO> patientPage = adminDirectoryService.findPatientPage(filter, pageable);
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "count", patientPage.getTotalElements(),
+                    "patients", patientPage.getContent(),
+                    "pagination", adminDirectoryService.paginationMetadata(patientPage)
+            ));
+        }
+
+        List<Map<String, Object>> summaries = adminDirectoryService.findPatients(filter).stream()
                 .map(this::mapPatientToSummary)
                 .collect(Collectors.toList());
 
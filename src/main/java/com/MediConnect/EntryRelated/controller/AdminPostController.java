@@ -3,6 +3,7 @@ package com.MediConnect.EntryRelated.controller;
 import com.MediConnect.socialmedia.service.comment.MedicalPostCommentService;
 import com.MediConnect.socialmedia.service.post.MedicalPostService;
 import com.MediConnect.socialmedia.service.post.dto.AdminPostFilter;
+import com.MediConnect.socialmedia.service.post.dto.ModerationQueueSort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -116,6 +117,76 @@ public class AdminPostController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Moderation queue: reported posts ordered by report count ({@code sort=reports}, default)
+     * or by most recent report ({@code sort=recent}), with keyset paging.
+     * Pass the returned {@code nextCursor} to fetch the following page.
+     * 
+     * @param doctorName Filter by doctor name (optional)
+     * @param startDate Filter posts from this date (optional)
+     * @param endDate Filter posts until this date (optional)
+     * @param flaggedOnly Filter to show only flagged posts (optional)
+     * @param sort "reports" or "recent" (optional, defaults to "reports")
+     * @param cursor Cursor from the previous page (optional)
+     * @param size Page size (optional, defaults to 20, max 100)
+     * @return Page of reported posts with report aggregates and the next cursor
+     */
+    @GetMapping("/moderation-queue")
+    public ResponseEntity<Map<String, Object>> getModerationQueue(
+            @RequestParam(value = "doctorName", required = false) String doctorName,
+            @RequestParam(value = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(value = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(value = "flaggedOnly", required = false) Boolean flaggedOnly,
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+
+        if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "status", "error",
+                    "message", "End date must be after start date"
+            ));
+        }
+
+        AdminPostFilter filter = new AdminPostFilter();
+        if (StringUtils.hasText(doctorName)) {
+            filter.setDoctorName(doctorName.trim());
+        }
+        filter.setReportedOnly(true);
+        filter.setFlaggedOnly(flaggedOnly);
+        if (startDate != null) {
+            filter.setStartDate(Date.from(startDate.atZone(ZoneId.systemDefault()).toInstant()));
+        }
+        if (endDate != null) {
+            filter.setEndDate(Date.from(endDate.atZone(ZoneId.systemDefault()).toInstant()));
+        }
+
+        int pageSize = (size != null && size > 0) ? Math.min(size, 100) : 20;
+
+        try {
+            ModerationQueueSort queueSort = ModerationQueueSort.fromParameter(sort);
+            Map<String, Object> queuePage = medicalPostService.getModerationQueue(filter, queueSort, cursor, pageSize);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("posts", queuePage.get("data"));
+            response.put("count", ((List<?>) queuePage.get("data")).size());
+            response.put("sort", queuePage.get("sort"));
+            response.put("pageSize", queuePage.get("pageSize"));
+            response.put("hasNext", queuePage.get("hasNext"));
+            response.put("nextCursor", queuePage.get("nextCursor"));
+            if (queuePage.containsKey("totalElements")) {
+                response.put("totalElements", queuePage.get("totalElements"));
+            }
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "status", "error",
+                    "message", ex.getMessage()
+            ));
+        }
+    }
+
     @PostMapping("/{postId}/flag")
     public ResponseEntity<Map<String, Object>> flagPost(
             @PathVariable Long postId,
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -18,6 +19,8 @@ import java.util.Map;
  * - POST /appointments/book - Patient books an appointment (triggers notification to doctor)
  * - GET /appointments/patient - Get patient's appointments
  * - GET /appointments/doctor - Get doctor's appointments (includes insurance & medical records if shared)
+ * - GET /appointments/patient/page, /appointments/doctor/page - Paged, filtered lists without medical records
+ * - GET /appointments/medical-records - Shared medical records for a page of appointments
  * - PUT /appointments/{id}/status - Doctor updates appointment status (triggers notification to patient)
  * - PUT /appointments/{id}/respond-reschedule - Patient responds to reschedule (triggers notification to doctor)
  */
@@ -107,6 +110,74 @@ public class AppointmentController {
         }
     }
 
+    /**
+     * Paged patient appointment list.
+     *
+     * Query parameters (all optional): status (comma-separated), from, to (YYYY-MM-DD or ISO instant),
+     * page (0-indexed), size (max 100), direction (asc/desc by appointment time)
+     */
+    @GetMapping("/patient/page")
+    public ResponseEntity<Map<String, Object>> getPatientAppointmentPage(
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "direction", required = false) String direction,
+            HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return unauthorized();
+        }
+        Map<String, Object> response = appointmentService.getPatientAppointmentPage(authHeader, status, from, to, page, size, direction);
+        if ("error".equals(response.get("status"))) {
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Paged doctor appointment list; same parameters as /patient/page.
+     */
+    @GetMapping("/doctor/page")
+    public ResponseEntity<Map<String, Object>> getDoctorAppointmentPage(
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "direction", required = false) String direction,
+            HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return unauthorized();
+        }
+        Map<String, Object> response = appointmentService.getDoctorAppointmentPage(authHeader, status, from, to, page, size, direction);
+        if ("error".equals(response.get("status"))) {
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Shared medical records for the appointments on the current page, keyed by appointment id.
+     * Example: GET /appointments/medical-records?appointmentIds=12,15,19
+     */
+    @GetMapping("/medical-records")
+    public ResponseEntity<Map<String, Object>> getSharedMedicalRecords(
+            @RequestParam("appointmentIds") List<Integer> appointmentIds,
+            HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return unauthorized();
+        }
+        Map<String, Object> response = appointmentService.getSharedMedicalRecords(authHeader, appointmentIds);
+        if ("error".equals(response.get("status"))) {
+            return ResponseEntity.badRequest().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get available time slots for a doctor on a specific date.
      * Checks confirmed appointments and returns slots with availability status.
@@ -313,5 +384,11 @@ public class AppointmentController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
         }
     }
-}
 
+    private static ResponseEntity<Map<String, Object>> unauthorized() {
+        Map<String, Object> error = new HashMap<>();
+        error.put("status", "error");
+        error.put("message", "Authorization token required");
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
+}
@@ -8,21 +8,24 @@ import com.MediConnect.EntryRelated.dto.healthprovider.LoginHPRequestDTO;
 import com.MediConnect.EntryRelated.dto.healthprovider.SignupHPRequestDTO;
 import com.MediConnect.EntryRelated.entities.EducationHistory;
 import com.MediConnect.EntryRelated.entities.HealthcareProvider;
-import com.MediConnect.EntryRelated.entities.ProfileView;
 import com.MediConnect.EntryRelated.entities.SpecializationType;
 import com.MediConnect.EntryRelated.entities.WorkExperience;
+import com.MediConnect.EntryRelated.exception.OtpRateLimitExceededException;
 import com.MediConnect.EntryRelated.service.ActivityService;
 import com.MediConnect.EntryRelated.service.NotificationPreferencesService;
 import com.MediConnect.EntryRelated.service.OTPService;
 import com.MediConnect.EntryRelated.service.PrivacySettingsService;
+import com.MediConnect.EntryRelated.service.analytics.ProfileViewCounter;
+import com.MediConnect.EntryRelated.service.profile.DoctorProfileChangedEvent;
+import com.MediConnect.EntryRelated.service.profile.PublicProfileCache;
 import com.MediConnect.EntryRelated.service.healthprovider.HealthcareProviderService;
 import com.MediConnect.EntryRelated.service.review.ReviewService;
 import com.MediConnect.Service.UserService;
 import com.MediConnect.socialmedia.service.CloudinaryService;
 import com.MediConnect.config.JWTService;
+import com.MediConnect.config.password.PasswordHashingBusyException;
 import com.MediConnect.EntryRelated.repository.HealthcareProviderRepo;
 import com.MediConnect.EntryRelated.repository.PatientRepo;
-import com.MediConnect.EntryRelated.repository.ProfileViewRepository;
 import com.MediConnect.EntryRelated.repository.DayAvailabilityRepository;
 import com.MediConnect.EntryRelated.repository.BlockedTimeSlotRepository;
 import com.MediConnect.EntryRelated.entities.DayAvailability;
@@ -33,6 +36,7 @@ import com.MediConnect.EntryRelated.dto.healthprovider.BlockedTimeSlotDTO;
 import com.MediConnect.Repos.UserRepo;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -66,13 +70,15 @@ public class HealthProviderController {
     private final CloudinaryService cloudinaryService;
     private final HealthcareProviderRepo healthcareProviderRepo;
     private final ReviewService reviewService;
-    private final ProfileViewRepository profileViewRepository;
+    private final ProfileViewCounter profileViewCounter;
+    private final PublicProfileCache publicProfileCache;
     private final PatientRepo patientRepo;
     private final UserRepo userRepo;
     private final com.MediConnect.EntryRelated.repository.LabResultRepo labResultRepo;
     private final com.MediConnect.EntryRelated.repository.AppointmentRepository appointmentRepository;
     private final DayAvailabilityRepository dayAvailabilityRepository;
     private final BlockedTimeSlotRepository blockedTimeSlotRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PostMapping("/login")
     public ResponseEntity<Map<String, Object>> login(
@@ -81,6 +87,10 @@ public class HealthProviderController {
         try {
             Map<String, Object> response = healthcareProviderService.loginProvider(loginRequest, request);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return RetryLaterResponses.busy(e);
+        } catch (OtpRateLimitExceededException e) {
+            return RetryLaterResponses.tooManyRequests(e);
         } catch (RuntimeException e) {
             Map<String, Object> error = new HashMap<>();
             error.put("status", "error");
@@ -96,6 +106,8 @@ public class HealthProviderController {
         try {
             Map<String, Object> response = healthcareProviderService.verifyLoginOTP(request, httpRequest);
             return ResponseEntity.ok(response);
+        } catch (OtpRateLimitExceededException e) {
+            return RetryLaterResponses.tooManyRequests(e);
         } catch (RuntimeException e) {
             Map<String, Object> error = new HashMap<>();
             error.put("status", "error");
@@ -178,26 +190,23 @@ public class HealthProviderController {
      * Track a profile view for analytics.
      * 
      * This endpoint is called when someone views a doctor's public profile.
-     * It records the view with a timestamp for analytics purposes.
+     * The view is counted in memory and written to daily buckets in the background,
+     * so no database write happens on this request, and the doctor's existence is
+     * only looked up for the first view in a while.
      * 
      * @param id The ID of the healthcare provider whose profile was viewed
      * @return Success response
      */
     @PostMapping("/track-view/{id}")
-    public ResponseEntity<Map<String, Object>> trackProfileView(@PathVariable Long id) {
+    public ResponseEntity<Map<String, Object>> trackProfileView(@PathVariable Long id, HttpServletRequest request) {
         try {
-            // Verify doctor exists
-            if (!healthcareProviderRepo.existsById(id)) {
+            if (!profileViewCounter.recordView(id, resolveViewerKey(request))) {
                 Map<String, Object> response = new HashMap<>();
                 response.put("status", "error");
                 response.put("message", "Doctor not found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
             
-            // Create and save a new profile view record
-            ProfileView profileView = new ProfileView(id);
-            profileViewRepository.save(profileView);
-            
             Map<String, Object> response = new HashMap<>();
             response.put("status", "success");
             response.put("message", "Profile view tracked");
@@ -210,36 +219,25 @@ public class HealthProviderController {
         }
     }
 
+    /**
+     * Identifies the viewer for unique-viewer estimates: the signed-in user if any,
+     * otherwise the client address and user agent.
+     */
+    private String resolveViewerKey(HttpServletRequest request) {
+        if (request.getUserPrincipal() != null) {
+            return "user:" + request.getUserPrincipal().getName();
+        }
+        // Resolved from trusted proxies by Tomcat; the raw X-Forwarded-For is client-controlled
+        return "anon:" + request.getRemoteAddr() + "|" + Optional.ofNullable(request.getHeader(HttpHeaders.USER_AGENT)).orElse("");
+    }
+
     @GetMapping("/public-profile/{id}")
     public ResponseEntity<Map<String, Object>> getPublicProfile(@PathVariable Long id) {
         try {
-            // Find healthcare provider by ID
-            HealthcareProvider provider = healthcareProviderService.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Healthcare provider not found"));
-            
-            // Check if profile is public
-            boolean isPublic = privacySettingsService.isProfilePublic(provider);
-            
             Map<String, Object> response = new HashMap<>();
             response.put("status", "success");
-            
-            if (!isPublic) {
-                // Profile is private
-                response.put("isPrivate", true);
-                response.put("message", "This profile is private");
-                // Only return basic info
-                Map<String, Object> basicInfo = new HashMap<>();
-                basicInfo.put("id", provider.getId());
-                basicInfo.put("firstName", provider.getFirstName());
-                basicInfo.put("lastName", provider.getLastName());
-                basicInfo.put("profilePicture", provider.getProfilePicture());
-                response.put("data", basicInfo);
-            } else {
-                // Profile is public - apply individual privacy settings
-                response.put("isPrivate", false);
-                response.put("data", buildHealthcareProviderProfileResponseDTOWithPrivacy(provider));
-            }
-            
+            // Served from Redis; invalidated whenever the profile, schedule or privacy settings change
+            response.putAll(publicProfileCache.get(id, () -> loadPublicProfile(id)));
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
@@ -249,6 +247,35 @@ public class HealthProviderController {
         }
     }
 
+    private Map<String, Object> loadPublicProfile(Long id) {
+        // Find healthcare provider by ID
+        HealthcareProvider provider = healthcareProviderService.findById(id)
+                .orElseThrow(() -> new RuntimeException("Healthcare provider not found"));
+
+        // The payload is shared by every node until the next change, so read the settings from the database
+        PrivacySettingsDTO privacySettings = privacySettingsService.getCurrentPrivacySettings(provider);
+        boolean isPublic = PrivacySettingsService.isPublic(privacySettings);
+
+        Map<String, Object> payload = new HashMap<>();
+        if (!isPublic) {
+            // Profile is private
+            payload.put("isPrivate", true);
+            payload.put("message", "This profile is private");
+            // Only return basic info
+            Map<String, Object> basicInfo = new HashMap<>();
+            basicInfo.put("id", provider.getId());
+            basicInfo.put("firstName", provider.getFirstName());
+            basicInfo.put("lastName", provider.getLastName());
+            basicInfo.put("profilePicture", provider.getProfilePicture());
+            payload.put("data", basicInfo);
+        } else {
+            // Profile is public - apply individual privacy settings
+            payload.put("isPrivate", false);
+            payload.put("data", buildHealthcareProviderProfileResponseDTOWithPrivacy(provider, privacySettings));
+        }
+        return payload;
+    }
+
     @PutMapping("/profile")
     public ResponseEntity<Map<String, Object>> updateProfile(
             @RequestHeader("Authorization") String token,
@@ -267,6 +294,11 @@ public class HealthProviderController {
             
             // Save updated provider
             HealthcareProvider savedProvider = healthcareProviderService.save(provider);
+            // Whether a collection-only edit reaches @PostUpdate depends on Hibernate's flush, so announce it here
+            if (updateRequest.getInsuranceAccepted() != null || updateRequest.getSpecializations() != null
+                    || updateRequest.getAvailableDays() != null) {
+                eventPublisher.publishEvent(new DoctorProfileChangedEvent(savedProvider.getId()));
+            }
             
             // Build response with updated provider data
             Map<String, Object> response = new HashMap<>();
@@ -791,12 +823,10 @@ public class HealthProviderController {
         }
     }
 
-    private Map<String, Object> buildHealthcareProviderProfileResponseDTOWithPrivacy(HealthcareProvider provider) {
+    private Map<String, Object> buildHealthcareProviderProfileResponseDTOWithPrivacy(HealthcareProvider provider,
+                                                                                      PrivacySettingsDTO privacySettings) {
         Map<String, Object> profile = new HashMap<>();
         
-        // Get privacy settings
-        var privacySettings = privacySettingsService.getPrivacySettings(provider);
-        
         // Basic Information (always shown)
         profile.put("id", provider.getId());
         profile.put("username", provider.getUsername());
@@ -4,11 +4,13 @@ import com.MediConnect.EntryRelated.dto.ForgotPasswordRequestDTO;
 import com.MediConnect.EntryRelated.dto.ResetPasswordRequestDTO;
 import com.MediConnect.EntryRelated.dto.SendMailRequestDTO;
 import com.MediConnect.EntryRelated.dto.VerifyOTPRequestDTO;
+import com.MediConnect.EntryRelated.exception.OtpRateLimitExceededException;
 import com.MediConnect.EntryRelated.service.OTPService;
 import com.MediConnect.Service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -33,7 +35,6 @@ public class OTPController {
     @PostMapping("/verify-registration")
     public ResponseEntity<Map<String, String>> verifyRegistrationOTP(@Valid @RequestBody VerifyOTPRequestDTO otpRequest) {
         if (otpService.verifyRegistrationOTP(otpRequest.getEmail(), otpRequest.getOtp())) {
-            otpService.clearRegistrationOTP(otpRequest.getEmail());
             return buildSuccessResponse("OTP verified successfully. You can now complete registration.");
         } else {
             return buildErrorResponse("Invalid or expired OTP");
@@ -77,14 +78,18 @@ public class OTPController {
         if (!resetRequest.getNewPassword().equals(resetRequest.getConfirmPassword())) {
             return buildErrorResponse("New password and confirm password do not match");
         }
-        if (!otpService.verifyPasswordResetOTP(resetRequest.getEmail(), resetRequest.getOtp())) {
+        if (!otpService.consumePasswordResetOTP(resetRequest.getEmail(), resetRequest.getOtp())) {
             return buildErrorResponse("Invalid or expired OTP");
         }
         userService.resetUserPassword(resetRequest.getEmail(), resetRequest.getNewPassword());
-        otpService.clearPasswordResetOTP(resetRequest.getEmail());
         return buildSuccessResponse("Password reset successfully. Please login with your new password.");
     }
 
+    @ExceptionHandler(OtpRateLimitExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleRateLimitExceeded(OtpRateLimitExceededException ex) {
+        return RetryLaterResponses.tooManyRequests(ex);
+    }
+
     private ResponseEntity<Map<String, String>> buildSuccessResponse(String message) {
         Map<String, String> response = new HashMap<>();
         response.put("status", "success");
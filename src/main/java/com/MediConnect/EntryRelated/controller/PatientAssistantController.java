@@ -6,14 +6,23 @@ import com.MediConnect.ai.service.PatientRecommendationChatService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Exposes the AI chatbot endpoint consumed by the landing page and patient dashboards.
+ * <p>
+ * Both endpoints are asynchronous: the servlet thread is released as soon as the model
+ * call has been dispatched, and the reply is written when the future completes.
  */
 @Slf4j
 @RestController
@@ -21,13 +30,46 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/ai")
 public class PatientAssistantController {
 
+    private static final long STREAM_TIMEOUT_MILLIS = 60_000L;
+
     private final PatientRecommendationChatService chatService;
 
     @PostMapping("/chat")
-    public ResponseEntity<ChatResponseDTO> chat(@Valid @RequestBody ChatRequestDTO request) {
+    public CompletableFuture<ResponseEntity<ChatResponseDTO>> chat(@Valid @RequestBody ChatRequestDTO request) {
         log.debug("Received chatbot request with {} messages", request.getMessages().size());
-        ChatResponseDTO response = chatService.chat(request);
-        return ResponseEntity.ok(response);
+        return chatService.chatAsync(request).thenApply(ResponseEntity::ok);
     }
-}
 
+    /**
+     * Server-Sent Events variant of {@link #chat}. Emits a {@code status} event immediately so the
+     * UI can show a typing indicator, then a single {@code reply} event carrying the
+     * {@link ChatResponseDTO}, and closes the stream.
+     */
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter chatStream(@Valid @RequestBody ChatRequestDTO request) {
+        log.debug("Received streaming chatbot request with {} messages", request.getMessages().size());
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        try {
+            emitter.send(SseEmitter.event().name("status").data(Map.of("state", "thinking")));
+        } catch (IOException ex) {
+            emitter.completeWithError(ex);
+            return emitter;
+        }
+
+        chatService.chatAsync(request).whenComplete((response, error) -> {
+            try {
+                if (error != null) {
+                    emitter.completeWithError(error);
+                    return;
+                }
+                emitter.send(SseEmitter.event().name("reply").data(response, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException | IllegalStateException ex) {
+                // Client disconnected or the emitter already timed out.
+                log.debug("Could not deliver streamed chatbot reply: {}", ex.getMessage());
+                emitter.completeWithError(ex);
+            }
+        });
+        return emitter;
+    }
+}
@@ -8,7 +8,9 @@ import com.MediConnect.EntryRelated.entities.LaboratoryResult;
 import com.MediConnect.EntryRelated.entities.Medication;
 import com.MediConnect.EntryRelated.entities.MentalHealthMedication;
 import com.MediConnect.EntryRelated.entities.Patient;
+import com.MediConnect.EntryRelated.exception.OtpRateLimitExceededException;
 import com.MediConnect.config.JWTService;
+import com.MediConnect.config.password.PasswordHashingBusyException;
 import com.MediConnect.EntryRelated.repository.LabResultRepo;
 import com.MediConnect.EntryRelated.repository.PatientRepo;
 import com.MediConnect.EntryRelated.service.patient.PatientService;
@@ -99,6 +101,11 @@ public class PatientController {
         try {
             Map<String, Object> response = patientService.login(patientInfo, request);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return RetryLaterResponses.busy(e);
+        } catch (OtpRateLimitExceededException e) {
+            // The 2FA code could not be sent: OTP send limit reached
+            return RetryLaterResponses.tooManyRequests(e);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("status", "error");
@@ -112,6 +119,8 @@ public class PatientController {
         try {
             Map<String, Object> response = patientService.verifyLoginOTP(request, httpRequest);
             return ResponseEntity.ok(response);
+        } catch (OtpRateLimitExceededException e) {
+            return RetryLaterResponses.tooManyRequests(e);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("status", "error");
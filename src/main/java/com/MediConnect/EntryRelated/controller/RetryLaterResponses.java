@@ -0,0 +1,43 @@
+package com.MediConnect.EntryRelated.controller;
+
+import com.MediConnect.EntryRelated.exception.OtpRateLimitExceededException;
+import com.MediConnect.config.password.PasswordHashingBusyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Error responses for requests the client should repeat later: the usual status/message body
+ * plus a {@code Retry-After} header.
+ */
+final class RetryLaterResponses {
+
+    private RetryLaterResponses() {
+    }
+
+    /**
+     * {@code 429} for an exhausted OTP send or verification limit.
+     */
+    static ResponseEntity<Map<String, Object>> tooManyRequests(OtpRateLimitExceededException e) {
+        return retryLater(HttpStatus.TOO_MANY_REQUESTS, e.getMessage(), e.getRetryAfterSeconds());
+    }
+
+    /**
+     * {@code 503} for a saturated password hashing pool.
+     */
+    static ResponseEntity<Map<String, Object>> busy(PasswordHashingBusyException e) {
+        return retryLater(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e.getRetryAfterSeconds());
+    }
+
+    private static ResponseEntity<Map<String, Object>> retryLater(HttpStatus status, String message, long retryAfterSeconds) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "error");
+        response.put("message", message);
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response);
+    }
+}
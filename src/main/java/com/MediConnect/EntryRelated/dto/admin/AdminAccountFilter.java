@@ -0,0 +1,20 @@
+package com.MediConnect.EntryRelated.dto.admin;
+
+import com.MediConnect.EntryRelated.entities.AccountStatus;
+import com.MediConnect.EntryRelated.entities.SpecializationType;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Filter criteria shared by the admin doctor and patient listings.
+ * {@code specialization} is ignored for patients.
+ */
+@Getter
+@Setter
+public class AdminAccountFilter {
+    private String name;
+    private String city;
+    private SpecializationType specialization;
+    private AccountStatus status;
+    private boolean includeFlagged;
+}
@@ -0,0 +1,28 @@
+package com.MediConnect.EntryRelated.dto.admin;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Row of the paged admin doctor listing. Only the columns the list view renders are selected;
+ * the full profile is still available from the doctor detail endpoints.
+ */
+@Value
+@Builder
+public class AdminDoctorListItemDTO {
+    Long id;
+    String firstName;
+    String lastName;
+    String email;
+    String clinicName;
+    String city;
+    String country;
+    String accountStatus;
+    boolean adminFlagged;
+    Date adminFlaggedAt;
+    Date registrationDate;
+    List<String> specializations;
+}
@@ -0,0 +1,25 @@
+package com.MediConnect.EntryRelated.dto.admin;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Date;
+
+/**
+ * Row of the paged admin patient listing, limited to the columns the list view renders.
+ */
+@Value
+@Builder
+public class AdminPatientListItemDTO {
+    Long id;
+    String firstName;
+    String lastName;
+    String email;
+    String phoneNumber;
+    String city;
+    String country;
+    String accountStatus;
+    boolean adminFlagged;
+    Date adminFlaggedAt;
+    Date registrationDate;
+}
@@ -1,5 +1,6 @@
 package com.MediConnect.EntryRelated.entities;
 
+import com.MediConnect.EntryRelated.entities.listener.DoctorProfileEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -7,6 +8,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@EntityListeners(DoctorProfileEntityListener.class)
 @Table(
     name = "day_availability",
     uniqueConstraints = @UniqueConstraint(
@@ -0,0 +1,62 @@
+package com.MediConnect.EntryRelated.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outgoing email waiting in the persistent outbox.
+ * 
+ * Rows are written on the request thread and sent by EmailDispatcher in the background,
+ * so a request only pays for one insert instead of an SMTP round-trip.
+ */
+@Entity
+@Table(name = "email_outbox",
+       indexes = @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+public class EmailOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    /**
+     * Plain-text body; cleared once the message is sent so OTP codes do not linger
+     */
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmailOutboxStatus status = EmailOutboxStatus.PENDING;
+
+    /**
+     * Number of send attempts started so far
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * Earliest time the dispatcher may (re)try this message
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,18 @@
+package com.MediConnect.EntryRelated.entities;
+
+public enum EmailOutboxStatus {
+    /**
+     * Waiting to be sent, or waiting for its next retry.
+     */
+    PENDING,
+
+    /**
+     * Accepted by the SMTP server.
+     */
+    SENT,
+
+    /**
+     * Gave up after the maximum number of attempts or a permanent error.
+     */
+    FAILED
+}
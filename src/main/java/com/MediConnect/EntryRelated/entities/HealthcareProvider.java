@@ -1,5 +1,6 @@
 package com.MediConnect.EntryRelated.entities;
 
+import com.MediConnect.EntryRelated.entities.listener.DoctorProfileEntityListener;
 import com.MediConnect.Entities.AppointmentEntity;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -9,6 +10,7 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
+@EntityListeners(DoctorProfileEntityListener.class)
 @Getter
 @Setter
 public class HealthcareProvider extends Users {
@@ -0,0 +1,44 @@
+package com.MediConnect.EntryRelated.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Daily profile view bucket for a healthcare provider.
+ * 
+ * Views are counted in memory by ProfileViewCounter and added to these rows in batches,
+ * so analytics sums at most one row per doctor per day instead of one row per view.
+ */
+@Entity
+@Table(name = "profile_view_daily",
+       uniqueConstraints = @UniqueConstraint(name = "uk_profile_view_daily_doctor_date",
+                                             columnNames = {"doctor_id", "view_date"}))
+@Getter
+@Setter
+public class ProfileViewDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID of the healthcare provider whose profile was viewed
+     */
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    /**
+     * Day the views happened (server time zone)
+     */
+    @Column(name = "view_date", nullable = false)
+    private LocalDate viewDate;
+
+    /**
+     * Number of views on that day
+     */
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+}
@@ -0,0 +1,61 @@
+package com.MediConnect.EntryRelated.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable delayed job, fired by DelayedJobDispatcher once {@code runAfter} has passed.
+ * 
+ * Jobs are written with an upsert keyed by (job_type, reference_id), so rescheduling the
+ * thing a job refers to simply moves its due time.
+ */
+@Entity
+@Table(name = "scheduled_jobs",
+       uniqueConstraints = @UniqueConstraint(name = "uk_scheduled_jobs_type_reference", columnNames = {"job_type", "reference_id"}),
+       indexes = @Index(name = "idx_scheduled_jobs_status_run_after", columnList = "status, run_after"))
+@Getter
+@Setter
+public class ScheduledJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false, length = 64)
+    private ScheduledJobType jobType;
+
+    @Column(name = "reference_id", nullable = false)
+    private Long referenceId;
+
+    /**
+     * Time the job is meant to fire
+     */
+    @Column(name = "due_at", nullable = false)
+    private LocalDateTime dueAt;
+
+    /**
+     * Earliest time the dispatcher may (re)try this job; equals due_at until the first attempt
+     */
+    @Column(name = "run_after", nullable = false)
+    private LocalDateTime runAfter;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ScheduledJobStatus status = ScheduledJobStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,23 @@
+package com.MediConnect.EntryRelated.entities;
+
+public enum ScheduledJobStatus {
+    /**
+     * Waiting for its due time, or for its next retry.
+     */
+    PENDING,
+
+    /**
+     * Handled successfully.
+     */
+    DONE,
+
+    /**
+     * Withdrawn before it became due (for example the appointment was cancelled).
+     */
+    CANCELLED,
+
+    /**
+     * Gave up after the maximum number of attempts.
+     */
+    FAILED
+}
@@ -0,0 +1,17 @@
+package com.MediConnect.EntryRelated.entities;
+
+/**
+ * Kinds of delayed job. The reference id of a job points at the row it acts on, and there is
+ * at most one job per (type, reference) pair.
+ */
+public enum ScheduledJobType {
+    /**
+     * Reference: appointment id
+     */
+    APPOINTMENT_REMINDER_24H,
+
+    /**
+     * Reference: appointment id
+     */
+    APPOINTMENT_REMINDER_1H
+}
@@ -1,5 +1,6 @@
 package com.MediConnect.EntryRelated.entities;
 
+import com.MediConnect.EntryRelated.entities.listener.DoctorProfileEntityListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(DoctorProfileEntityListener.class)
 @Table(name = "user_privacy_settings")
 @Getter
 @Setter
@@ -1,5 +1,6 @@
 package com.MediConnect.EntryRelated.entities;
 
+import com.MediConnect.EntryRelated.entities.listener.DoctorProfileEntityListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -7,6 +8,7 @@ import lombok.Setter;
 import java.util.Date;
 
 @Entity
+@EntityListeners(DoctorProfileEntityListener.class)
 @Getter
 @Setter
 public class WorkExperience {
@@ -0,0 +1,28 @@
+package com.MediConnect.EntryRelated.entities.listener;
+
+import com.MediConnect.Entities.AppointmentEntity;
+import com.MediConnect.EntryRelated.service.appointment.AppointmentChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Turns writes to appointments into {@link AppointmentChangedEvent}s, so reminders follow
+ * every booking, confirmation, reschedule and cancellation path.
+ */
+public class AppointmentEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AppointmentEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(AppointmentEntity appointment) {
+        eventPublisher.publishEvent(new AppointmentChangedEvent(appointment.getId()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.MediConnect.EntryRelated.entities.listener;
+
+import com.MediConnect.EntryRelated.entities.DayAvailability;
+import com.MediConnect.EntryRelated.entities.EducationHistory;
+import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.MediConnect.EntryRelated.entities.UserPrivacySettings;
+import com.MediConnect.EntryRelated.entities.WorkExperience;
+import com.MediConnect.EntryRelated.service.profile.DoctorProfileChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Turns writes to public-profile entities into {@link DoctorProfileChangedEvent}s.
+ * 
+ * Hooking the entities rather than individual endpoints catches every write path (profile
+ * edits, schedule updates, admin changes, cascades). Hibernate obtains this listener from the
+ * Spring bean container, so the publisher is injected. Changes that only touch a provider's
+ * element collections (insurance, specializations, available days) reach this listener only when
+ * Hibernate also schedules an update of the provider row, so the profile update paths publish the
+ * event for those themselves.
+ */
+public class DoctorProfileEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DoctorProfileEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        Long doctorId = doctorIdOf(entity);
+        if (doctorId != null) {
+            eventPublisher.publishEvent(new DoctorProfileChangedEvent(doctorId));
+        }
+    }
+
+    private static Long doctorIdOf(Object entity) {
+        if (entity instanceof HealthcareProvider provider) {
+            return provider.getId();
+        }
+        if (entity instanceof DayAvailability availability && availability.getProvider() != null) {
+            return availability.getProvider().getId();
+        }
+        if (entity instanceof EducationHistory education && education.getProvider() != null) {
+            return education.getProvider().getId();
+        }
+        if (entity instanceof WorkExperience experience && experience.getProvider() != null) {
+            return experience.getProvider().getId();
+        }
+        if (entity instanceof UserPrivacySettings settings && settings.getUser() != null) {
+            return settings.getUser().getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.MediConnect.EntryRelated.exception;
+
+import lombok.Getter;
+
+@Getter
+public class OtpRateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public OtpRateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -3,6 +3,7 @@ package com.MediConnect.EntryRelated.repository;
 import com.MediConnect.EntryRelated.entities.AccountActivity;
 import com.MediConnect.EntryRelated.entities.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -29,5 +30,7 @@ public interface AccountActivityRepository extends JpaRepository<AccountActivity
     );
     
     // Delete old activities (cleanup)
-    void deleteByUserAndTimestampBefore(Users user, LocalDateTime cutoffTime);
+    @Modifying
+    @Query("DELETE FROM AccountActivity a WHERE a.user = :user AND a.timestamp < :cutoffTime")
+    int deleteByUserAndTimestampBefore(@Param("user") Users user, @Param("cutoffTime") LocalDateTime cutoffTime);
 }
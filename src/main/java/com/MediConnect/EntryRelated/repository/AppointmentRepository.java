@@ -1,14 +1,19 @@
 package com.MediConnect.EntryRelated.repository;
 
 import com.MediConnect.Entities.AppointmentEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.MediConnect.Entities.AppointmentStatus;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<AppointmentEntity, Integer> {
@@ -16,21 +21,73 @@ public interface AppointmentRepository extends JpaRepository<AppointmentEntity,
     List<AppointmentEntity> findByHealthcareProviderId(Long providerId);
     
     /**
-     * Find confirmed appointments that need a 24-hour reminder
-     * Appointments that are:
-     * - Status is CONFIRMED
-     * - Appointment time is between 24 and 36 hours from now (12-hour window since we check every 12 hours)
-     * - reminder_24h_sent is false
+     * Appointments in the given status that start after the given time.
+     * Used to (re)schedule reminder jobs on startup.
      */
-    @Query("SELECT a FROM AppointmentEntity a WHERE a.status = :status " +
-           "AND a.appointmentDateTime >= :startTime " +
-           "AND a.appointmentDateTime <= :endTime " +
-           "AND a.reminder24hSent = false")
-    List<AppointmentEntity> findAppointmentsNeeding24hReminder(
-        @Param("status") AppointmentStatus status,
-        @Param("startTime") Date startTime,
-        @Param("endTime") Date endTime
-    );
+    List<AppointmentEntity> findByStatusAndAppointmentDateTimeAfter(AppointmentStatus status, Date after);
+
+    /**
+     * Loads an appointment with patient and doctor, which reminders hand to the async
+     * notification executor after the loading session has closed.
+     */
+    @EntityGraph(attributePaths = {"patient", "healthcareProvider"})
+    Optional<AppointmentEntity> findWithParticipantsById(int id);
+
+    String LIST_VIEW_SELECT = "SELECT a.id AS id, a.appointmentDateTime AS appointmentDateTime, a.status AS status, " +
+            "a.reason AS reason, a.notes AS notes, a.shareMedicalRecords AS shareMedicalRecords, " +
+            "a.isVideoCall AS isVideoCall, a.isCallActive AS isCallActive, a.createdAt AS createdAt, " +
+            "p.id AS patientId, p.firstName AS patientFirstName, p.lastName AS patientLastName, " +
+            "p.email AS patientEmail, p.phoneNumber AS patientPhone, " +
+            "p.insuranceProvider AS insuranceProvider, p.insuranceNumber AS insuranceNumber, " +
+            "d.id AS doctorId, d.firstName AS doctorFirstName, d.lastName AS doctorLastName, " +
+            "d.email AS doctorEmail, d.phoneNumber AS doctorPhone, d.profilePicture AS doctorProfilePicture ";
+
+    String LIST_VIEW_FILTER = "AND a.status IN :statuses AND a.appointmentDateTime >= :from AND a.appointmentDateTime < :to";
+
+    /**
+     * One page of a patient's appointments as flat rows, without loading either party's entity.
+     * Served by idx_appointment_patient_date_time.
+     */
+    @Query(value = LIST_VIEW_SELECT +
+           "FROM AppointmentEntity a JOIN a.patient p JOIN a.healthcareProvider d " +
+           "WHERE p.id = :patientId " + LIST_VIEW_FILTER,
+           countQuery = "SELECT COUNT(a) FROM AppointmentEntity a WHERE a.patient.id = :patientId " + LIST_VIEW_FILTER)
+    Page<AppointmentListView> findPatientAppointmentViews(@Param("patientId") Long patientId,
+                                                          @Param("statuses") Collection<AppointmentStatus> statuses,
+                                                          @Param("from") Date from,
+                                                          @Param("to") Date to,
+                                                          Pageable pageable);
+
+    /**
+     * One page of a doctor's appointments as flat rows, without loading either party's entity.
+     * Served by idx_appointment_provider_date_time.
+     */
+    @Query(value = LIST_VIEW_SELECT +
+           "FROM AppointmentEntity a JOIN a.patient p JOIN a.healthcareProvider d " +
+           "WHERE d.id = :doctorId " + LIST_VIEW_FILTER,
+           countQuery = "SELECT COUNT(a) FROM AppointmentEntity a WHERE a.healthcareProvider.id = :doctorId " + LIST_VIEW_FILTER)
+    Page<AppointmentListView> findDoctorAppointmentViews(@Param("doctorId") Long doctorId,
+                                                         @Param("statuses") Collection<AppointmentStatus> statuses,
+                                                         @Param("from") Date from,
+                                                         @Param("to") Date to,
+                                                         Pageable pageable);
+
+    /**
+     * Appointments among the given ids where the patient consented to share medical records
+     * and the user is one of the two parties.
+     */
+    @Query("SELECT a.id AS appointmentId, a.patient.id AS patientId FROM AppointmentEntity a " +
+           "WHERE a.id IN :appointmentIds AND a.shareMedicalRecords = true " +
+           "AND (a.patient.id = :userId OR a.healthcareProvider.id = :userId)")
+    List<SharedRecordsView> findSharedRecordsViews(@Param("appointmentIds") Collection<Integer> appointmentIds,
+                                                   @Param("userId") Long userId);
+
+    /**
+     * The two parties of an appointment, for authorizing video signaling
+     */
+    @Query("SELECT a.patient.username AS patientUsername, a.healthcareProvider.username AS doctorUsername, " +
+           "a.isVideoCall AS isVideoCall FROM AppointmentEntity a WHERE a.id = :appointmentId")
+    Optional<CallParticipantsView> findCallParticipants(@Param("appointmentId") Integer appointmentId);
     
     // Temporarily commented out to test if this is causing the startup issue
     // Uncomment after confirming the application starts successfully
@@ -47,5 +104,40 @@ public interface AppointmentRepository extends JpaRepository<AppointmentEntity,
         @Param("status") String status
     );
     */
-}
 
+    interface AppointmentListView {
+        Integer getId();
+        Date getAppointmentDateTime();
+        AppointmentStatus getStatus();
+        String getReason();
+        String getNotes();
+        Boolean getShareMedicalRecords();
+        Boolean getIsVideoCall();
+        Boolean getIsCallActive();
+        Date getCreatedAt();
+        Long getPatientId();
+        String getPatientFirstName();
+        String getPatientLastName();
+        String getPatientEmail();
+        String getPatientPhone();
+        String getInsuranceProvider();
+        String getInsuranceNumber();
+        Long getDoctorId();
+        String getDoctorFirstName();
+        String getDoctorLastName();
+        String getDoctorEmail();
+        String getDoctorPhone();
+        String getDoctorProfilePicture();
+    }
+
+    interface SharedRecordsView {
+        Integer getAppointmentId();
+        Long getPatientId();
+    }
+
+    interface CallParticipantsView {
+        String getPatientUsername();
+        String getDoctorUsername();
+        Boolean getIsVideoCall();
+    }
+}
@@ -0,0 +1,33 @@
+package com.MediConnect.EntryRelated.repository;
+
+import com.MediConnect.EntryRelated.entities.EmailOutboxMessage;
+import com.MediConnect.EntryRelated.entities.EmailOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for the persistent email outbox. Claiming and sending is done by
+ * EmailDispatcher with plain SQL.
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    long countByStatus(EmailOutboxStatus status);
+
+    /**
+     * Removes sent messages older than the cutoff
+     *
+     * @param cutoff Messages sent before this time are deleted
+     * @return Number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status = com.MediConnect.EntryRelated.entities.EmailOutboxStatus.SENT AND m.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,13 +1,19 @@
 package com.MediConnect.EntryRelated.repository;
 
 import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.MediConnect.EntryRelated.entities.SpecializationType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface HealthcareProviderRepo extends JpaRepository<HealthcareProvider, Long> {
+public interface HealthcareProviderRepo extends JpaRepository<HealthcareProvider, Long>, JpaSpecificationExecutor<HealthcareProvider> {
     Optional<HealthcareProvider> findByUsername(String username);
 
     Optional<HealthcareProvider> findByEmail(String email);
@@ -19,4 +25,16 @@ public interface HealthcareProviderRepo extends JpaRepository<HealthcareProvider
     boolean existsByEmail(String email);
 
     boolean existsByLicenseNumber(String licenseNumber);
+
+    /**
+     * Specializations for many doctors in one query, without loading the doctors themselves
+     */
+    @Query("SELECT d.id AS doctorId, s AS specialization FROM HealthcareProvider d JOIN d.specializations s " +
+           "WHERE d.id IN :doctorIds")
+    List<DoctorSpecializationView> findSpecializationsByDoctorIdIn(@Param("doctorIds") Collection<Long> doctorIds);
+
+    interface DoctorSpecializationView {
+        Long getDoctorId();
+        SpecializationType getSpecialization();
+    }
 }
\ No newline at end of file
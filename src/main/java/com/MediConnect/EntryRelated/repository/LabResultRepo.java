@@ -2,12 +2,32 @@ package com.MediConnect.EntryRelated.repository;
 
 import com.MediConnect.EntryRelated.entities.LaboratoryResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface LabResultRepo extends JpaRepository<LaboratoryResult, Long> {
 
     List<LaboratoryResult> findByPatientId(Long patientId);
+
+    /**
+     * Lab results of many patients without reading the image bytes; only their size is returned
+     */
+    @Query(value = "SELECT id AS id, patient_id AS patientId, description AS description, result_url AS resultUrl, " +
+                   "COALESCE(octet_length(image), 0) AS imageSize " +
+                   "FROM laboratory_result WHERE patient_id IN (:patientIds) ORDER BY id",
+           nativeQuery = true)
+    List<LabResultSummaryView> findSummariesByPatientIdIn(@Param("patientIds") Collection<Long> patientIds);
+
+    interface LabResultSummaryView {
+        Long getId();
+        Long getPatientId();
+        String getDescription();
+        String getResultUrl();
+        Integer getImageSize();
+    }
 }
@@ -3,6 +3,7 @@ package com.MediConnect.EntryRelated.repository;
 import com.MediConnect.EntryRelated.entities.LoginSession;
 import com.MediConnect.EntryRelated.entities.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -26,7 +27,9 @@ public interface LoginSessionRepository extends JpaRepository<LoginSession, Long
     @Query("SELECT ls FROM LoginSession ls WHERE ls.user = :user ORDER BY ls.loginTime DESC LIMIT :limit")
     List<LoginSession> findRecentSessionsByUser(@Param("user") Users user, @Param("limit") int limit);
     
-    void deleteByUserAndIsActiveFalseAndLogoutTimeBefore(Users user, LocalDateTime cutoffTime);
+    @Modifying
+    @Query("DELETE FROM LoginSession ls WHERE ls.user = :user AND ls.isActive = false AND ls.logoutTime < :cutoffTime")
+    int deleteByUserAndIsActiveFalseAndLogoutTimeBefore(@Param("user") Users user, @Param("cutoffTime") LocalDateTime cutoffTime);
     
     // Find sessions that haven't been active for a certain period
     @Query("SELECT ls FROM LoginSession ls WHERE ls.user = :user AND ls.isActive = true AND ls.lastActivityTime < :cutoffTime")
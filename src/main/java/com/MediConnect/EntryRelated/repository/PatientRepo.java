@@ -1,13 +1,20 @@
 package com.MediConnect.EntryRelated.repository;
 
+import com.MediConnect.EntryRelated.entities.Medication;
+import com.MediConnect.EntryRelated.entities.MentalHealthMedication;
 import com.MediConnect.EntryRelated.entities.Patient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PatientRepo extends JpaRepository<Patient, Long> {
+public interface PatientRepo extends JpaRepository<Patient, Long>, JpaSpecificationExecutor<Patient> {
     Optional<Patient> findByUsername(String username);
 
     Optional<Patient> findByEmail(String email);
@@ -15,4 +22,16 @@ public interface PatientRepo extends JpaRepository<Patient, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Medications of many patients in one query
+     */
+    @Query("SELECT m FROM Medication m WHERE m.patient.id IN :patientIds ORDER BY m.id")
+    List<Medication> findMedicationsByPatientIdIn(@Param("patientIds") Collection<Long> patientIds);
+
+    /**
+     * Mental health medications of many patients in one query
+     */
+    @Query("SELECT m FROM MentalHealthMedication m WHERE m.patient.id IN :patientIds ORDER BY m.id")
+    List<MentalHealthMedication> findMentalHealthMedicationsByPatientIdIn(@Param("patientIds") Collection<Long> patientIds);
 }
\ No newline at end of file
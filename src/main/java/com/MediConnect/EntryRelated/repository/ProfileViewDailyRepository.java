@@ -0,0 +1,39 @@
+package com.MediConnect.EntryRelated.repository;
+
+import com.MediConnect.EntryRelated.entities.ProfileViewDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * Repository for daily profile view buckets.
+ */
+@Repository
+public interface ProfileViewDailyRepository extends JpaRepository<ProfileViewDaily, Long> {
+
+    /**
+     * Total profile views recorded for a doctor
+     *
+     * @param doctorId The ID of the healthcare provider
+     * @return Sum of all daily buckets (0 if none)
+     */
+    @Query("SELECT COALESCE(SUM(d.viewCount), 0) FROM ProfileViewDaily d WHERE d.doctorId = :doctorId")
+    long sumByDoctorId(@Param("doctorId") Long doctorId);
+
+    /**
+     * Profile views for a doctor between two days
+     *
+     * @param doctorId The ID of the healthcare provider
+     * @param startDate First day (inclusive)
+     * @param endDate Last day (inclusive)
+     * @return Sum of the daily buckets in the range (0 if none)
+     */
+    @Query("SELECT COALESCE(SUM(d.viewCount), 0) FROM ProfileViewDaily d WHERE d.doctorId = :doctorId " +
+           "AND d.viewDate >= :startDate AND d.viewDate <= :endDate")
+    long sumByDoctorIdAndDateRange(@Param("doctorId") Long doctorId,
+                                   @Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
+}
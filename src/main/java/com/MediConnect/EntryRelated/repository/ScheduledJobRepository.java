@@ -0,0 +1,33 @@
+package com.MediConnect.EntryRelated.repository;
+
+import com.MediConnect.EntryRelated.entities.ScheduledJob;
+import com.MediConnect.EntryRelated.entities.ScheduledJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for delayed jobs. Scheduling and claiming is done by DelayedJobScheduler and
+ * DelayedJobDispatcher with plain SQL.
+ */
+@Repository
+public interface ScheduledJobRepository extends JpaRepository<ScheduledJob, Long> {
+
+    long countByStatus(ScheduledJobStatus status);
+
+    /**
+     * Removes finished jobs (done, cancelled or failed) older than the cutoff
+     *
+     * @param cutoff Jobs due before this time are deleted
+     * @return Number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ScheduledJob j WHERE j.status <> com.MediConnect.EntryRelated.entities.ScheduledJobStatus.PENDING AND j.dueAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
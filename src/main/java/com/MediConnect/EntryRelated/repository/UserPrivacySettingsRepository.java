@@ -3,8 +3,12 @@ package com.MediConnect.EntryRelated.repository;
 import com.MediConnect.EntryRelated.entities.UserPrivacySettings;
 import com.MediConnect.EntryRelated.entities.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,4 +19,21 @@ public interface UserPrivacySettingsRepository extends JpaRepository<UserPrivacy
     Optional<UserPrivacySettings> findByUserId(Long userId);
     
     boolean existsByUser(Users user);
+
+    /**
+     * Privacy flags for many users in one query, without loading the users themselves
+     */
+    @Query("SELECT s.user.id AS userId, s.profileVisibility AS profileVisibility, s.showEmail AS showEmail, " +
+           "s.showPhone AS showPhone, s.showAddress AS showAddress, s.showMedicalHistory AS showMedicalHistory " +
+           "FROM UserPrivacySettings s WHERE s.user.id IN :userIds")
+    List<PrivacySettingsView> findViewsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    interface PrivacySettingsView {
+        Long getUserId();
+        String getProfileVisibility();
+        Boolean getShowEmail();
+        Boolean getShowPhone();
+        Boolean getShowAddress();
+        Boolean getShowMedicalHistory();
+    }
 }
@@ -0,0 +1,358 @@
+package com.MediConnect.EntryRelated.service;
+
+import com.MediConnect.EntryRelated.entities.AccountActivity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Background writer for login sessions and account activity.
+ * <p>
+ * Request threads only capture the raw values (user id, token, IP, User-Agent) into a bounded
+ * queue. A scheduled drain classifies the User-Agent and writes each kind of event with one JDBC
+ * batch, so login latency does not depend on audit writes. When the queue is full new events are
+ * dropped and counted rather than blocking the caller.
+ * <p>
+ * Each batch is written in one transaction. If the database cannot be reached the batch is kept
+ * and retried on the following drains, while new events wait in the queue, until it has failed
+ * for {@code activity.pipeline.retry-for}; then it is dropped and counted. A batch rejected for
+ * its data (for example an activity of a user deleted meanwhile) is written again one event at a
+ * time, so only the offending events are dropped.
+ * <p>
+ * Sessions that are queued but not yet written are listed by {@link #queuedSessions(Long)}, so a
+ * session list requested right after login already shows the new session.
+ * <p>
+ * Session "last activity" touches bypass the queue: the latest time per token is kept in a map and
+ * written once per touch interval, so a busy session costs one update per interval instead of one
+ * find-then-save per request.
+ */
+@Slf4j
+@Component
+public class ActivityEventPipeline {
+
+    // A token that is already registered (a replayed event, or two logins minting the same JWT) is skipped
+    private static final String INSERT_SESSION_SQL =
+            "INSERT INTO login_sessions (user_id, session_token, ip_address, user_agent, location, device, browser, " +
+            "login_time, is_active, created_at, last_activity_time) SELECT ?, ?, ?, ?, ?, ?, ?, ?, true, ?, ? " +
+            "WHERE NOT EXISTS (SELECT 1 FROM login_session_tokens WHERE session_token = ?)";
+
+    private static final String INSERT_ACTIVITY_SQL =
+            "INSERT INTO account_activities (user_id, type, description, ip_address, location, device, user_agent, timestamp) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String END_SESSION_SQL =
+            "UPDATE login_sessions SET is_active = false, logout_time = ? WHERE session_token = ? AND is_active = true " +
+            "RETURNING user_id, browser, device";
+
+    private static final String TOUCH_SESSION_SQL =
+            "UPDATE login_sessions SET last_activity_time = ? WHERE session_token = ? " +
+            "AND (last_activity_time IS NULL OR last_activity_time < ?)";
+
+    private static final String UNKNOWN_IP = "unknown";
+    private static final String UNKNOWN_LOCATION = "Unknown Location";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final BlockingQueue<ActivityEvent> queue;
+    private final int batchSize;
+    private final Duration retryFor;
+    private final Map<String, LocalDateTime> pendingTouches = new ConcurrentHashMap<>();
+    private final Map<String, QueuedSession> queuedSessions = new ConcurrentHashMap<>();
+    private final Counter droppedQueueFull;
+    private final Counter droppedWriteFailed;
+    private final Counter retried;
+
+    // Batch held for retry and when its first write failed; only used by drain(), which is synchronized
+    private List<ActivityEvent> failedBatch;
+    private long failingSinceNanos;
+
+    public ActivityEventPipeline(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${activity.pipeline.capacity:10000}") int capacity,
+                                 @Value("${activity.pipeline.batch-size:500}") int batchSize,
+                                 @Value("${activity.pipeline.retry-for:5m}") Duration retryFor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.retryFor = retryFor;
+        this.droppedQueueFull = meterRegistry.counter("mediconnect.activity.dropped", "reason", "queue-full");
+        this.droppedWriteFailed = meterRegistry.counter("mediconnect.activity.dropped", "reason", "write-failed");
+        this.retried = meterRegistry.counter("mediconnect.activity.retried");
+        Gauge.builder("mediconnect.activity.queued", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    public void sessionStarted(Long userId, String sessionToken, String ipAddress, String userAgent, LocalDateTime loginTime) {
+        queuedSessions.put(sessionToken, new QueuedSession(userId, sessionToken, ipAddress, userAgent, loginTime, null));
+        if (!enqueue(new SessionStarted(userId, sessionToken, ipAddress, userAgent, loginTime))) {
+            queuedSessions.remove(sessionToken);
+        }
+    }
+
+    public void sessionEnded(String sessionToken, LocalDateTime logoutTime) {
+        queuedSessions.computeIfPresent(sessionToken, (token, session) -> session.endedAt(logoutTime));
+        enqueue(new SessionEnded(sessionToken, logoutTime));
+    }
+
+    public void activity(Long userId, AccountActivity.ActivityType type, String description,
+                         String ipAddress, String userAgent, LocalDateTime timestamp) {
+        enqueue(new ActivityLogged(userId, type, description, ipAddress, userAgent, timestamp));
+    }
+
+    /**
+     * Records that a session was used; only the latest time per token is written.
+     */
+    public void sessionTouched(String sessionToken, LocalDateTime time) {
+        pendingTouches.merge(sessionToken, time, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    /**
+     * Sessions of this user that have been started but not written yet, oldest first.
+     */
+    public List<QueuedSession> queuedSessions(Long userId) {
+        return queuedSessions.values().stream()
+                .filter(session -> Objects.equals(session.userId(), userId))
+                .sorted((a, b) -> a.loginTime().compareTo(b.loginTime()))
+                .toList();
+    }
+
+    public long getDroppedEvents() {
+        return (long) (droppedQueueFull.count() + droppedWriteFailed.count());
+    }
+
+    public int getQueuedEvents() {
+        return queue.size();
+    }
+
+    private boolean enqueue(ActivityEvent event) {
+        if (queue.offer(event)) {
+            return true;
+        }
+        droppedQueueFull.increment();
+        long dropped = (long) droppedQueueFull.count();
+        // Log the first drop and then every thousandth to avoid flooding the log under load
+        if (dropped == 1 || dropped % 1000 == 0) {
+            log.warn("Activity queue full, {} events dropped so far", dropped);
+        }
+        return false;
+    }
+
+    /**
+     * Drains the queue in batches, starting with a batch held from an earlier failed drain. New
+     * sessions are written before activities and logouts of the same batch, so a logout always
+     * finds the session it ends. Stops at the first batch that has to be held for retry.
+     */
+    @Scheduled(fixedDelayString = "${activity.pipeline.flush-interval-ms:500}")
+    public synchronized void drain() {
+        if (failedBatch != null) {
+            if (!flush(failedBatch)) {
+                return;
+            }
+            failedBatch = null;
+        }
+        List<ActivityEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            if (!flush(batch)) {
+                return;
+            }
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    /**
+     * @return false if the batch, or what is left of it, is held in {@link #failedBatch}
+     */
+    private boolean flush(List<ActivityEvent> batch) {
+        try {
+            write(batch);
+            return true;
+        } catch (DataIntegrityViolationException rejected) {
+            log.warn("Activity batch of {} events rejected, writing them one at a time: {}",
+                    batch.size(), rejected.getMessage());
+        } catch (DataAccessException ex) {
+            return hold(batch, ex);
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            List<ActivityEvent> single = List.of(batch.get(i));
+            try {
+                write(single);
+            } catch (DataIntegrityViolationException rejected) {
+                log.warn("Dropping activity event that cannot be stored: {}", rejected.getMessage());
+                dropped(single);
+            } catch (DataAccessException ex) {
+                return hold(new ArrayList<>(batch.subList(i, batch.size())), ex);
+            }
+        }
+        return true;
+    }
+
+    private void write(List<ActivityEvent> events) {
+        writeTransaction.executeWithoutResult(status -> writeBatch(events));
+        for (ActivityEvent event : events) {
+            if (event instanceof SessionStarted started) {
+                queuedSessions.remove(started.sessionToken());
+            }
+        }
+    }
+
+    private boolean hold(List<ActivityEvent> batch, DataAccessException failure) {
+        if (failedBatch == null) {
+            failingSinceNanos = System.nanoTime();
+            log.warn("Failed to write {} activity events, will retry: {}", batch.size(), failure.getMessage());
+        }
+        if (System.nanoTime() - failingSinceNanos >= retryFor.toNanos()) {
+            log.error("Dropping {} activity events after failing to write them for {}: {}",
+                    batch.size(), retryFor, failure.getMessage());
+            dropped(batch);
+            failedBatch = null;
+            return false;
+        }
+        retried.increment();
+        failedBatch = batch;
+        return false;
+    }
+
+    private void dropped(List<ActivityEvent> events) {
+        droppedWriteFailed.increment(events.size());
+        for (ActivityEvent event : events) {
+            if (event instanceof SessionStarted started) {
+                queuedSessions.remove(started.sessionToken());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${activity.pipeline.touch-interval-ms:30000}")
+    public void flushTouches() {
+        if (pendingTouches.isEmpty()) {
+            return;
+        }
+        Map<String, LocalDateTime> touches = new HashMap<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (String token : List.copyOf(pendingTouches.keySet())) {
+            LocalDateTime time = pendingTouches.remove(token);
+            if (time != null) {
+                touches.put(token, time);
+                Timestamp timestamp = Timestamp.valueOf(time);
+                rows.add(new Object[]{timestamp, token, timestamp});
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(TOUCH_SESSION_SQL, rows);
+        } catch (DataAccessException ex) {
+            // Put them back for the next interval; a newer touch that arrived meanwhile wins
+            touches.forEach(this::sessionTouched);
+            log.warn("Failed to write {} session activity updates, will retry: {}", rows.size(), ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        drain();
+        if (failedBatch != null) {
+            log.error("Shutting down with {} unwritten activity events", failedBatch.size() + queue.size());
+        }
+        flushTouches();
+    }
+
+    private void writeBatch(List<ActivityEvent> batch) {
+        List<Object[]> sessions = new ArrayList<>();
+        List<Object[]> activities = new ArrayList<>();
+        List<SessionEnded> endedSessions = new ArrayList<>();
+
+        for (ActivityEvent event : batch) {
+            if (event instanceof SessionStarted started) {
+                String device = ActivityService.detectDevice(started.userAgent());
+                String browser = ActivityService.detectBrowser(started.userAgent());
+                Timestamp loginTime = Timestamp.valueOf(started.loginTime());
+                sessions.add(new Object[]{started.userId(), started.sessionToken(), orUnknown(started.ipAddress()),
+                        started.userAgent() != null ? started.userAgent() : "", UNKNOWN_LOCATION, device, browser,
+                        loginTime, loginTime, loginTime, started.sessionToken()});
+                activities.add(activityRow(started.userId(), AccountActivity.ActivityType.LOGIN,
+                        "Successful login from " + browser + " on " + device,
+                        started.ipAddress(), started.userAgent(), started.loginTime()));
+            } else if (event instanceof ActivityLogged logged) {
+                activities.add(activityRow(logged.userId(), logged.type(), logged.description(),
+                        logged.ipAddress(), logged.userAgent(), logged.timestamp()));
+            } else if (event instanceof SessionEnded ended) {
+                endedSessions.add(ended);
+            }
+        }
+
+        if (!sessions.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SESSION_SQL, sessions);
+        }
+        for (SessionEnded ended : endedSessions) {
+            pendingTouches.remove(ended.sessionToken());
+            jdbcTemplate.query(END_SESSION_SQL, rs -> {
+                activities.add(activityRow(rs.getLong("user_id"), AccountActivity.ActivityType.LOGOUT,
+                        "Logged out from " + rs.getString("browser") + " on " + rs.getString("device"),
+                        null, null, ended.logoutTime()));
+            }, Timestamp.valueOf(ended.logoutTime()), ended.sessionToken());
+        }
+        if (!activities.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ACTIVITY_SQL, activities);
+        }
+        log.debug("Wrote {} sessions, {} logouts and {} activities", sessions.size(), endedSessions.size(), activities.size());
+    }
+
+    private static Object[] activityRow(Long userId, AccountActivity.ActivityType type, String description,
+                                        String ipAddress, String userAgent, LocalDateTime timestamp) {
+        String device = userAgent != null ? ActivityService.detectDevice(userAgent) : null;
+        String location = ipAddress != null ? UNKNOWN_LOCATION : null;
+        return new Object[]{userId, type.name(), description, orUnknown(ipAddress), location, device, userAgent,
+                Timestamp.valueOf(timestamp)};
+    }
+
+    private static String orUnknown(String ipAddress) {
+        return ipAddress != null ? ipAddress : UNKNOWN_IP;
+    }
+
+    /**
+     * A started session as captured on the request thread; {@code logoutTime} is set if its
+     * logout is queued as well.
+     */
+    public record QueuedSession(Long userId, String sessionToken, String ipAddress, String userAgent,
+                                LocalDateTime loginTime, LocalDateTime logoutTime) {
+
+        QueuedSession endedAt(LocalDateTime time) {
+            return new QueuedSession(userId, sessionToken, ipAddress, userAgent, loginTime, time);
+        }
+    }
+
+    private sealed interface ActivityEvent permits SessionStarted, SessionEnded, ActivityLogged {
+    }
+
+    private record SessionStarted(Long userId, String sessionToken, String ipAddress, String userAgent,
+                                  LocalDateTime loginTime) implements ActivityEvent {
+    }
+
+    private record SessionEnded(String sessionToken, LocalDateTime logoutTime) implements ActivityEvent {
+    }
+
+    private record ActivityLogged(Long userId, AccountActivity.ActivityType type, String description,
+                                  String ipAddress, String userAgent, LocalDateTime timestamp) implements ActivityEvent {
+    }
+}
@@ -14,7 +14,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,82 +26,55 @@ public class ActivityService {
     
     private final LoginSessionRepository loginSessionRepository;
     private final AccountActivityRepository accountActivityRepository;
+    private final ActivityEventPipeline activityEventPipeline;
     
     /**
-     * Create a new login session
+     * Record a new login session. The session row and its LOGIN activity are written
+     * in the background by ActivityEventPipeline, so this does no database work.
      */
-    @Transactional
-    public LoginSession createLoginSession(Users user, String sessionToken, HttpServletRequest request) {
-        LoginSession session = new LoginSession();
-        session.setUser(user);
-        session.setSessionToken(sessionToken);
-        session.setIpAddress(getClientIpAddress(request));
-        session.setUserAgent(request.getHeader("User-Agent"));
-        session.setLocation(detectLocation(request)); // You can implement IP geolocation
-        session.setDevice(detectDevice(request));
-        session.setBrowser(detectBrowser(request));
-        session.setLoginTime(LocalDateTime.now());
-        session.setLastActivityTime(LocalDateTime.now());
-        
-        LoginSession savedSession = loginSessionRepository.save(session);
-        
-        // Log the login activity
-        logAccountActivity(user, AccountActivity.ActivityType.LOGIN, 
-            "Successful login from " + session.getBrowser() + " on " + session.getDevice(), 
-            request);
-        
-        log.info("Created login session for user {} with session token {}", user.getUsername(), sessionToken);
-        return savedSession;
+    public void createLoginSession(Users user, String sessionToken, HttpServletRequest request) {
+        activityEventPipeline.sessionStarted(user.getId(), sessionToken,
+            getClientIpAddress(request), request.getHeader("User-Agent"), LocalDateTime.now());
+        log.info("Queued login session for user {}", user.getUsername());
     }
     
     /**
-     * Logout a user from a specific session
+     * Logout a user from a specific session (written in the background)
      */
-    @Transactional
     public void logoutSession(String sessionToken) {
-        loginSessionRepository.findBySessionToken(sessionToken)
-            .ifPresent(session -> {
-                session.logout();
-                loginSessionRepository.save(session);
-                
-                // Log the logout activity
-                logAccountActivity(session.getUser(), AccountActivity.ActivityType.LOGOUT,
-                    "Logged out from " + session.getBrowser() + " on " + session.getDevice(),
-                    null);
-                
-                log.info("Logged out session {} for user {}", sessionToken, session.getUser().getUsername());
-            });
+        activityEventPipeline.sessionEnded(sessionToken, LocalDateTime.now());
     }
     
     /**
-     * Log account activity
+     * Log account activity (written in the background)
      */
-    @Transactional
     public void logAccountActivity(Users user, AccountActivity.ActivityType type, String description, HttpServletRequest request) {
-        AccountActivity activity = new AccountActivity();
-        activity.setUser(user);
-        activity.setType(type);
-        activity.setDescription(description);
-        
-        if (request != null) {
-            activity.setIpAddress(getClientIpAddress(request));
-            activity.setUserAgent(request.getHeader("User-Agent"));
-            activity.setLocation(detectLocation(request));
-            activity.setDevice(detectDevice(request));
-        }
-        
-        accountActivityRepository.save(activity);
-        log.debug("Logged activity {} for user {}", type, user.getUsername());
+        String ipAddress = request != null ? getClientIpAddress(request) : null;
+        String userAgent = request != null ? request.getHeader("User-Agent") : null;
+        activityEventPipeline.activity(user.getId(), type, description, ipAddress, userAgent, LocalDateTime.now());
+        log.debug("Queued activity {} for user {}", type, user.getUsername());
     }
     
     /**
-     * Get login sessions for a user
+     * Get login sessions for a user, including sessions still queued for the background writer
      */
     public List<LoginSessionDTO> getLoginSessions(Users user) {
         List<LoginSession> sessions = loginSessionRepository.findByUserOrderByLoginTimeDesc(user);
-        return sessions.stream()
+        List<LoginSessionDTO> result = sessions.stream()
             .map(this::convertToLoginSessionDTO)
             .collect(Collectors.toList());
+
+        List<ActivityEventPipeline.QueuedSession> queued = activityEventPipeline.queuedSessions(user.getId());
+        if (!queued.isEmpty()) {
+            // A queued session may have been written between the query and this check
+            Set<String> stored = result.stream().map(LoginSessionDTO::getSessionToken).collect(Collectors.toSet());
+            queued.stream()
+                .filter(session -> !stored.contains(session.sessionToken()))
+                .map(this::convertToLoginSessionDTO)
+                .forEach(result::add);
+            result.sort(Comparator.comparing(LoginSessionDTO::getLoginTime).reversed());
+        }
+        return result;
     }
     
     /**
@@ -113,19 +88,15 @@ public class ActivityService {
     }
     
     /**
-     * Update session activity
+     * Update session activity. Touches are coalesced per token and written periodically.
      */
-    @Transactional
     public void updateSessionActivity(String sessionToken) {
-        loginSessionRepository.findBySessionToken(sessionToken)
-            .ifPresent(session -> {
-                session.updateActivity();
-                loginSessionRepository.save(session);
-            });
+        activityEventPipeline.sessionTouched(sessionToken, LocalDateTime.now());
     }
     
     /**
-     * Cleanup old inactive sessions
+     * Cleanup old inactive sessions for one user with bulk deletes.
+     * Table-wide retention is handled by PartitionRetentionManager dropping monthly partitions.
      */
     @Transactional
     public void cleanupOldSessions(Users user, int daysToKeep) {
@@ -139,22 +110,15 @@ public class ActivityService {
     }
     
     // Helper methods
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
+    /**
+     * Client address as resolved by Tomcat from trusted proxies (server.forward-headers-strategy).
+     * The raw X-Forwarded-For header is not read here: its first value is whatever the client sent.
+     */
+    static String getClientIpAddress(HttpServletRequest request) {
         return request.getRemoteAddr();
     }
     
-    private String detectLocation(HttpServletRequest request) {
-        // TODO: Implement IP geolocation service
-        // For now, return a placeholder
-        return "Unknown Location";
-    }
-    
-    private String detectDevice(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
+    static String detectDevice(String userAgent) {
         if (userAgent != null) {
             if (userAgent.contains("Mobile") || userAgent.contains("Android") || userAgent.contains("iPhone")) {
                 return "Mobile";
@@ -167,8 +131,7 @@ public class ActivityService {
         return "Unknown Device";
     }
     
-    private String detectBrowser(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
+    static String detectBrowser(String userAgent) {
         if (userAgent != null) {
             if (userAgent.contains("Chrome")) return "Chrome";
             if (userAgent.contains("Firefox")) return "Firefox";
@@ -196,6 +159,22 @@ public class ActivityService {
         return dto;
     }
     
+    private LoginSessionDTO convertToLoginSessionDTO(ActivityEventPipeline.QueuedSession session) {
+        LoginSessionDTO dto = new LoginSessionDTO();
+        dto.setSessionToken(session.sessionToken());
+        dto.setIpAddress(session.ipAddress() != null ? session.ipAddress() : "unknown");
+        dto.setUserAgent(session.userAgent() != null ? session.userAgent() : "");
+        dto.setLocation("Unknown Location");
+        dto.setDevice(detectDevice(session.userAgent()));
+        dto.setBrowser(detectBrowser(session.userAgent()));
+        dto.setLoginTime(session.loginTime());
+        dto.setLogoutTime(session.logoutTime());
+        dto.setIsActive(session.logoutTime() == null);
+        dto.setLastActivityTime(session.loginTime());
+        dto.setIsCurrentSession(false);
+        return dto;
+    }
+    
     private AccountActivityDTO convertToAccountActivityDTO(AccountActivity activity) {
         AccountActivityDTO dto = new AccountActivityDTO();
         dto.setId(activity.getId());
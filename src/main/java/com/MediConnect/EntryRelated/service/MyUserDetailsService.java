@@ -4,14 +4,17 @@ import com.MediConnect.EntryRelated.entities.Users;
 import com.MediConnect.Repos.UserRepo;
 import com.MediConnect.config.UserPrincipal;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class MyUserDetailsService implements UserDetailsService {
+public class MyUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepo userRepo;
 
     @Override
@@ -20,4 +23,18 @@ public class MyUserDetailsService implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         return new UserPrincipal(user);
     }
+
+    /**
+     * Called by the authentication provider after a successful login when the stored hash uses
+     * an older algorithm or a lower cost than {@code security.password.*} now asks for.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        Users user = userRepo.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        user.setPassword(newPassword);
+        userRepo.save(user);
+        log.debug("Upgraded password hash for user {}", user.getUsername());
+        return new UserPrincipal(user);
+    }
 }
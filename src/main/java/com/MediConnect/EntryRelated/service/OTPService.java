@@ -1,96 +1,167 @@
 package com.MediConnect.EntryRelated.service;
 
-import com.MediConnect.Service.OtpCacheService;
-import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import com.MediConnect.EntryRelated.exception.OtpRateLimitExceededException;
+import com.MediConnect.EntryRelated.service.email.EmailOutbox;
+import com.MediConnect.EntryRelated.service.otp.OtpPurpose;
+import com.MediConnect.EntryRelated.service.otp.OtpStore;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-
-import java.util.Random;
-
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * Issues and checks email OTPs.
+ * 
+ * Codes live in an {@link OtpStore} with a TTL per purpose. Sending is rate limited per email
+ * and per client IP, and verification attempts are rate limited per email, so a 6-digit code
+ * cannot be brute-forced within its lifetime. Emails go through the {@link EmailOutbox}, so
+ * sending returns once the message is queued rather than after the SMTP exchange.
+ */
 @Service
-@RequiredArgsConstructor
 public class OTPService {
 
-    private final JavaMailSender mailSender;
-    private final OtpCacheService otpCacheService;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final EmailOutbox emailOutbox;
+    private final OtpStore otpStore;
+    private final Duration registrationTtl;
+    private final Duration passwordResetTtl;
+    private final Duration loginTtl;
+    private final Duration rateLimitWindow;
+    private final int sendsPerEmail;
+    private final int sendsPerIp;
+    private final int verificationsPerEmail;
+
+    public OTPService(EmailOutbox emailOutbox,
+                      OtpStore otpStore,
+                      @Value("${otp.ttl.registration:5m}") Duration registrationTtl,
+                      @Value("${otp.ttl.password-reset:10m}") Duration passwordResetTtl,
+                      @Value("${otp.ttl.login:5m}") Duration loginTtl,
+                      @Value("${otp.rate-limit.window:15m}") Duration rateLimitWindow,
+                      @Value("${otp.rate-limit.sends-per-email:5}") int sendsPerEmail,
+                      @Value("${otp.rate-limit.sends-per-ip:20}") int sendsPerIp,
+                      @Value("${otp.rate-limit.verifications-per-email:10}") int verificationsPerEmail) {
+        this.emailOutbox = emailOutbox;
+        this.otpStore = otpStore;
+        this.registrationTtl = registrationTtl;
+        this.passwordResetTtl = passwordResetTtl;
+        this.loginTtl = loginTtl;
+        this.rateLimitWindow = rateLimitWindow;
+        this.sendsPerEmail = sendsPerEmail;
+        this.sendsPerIp = sendsPerIp;
+        this.verificationsPerEmail = verificationsPerEmail;
+    }
 
     public String sendRegistrationOTP(String email) {
-        String cleanedEmail = normalize(email);
-        validateEmail(cleanedEmail);
-        String otp = generateOTP();
-        otpCacheService.cacheOTP(cleanedEmail + "_REGISTRATION", otp);
-        sendOTPEmail(cleanedEmail, otp, "Registration");
+        issue(email, OtpPurpose.REGISTRATION, registrationTtl, "Registration");
         return "Registration OTP sent successfully";
     }
 
     public String sendPasswordResetOTP(String email) {
-        String cleanedEmail = normalize(email);
-        validateEmail(cleanedEmail);
-        String otp = generateOTP();
-        otpCacheService.cacheOTP(cleanedEmail + "_PASSWORD_RESET", otp);
-        sendOTPEmail(cleanedEmail, otp, "Password Reset");
+        issue(email, OtpPurpose.PASSWORD_RESET, passwordResetTtl, "Password Reset");
         return "Password reset OTP sent successfully";
     }
 
+    public String sendLoginOTP(String email) {
+        issue(email, OtpPurpose.LOGIN, loginTtl, "Login Verification");
+        return "Login OTP sent successfully";
+    }
+
+    /**
+     * Checks and consumes a registration OTP in one step.
+     */
     public boolean verifyRegistrationOTP(String email, String otp) {
         String cleanedEmail = normalize(email);
-        String cached = otpCacheService.getCachedOTP(cleanedEmail + "_REGISTRATION");
-        return otp != null && otp.equals(cached);
+        limitVerifications(cleanedEmail, OtpPurpose.REGISTRATION);
+        return otpStore.consumeIfMatches(OtpPurpose.REGISTRATION, cleanedEmail, otp);
     }
 
+    /**
+     * Checks a password reset OTP without consuming it, for the step before the new password
+     * is submitted. Use {@link #consumePasswordResetOTP} when actually resetting.
+     */
     public boolean verifyPasswordResetOTP(String email, String otp) {
         String cleanedEmail = normalize(email);
-        String cached = otpCacheService.getCachedOTP(cleanedEmail + "_PASSWORD_RESET");
-        return otp != null && otp.equals(cached);
+        limitVerifications(cleanedEmail, OtpPurpose.PASSWORD_RESET);
+        return otpStore.matches(OtpPurpose.PASSWORD_RESET, cleanedEmail, otp);
     }
 
-    public void clearRegistrationOTP(String email) {
-        otpCacheService.clearOTP(normalize(email) + "_REGISTRATION");
+    public boolean consumePasswordResetOTP(String email, String otp) {
+        String cleanedEmail = normalize(email);
+        limitVerifications(cleanedEmail, OtpPurpose.PASSWORD_RESET);
+        return otpStore.consumeIfMatches(OtpPurpose.PASSWORD_RESET, cleanedEmail, otp);
     }
 
-    public void clearPasswordResetOTP(String email) {
-        otpCacheService.clearOTP(normalize(email) + "_PASSWORD_RESET");
+    /**
+     * Checks and consumes a login OTP in one step; a code can complete at most one login.
+     */
+    public boolean verifyLoginOTP(String email, String otp) {
+        String cleanedEmail = normalize(email);
+        limitVerifications(cleanedEmail, OtpPurpose.LOGIN);
+        return otpStore.consumeIfMatches(OtpPurpose.LOGIN, cleanedEmail, otp);
     }
 
-    public void markRegistrationOTPAsVerified(String email) {
-        otpCacheService.cacheOTP(normalize(email) + "_REGISTRATION_VERIFIED", "true");
+    public void clearRegistrationOTP(String email) {
+        otpStore.delete(OtpPurpose.REGISTRATION, normalize(email));
     }
 
-    public boolean isRegistrationOTPVerified(String email) {
-        String verified = otpCacheService.getCachedOTP(normalize(email) + "_REGISTRATION_VERIFIED");
-        return "true".equals(verified);
+    public void clearPasswordResetOTP(String email) {
+        otpStore.delete(OtpPurpose.PASSWORD_RESET, normalize(email));
     }
 
-    public String sendLoginOTP(String email) {
+    public void clearLoginOTP(String email) {
+        otpStore.delete(OtpPurpose.LOGIN, normalize(email));
+    }
+
+    private void issue(String email, OtpPurpose purpose, Duration ttl, String purposeLabel) {
         String cleanedEmail = normalize(email);
         validateEmail(cleanedEmail);
+        limitSends(cleanedEmail);
         String otp = generateOTP();
-        otpCacheService.cacheOTP(cleanedEmail + "_LOGIN", otp);
-        sendOTPEmail(cleanedEmail, otp, "Login Verification");
-        return "Login OTP sent successfully";
+        otpStore.save(purpose, cleanedEmail, otp, ttl);
+        sendOTPEmail(cleanedEmail, otp, purposeLabel, ttl);
     }
 
-    public boolean verifyLoginOTP(String email, String otp) {
-        String cleanedEmail = normalize(email);
-        String cached = otpCacheService.getCachedOTP(cleanedEmail + "_LOGIN");
-        return otp != null && otp.equals(cached);
+    private void limitSends(String email) {
+        String clientIp = currentClientIp();
+        if (clientIp != null) {
+            enforce("send:ip:" + clientIp, sendsPerIp);
+        }
+        enforce("send:email:" + email, sendsPerEmail);
     }
 
-    public void clearLoginOTP(String email) {
-        otpCacheService.clearOTP(normalize(email) + "_LOGIN");
+    private void limitVerifications(String email, OtpPurpose purpose) {
+        enforce("verify:" + purpose.name().toLowerCase() + ":" + email, verificationsPerEmail);
+    }
+
+    private void enforce(String bucket, int limit) {
+        long retryAfterMillis = otpStore.tryAcquire(bucket, limit, rateLimitWindow);
+        if (retryAfterMillis > 0) {
+            long retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+            throw new OtpRateLimitExceededException(
+                    "Too many OTP requests. Please try again in " + retryAfterSeconds + " seconds.", retryAfterSeconds);
+        }
+    }
+
+    private String currentClientIp() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            return ActivityService.getClientIpAddress(request);
+        }
+        return null;
     }
 
-    private void sendOTPEmail(String email, String otp, String purpose) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("MediConnect " + purpose + " OTP");
-        message.setText("Your " + purpose + " OTP is: " + otp + ". Valid for 5 minutes.");
-        mailSender.send(message);
+    private void sendOTPEmail(String email, String otp, String purpose, Duration ttl) {
+        emailOutbox.enqueue(email, "MediConnect " + purpose + " OTP",
+                "Your " + purpose + " OTP is: " + otp + ". Valid for " + ttl.toMinutes() + " minutes.");
     }
 
     private String generateOTP() {
-        return String.valueOf(100000 + new Random().nextInt(900000));
+        return String.valueOf(100000 + RANDOM.nextInt(900000));
     }
 
     private void validateEmail(String email) {
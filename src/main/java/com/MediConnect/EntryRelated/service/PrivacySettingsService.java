@@ -4,32 +4,101 @@ import com.MediConnect.EntryRelated.dto.PrivacySettingsDTO;
 import com.MediConnect.EntryRelated.entities.UserPrivacySettings;
 import com.MediConnect.EntryRelated.entities.Users;
 import com.MediConnect.EntryRelated.repository.UserPrivacySettingsRepository;
+import com.MediConnect.EntryRelated.repository.UserPrivacySettingsRepository.PrivacySettingsView;
+import com.MediConnect.EntryRelated.service.profile.DoctorProfileChangedEvent;
 import com.MediConnect.Repos.UserRepo;
-import lombok.RequiredArgsConstructor;
+import com.MediConnect.config.cache.CacheInvalidationPublisher;
+import com.MediConnect.config.cache.TieredCacheManager;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
-
+import java.util.Set;
+
+/**
+ * Privacy settings per user, with an in-process near cache in front of the database.
+ * 
+ * Settings change rarely but are read whenever a profile is rendered, so lookups are served
+ * from a bounded Caffeine cache. Updates write the new settings through after commit, and any
+ * other write to the entity evicts it (via the entity listener's {@link DoctorProfileChangedEvent}).
+ * Both are broadcast on the cache invalidation channel so other nodes drop their copy as well; the
+ * TTL only bounds staleness when a broadcast is lost. Callers whose result outlives the request,
+ * such as the shared public profile payload, use {@link #getCurrentPrivacySettings} instead.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PrivacySettingsService {
 
+    static final String NEAR_CACHE_NAME = "privacy-settings";
+
     private final UserPrivacySettingsRepository privacySettingsRepository;
     private final UserRepo userRepository;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final Cache<Long, PrivacySettingsDTO> nearCache;
+
+    public PrivacySettingsService(UserPrivacySettingsRepository privacySettingsRepository,
+                                  UserRepo userRepository,
+                                  TieredCacheManager cacheManager,
+                                  CacheInvalidationPublisher invalidationPublisher,
+                                  @Value("${privacy.cache.ttl:60s}") Duration ttl,
+                                  @Value("${privacy.cache.max-entries:50000}") long maxEntries) {
+        this.privacySettingsRepository = privacySettingsRepository;
+        this.userRepository = userRepository;
+        this.invalidationPublisher = invalidationPublisher;
+        this.nearCache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .build();
+        cacheManager.registerNearCache(NEAR_CACHE_NAME, nearCache, Long::valueOf);
+    }
 
     /**
      * Get privacy settings for a user, creating default settings if none exist
      */
     @Transactional
     public PrivacySettingsDTO getPrivacySettings(Users user) {
-        UserPrivacySettings settings = privacySettingsRepository.findByUser(user)
-            .orElseGet(() -> createDefaultSettings(user));
+        return copyOf(resolve(user));
+    }
 
-        return convertToDTO(settings);
+    /**
+     * Privacy settings read from the database, bypassing the near cache.
+     * Use this when the result is stored somewhere shared, so a stale local copy cannot outlive its TTL.
+     */
+    @Transactional
+    public PrivacySettingsDTO getCurrentPrivacySettings(Users user) {
+        return convertToDTO(privacySettingsRepository.findByUser(user)
+                .orElseGet(() -> createDefaultSettings(user)));
+    }
+
+    /**
+     * Privacy settings for many users with at most one query for the ones not cached.
+     * Users without stored settings get the defaults; nothing is written.
+     *
+     * @param userIds IDs of the users to resolve (nulls are ignored)
+     * @return Settings keyed by user ID, one entry per distinct ID
+     */
+    public Map<Long, PrivacySettingsDTO> getPrivacySettingsByUserIds(Collection<Long> userIds) {
+        Set<Long> ids = new HashSet<>(userIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, PrivacySettingsDTO> resolved = nearCache.getAll(ids, this::loadByUserIds);
+        Map<Long, PrivacySettingsDTO> result = new HashMap<>(resolved.size() * 2);
+        resolved.forEach((userId, settings) -> result.put(userId, copyOf(settings)));
+        return result;
     }
 
     /**
@@ -50,32 +119,72 @@ public class PrivacySettingsService {
         UserPrivacySettings saved = privacySettingsRepository.save(settings);
         log.info("Updated privacy settings for user: {}", user.getUsername());
 
-        return convertToDTO(saved);
+        // Write through once the change is durable; a rollback leaves the cache untouched
+        PrivacySettingsDTO updated = convertToDTO(saved);
+        Long userId = user.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    nearCache.put(userId, updated);
+                    invalidationPublisher.evicted(NEAR_CACHE_NAME, String.valueOf(userId));
+                }
+            });
+        } else {
+            nearCache.put(userId, updated);
+            invalidationPublisher.evicted(NEAR_CACHE_NAME, String.valueOf(userId));
+        }
+        return copyOf(updated);
     }
 
     /**
      * Check if a user's profile is public
      */
     public boolean isProfilePublic(Users user) {
-        UserPrivacySettings settings = privacySettingsRepository.findByUser(user)
-            .orElseGet(() -> createDefaultSettings(user));
-
-        return "public".equalsIgnoreCase(settings.getProfileVisibility());
+        return isPublic(resolve(user));
     }
 
     /**
      * Check if a user's profile is public by user ID
      */
     public boolean isProfilePublicByUserId(Long userId) {
-        UserPrivacySettings settings = privacySettingsRepository.findByUserId(userId)
-            .orElse(null);
+        // Defaults to public if no settings exist
+        return isPublic(getPrivacySettingsByUserIds(Set.of(userId)).get(userId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSettingsChanged(DoctorProfileChangedEvent event) {
+        nearCache.invalidate(event.doctorId());
+        invalidationPublisher.evicted(NEAR_CACHE_NAME, String.valueOf(event.doctorId()));
+    }
+
+    private PrivacySettingsDTO resolve(Users user) {
+        return nearCache.get(user.getId(), userId -> convertToDTO(privacySettingsRepository.findByUser(user)
+                .orElseGet(() -> createDefaultSettings(user))));
+    }
 
-        // Default to public if no settings exist
-        if (settings == null) {
-            return true;
+    private Map<Long, PrivacySettingsDTO> loadByUserIds(Set<? extends Long> userIds) {
+        Map<Long, PrivacySettingsDTO> loaded = new HashMap<>(userIds.size() * 2);
+        for (PrivacySettingsView view : privacySettingsRepository.findViewsByUserIdIn(Set.copyOf(userIds))) {
+            loaded.put(view.getUserId(), new PrivacySettingsDTO(view.getProfileVisibility(), view.getShowEmail(),
+                    view.getShowPhone(), view.getShowAddress(), view.getShowMedicalHistory()));
+        }
+        for (Long userId : userIds) {
+            loaded.putIfAbsent(userId, new PrivacySettingsDTO());
         }
+        return loaded;
+    }
+
+    /**
+     * Whether settings make a profile public; missing settings count as public
+     */
+    public static boolean isPublic(PrivacySettingsDTO settings) {
+        return settings == null || "public".equalsIgnoreCase(settings.getProfileVisibility());
+    }
 
-        return "public".equalsIgnoreCase(settings.getProfileVisibility());
+    private static PrivacySettingsDTO copyOf(PrivacySettingsDTO settings) {
+        return new PrivacySettingsDTO(settings.getProfileVisibility(), settings.getShowEmail(),
+                settings.getShowPhone(), settings.getShowAddress(), settings.getShowMedicalHistory());
     }
 
     /**
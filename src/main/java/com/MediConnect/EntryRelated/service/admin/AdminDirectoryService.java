@@ -0,0 +1,308 @@
+package com.MediConnect.EntryRelated.service.admin;
+
+import com.MediConnect.EntryRelated.dto.admin.AdminAccountFilter;
+import com.MediConnect.EntryRelated.dto.admin.AdminDoctorListItemDTO;
+import com.MediConnect.EntryRelated.dto.admin.AdminPatientListItemDTO;
+import com.MediConnect.EntryRelated.entities.AccountStatus;
+import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.MediConnect.EntryRelated.entities.Patient;
+import com.MediConnect.EntryRelated.entities.SpecializationType;
+import com.MediConnect.EntryRelated.entities.Users;
+import com.MediConnect.EntryRelated.repository.HealthcareProviderRepo;
+import com.MediConnect.EntryRelated.repository.PatientRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Database-side filtering, sorting and paging for the admin doctor and patient consoles.
+ * <p>
+ * Filters are expressed as JPA Specifications so they run in SQL, and paged listings select
+ * only the list columns into flat DTOs instead of loading full entities with their collections.
+ * Doctor specializations for a page are fetched with one extra query.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdminDirectoryService {
+
+    /**
+     * Properties the listings may be sorted by. Anything else falls back to newest registrations first.
+     */
+    public static final Set<String> SORTABLE_PROPERTIES = Set.of(
+            "id", "firstName", "lastName", "email", "city", "country", "registrationDate", "accountStatus", "adminFlaggedAt");
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final List<String> USER_LIST_COLUMNS = List.of(
+            "id", "firstName", "lastName", "email", "city", "country", "accountStatus", "adminFlagged", "adminFlaggedAt", "registrationDate");
+
+    private final HealthcareProviderRepo healthcareProviderRepo;
+    private final PatientRepo patientRepo;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Full doctor entities matching the filter, for the legacy unpaged listing.
+     */
+    @Transactional(readOnly = true)
+    public List<HealthcareProvider> findDoctors(AdminAccountFilter filter) {
+        return healthcareProviderRepo.findAll(buildDoctorSpecification(filter), Sort.by("id"));
+    }
+
+    /**
+     * Full patient entities matching the filter, for the legacy unpaged listing.
+     */
+    @Transactional(readOnly = true)
+    public List<Patient> findPatients(AdminAccountFilter filter) {
+        return patientRepo.findAll(buildPatientSpecification(filter), Sort.by("id"));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<AdminDoctorListItemDTO> findDoctorPage(AdminAccountFilter filter, Pageable pageable) {
+        List<String> columns = new ArrayList<>(USER_LIST_COLUMNS);
+        columns.add("clinicName");
+        Page<Tuple> rows = findListRows(HealthcareProvider.class, buildDoctorSpecification(filter), pageable, columns);
+
+        List<Long> ids = rows.getContent().stream().map(row -> row.get("id", Long.class)).toList();
+        Map<Long, List<String>> specializations = fetchSpecializations(ids);
+
+        return rows.map(row -> AdminDoctorListItemDTO.builder()
+                .id(row.get("id", Long.class))
+                .firstName(row.get("firstName", String.class))
+                .lastName(row.get("lastName", String.class))
+                .email(row.get("email", String.class))
+                .clinicName(row.get("clinicName", String.class))
+                .city(row.get("city", String.class))
+                .country(row.get("country", String.class))
+                .accountStatus(statusName(row))
+                .adminFlagged(Boolean.TRUE.equals(row.get("adminFlagged", Boolean.class)))
+                .adminFlaggedAt(row.get("adminFlaggedAt", Date.class))
+                .registrationDate(row.get("registrationDate", Date.class))
+                .specializations(specializations.getOrDefault(row.get("id", Long.class), List.of()))
+                .build());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<AdminPatientListItemDTO> findPatientPage(AdminAccountFilter filter, Pageable pageable) {
+        List<String> columns = new ArrayList<>(USER_LIST_COLUMNS);
+        columns.add("phoneNumber");
+        Page<Tuple> rows = findListRows(Patient.class, buildPatientSpecification(filter), pageable, columns);
+
+        return rows.map(row -> AdminPatientListItemDTO.builder()
+                .id(row.get("id", Long.class))
+                .firstName(row.get("firstName", String.class))
+                .lastName(row.get("lastName", String.class))
+                .email(row.get("email", String.class))
+                .phoneNumber(row.get("phoneNumber", String.class))
+                .city(row.get("city", String.class))
+                .country(row.get("country", String.class))
+                .accountStatus(statusName(row))
+                .adminFlagged(Boolean.TRUE.equals(row.get("adminFlagged", Boolean.class)))
+                .adminFlaggedAt(row.get("adminFlaggedAt", Date.class))
+                .registrationDate(row.get("registrationDate", Date.class))
+                .build());
+    }
+
+    /**
+     * Page request for the admin listings: defaults to the first page of 20, caps the size at 100
+     * and ignores sort properties outside {@link #SORTABLE_PROPERTIES}.
+     */
+    public Pageable pageRequest(Integer page, Integer size, String sort, String direction) {
+        int pageNum = page != null && page >= 0 ? page : 0;
+        int pageSize = size != null && size > 0 ? Math.min(size, MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        if (!StringUtils.hasText(sort) || !SORTABLE_PROPERTIES.contains(sort)) {
+            return PageRequest.of(pageNum, pageSize);
+        }
+        Sort.Direction sortDirection = "asc".equalsIgnoreCase(direction) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return PageRequest.of(pageNum, pageSize, Sort.by(sortDirection, sort));
+    }
+
+    /**
+     * Pagination block in the same shape as the admin post listing.
+     */
+    public Map<String, Object> paginationMetadata(Page<?> page) {
+        return Map.of(
+                "totalElements", page.getTotalElements(),
+                "totalPages", page.getTotalPages(),
+                "currentPage", page.getNumber(),
+                "pageSize", page.getSize(),
+                "hasNext", page.hasNext(),
+                "hasPrevious", page.hasPrevious()
+        );
+    }
+
+    /**
+     * Builds a Specification for the doctor listing: name/clinic and city contains-search,
+     * specialization membership, account status and the admin flag.
+     */
+    public Specification<HealthcareProvider> buildDoctorSpecification(AdminAccountFilter filter) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = commonPredicates(root, criteriaBuilder, filter, true);
+            if (filter != null && filter.getSpecialization() != null) {
+                predicates.add(criteriaBuilder.isMember(filter.getSpecialization(),
+                        root.<List<SpecializationType>>get("specializations")));
+            }
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public Specification<Patient> buildPatientSpecification(AdminAccountFilter filter) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.and(commonPredicates(root, criteriaBuilder, filter, false).toArray(new Predicate[0]));
+    }
+
+    private List<Predicate> commonPredicates(Root<? extends Users> root,
+                                             CriteriaBuilder criteriaBuilder,
+                                             AdminAccountFilter filter,
+                                             boolean matchClinicName) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter == null) {
+            return predicates;
+        }
+
+        if (StringUtils.hasText(filter.getName())) {
+            String pattern = "%" + filter.getName().trim().toLowerCase(Locale.ROOT) + "%";
+            Predicate fullNameMatch = criteriaBuilder.like(
+                    criteriaBuilder.lower(criteriaBuilder.concat(
+                            criteriaBuilder.concat(root.get("firstName"), " "), root.get("lastName"))),
+                    pattern);
+            if (matchClinicName) {
+                predicates.add(criteriaBuilder.or(fullNameMatch,
+                        criteriaBuilder.like(criteriaBuilder.lower(root.get("clinicName")), pattern)));
+            } else {
+                predicates.add(fullNameMatch);
+            }
+        }
+
+        if (StringUtils.hasText(filter.getCity())) {
+            predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get("city")),
+                    "%" + filter.getCity().trim().toLowerCase(Locale.ROOT) + "%"));
+        }
+
+        if (filter.getStatus() != null) {
+            // Legacy rows without a status are treated as ACTIVE, matching the previous in-memory filter.
+            Predicate statusMatch = criteriaBuilder.equal(root.get("accountStatus"), filter.getStatus());
+            predicates.add(filter.getStatus() == AccountStatus.ACTIVE
+                    ? criteriaBuilder.or(statusMatch, criteriaBuilder.isNull(root.get("accountStatus")))
+                    : statusMatch);
+        }
+
+        if (!filter.isIncludeFlagged()) {
+            predicates.add(criteriaBuilder.or(
+                    criteriaBuilder.isNull(root.get("adminFlagged")),
+                    criteriaBuilder.isFalse(root.get("adminFlagged"))));
+        }
+        return predicates;
+    }
+
+    /**
+     * Runs a tuple query selecting only {@code columns}, plus a count query sharing the same predicate.
+     */
+    private <T extends Users> Page<Tuple> findListRows(Class<T> entityType,
+                                                       Specification<T> specification,
+                                                       Pageable pageable,
+                                                       List<String> columns) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<T> root = query.from(entityType);
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String column : columns) {
+            selections.add(root.get(column).alias(column));
+        }
+        query.multiselect(selections);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize());
+        List<Tuple> content = typedQuery.getResultList();
+
+        CriteriaQuery<Long> countQuery = criteriaBuilder.createQuery(Long.class);
+        Root<T> countRoot = countQuery.from(entityType);
+        // Counts a users column (email is NOT NULL) so the users join stays in the SQL: Hibernate 6.6
+        // drops it when the only superclass references sit under an OR, as in the doctor name/clinic search.
+        countQuery.select(criteriaBuilder.count(countRoot.get("email")));
+        Predicate countPredicate = specification.toPredicate(countRoot, countQuery, criteriaBuilder);
+        if (countPredicate != null) {
+            countQuery.where(countPredicate);
+        }
+        long total = entityManager.createQuery(countQuery).getSingleResult();
+
+        log.debug("Admin {} listing: {} rows on page {} of {} total",
+                entityType.getSimpleName(), content.size(), pageable.getPageNumber(), total);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private List<Order> toOrders(Sort sort, Root<?> root, CriteriaBuilder criteriaBuilder) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                continue;
+            }
+            orders.add(order.isAscending()
+                    ? criteriaBuilder.asc(root.get(order.getProperty()))
+                    : criteriaBuilder.desc(root.get(order.getProperty())));
+        }
+        if (orders.isEmpty()) {
+            orders.add(criteriaBuilder.desc(root.get("registrationDate")));
+        }
+        // Tie-breaker keeps page boundaries stable when the sort key has duplicates.
+        orders.add(criteriaBuilder.desc(root.get("id")));
+        return orders;
+    }
+
+    private Map<Long, List<String>> fetchSpecializations(List<Long> providerIds) {
+        Map<Long, List<String>> specializations = new HashMap<>();
+        if (providerIds.isEmpty()) {
+            return specializations;
+        }
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT p.id, s FROM HealthcareProvider p JOIN p.specializations s WHERE p.id IN :ids", Object[].class)
+                .setParameter("ids", providerIds)
+                .getResultList();
+        for (Object[] row : rows) {
+            specializations.computeIfAbsent((Long) row[0], key -> new ArrayList<>())
+                    .add(((SpecializationType) row[1]).name());
+        }
+        return specializations;
+    }
+
+    private String statusName(Tuple row) {
+        AccountStatus status = row.get("accountStatus", AccountStatus.class);
+        return (status != null ? status : AccountStatus.ACTIVE).name();
+    }
+}
@@ -0,0 +1,202 @@
+package com.MediConnect.EntryRelated.service.analytics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers profile views in memory and writes them to daily buckets in batches.
+ * 
+ * Recording a view only increments a per-doctor-per-day counter, so the public profile
+ * endpoint does no database write. Whether the doctor exists is checked on the first view and
+ * then remembered for a while, so repeat views do no database read either. A scheduled flush
+ * takes each counter out of the map and adds the counts to profile_view_daily with one batched
+ * upsert; taking a counter out is atomic with incrementing it, so a concurrent view lands either
+ * in the flushed count or in a fresh counter. Unique viewers are estimated per doctor and
+ * month with a Redis HyperLogLog (about 12 KB per key, ~0.8% standard error), fed from the
+ * same flush.
+ * 
+ * Counts still in the buffer when the process dies are lost; the flush interval bounds that window.
+ */
+@Slf4j
+@Service
+public class ProfileViewCounter {
+
+    private static final String UPSERT_DAILY_VIEWS_SQL =
+            "INSERT INTO profile_view_daily (doctor_id, view_date, view_count) VALUES (?, ?, ?) " +
+            "ON CONFLICT (doctor_id, view_date) DO UPDATE SET view_count = profile_view_daily.view_count + EXCLUDED.view_count";
+
+    private static final String DOCTOR_EXISTS_SQL = "SELECT EXISTS (SELECT 1 FROM healthcare_provider WHERE id = ?)";
+
+    private static final String UNIQUE_VIEWERS_KEY_PREFIX = "profile-views:unique:";
+    private static final Duration UNIQUE_VIEWERS_TTL = Duration.ofDays(400);
+
+    private final ConcurrentHashMap<DayKey, Long> pendingViews = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<MonthKey, Set<String>> pendingViewers = new ConcurrentHashMap<>();
+    // Only doctors found to exist are remembered, so a doctor created after a miss is counted at once
+    private final Cache<Long, Boolean> knownDoctors;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final int maxPendingViewersPerKey;
+
+    public ProfileViewCounter(JdbcTemplate jdbcTemplate,
+                              StringRedisTemplate redisTemplate,
+                              @Value("${analytics.profile-views.max-pending-viewers:10000}") int maxPendingViewersPerKey,
+                              @Value("${analytics.profile-views.known-doctor-ttl:10m}") Duration knownDoctorTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.maxPendingViewersPerKey = maxPendingViewersPerKey;
+        this.knownDoctors = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(knownDoctorTtl)
+                .build();
+    }
+
+    /**
+     * Records one profile view. Reads the database only for a doctor not seen recently.
+     * 
+     * @param doctorId The ID of the healthcare provider whose profile was viewed
+     * @param viewerKey Stable identifier of the viewer for the unique-viewer estimate (may be null)
+     * @return false if there is no such doctor; nothing is recorded then
+     */
+    public boolean recordView(Long doctorId, String viewerKey) {
+        if (knownDoctors.getIfPresent(doctorId) == null) {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(DOCTOR_EXISTS_SQL, Boolean.class, doctorId))) {
+                return false;
+            }
+            knownDoctors.put(doctorId, Boolean.TRUE);
+        }
+
+        LocalDate today = LocalDate.now();
+        pendingViews.merge(new DayKey(doctorId, today), 1L, Long::sum);
+
+        if (viewerKey != null && !viewerKey.isBlank()) {
+            // Added under the map's lock for the key, so it cannot land in a set the flush has already taken
+            pendingViewers.compute(new MonthKey(doctorId, YearMonth.from(today)), (key, viewers) -> {
+                Set<String> set = viewers != null ? viewers : new HashSet<>();
+                // Bound memory between flushes; repeat viewers are the common case anyway
+                if (set.size() < maxPendingViewersPerKey) {
+                    set.add(viewerKey);
+                }
+                return set;
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Views recorded for a doctor in the given days that have not been flushed yet.
+     */
+    public long pendingViews(Long doctorId, LocalDate startDate, LocalDate endDate) {
+        long total = 0;
+        for (Map.Entry<DayKey, Long> entry : pendingViews.entrySet()) {
+            DayKey key = entry.getKey();
+            if (key.doctorId().equals(doctorId)
+                    && !key.day().isBefore(startDate) && !key.day().isAfter(endDate)) {
+                total += entry.getValue();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Estimated number of distinct viewers of a doctor's profile in a month.
+     * 
+     * @return The estimate, or null when Redis is unavailable
+     */
+    public Long estimateUniqueViewers(Long doctorId, YearMonth month) {
+        try {
+            return redisTemplate.opsForHyperLogLog().size(uniqueViewersKey(new MonthKey(doctorId, month)));
+        } catch (RuntimeException ex) {
+            log.debug("Unique viewer estimate unavailable for doctor {}: {}", doctorId, ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes buffered counts to profile_view_daily and buffered viewers to Redis.
+     * Counts that fail to write are put back and retried on the next flush.
+     */
+    @Scheduled(fixedDelayString = "${analytics.profile-views.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        flushViewCounts();
+        flushUniqueViewers();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushViewCounts() {
+        Map<DayKey, Long> drained = new HashMap<>();
+        for (DayKey key : List.copyOf(pendingViews.keySet())) {
+            // Atomic with merge() in recordView: a later view starts a new bucket for the next flush
+            Long views = pendingViews.remove(key);
+            if (views != null && views > 0) {
+                drained.put(key, views);
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(drained.size());
+        drained.forEach((key, views) -> rows.add(new Object[]{key.doctorId(), Date.valueOf(key.day()), views}));
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_DAILY_VIEWS_SQL, rows);
+            log.debug("Flushed profile views for {} doctor-day buckets", rows.size());
+        } catch (DataAccessException ex) {
+            log.warn("Failed to flush {} profile view buckets, will retry: {}", rows.size(), ex.getMessage());
+            drained.forEach((key, views) -> pendingViews.merge(key, views, Long::sum));
+        }
+    }
+
+    private void flushUniqueViewers() {
+        for (MonthKey key : List.copyOf(pendingViewers.keySet())) {
+            Set<String> viewers = pendingViewers.remove(key);
+            if (viewers == null || viewers.isEmpty()) {
+                continue;
+            }
+            String redisKey = uniqueViewersKey(key);
+            try {
+                redisTemplate.opsForHyperLogLog().add(redisKey, viewers.toArray(new String[0]));
+                redisTemplate.expire(redisKey, UNIQUE_VIEWERS_TTL);
+            } catch (RuntimeException ex) {
+                // The unique-viewer figure is an estimate; dropping a batch is acceptable
+                log.warn("Failed to record {} unique viewers for doctor {}: {}",
+                        viewers.size(), key.doctorId(), ex.getMessage());
+            }
+        }
+    }
+
+    private static String uniqueViewersKey(MonthKey key) {
+        return UNIQUE_VIEWERS_KEY_PREFIX + key.doctorId() + ":" + key.month();
+    }
+
+    private record DayKey(Long doctorId, LocalDate day) {
+    }
+
+    private record MonthKey(Long doctorId, YearMonth month) {
+    }
+}
@@ -4,8 +4,9 @@ import com.MediConnect.Entities.AppointmentEntity;
 import com.MediConnect.Entities.AppointmentStatus;
 import com.MediConnect.EntryRelated.repository.AppointmentRepository;
 import com.MediConnect.EntryRelated.repository.HealthcareProviderRepo;
-import com.MediConnect.EntryRelated.repository.ProfileViewRepository;
+import com.MediConnect.EntryRelated.repository.ProfileViewDailyRepository;
 import com.MediConnect.EntryRelated.service.analytics.AnalyticsService;
+import com.MediConnect.EntryRelated.service.analytics.ProfileViewCounter;
 import com.MediConnect.socialmedia.entity.MedicalPost;
 import com.MediConnect.socialmedia.entity.MedicalPostComment;
 import com.MediConnect.socialmedia.repository.MedicalPostCommentRepository;
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -24,7 +26,7 @@ import java.util.stream.Collectors;
  * Implementation of AnalyticsService
  * 
  * Calculates analytics data for doctors including:
- * - Profile views (real data from ProfileView tracking)
+ * - Profile views (daily buckets maintained by ProfileViewCounter)
  * - Post interactions (total likes, comments, engagement rate)
  * - Appointment statistics (total, pending, confirmed, completed, cancelled)
  * - Patient growth (new patients over time)
@@ -39,7 +41,8 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     private final MedicalPostCommentRepository medicalPostCommentRepository;
     private final AppointmentRepository appointmentRepository;
     private final HealthcareProviderRepo healthcareProviderRepo;
-    private final ProfileViewRepository profileViewRepository;
+    private final ProfileViewDailyRepository profileViewDailyRepository;
+    private final ProfileViewCounter profileViewCounter;
 
     @Override
     @Transactional(readOnly = true)
@@ -51,28 +54,21 @@ public class AnalyticsServiceImpl implements AnalyticsService {
             throw new RuntimeException("Doctor not found");
         }
         
-        // 1. PROFILE VIEWS - Real data from ProfileView tracking
-        // Get total profile views for this doctor
-        long totalProfileViews = profileViewRepository.countByDoctorId(doctorId);
-        
-        // Calculate date ranges for this month and last month
+        // 1. PROFILE VIEWS - Daily buckets plus views still buffered in memory
         LocalDate now = LocalDate.now();
         LocalDate firstDayOfThisMonth = now.withDayOfMonth(1);
         LocalDate lastDayOfThisMonth = now.withDayOfMonth(now.lengthOfMonth());
         LocalDate firstDayOfLastMonth = firstDayOfThisMonth.minusMonths(1);
         LocalDate lastDayOfLastMonth = firstDayOfThisMonth.minusDays(1);
         
-        // Convert LocalDate to Date for query
-        Date startOfThisMonth = Date.from(firstDayOfThisMonth.atStartOfDay(ZoneId.systemDefault()).toInstant());
-        Date endOfThisMonth = Date.from(lastDayOfThisMonth.atTime(23, 59, 59).atZone(ZoneId.systemDefault()).toInstant());
-        Date startOfLastMonth = Date.from(firstDayOfLastMonth.atStartOfDay(ZoneId.systemDefault()).toInstant());
-        Date endOfLastMonth = Date.from(lastDayOfLastMonth.atTime(23, 59, 59).atZone(ZoneId.systemDefault()).toInstant());
-        
-        // Count views for this month and last month
-        long profileViewsThisMonth = profileViewRepository.countByDoctorIdAndDateRange(
-            doctorId, startOfThisMonth, endOfThisMonth);
-        long profileViewsLastMonth = profileViewRepository.countByDoctorIdAndDateRange(
-            doctorId, startOfLastMonth, endOfLastMonth);
+        long totalProfileViews = profileViewDailyRepository.sumByDoctorId(doctorId)
+            + profileViewCounter.pendingViews(doctorId, LocalDate.MIN, LocalDate.MAX);
+        long profileViewsThisMonth = profileViewDailyRepository.sumByDoctorIdAndDateRange(
+            doctorId, firstDayOfThisMonth, lastDayOfThisMonth)
+            + profileViewCounter.pendingViews(doctorId, firstDayOfThisMonth, lastDayOfThisMonth);
+        long profileViewsLastMonth = profileViewDailyRepository.sumByDoctorIdAndDateRange(
+            doctorId, firstDayOfLastMonth, lastDayOfLastMonth)
+            + profileViewCounter.pendingViews(doctorId, firstDayOfLastMonth, lastDayOfLastMonth);
         
         // Calculate percentage change
         double profileViewsChange = profileViewsLastMonth > 0 
@@ -85,6 +81,12 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         analytics.put("profileViewsLastMonth", (int)profileViewsLastMonth);
         analytics.put("profileViewsChange", Math.round(profileViewsChange * 10.0) / 10.0);
         
+        // Approximate distinct viewers this month (omitted when the estimate is unavailable)
+        Long uniqueViewersThisMonth = profileViewCounter.estimateUniqueViewers(doctorId, YearMonth.from(now));
+        if (uniqueViewersThisMonth != null) {
+            analytics.put("uniqueProfileViewersThisMonth", uniqueViewersThisMonth);
+        }
+        
         // 2. POST STATISTICS
         List<MedicalPost> doctorPosts = medicalPostRepository.findByPostProviderIdOrderByCreatedAtDesc(doctorId);
         int totalPosts = doctorPosts.size();
@@ -0,0 +1,7 @@
+package com.MediConnect.EntryRelated.service.appointment;
+
+/**
+ * Published whenever an appointment row is inserted, updated or deleted.
+ */
+public record AppointmentChangedEvent(int appointmentId) {
+}
@@ -2,100 +2,171 @@ package com.MediConnect.EntryRelated.service.appointment;
 
 import com.MediConnect.Entities.AppointmentEntity;
 import com.MediConnect.Entities.AppointmentStatus;
+import com.MediConnect.EntryRelated.entities.ScheduledJobType;
 import com.MediConnect.EntryRelated.repository.AppointmentRepository;
+import com.MediConnect.EntryRelated.service.jobs.DelayedJobHandler;
+import com.MediConnect.EntryRelated.service.jobs.DelayedJobScheduler;
+import com.MediConnect.EntryRelated.service.jobs.DueJob;
+import com.MediConnect.config.startup.StartupTask;
 import com.MediConnect.socialmedia.entity.NotificationType;
 import com.MediConnect.socialmedia.service.NotificationService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Calendar;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Appointment Reminder Service
  * 
- * Scheduled service that automatically sends reminder notifications for upcoming appointments:
+ * Sends reminder notifications for upcoming appointments at a precise time:
  * - 24 hours before appointment: Both patient and doctor receive a reminder
+ * - 1 hour before appointment: Same, when appointments.reminders.one-hour.enabled is set
  * 
- * Runs every 12 hours to check for appointments that need reminders.
- * Only sends reminders for CONFIRMED appointments.
- * Each reminder is sent only once per appointment (tracked by reminder_24h_sent flag).
+ * Reminders are delayed jobs in the scheduled_jobs table. Every change to an appointment
+ * re-syncs its jobs after commit: confirming schedules them, rescheduling moves them, and
+ * cancelling or completing withdraws them. DelayedJobDispatcher fires them a few seconds
+ * after they become due, on whichever instance claims them first.
+ * Only sends reminders for CONFIRMED appointments, and each reminder only once per
+ * appointment time.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
-public class AppointmentReminderService {
-    
+public class AppointmentReminderService implements DelayedJobHandler, StartupTask {
+
     private final AppointmentRepository appointmentRepository;
     private final NotificationService notificationService;
-    
+    private final DelayedJobScheduler jobScheduler;
+    private final TransactionTemplate syncTransaction;
+    private final boolean oneHourEnabled;
+    private final Duration lateTolerance;
+
+    public AppointmentReminderService(AppointmentRepository appointmentRepository,
+                                      NotificationService notificationService,
+                                      DelayedJobScheduler jobScheduler,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${appointments.reminders.one-hour.enabled:false}") boolean oneHourEnabled,
+                                      @Value("${appointments.reminders.late-tolerance:15m}") Duration lateTolerance) {
+        this.appointmentRepository = appointmentRepository;
+        this.notificationService = notificationService;
+        this.jobScheduler = jobScheduler;
+        // After-commit listeners still see the finished transaction, so writes need a new one
+        this.syncTransaction = new TransactionTemplate(transactionManager);
+        this.syncTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.oneHourEnabled = oneHourEnabled;
+        this.lateTolerance = lateTolerance;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        try {
+            syncTransaction.executeWithoutResult(status -> syncReminders(
+                    event.appointmentId(), appointmentRepository.findById(event.appointmentId()).orElse(null)));
+        } catch (RuntimeException e) {
+            // The startup sync below picks this appointment up again
+            log.error("Failed to schedule reminders for appointment ID: {}", event.appointmentId(), e);
+        }
+    }
+
+    @Override
+    public void onStartup() {
+        syncUpcomingAppointments();
+    }
+
     /**
-     * Scheduled task that runs every 12 hours
-     * Checks for appointments that need 24-hour reminders
+     * Schedules reminders for confirmed appointments that were booked before this scheduler
+     * existed, or whose change events were lost. Idempotent, so every instance may run it.
      */
-    @Scheduled(fixedRate = 43200000) // 43200000 milliseconds = 12 hours
-    @Transactional
-    public void send24HourReminders() {
+    public void syncUpcomingAppointments() {
         try {
-            log.info("=== Checking for appointments needing 24-hour reminders ===");
-            
-            // Calculate time window: appointments between 24 and 36 hours from now
-            // This gives us a 12-hour window to catch appointments (since we check every 12 hours)
-            Calendar cal = Calendar.getInstance();
-            
-            // 24 hours from now
-            cal.add(Calendar.HOUR_OF_DAY, 24);
-            Date startTime = cal.getTime();
-            
-            // 36 hours from now (12-hour window)
-            cal.add(Calendar.HOUR_OF_DAY, 12);
-            Date endTime = cal.getTime();
-            
-            log.info("Looking for appointments between {} and {}", startTime, endTime);
-            
-            // Find confirmed appointments that need 24-hour reminder
-            List<AppointmentEntity> appointments = appointmentRepository.findAppointmentsNeeding24hReminder(
-                AppointmentStatus.CONFIRMED,
-                startTime,
-                endTime
-            );
-            
-            log.info("Found {} appointments needing 24-hour reminders", appointments.size());
-            
-            // Send reminders for each appointment
-            for (AppointmentEntity appointment : appointments) {
-                try {
-                    // Send notification to both patient and doctor
-                    notificationService.createAppointmentReminderNotification(
-                        appointment.getPatient(),
-                        appointment.getHealthcareProvider(),
-                        NotificationType.APPOINTMENT_REMINDER_24H,
-                        (long) appointment.getId(),
-                        appointment.getAppointmentDateTime()
-                    );
-                    
-                    // Mark reminder as sent
-                    appointment.setReminder24hSent(true);
-                    appointmentRepository.save(appointment);
-                    
-                    log.info("Sent 24-hour reminder for appointment ID: {} (Patient: {}, Doctor: {})", 
-                        appointment.getId(),
-                        appointment.getPatient().getFirstName() + " " + appointment.getPatient().getLastName(),
-                        appointment.getHealthcareProvider().getFirstName() + " " + appointment.getHealthcareProvider().getLastName());
-                } catch (Exception e) {
-                    log.error("Failed to send 24-hour reminder for appointment ID: {}", appointment.getId(), e);
-                    // Continue with next appointment even if this one fails
-                }
+            List<AppointmentEntity> upcoming = appointmentRepository.findByStatusAndAppointmentDateTimeAfter(
+                    AppointmentStatus.CONFIRMED, new Date());
+            syncTransaction.executeWithoutResult(status ->
+                    upcoming.forEach(appointment -> syncReminders(appointment.getId(), appointment)));
+            log.info("Synced reminder jobs for {} upcoming appointments", upcoming.size());
+        } catch (RuntimeException e) {
+            log.error("Error syncing reminder jobs for upcoming appointments", e);
+        }
+    }
+
+    /**
+     * Brings the reminder jobs of one appointment in line with its current state.
+     *
+     * @param appointment Current row, or null if it was deleted
+     */
+    void syncReminders(int appointmentId, AppointmentEntity appointment) {
+        LocalDateTime now = LocalDateTime.now();
+        for (ScheduledJobType type : supportedTypes()) {
+            LocalDateTime fireAt = reminderTime(appointment, type);
+            boolean wanted = appointment != null
+                    && appointment.getStatus() == AppointmentStatus.CONFIRMED
+                    && fireAt != null
+                    && (type != ScheduledJobType.APPOINTMENT_REMINDER_1H || oneHourEnabled)
+                    // Confirmed too late for this reminder to mean anything
+                    && !fireAt.isBefore(now.minus(lateTolerance));
+            if (wanted) {
+                jobScheduler.schedule(type, appointmentId, fireAt);
+            } else {
+                jobScheduler.cancel(type, appointmentId);
             }
-            
-            log.info("=== Finished checking 24-hour reminders ===");
-        } catch (Exception e) {
-            log.error("Error in scheduled 24-hour reminder task", e);
         }
     }
-}
 
+    @Override
+    public Set<ScheduledJobType> supportedTypes() {
+        return EnumSet.of(ScheduledJobType.APPOINTMENT_REMINDER_24H, ScheduledJobType.APPOINTMENT_REMINDER_1H);
+    }
+
+    /**
+     * Sends a due reminder to both patient and doctor.
+     * The notifications are written in the job's transaction, so the job is only marked done once
+     * they are stored, and a failure rolls back the sent flag as well and is retried.
+     */
+    @Override
+    public void handle(DueJob job) {
+        AppointmentEntity appointment = appointmentRepository.findWithParticipantsById((int) job.referenceId()).orElse(null);
+        if (appointment == null || appointment.getStatus() != AppointmentStatus.CONFIRMED) {
+            log.debug("Skipping {} for appointment ID: {}, no longer confirmed", job.type(), job.referenceId());
+            return;
+        }
+        // A reschedule moves the job; if this claim raced with it, the moved job will fire instead
+        if (!job.dueAt().equals(reminderTime(appointment, job.type()))) {
+            log.debug("Skipping stale {} for appointment ID: {}", job.type(), job.referenceId());
+            return;
+        }
+
+        boolean dayBefore = job.type() == ScheduledJobType.APPOINTMENT_REMINDER_24H;
+        notificationService.createAppointmentReminderNotification(
+                appointment.getPatient(),
+                appointment.getHealthcareProvider(),
+                dayBefore ? NotificationType.APPOINTMENT_REMINDER_24H : NotificationType.APPOINTMENT_REMINDER_1H,
+                (long) appointment.getId(),
+                appointment.getAppointmentDateTime()
+        );
+        if (dayBefore) {
+            appointment.setReminder24hSent(true);
+            appointmentRepository.save(appointment);
+        }
+
+        log.info("Sent {} for appointment ID: {} (due {})", job.type(), appointment.getId(), job.dueAt());
+    }
+
+    private static LocalDateTime reminderTime(AppointmentEntity appointment, ScheduledJobType type) {
+        if (appointment == null || appointment.getAppointmentDateTime() == null) {
+            return null;
+        }
+        LocalDateTime start = LocalDateTime.ofInstant(appointment.getAppointmentDateTime().toInstant(), ZoneId.systemDefault());
+        return start.minus(type == ScheduledJobType.APPOINTMENT_REMINDER_24H ? Duration.ofHours(24) : Duration.ofHours(1));
+    }
+}
@@ -1,5 +1,6 @@
 package com.MediConnect.EntryRelated.service.appointment;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -30,6 +31,33 @@ public interface AppointmentService {
      */
     Map<String, Object> getDoctorAppointments(String token);
 
+    /**
+     * Gets one page of the authenticated patient's appointments, read as flat rows.
+     * Medical records are not embedded; load them with {@link #getSharedMedicalRecords}.
+     *
+     * @param status Optional comma-separated statuses (e.g. "confirmed,pending")
+     * @param from Optional start, UTC date (YYYY-MM-DD) or ISO instant, inclusive
+     * @param to Optional end, UTC date (whole day included) or ISO instant, exclusive
+     * @param direction "asc" or "desc" (default) by appointment time
+     * @return Map containing "data", "totalElements", "totalPages", "currentPage", "pageSize", "hasNext"
+     */
+    Map<String, Object> getPatientAppointmentPage(String token, String status, String from, String to,
+                                                  Integer page, Integer size, String direction);
+
+    /**
+     * Gets one page of the authenticated doctor's appointments. Same filters and response shape
+     * as {@link #getPatientAppointmentPage}.
+     */
+    Map<String, Object> getDoctorAppointmentPage(String token, String status, String from, String to,
+                                                 Integer page, Integer size, String direction);
+
+    /**
+     * Medical records shared with the given appointments, keyed by appointment id.
+     * Appointments the caller is not part of, or without the patient's consent, are left out.
+     * Intended for one page of appointments at a time (at most 100 ids).
+     */
+    Map<String, Object> getSharedMedicalRecords(String token, List<Integer> appointmentIds);
+
     /**
      * Doctor updates appointment status (CONFIRMED, CANCELLED, or RESCHEDULED).
      * Automatically notifies the patient about the status change.
@@ -5,8 +5,13 @@ import com.MediConnect.Entities.AppointmentStatus;
 import com.MediConnect.Entities.AppointmentType;
 import com.MediConnect.EntryRelated.entities.HealthcareProvider;
 import com.MediConnect.EntryRelated.entities.Patient;
+import com.MediConnect.EntryRelated.entities.Medication;
+import com.MediConnect.EntryRelated.entities.MentalHealthMedication;
 import com.MediConnect.EntryRelated.repository.AppointmentRepository;
+import com.MediConnect.EntryRelated.repository.AppointmentRepository.AppointmentListView;
+import com.MediConnect.EntryRelated.repository.AppointmentRepository.SharedRecordsView;
 import com.MediConnect.EntryRelated.repository.HealthcareProviderRepo;
+import com.MediConnect.EntryRelated.repository.LabResultRepo;
 import com.MediConnect.EntryRelated.repository.PatientRepo;
 import com.MediConnect.EntryRelated.repository.DayAvailabilityRepository;
 import com.MediConnect.EntryRelated.repository.BlockedTimeSlotRepository;
@@ -18,13 +23,22 @@ import com.MediConnect.socialmedia.service.NotificationService;
 import com.MediConnect.socialmedia.entity.NotificationType;
 import com.MediConnect.socialmedia.service.ChatService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset; // Added UTC
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Appointment Service Implementation
@@ -34,6 +48,15 @@ import java.util.*;
 @RequiredArgsConstructor
 public class AppointmentServiceImpl implements AppointmentService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_RECORD_APPOINTMENTS = 100;
+    // Open-ended date filters; keeps the list queries free of nullable parameters
+    private static final Date MIN_DATE = new Date(0);
+    private static final Date MAX_DATE = Date.from(Instant.parse("9999-12-31T00:00:00Z"));
+    private static final DateTimeFormatter UTC_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter UTC_TIME = DateTimeFormatter.ofPattern("HH:mm").withZone(ZoneOffset.UTC);
+
     private final AppointmentRepository appointmentRepository;
     private final PatientRepo patientRepo;
     private final HealthcareProviderRepo healthcareProviderRepo;
@@ -42,6 +65,7 @@ public class AppointmentServiceImpl implements AppointmentService {
     private final JWTService jwtService;
     private final NotificationService notificationService;
     private final ChatService chatService;
+    private final LabResultRepo labResultRepo;
 
     @Override
     @Transactional
@@ -1100,4 +1124,267 @@ public class AppointmentServiceImpl implements AppointmentService {
             return error;
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPatientAppointmentPage(String token, String status, String from, String to,
+                                                         Integer page, Integer size, String direction) {
+        try {
+            Patient patient = patientRepo.findByUsername(usernameFrom(token))
+                    .orElseThrow(() -> new RuntimeException("Patient not found"));
+            Page<AppointmentListView> views = appointmentRepository.findPatientAppointmentViews(
+                    patient.getId(), parseStatuses(status), parseFrom(from), parseTo(to),
+                    listPageRequest(page, size, direction));
+            return appointmentPageResponse(views);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("status", "error");
+            error.put("message", e.getMessage());
+            return error;
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getDoctorAppointmentPage(String token, String status, String from, String to,
+                                                        Integer page, Integer size, String direction) {
+        try {
+            HealthcareProvider doctor = healthcareProviderRepo.findByUsername(usernameFrom(token))
+                    .orElseThrow(() -> new RuntimeException("Doctor not found"));
+            Page<AppointmentListView> views = appointmentRepository.findDoctorAppointmentViews(
+                    doctor.getId(), parseStatuses(status), parseFrom(from), parseTo(to),
+                    listPageRequest(page, size, direction));
+            return appointmentPageResponse(views);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("status", "error");
+            error.put("message", e.getMessage());
+            return error;
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getSharedMedicalRecords(String token, List<Integer> appointmentIds) {
+        try {
+            if (appointmentIds == null || appointmentIds.isEmpty()) {
+                throw new RuntimeException("appointmentIds is required");
+            }
+            if (appointmentIds.size() > MAX_RECORD_APPOINTMENTS) {
+                throw new RuntimeException("At most " + MAX_RECORD_APPOINTMENTS + " appointments per request");
+            }
+            String username = usernameFrom(token);
+            Long userId = healthcareProviderRepo.findByUsername(username).map(HealthcareProvider::getId)
+                    .or(() -> patientRepo.findByUsername(username).map(Patient::getId))
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            List<SharedRecordsView> shared = appointmentRepository.findSharedRecordsViews(new HashSet<>(appointmentIds), userId);
+            Map<String, Object> recordsByAppointment = new LinkedHashMap<>();
+            if (!shared.isEmpty()) {
+                // One query per record type for every patient on the page
+                Set<Long> patientIds = shared.stream().map(SharedRecordsView::getPatientId).collect(Collectors.toSet());
+                Map<Long, Patient> patients = patientRepo.findAllById(patientIds).stream()
+                        .collect(Collectors.toMap(Patient::getId, Function.identity()));
+                Map<Long, List<Map<String, Object>>> medications = patientRepo.findMedicationsByPatientIdIn(patientIds).stream()
+                        .collect(Collectors.groupingBy(m -> m.getPatient().getId(), Collectors.mapping(this::medicationMap, Collectors.toList())));
+                Map<Long, List<Map<String, Object>>> mentalHealthMedications = patientRepo.findMentalHealthMedicationsByPatientIdIn(patientIds).stream()
+                        .collect(Collectors.groupingBy(m -> m.getPatient().getId(), Collectors.mapping(this::medicationMap, Collectors.toList())));
+                Map<Long, List<Map<String, Object>>> labResults = labResultRepo.findSummariesByPatientIdIn(patientIds).stream()
+                        .collect(Collectors.groupingBy(LabResultRepo.LabResultSummaryView::getPatientId, Collectors.mapping(lab -> {
+                            Map<String, Object> labMap = new HashMap<>();
+                            labMap.put("id", lab.getId());
+                            labMap.put("description", lab.getDescription());
+                            labMap.put("hasImage", lab.getImageSize() != null && lab.getImageSize() > 0);
+                            labMap.put("imageSize", lab.getImageSize() != null ? lab.getImageSize() : 0);
+                            labMap.put("resultUrl", lab.getResultUrl());
+                            return labMap;
+                        }, Collectors.toList())));
+
+                for (SharedRecordsView view : shared) {
+                    Patient patient = patients.get(view.getPatientId());
+                    if (patient == null) {
+                        continue;
+                    }
+                    Map<String, Object> med = medicalRecordsMap(patient);
+                    med.put("medications", medications.getOrDefault(patient.getId(), List.of()));
+                    med.put("mentalHealthMedications", mentalHealthMedications.getOrDefault(patient.getId(), List.of()));
+                    med.put("labResults", labResults.getOrDefault(patient.getId(), List.of()));
+                    recordsByAppointment.put(String.valueOf(view.getAppointmentId()), med);
+                }
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "success");
+            response.put("data", recordsByAppointment);
+            return response;
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("status", "error");
+            error.put("message", e.getMessage());
+            return error;
+        }
+    }
+
+    private String usernameFrom(String token) {
+        String jwtToken = token != null && token.startsWith("Bearer ") ? token.substring(7) : token;
+        return jwtService.extractUserName(jwtToken);
+    }
+
+    /**
+     * Comma-separated, case-insensitive status names; empty means every status.
+     */
+    private static Collection<AppointmentStatus> parseStatuses(String status) {
+        if (!StringUtils.hasText(status)) {
+            return EnumSet.allOf(AppointmentStatus.class);
+        }
+        EnumSet<AppointmentStatus> statuses = EnumSet.noneOf(AppointmentStatus.class);
+        for (String part : status.split(",")) {
+            if (StringUtils.hasText(part)) {
+                try {
+                    statuses.add(AppointmentStatus.valueOf(part.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new RuntimeException("Unknown appointment status: " + part.trim());
+                }
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Inclusive lower bound: a UTC date (yyyy-MM-dd) or an ISO-8601 instant.
+     */
+    private static Date parseFrom(String from) {
+        if (!StringUtils.hasText(from)) {
+            return MIN_DATE;
+        }
+        return from.length() == 10
+                ? Date.from(LocalDate.parse(from).atStartOfDay(ZoneOffset.UTC).toInstant())
+                : Date.from(Instant.parse(from));
+    }
+
+    /**
+     * Upper bound: a UTC date includes that whole day, an ISO-8601 instant is exclusive.
+     */
+    private static Date parseTo(String to) {
+        if (!StringUtils.hasText(to)) {
+            return MAX_DATE;
+        }
+        return to.length() == 10
+                ? Date.from(LocalDate.parse(to).plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant())
+                : Date.from(Instant.parse(to));
+    }
+
+    private static PageRequest listPageRequest(Integer page, Integer size, String direction) {
+        int pageNum = page != null && page >= 0 ? page : 0;
+        int pageSize = size != null && size > 0 ? Math.min(size, MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        Sort.Direction sortDirection = "asc".equalsIgnoreCase(direction) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return PageRequest.of(pageNum, pageSize, Sort.by(sortDirection, "appointmentDateTime").and(Sort.by(sortDirection, "id")));
+    }
+
+    private Map<String, Object> appointmentPageResponse(Page<AppointmentListView> views) {
+        // Specialties come from a collection table, so resolve them for the whole page at once
+        Set<Long> doctorIds = views.getContent().stream().map(AppointmentListView::getDoctorId).collect(Collectors.toSet());
+        Map<Long, String> specialties = new HashMap<>();
+        if (!doctorIds.isEmpty()) {
+            healthcareProviderRepo.findSpecializationsByDoctorIdIn(doctorIds).forEach(row ->
+                    specialties.putIfAbsent(row.getDoctorId(), row.getSpecialization().name()));
+        }
+
+        List<Map<String, Object>> appointmentList = new ArrayList<>(views.getNumberOfElements());
+        for (AppointmentListView apt : views.getContent()) {
+            Map<String, Object> aptMap = new HashMap<>();
+            aptMap.put("id", apt.getId());
+            aptMap.put("patientId", apt.getPatientId());
+            aptMap.put("patientName", apt.getPatientFirstName() + " " + apt.getPatientLastName());
+            aptMap.put("patientEmail", apt.getPatientEmail());
+            aptMap.put("patientPhone", apt.getPatientPhone());
+
+            aptMap.put("doctorId", apt.getDoctorId());
+            aptMap.put("doctorName", "Dr. " + apt.getDoctorFirstName() + " " + apt.getDoctorLastName());
+            aptMap.put("doctorSpecialty", specialties.getOrDefault(apt.getDoctorId(), ""));
+            aptMap.put("doctorEmail", apt.getDoctorEmail());
+            aptMap.put("doctorPhone", apt.getDoctorPhone());
+            aptMap.put("doctorProfilePicture", apt.getDoctorProfilePicture());
+
+            if (apt.getAppointmentDateTime() != null) {
+                Instant start = apt.getAppointmentDateTime().toInstant();
+                aptMap.put("appointmentDateTime", start.toString());
+                aptMap.put("date", UTC_DATE.format(start));
+                aptMap.put("time", UTC_TIME.format(start));
+            }
+
+            aptMap.put("description", apt.getReason() != null ? apt.getReason() : "");
+            aptMap.put("shareMedicalRecords", Boolean.TRUE.equals(apt.getShareMedicalRecords()));
+            aptMap.put("isVideoCall", Boolean.TRUE.equals(apt.getIsVideoCall()));
+            aptMap.put("isCallActive", Boolean.TRUE.equals(apt.getIsCallActive()));
+            aptMap.put("insuranceProvider", apt.getInsuranceProvider());
+            aptMap.put("insuranceNumber", apt.getInsuranceNumber());
+            aptMap.put("status", apt.getStatus() != null ? apt.getStatus().name().toLowerCase() : "pending");
+            aptMap.put("createdAt", apt.getCreatedAt() != null ? apt.getCreatedAt().toInstant().toString() : null);
+            if (apt.getNotes() != null && !apt.getNotes().isEmpty()) {
+                aptMap.put("doctorNotes", apt.getNotes());
+            }
+            appointmentList.add(aptMap);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("data", appointmentList);
+        response.put("totalElements", views.getTotalElements());
+        response.put("totalPages", views.getTotalPages());
+        response.put("currentPage", views.getNumber());
+        response.put("pageSize", views.getSize());
+        response.put("hasNext", views.hasNext());
+        return response;
+    }
+
+    /**
+     * Profile part of the shared medical records, in the shape the full appointment lists use.
+     */
+    private static Map<String, Object> medicalRecordsMap(Patient patient) {
+        Map<String, Object> med = new HashMap<>();
+        med.put("gender", patient.getGender());
+        med.put("dateOfBirth", patient.getDateOfBirth() != null ? UTC_DATE.format(Instant.ofEpochMilli(patient.getDateOfBirth().getTime())) : null);
+        med.put("height", patient.getHeight());
+        med.put("weight", patient.getWeight());
+        med.put("bloodType", patient.getBloodType() != null ? patient.getBloodType().toString() : null);
+        med.put("allergies", patient.getAllergies());
+        med.put("medicalConditions", patient.getMedicalConditions());
+        med.put("previousSurgeries", patient.getPreviousSurgeries());
+        med.put("familyMedicalHistory", patient.getFamilyMedicalHistory());
+        med.put("dietaryHabits", patient.getDietaryHabits() != null ? patient.getDietaryHabits().toString() : null);
+        med.put("alcoholConsumption", patient.getAlcoholConsumption() != null ? patient.getAlcoholConsumption().toString() : null);
+        med.put("physicalActivity", patient.getPhysicalActivity() != null ? patient.getPhysicalActivity().toString() : null);
+        med.put("smokingStatus", patient.getSmokingStatus() != null ? patient.getSmokingStatus().toString() : null);
+        med.put("mentalHealthCondition", patient.getMentalHealthCondition() != null ? patient.getMentalHealthCondition().toString() : null);
+        med.put("insuranceProvider", patient.getInsuranceProvider());
+        med.put("insuranceNumber", patient.getInsuranceNumber());
+        return med;
+    }
+
+    private Map<String, Object> medicationMap(Medication medication) {
+        return medicationMap(medication.getId(), medication.getMedicationName(), medication.getMedicationDosage(),
+                medication.getMedicationFrequency(), medication.getMedicationStartDate(), medication.getMedicationEndDate(),
+                medication.isInUse());
+    }
+
+    private Map<String, Object> medicationMap(MentalHealthMedication medication) {
+        return medicationMap(medication.getId(), medication.getMedicationName(), medication.getMedicationDosage(),
+                medication.getMedicationFrequency(), medication.getMedicationStartDate(), medication.getMedicationEndDate(),
+                medication.isInUse());
+    }
+
+    private static Map<String, Object> medicationMap(Long id, String name, String dosage, String frequency,
+                                                     Date startDate, Date endDate, boolean inUse) {
+        Map<String, Object> medMap = new HashMap<>();
+        medMap.put("id", id);
+        medMap.put("medicationName", name);
+        medMap.put("medicationDosage", dosage);
+        medMap.put("medicationFrequency", frequency);
+        // java.sql.Date from TemporalType.DATE does not support toInstant()
+        medMap.put("medicationStartDate", startDate != null ? UTC_DATE.format(Instant.ofEpochMilli(startDate.getTime())) : null);
+        medMap.put("medicationEndDate", endDate != null ? UTC_DATE.format(Instant.ofEpochMilli(endDate.getTime())) : null);
+        medMap.put("inUse", inUse);
+        return medMap;
+    }
+}
@@ -0,0 +1,110 @@
+package com.MediConnect.EntryRelated.service.email;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends a batch of emails over a single SMTP connection.
+ * 
+ * {@link JavaMailSender#send(MimeMessage...)} opens one transport for the whole array,
+ * so the connect, EHLO, STARTTLS and AUTH cost is paid once per batch rather than once per
+ * message. One bad message does not stop the rest of the batch: each message is validated and
+ * built on its own first, so a malformed recipient fails only its own row, and the SMTP
+ * server's per-recipient rejections are reported per message.
+ */
+@Component
+public class EmailBatchSender {
+
+    private static final String ENCODING = "UTF-8";
+
+    private final JavaMailSender mailSender;
+
+    public EmailBatchSender(JavaMailSender mailSender) {
+        this.mailSender = mailSender;
+    }
+
+    /**
+     * @return Failures keyed by outbox id; empty when every message was accepted
+     */
+    public Map<Long, Exception> send(List<OutboundEmail> batch) {
+        if (batch.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Exception> failures = new HashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        List<OutboundEmail> sendable = new ArrayList<>(batch.size());
+        Map<Object, Long> idsByMessage = new IdentityHashMap<>();
+        for (OutboundEmail email : batch) {
+            try {
+                MimeMessage message = toMimeMessage(email);
+                messages.add(message);
+                sendable.add(email);
+                idsByMessage.put(message, email.id());
+            } catch (MailException e) {
+                failures.put(email.id(), e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            Map<Long, Exception> sendFailures = new HashMap<>();
+            failedMessages.forEach((message, cause) -> {
+                Long id = idsByMessage.get(message);
+                if (id != null) {
+                    sendFailures.put(id, cause);
+                }
+            });
+            failures.putAll(sendFailures.isEmpty() ? failAll(sendable, e) : sendFailures);
+        } catch (MailException e) {
+            // Connection or authentication failure: nothing in the batch went out
+            failures.putAll(failAll(sendable, e));
+        }
+        return failures;
+    }
+
+    /**
+     * Errors that will not go away on retry, such as a malformed recipient address.
+     */
+    public static boolean isPermanent(Exception failure) {
+        return failure instanceof MailParseException || failure instanceof AddressException;
+    }
+
+    private MimeMessage toMimeMessage(OutboundEmail email) {
+        try {
+            InternetAddress recipient = new InternetAddress(email.recipient(), true);
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, ENCODING);
+            helper.setTo(recipient);
+            helper.setSubject(email.subject());
+            helper.setText(email.body());
+            return message;
+        } catch (MessagingException e) {
+            throw new MailParseException("Invalid message for " + email.recipient(), e);
+        }
+    }
+
+    private Map<Long, Exception> failAll(List<OutboundEmail> batch, Exception cause) {
+        Map<Long, Exception> failures = new HashMap<>();
+        batch.forEach(email -> failures.put(email.id(), cause));
+        return failures;
+    }
+}
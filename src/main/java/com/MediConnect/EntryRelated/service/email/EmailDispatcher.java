@@ -0,0 +1,217 @@
+package com.MediConnect.EntryRelated.service.email;
+
+import com.MediConnect.EntryRelated.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background sender for the email outbox.
+ * <p>
+ * Each round claims a batch of due rows with {@code FOR UPDATE SKIP LOCKED}, so several
+ * application instances can dispatch concurrently without sending a message twice, and sends
+ * the batch over one SMTP connection. Claiming pushes {@code next_attempt_at} forward by the
+ * lease, so rows claimed by an instance that dies are picked up again once the lease expires.
+ * Failed messages are retried with exponential backoff until {@code email.outbox.max-attempts}.
+ * <p>
+ * Rounds run on a single worker thread, triggered right after an enqueue commits and on a fixed
+ * poll for retries.
+ */
+@Slf4j
+@Component
+public class EmailDispatcher {
+
+    private static final String CLAIM_SQL =
+            "UPDATE email_outbox SET attempts = attempts + 1, next_attempt_at = ? " +
+            "WHERE id IN (SELECT id FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= ? " +
+            "ORDER BY next_attempt_at, id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, recipient, subject, body, attempts";
+
+    private static final String MARK_SENT_SQL =
+            "UPDATE email_outbox SET status = 'SENT', sent_at = ?, body = NULL, last_error = NULL WHERE id = ?";
+
+    private static final String RESCHEDULE_SQL =
+            "UPDATE email_outbox SET next_attempt_at = ?, last_error = ? WHERE id = ?";
+
+    private static final String MARK_FAILED_SQL =
+            "UPDATE email_outbox SET status = 'FAILED', body = NULL, last_error = ? WHERE id = ?";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmailBatchSender batchSender;
+    private final EmailOutboxRepository outboxRepository;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration sentRetention;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "email-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean roundRequested = new AtomicBoolean();
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer batchTimer;
+
+    public EmailDispatcher(JdbcTemplate jdbcTemplate,
+                           EmailBatchSender batchSender,
+                           EmailOutboxRepository outboxRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${email.outbox.batch-size:50}") int batchSize,
+                           @Value("${email.outbox.max-attempts:6}") int maxAttempts,
+                           @Value("${email.outbox.lease:2m}") Duration lease,
+                           @Value("${email.outbox.initial-backoff:30s}") Duration initialBackoff,
+                           @Value("${email.outbox.max-backoff:1h}") Duration maxBackoff,
+                           @Value("${email.outbox.sent-retention:7d}") Duration sentRetention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSender = batchSender;
+        this.outboxRepository = outboxRepository;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.sentRetention = sentRetention;
+        this.sent = meterRegistry.counter("mediconnect.email.sent");
+        this.retried = meterRegistry.counter("mediconnect.email.retried");
+        this.failed = meterRegistry.counter("mediconnect.email.failed");
+        this.batchTimer = meterRegistry.timer("mediconnect.email.batch");
+    }
+
+    /**
+     * Requests a dispatch round. Calls made while a round is already queued are coalesced.
+     */
+    public void wakeUp() {
+        if (roundRequested.compareAndSet(false, true)) {
+            worker.execute(this::runRound);
+        }
+    }
+
+    /**
+     * Safety net for retries and for wake-ups lost to a restart.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @Scheduled(cron = "${email.outbox.cleanup-cron:0 45 3 * * *}")
+    public void purgeSent() {
+        int deleted = outboxRepository.deleteSentBefore(LocalDateTime.now().minus(sentRetention));
+        if (deleted > 0) {
+            log.info("Purged {} sent emails from the outbox", deleted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        worker.shutdown();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void runRound() {
+        // Cleared before draining so an enqueue during this round schedules another one
+        roundRequested.set(false);
+        try {
+            while (dispatchBatch() == batchSize) {
+                // keep going while full batches are due
+            }
+        } catch (DataAccessException e) {
+            log.warn("Email outbox round failed, will retry on next poll: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claims, sends and records one batch.
+     *
+     * @return Number of messages claimed
+     */
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboundEmail> batch = jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new OutboundEmail(rs.getLong("id"), rs.getString("recipient"),
+                        rs.getString("subject"), rs.getString("body"), rs.getInt("attempts")),
+                Timestamp.valueOf(now.plus(lease)), Timestamp.valueOf(now), batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Exception> failures = batchTimer.record(() -> batchSender.send(batch));
+        recordOutcome(batch, failures);
+        return batch.size();
+    }
+
+    private void recordOutcome(List<OutboundEmail> batch, Map<Long, Exception> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> sentRows = new ArrayList<>();
+        List<Object[]> retryRows = new ArrayList<>();
+        List<Object[]> failedRows = new ArrayList<>();
+
+        for (OutboundEmail email : batch) {
+            Exception failure = failures.get(email.id());
+            if (failure == null) {
+                sentRows.add(new Object[]{Timestamp.valueOf(now), email.id()});
+                continue;
+            }
+            String error = truncate(failure.getClass().getSimpleName() + ": " + failure.getMessage());
+            if (EmailBatchSender.isPermanent(failure) || email.attempt() >= maxAttempts) {
+                failedRows.add(new Object[]{error, email.id()});
+                log.warn("Giving up on email {} to {} after {} attempts: {}", email.id(), email.recipient(), email.attempt(), error);
+            } else {
+                LocalDateTime retryAt = now.plus(backoff(email.attempt(), initialBackoff, maxBackoff));
+                retryRows.add(new Object[]{Timestamp.valueOf(retryAt), error, email.id()});
+            }
+        }
+
+        if (!sentRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_SENT_SQL, sentRows);
+            sent.increment(sentRows.size());
+        }
+        if (!retryRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(RESCHEDULE_SQL, retryRows);
+            retried.increment(retryRows.size());
+        }
+        if (!failedRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_FAILED_SQL, failedRows);
+            failed.increment(failedRows.size());
+        }
+    }
+
+    /**
+     * Delay before the next attempt: {@code initial * 2^(attempt - 1)}, capped at {@code max}.
+     */
+    static Duration backoff(int attempt, Duration initial, Duration max) {
+        int doublings = Math.min(Math.max(attempt - 1, 0), 30);
+        Duration delay = initial.multipliedBy(1L << doublings);
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_ERROR_LENGTH ? value : value.substring(0, MAX_ERROR_LENGTH);
+    }
+}
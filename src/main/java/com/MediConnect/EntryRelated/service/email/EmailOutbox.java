@@ -0,0 +1,62 @@
+package com.MediConnect.EntryRelated.service.email;
+
+import com.MediConnect.EntryRelated.entities.EmailOutboxMessage;
+import com.MediConnect.EntryRelated.entities.EmailOutboxStatus;
+import com.MediConnect.EntryRelated.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entry point for sending email. Messages are stored in the email_outbox table and delivered
+ * by {@link EmailDispatcher}; callers return as soon as the row is committed.
+ */
+@Service
+public class EmailOutbox {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailDispatcher dispatcher;
+    private final Counter enqueued;
+
+    public EmailOutbox(EmailOutboxRepository outboxRepository, EmailDispatcher dispatcher, MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.dispatcher = dispatcher;
+        this.enqueued = meterRegistry.counter("mediconnect.email.enqueued");
+        // Evaluated on scrape only; served by idx_email_outbox_status_next_attempt
+        Gauge.builder("mediconnect.email.pending", outboxRepository,
+                        repository -> repository.countByStatus(EmailOutboxStatus.PENDING))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Durably queues a plain-text email. If called inside a transaction the dispatcher is
+     * woken after commit, so it never sees a row that might still roll back.
+     */
+    public void enqueue(String recipient, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setRecipient(recipient);
+        message.setSubject(subject);
+        message.setBody(body);
+        message.setNextAttemptAt(now);
+        message.setCreatedAt(now);
+        outboxRepository.save(message);
+        enqueued.increment();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.wakeUp();
+                }
+            });
+        } else {
+            dispatcher.wakeUp();
+        }
+    }
+}
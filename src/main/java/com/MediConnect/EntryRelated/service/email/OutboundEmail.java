@@ -0,0 +1,9 @@
+package com.MediConnect.EntryRelated.service.email;
+
+/**
+ * An outbox row claimed for sending.
+ *
+ * @param attempt Attempt number this send represents, starting at 1
+ */
+public record OutboundEmail(long id, String recipient, String subject, String body, int attempt) {
+}
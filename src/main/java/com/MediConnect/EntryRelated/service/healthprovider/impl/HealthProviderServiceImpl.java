@@ -12,6 +12,7 @@ import com.MediConnect.EntryRelated.repository.HealthcareProviderRepo;
 import com.MediConnect.EntryRelated.service.ActivityService;
 import com.MediConnect.EntryRelated.service.OTPService;
 import com.MediConnect.EntryRelated.service.healthprovider.HealthcareProviderService;
+import com.MediConnect.EntryRelated.service.profile.DoctorProfileChangedEvent;
 import com.MediConnect.EntryRelated.service.review.ReviewService;
 import com.MediConnect.EntryRelated.service.healthprovider.mapper.HealthcareProviderMapper;
 import com.MediConnect.Service.UserService;
@@ -21,7 +22,8 @@ import com.MediConnect.socialmedia.entity.NotificationType;
 import com.MediConnect.socialmedia.service.NotificationService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,13 +36,14 @@ public class HealthProviderServiceImpl implements HealthcareProviderService {
 
     private final HealthcareProviderRepo providerRepo;
     private final HealthcareProviderMapper providerMapper;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
     private final UserService userService;
     private final OTPService otpService;
     private final JWTService jwtService;
     private final ActivityService activityService;
     private final NotificationService notificationService;
     private final ReviewService reviewService;
+    private final ApplicationEventPublisher eventPublisher;
     @Transactional
     public String register(SignupHPRequestDTO dto) {
         try {
@@ -267,14 +270,11 @@ public class HealthProviderServiceImpl implements HealthcareProviderService {
         HealthcareProvider provider = providerRepo.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Healthcare provider not found"));
 
-        // Verify OTP
+        // Verify and consume OTP (single use)
         if (!otpService.verifyLoginOTP(provider.getEmail(), otp)) {
             throw new RuntimeException("Invalid or expired OTP");
         }
 
-        // Clear the OTP
-        otpService.clearLoginOTP(provider.getEmail());
-
         // Generate token
         String token = jwtService.generateToken(new com.MediConnect.config.UserPrincipal(provider));
 
@@ -449,6 +449,10 @@ public class HealthProviderServiceImpl implements HealthcareProviderService {
             provider.setSpecializations(updatedData.getSpecializations());
 
         providerRepo.save(provider);
+        // Whether a collection-only edit reaches @PostUpdate depends on Hibernate's flush, so announce it here
+        if (updatedData.getInsuranceAccepted() != null || updatedData.getSpecializations() != null) {
+            eventPublisher.publishEvent(new DoctorProfileChangedEvent(provider.getId()));
+        }
 
         Map<String, Object> response = new HashMap<>();
         response.put("message", "Provider profile updated successfully");
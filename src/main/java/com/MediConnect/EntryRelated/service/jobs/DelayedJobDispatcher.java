@@ -0,0 +1,212 @@
+package com.MediConnect.EntryRelated.service.jobs;
+
+import com.MediConnect.EntryRelated.entities.ScheduledJobStatus;
+import com.MediConnect.EntryRelated.entities.ScheduledJobType;
+import com.MediConnect.EntryRelated.repository.ScheduledJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fires due rows from the scheduled_jobs table.
+ * <p>
+ * Every poll claims batches of due rows with {@code FOR UPDATE SKIP LOCKED}, so several
+ * application instances can poll at once without running a job twice. Claiming pushes
+ * {@code run_after} forward by the lease, so jobs claimed by an instance that dies are picked
+ * up again once the lease expires. Each job runs in its own transaction; failures are retried
+ * with exponential backoff until {@code jobs.max-attempts}.
+ * <p>
+ * Outcome updates are guarded by the claimed {@code due_at}: if the job was rescheduled while
+ * it was running, the row stays PENDING for its new time instead of being marked done.
+ */
+@Slf4j
+@Component
+public class DelayedJobDispatcher {
+
+    private static final String CLAIM_SQL =
+            "UPDATE scheduled_jobs SET attempts = attempts + 1, run_after = ? " +
+            "WHERE id IN (SELECT id FROM scheduled_jobs WHERE status = 'PENDING' AND run_after <= ? " +
+            "ORDER BY run_after, id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, job_type, reference_id, due_at, attempts";
+
+    private static final String MARK_DONE_SQL =
+            "UPDATE scheduled_jobs SET status = 'DONE', completed_at = ?, last_error = NULL " +
+            "WHERE id = ? AND due_at = ? AND status = 'PENDING'";
+
+    private static final String RESCHEDULE_SQL =
+            "UPDATE scheduled_jobs SET run_after = ?, last_error = ? WHERE id = ? AND due_at = ? AND status = 'PENDING'";
+
+    private static final String MARK_FAILED_SQL =
+            "UPDATE scheduled_jobs SET status = 'FAILED', completed_at = ?, last_error = ? " +
+            "WHERE id = ? AND due_at = ? AND status = 'PENDING'";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScheduledJobRepository jobRepository;
+    private final TransactionTemplate jobTransaction;
+    private final Map<ScheduledJobType, DelayedJobHandler> handlers = new EnumMap<>(ScheduledJobType.class);
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration finishedRetention;
+
+    private final Counter completed;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer lateness;
+
+    public DelayedJobDispatcher(JdbcTemplate jdbcTemplate,
+                                ScheduledJobRepository jobRepository,
+                                PlatformTransactionManager transactionManager,
+                                List<DelayedJobHandler> jobHandlers,
+                                MeterRegistry meterRegistry,
+                                @Value("${jobs.batch-size:100}") int batchSize,
+                                @Value("${jobs.max-attempts:5}") int maxAttempts,
+                                @Value("${jobs.lease:2m}") Duration lease,
+                                @Value("${jobs.initial-backoff:30s}") Duration initialBackoff,
+                                @Value("${jobs.max-backoff:30m}") Duration maxBackoff,
+                                @Value("${jobs.finished-retention:30d}") Duration finishedRetention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobRepository = jobRepository;
+        this.jobTransaction = new TransactionTemplate(transactionManager);
+        this.jobTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (DelayedJobHandler handler : jobHandlers) {
+            handler.supportedTypes().forEach(type -> {
+                DelayedJobHandler previous = handlers.put(type, handler);
+                if (previous != null) {
+                    throw new IllegalStateException("Two handlers registered for job type " + type);
+                }
+            });
+        }
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.finishedRetention = finishedRetention;
+        this.completed = meterRegistry.counter("mediconnect.jobs.completed");
+        this.retried = meterRegistry.counter("mediconnect.jobs.retried");
+        this.failed = meterRegistry.counter("mediconnect.jobs.failed");
+        // Time between due_at and the moment the job actually ran
+        this.lateness = meterRegistry.timer("mediconnect.jobs.lateness");
+        Gauge.builder("mediconnect.jobs.pending", jobRepository,
+                        repository -> repository.countByStatus(ScheduledJobStatus.PENDING))
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.poll-interval-ms:2000}")
+    public void poll() {
+        try {
+            while (dispatchBatch() == batchSize) {
+                // keep going while full batches are due
+            }
+        } catch (DataAccessException e) {
+            log.warn("Delayed job round failed, will retry on next poll: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${jobs.cleanup-cron:0 15 4 * * *}")
+    public void purgeFinished() {
+        int deleted = jobRepository.deleteFinishedBefore(LocalDateTime.now().minus(finishedRetention));
+        if (deleted > 0) {
+            log.info("Purged {} finished delayed jobs", deleted);
+        }
+    }
+
+    /**
+     * Claims and runs one batch.
+     *
+     * @return Number of jobs claimed
+     */
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<DueJob> batch = jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new DueJob(rs.getLong("id"), ScheduledJobType.valueOf(rs.getString("job_type")),
+                        rs.getLong("reference_id"), rs.getTimestamp("due_at").toLocalDateTime(), rs.getInt("attempts")),
+                Timestamp.valueOf(now.plus(lease)), Timestamp.valueOf(now), batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> doneRows = new ArrayList<>();
+        List<Object[]> retryRows = new ArrayList<>();
+        List<Object[]> failedRows = new ArrayList<>();
+        for (DueJob job : batch) {
+            if (job.attempt() == 1) {
+                lateness.record(Duration.between(job.dueAt(), LocalDateTime.now()));
+            }
+            Timestamp dueAt = Timestamp.valueOf(job.dueAt());
+            try {
+                run(job);
+                doneRows.add(new Object[]{Timestamp.valueOf(LocalDateTime.now()), job.id(), dueAt});
+            } catch (RuntimeException e) {
+                String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+                if (job.attempt() >= maxAttempts) {
+                    failedRows.add(new Object[]{Timestamp.valueOf(LocalDateTime.now()), error, job.id(), dueAt});
+                    log.warn("Giving up on {} job {} for reference {} after {} attempts: {}",
+                            job.type(), job.id(), job.referenceId(), job.attempt(), error);
+                } else {
+                    LocalDateTime retryAt = LocalDateTime.now().plus(backoff(job.attempt()));
+                    retryRows.add(new Object[]{Timestamp.valueOf(retryAt), error, job.id(), dueAt});
+                    log.debug("{} job {} failed, retrying at {}: {}", job.type(), job.id(), retryAt, error);
+                }
+            }
+        }
+
+        if (!doneRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_DONE_SQL, doneRows);
+            completed.increment(doneRows.size());
+        }
+        if (!retryRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(RESCHEDULE_SQL, retryRows);
+            retried.increment(retryRows.size());
+        }
+        if (!failedRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_FAILED_SQL, failedRows);
+            failed.increment(failedRows.size());
+        }
+        return batch.size();
+    }
+
+    private void run(DueJob job) {
+        DelayedJobHandler handler = handlers.get(job.type());
+        if (handler == null) {
+            throw new IllegalStateException("No handler for job type " + job.type());
+        }
+        jobTransaction.executeWithoutResult(status -> handler.handle(job));
+    }
+
+    /**
+     * Delay before the next attempt: {@code initialBackoff * 2^(attempt - 1)}, capped at {@code maxBackoff}.
+     */
+    private Duration backoff(int attempt) {
+        int doublings = Math.min(Math.max(attempt - 1, 0), 30);
+        Duration delay = initialBackoff.multipliedBy(1L << doublings);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_ERROR_LENGTH ? value : value.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,16 @@
+package com.MediConnect.EntryRelated.service.jobs;
+
+import com.MediConnect.EntryRelated.entities.ScheduledJobType;
+
+import java.util.Set;
+
+/**
+ * Executes due jobs of one or more types. Each call runs in its own transaction; throwing
+ * rolls that transaction back and schedules a retry.
+ */
+public interface DelayedJobHandler {
+
+    Set<ScheduledJobType> supportedTypes();
+
+    void handle(DueJob job);
+}
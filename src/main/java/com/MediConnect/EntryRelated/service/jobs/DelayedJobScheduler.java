@@ -0,0 +1,51 @@
+package com.MediConnect.EntryRelated.service.jobs;
+
+import com.MediConnect.EntryRelated.entities.ScheduledJobType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Writes delayed jobs to the scheduled_jobs table.
+ * <p>
+ * There is one row per (type, reference). Scheduling again with the same due time is a no-op,
+ * so callers can re-sync on every change without re-firing a job that already ran; a new due
+ * time (or a previously cancelled job) puts the row back to PENDING.
+ */
+@Service
+public class DelayedJobScheduler {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO scheduled_jobs (job_type, reference_id, due_at, run_after, status, attempts, created_at) " +
+            "VALUES (?, ?, ?, ?, 'PENDING', 0, ?) " +
+            "ON CONFLICT (job_type, reference_id) DO UPDATE SET due_at = EXCLUDED.due_at, " +
+            "run_after = EXCLUDED.run_after, status = 'PENDING', attempts = 0, last_error = NULL, completed_at = NULL " +
+            "WHERE scheduled_jobs.due_at <> EXCLUDED.due_at OR scheduled_jobs.status = 'CANCELLED'";
+
+    private static final String CANCEL_SQL =
+            "UPDATE scheduled_jobs SET status = 'CANCELLED', completed_at = ? " +
+            "WHERE job_type = ? AND reference_id = ? AND status = 'PENDING'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DelayedJobScheduler(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Schedules (or moves) the job for {@code referenceId} to fire at {@code dueAt}.
+     */
+    public void schedule(ScheduledJobType type, long referenceId, LocalDateTime dueAt) {
+        Timestamp due = Timestamp.valueOf(dueAt);
+        jdbcTemplate.update(UPSERT_SQL, type.name(), referenceId, due, due, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Cancels the job if it has not run yet.
+     */
+    public void cancel(ScheduledJobType type, long referenceId) {
+        jdbcTemplate.update(CANCEL_SQL, Timestamp.valueOf(LocalDateTime.now()), type.name(), referenceId);
+    }
+}
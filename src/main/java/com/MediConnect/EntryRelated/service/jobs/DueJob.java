@@ -0,0 +1,14 @@
+package com.MediConnect.EntryRelated.service.jobs;
+
+import com.MediConnect.EntryRelated.entities.ScheduledJobType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A job claimed by the dispatcher.
+ *
+ * @param dueAt   Time the job was scheduled for when it was claimed
+ * @param attempt 1-based attempt number, including this one
+ */
+public record DueJob(long id, ScheduledJobType type, long referenceId, LocalDateTime dueAt, int attempt) {
+}
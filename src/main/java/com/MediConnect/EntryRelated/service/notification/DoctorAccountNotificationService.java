@@ -2,9 +2,8 @@ package com.MediConnect.EntryRelated.service.notification;
 
 import com.MediConnect.EntryRelated.entities.AccountStatus;
 import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.MediConnect.EntryRelated.service.email.EmailOutbox;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -15,7 +14,7 @@ import org.springframework.util.StringUtils;
 @RequiredArgsConstructor
 public class DoctorAccountNotificationService {
 
-    private final JavaMailSender mailSender;
+    private final EmailOutbox emailOutbox;
 
     public void sendStatusChangeEmail(HealthcareProvider provider, AccountStatus status) {
         if (provider == null || !StringUtils.hasText(provider.getEmail()) || status == null) {
@@ -62,11 +61,7 @@ public class DoctorAccountNotificationService {
             return;
         }
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(provider.getEmail());
-        message.setSubject(subject);
-        message.setText(body);
-        mailSender.send(message);
+        emailOutbox.enqueue(provider.getEmail(), subject, body);
     }
 
     private String defaultString(String value) {
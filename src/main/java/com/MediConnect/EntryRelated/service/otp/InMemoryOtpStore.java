@@ -0,0 +1,93 @@
+package com.MediConnect.EntryRelated.service.otp;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node {@link OtpStore} for tests and local runs without Redis ({@code otp.store=memory}).
+ * Same semantics as {@link RedisOtpStore}, but nothing is shared between instances.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "memory")
+public class InMemoryOtpStore implements OtpStore {
+
+    private final Map<String, StoredCode> codes = new ConcurrentHashMap<>();
+    private final Map<String, Deque<Long>> windows = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public InMemoryOtpStore() {
+        this(Clock.systemUTC());
+    }
+
+    InMemoryOtpStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void save(OtpPurpose purpose, String email, String code, Duration ttl) {
+        codes.put(purpose.key(email), new StoredCode(code, clock.instant().plus(ttl)));
+    }
+
+    @Override
+    public boolean matches(OtpPurpose purpose, String email, String code) {
+        StoredCode stored = codes.get(purpose.key(email));
+        return code != null && stored != null && stored.isLive(clock.instant()) && stored.code().equals(code);
+    }
+
+    @Override
+    public boolean consumeIfMatches(OtpPurpose purpose, String email, String code) {
+        if (code == null) {
+            return false;
+        }
+        boolean[] consumed = new boolean[1];
+        Instant now = clock.instant();
+        // compute() runs under the map's bin lock, which makes check-and-remove atomic
+        codes.computeIfPresent(purpose.key(email), (key, stored) -> {
+            if (!stored.isLive(now)) {
+                return null;
+            }
+            if (stored.code().equals(code)) {
+                consumed[0] = true;
+                return null;
+            }
+            return stored;
+        });
+        return consumed[0];
+    }
+
+    @Override
+    public void delete(OtpPurpose purpose, String email) {
+        codes.remove(purpose.key(email));
+    }
+
+    @Override
+    public long tryAcquire(String bucket, int limit, Duration window) {
+        long now = clock.millis();
+        long windowMillis = window.toMillis();
+        Deque<Long> attempts = windows.computeIfAbsent(bucket, key -> new ArrayDeque<>());
+        synchronized (attempts) {
+            while (!attempts.isEmpty() && attempts.peekFirst() <= now - windowMillis) {
+                attempts.pollFirst();
+            }
+            if (attempts.size() >= limit) {
+                return Math.max(attempts.peekFirst() + windowMillis - now, 1);
+            }
+            attempts.addLast(now);
+            return 0;
+        }
+    }
+
+    private record StoredCode(String code, Instant expiresAt) {
+        boolean isLive(Instant now) {
+            return now.isBefore(expiresAt);
+        }
+    }
+}
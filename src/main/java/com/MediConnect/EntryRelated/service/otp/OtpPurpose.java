@@ -0,0 +1,21 @@
+package com.MediConnect.EntryRelated.service.otp;
+
+/**
+ * What an OTP was issued for. Each purpose gets its own key space
+ * and TTL, so a registration code can never be used to log in and vice versa.
+ */
+public enum OtpPurpose {
+    REGISTRATION("registration"),
+    PASSWORD_RESET("password-reset"),
+    LOGIN("login");
+
+    private final String keySegment;
+
+    OtpPurpose(String keySegment) {
+        this.keySegment = keySegment;
+    }
+
+    public String key(String email) {
+        return "otp:" + keySegment + ":" + email;
+    }
+}
@@ -0,0 +1,39 @@
+package com.MediConnect.EntryRelated.service.otp;
+
+import java.time.Duration;
+
+/**
+ * Storage for one-time passwords and the rate-limit windows that guard them.
+ * 
+ * Emails passed in are expected to be normalised by the caller already.
+ */
+public interface OtpStore {
+
+    /**
+     * Stores a code, replacing any previous code for the same purpose and email.
+     */
+    void save(OtpPurpose purpose, String email, String code, Duration ttl);
+
+    /**
+     * Checks a code without consuming it.
+     */
+    boolean matches(OtpPurpose purpose, String email, String code);
+
+    /**
+     * Deletes the stored code only if it equals {@code code}, as one atomic step.
+     * A wrong guess leaves the stored code in place.
+     * 
+     * @return true if the code matched and has been consumed
+     */
+    boolean consumeIfMatches(OtpPurpose purpose, String email, String code);
+
+    void delete(OtpPurpose purpose, String email);
+
+    /**
+     * Records one attempt in a sliding window of length {@code window}.
+     * 
+     * @param bucket Rate-limit key, e.g. "send:email:alice@example.com"
+     * @return 0 if the attempt is allowed, otherwise the milliseconds until the oldest attempt leaves the window
+     */
+    long tryAcquire(String bucket, int limit, Duration window);
+}
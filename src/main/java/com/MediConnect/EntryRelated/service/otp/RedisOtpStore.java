@@ -0,0 +1,83 @@
+package com.MediConnect.EntryRelated.service.otp;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Redis-backed {@link OtpStore}. Codes are plain string keys with a per-purpose TTL.
+ * 
+ * Verify-and-consume is a Lua script, so comparing and deleting is one round-trip and two
+ * concurrent requests with the same code cannot both succeed. GETDEL is not used because it
+ * would also delete the code on a wrong guess. Rate limits are sorted-set sliding windows,
+ * timed by the Redis server clock so all application instances agree.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "redis", matchIfMissing = true)
+public class RedisOtpStore implements OtpStore {
+
+    private static final String RATE_LIMIT_KEY_PREFIX = "otp:rate:";
+
+    private static final RedisScript<Long> CONSUME_IF_MATCHES = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "return 0", Long.class);
+
+    // ARGV: window ms, limit, unique member
+    private static final RedisScript<Long> SLIDING_WINDOW = RedisScript.of(
+            "local t = redis.call('TIME') " +
+            "local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000) " +
+            "local window = tonumber(ARGV[1]) " +
+            "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window) " +
+            "if redis.call('ZCARD', KEYS[1]) >= tonumber(ARGV[2]) then " +
+            "  local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES') " +
+            "  return math.max(tonumber(oldest[2]) + window - now, 1) " +
+            "end " +
+            "redis.call('ZADD', KEYS[1], now, ARGV[3]) " +
+            "redis.call('PEXPIRE', KEYS[1], window) " +
+            "return 0", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisOtpStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void save(OtpPurpose purpose, String email, String code, Duration ttl) {
+        redisTemplate.opsForValue().set(purpose.key(email), code, ttl);
+    }
+
+    @Override
+    public boolean matches(OtpPurpose purpose, String email, String code) {
+        return code != null && code.equals(redisTemplate.opsForValue().get(purpose.key(email)));
+    }
+
+    @Override
+    public boolean consumeIfMatches(OtpPurpose purpose, String email, String code) {
+        if (code == null) {
+            return false;
+        }
+        Long deleted = redisTemplate.execute(CONSUME_IF_MATCHES, List.of(purpose.key(email)), code);
+        return deleted != null && deleted > 0;
+    }
+
+    @Override
+    public void delete(OtpPurpose purpose, String email) {
+        redisTemplate.delete(purpose.key(email));
+    }
+
+    @Override
+    public long tryAcquire(String bucket, int limit, Duration window) {
+        Long retryAfter = redisTemplate.execute(SLIDING_WINDOW, List.of(RATE_LIMIT_KEY_PREFIX + bucket),
+                String.valueOf(window.toMillis()), String.valueOf(limit), UUID.randomUUID().toString());
+        return Objects.requireNonNullElse(retryAfter, 0L);
+    }
+}
@@ -21,7 +21,7 @@ import com.MediConnect.EntryRelated.exception.AccountStatusException;
 import com.MediConnect.config.JWTService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -40,7 +40,7 @@ public class PatientServiceImpl implements PatientService {
     private final UserService userService;
     private final OTPService otpService;
     private final PatientMapper patientMapper;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
     private final JWTService jwtService;
     private final ActivityService activityService;
     private final LabResultRepo labResultRepo;
@@ -119,21 +119,18 @@ public class PatientServiceImpl implements PatientService {
         Patient patient = patientRepo.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Patient not found"));
 
-        // 2️⃣ Verify OTP
+        // 2️⃣ Verify and consume OTP (single use)
         if (!otpService.verifyLoginOTP(patient.getEmail(), otp)) {
             throw new RuntimeException("Invalid or expired OTP");
         }
 
-        // 3️⃣ Clear OTP
-        otpService.clearLoginOTP(patient.getEmail());
-
-        // 4️⃣ Generate token
+        // 3️⃣ Generate token
         String token = jwtService.generateToken(new com.MediConnect.config.UserPrincipal(patient));
 
-        // 5️⃣ Log session and activity
+        // 4️⃣ Log session and activity
         activityService.createLoginSession(patient, token, httpRequest);
 
-        // 6️⃣ Prepare response
+        // 5️⃣ Prepare response
         Map<String, Object> response = new HashMap<>();
         response.put("status", "success");
         response.put("message", "Login successful");
@@ -0,0 +1,10 @@
+package com.MediConnect.EntryRelated.service.profile;
+
+/**
+ * Published when anything shown on a doctor's public profile changes: the provider row,
+ * schedule, education, work experience or privacy settings.
+ *
+ * @param doctorId User id of the healthcare provider (for privacy settings, any user id)
+ */
+public record DoctorProfileChangedEvent(Long doctorId) {
+}
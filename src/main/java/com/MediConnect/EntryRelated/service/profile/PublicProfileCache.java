@@ -0,0 +1,229 @@
+package com.MediConnect.EntryRelated.service.profile;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Read-through Redis cache for the public doctor profile payload.
+ * <p>
+ * A miss is loaded once per key: requests on the same node wait for the in-flight load, and
+ * across nodes a short Redis lock lets one node load while the others poll for the result.
+ * Entries are invalidated by {@link DoctorProfileChangedEvent} after the writing transaction
+ * commits. Each invalidation bumps a per-doctor version, and a load only stores its result if the
+ * version has not moved since it started, so a load racing an update cannot put stale data back.
+ */
+@Slf4j
+@Service
+public class PublicProfileCache {
+
+    private static final String KEY_PREFIX = "public-profile:";
+    private static final Duration VERSION_TTL = Duration.ofDays(1);
+    private static final long POLL_INTERVAL_MS = 50;
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    // KEYS: data, version; ARGV: expected version, payload, ttl ms
+    private static final RedisScript<Long> SET_IF_VERSION = RedisScript.of(
+            "if (redis.call('GET', KEYS[2]) or '0') == ARGV[1] then " +
+            "  redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) " +
+            "  return 1 " +
+            "end " +
+            "return 0", Long.class);
+
+    // KEYS: data, version; ARGV: version ttl ms
+    private static final RedisScript<Long> INVALIDATE = RedisScript.of(
+            "redis.call('INCR', KEYS[2]) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[1]) " +
+            "return redis.call('DEL', KEYS[1])", Long.class);
+
+    private static final RedisScript<Long> UNLOCK = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "return 0", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lockTimeout;
+    private final Duration lockWait;
+    private final ConcurrentHashMap<Long, CompletableFuture<Map<String, Object>>> inFlight = new ConcurrentHashMap<>();
+
+    public PublicProfileCache(StringRedisTemplate redisTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${profile.public-cache.ttl:10m}") Duration ttl,
+                              @Value("${profile.public-cache.lock-timeout:5s}") Duration lockTimeout,
+                              @Value("${profile.public-cache.lock-wait:2s}") Duration lockWait) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.lockTimeout = lockTimeout;
+        this.lockWait = lockWait;
+    }
+
+    /**
+     * Returns the cached payload for a doctor, loading it with {@code loader} on a miss.
+     * Exceptions thrown by the loader are passed to every request waiting on that load.
+     */
+    public Map<String, Object> get(Long doctorId, Supplier<Map<String, Object>> loader) {
+        Map<String, Object> cached = read(doctorId);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<Map<String, Object>> load = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> existing = inFlight.putIfAbsent(doctorId, load);
+        if (existing != null) {
+            return await(existing, loader);
+        }
+        try {
+            Map<String, Object> payload = loadOnce(doctorId, loader);
+            load.complete(payload);
+            return payload;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(doctorId, load);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProfileChanged(DoctorProfileChangedEvent event) {
+        evict(event.doctorId());
+    }
+
+    public void evict(Long doctorId) {
+        try {
+            redisTemplate.execute(INVALIDATE, List.of(dataKey(doctorId), versionKey(doctorId)),
+                    String.valueOf(VERSION_TTL.toMillis()));
+        } catch (DataAccessException e) {
+            log.warn("Could not invalidate public profile cache for doctor {}: {}", doctorId, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> loadOnce(Long doctorId, Supplier<Map<String, Object>> loader) {
+        String lockKey = KEY_PREFIX + "lock:" + doctorId;
+        String lockToken = UUID.randomUUID().toString();
+        boolean locked = tryLock(lockKey, lockToken);
+        if (!locked) {
+            // Another node is loading this profile; give it a moment before loading ourselves
+            long deadline = System.nanoTime() + lockWait.toNanos();
+            while (System.nanoTime() < deadline && pause()) {
+                Map<String, Object> cached = read(doctorId);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        }
+        try {
+            String version = currentVersion(doctorId);
+            Map<String, Object> payload = loader.get();
+            write(doctorId, version, payload);
+            return payload;
+        } finally {
+            if (locked) {
+                unlock(lockKey, lockToken);
+            }
+        }
+    }
+
+    private Map<String, Object> await(CompletableFuture<Map<String, Object>> load, Supplier<Map<String, Object>> loader) {
+        try {
+            return load.get(lockTimeout.toMillis() + lockWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return loader.get();
+        }
+    }
+
+    private Map<String, Object> read(Long doctorId) {
+        try {
+            String json = redisTemplate.opsForValue().get(dataKey(doctorId));
+            return json == null ? null : objectMapper.readValue(json, PAYLOAD_TYPE);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Could not read public profile cache for doctor {}: {}", doctorId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(Long doctorId, String version, Map<String, Object> payload) {
+        try {
+            redisTemplate.execute(SET_IF_VERSION, List.of(dataKey(doctorId), versionKey(doctorId)),
+                    version, objectMapper.writeValueAsString(payload), String.valueOf(ttl.toMillis()));
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Could not write public profile cache for doctor {}: {}", doctorId, e.getMessage());
+        }
+    }
+
+    private String currentVersion(Long doctorId) {
+        try {
+            String version = redisTemplate.opsForValue().get(versionKey(doctorId));
+            return version == null ? "0" : version;
+        } catch (DataAccessException e) {
+            return "0";
+        }
+    }
+
+    private boolean tryLock(String lockKey, String token) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, token, lockTimeout));
+        } catch (DataAccessException e) {
+            // Redis unavailable: load without coordination
+            return true;
+        }
+    }
+
+    private void unlock(String lockKey, String token) {
+        try {
+            redisTemplate.execute(UNLOCK, List.of(lockKey), token);
+        } catch (DataAccessException e) {
+            // The lock expires on its own
+        }
+    }
+
+    private static boolean pause() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String dataKey(Long doctorId) {
+        return KEY_PREFIX + doctorId;
+    }
+
+    private static String versionKey(Long doctorId) {
+        return KEY_PREFIX + "version:" + doctorId;
+    }
+}
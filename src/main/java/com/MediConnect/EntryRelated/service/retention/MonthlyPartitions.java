@@ -0,0 +1,78 @@
+package com.MediConnect.EntryRelated.service.retention;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Naming and retention arithmetic for monthly range partitions named {@code <table>_pYYYY_MM}.
+ */
+public final class MonthlyPartitions {
+
+    private static final Pattern SUFFIX = Pattern.compile("_p(\\d{4})_(\\d{2})$");
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private MonthlyPartitions() {
+    }
+
+    public static String partitionName(String table, YearMonth month) {
+        return String.format("%s_p%04d_%02d", table, month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * Quotes a table or partition name for DDL, rejecting anything but a plain lower-case identifier.
+     */
+    public static String quote(String identifier) {
+        if (identifier == null || !IDENTIFIER.matcher(identifier).matches()) {
+            throw new IllegalArgumentException("Not a plain table name: " + identifier);
+        }
+        return '"' + identifier + '"';
+    }
+
+    /**
+     * Month covered by a partition of {@code table}, or empty for the default partition and unrelated names.
+     */
+    public static Optional<YearMonth> monthOf(String table, String partitionName) {
+        if (partitionName == null || !partitionName.startsWith(table + "_p")) {
+            return Optional.empty();
+        }
+        Matcher matcher = SUFFIX.matcher(partitionName);
+        if (!matcher.find() || matcher.start() != table.length()) {
+            return Optional.empty();
+        }
+        int month = Integer.parseInt(matcher.group(2));
+        if (month < 1 || month > 12) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), month));
+    }
+
+    /**
+     * Partitions whose whole month lies before the retention window. With a retention of
+     * {@code n} months the current month and the {@code n} months before it are kept.
+     */
+    public static List<String> expired(String table, List<String> partitionNames, YearMonth currentMonth, int retentionMonths) {
+        YearMonth oldestKept = currentMonth.minusMonths(retentionMonths);
+        List<String> expired = new ArrayList<>();
+        for (String name : partitionNames) {
+            monthOf(table, name)
+                    .filter(month -> month.isBefore(oldestKept))
+                    .ifPresent(month -> expired.add(name));
+        }
+        return expired;
+    }
+
+    /**
+     * The current month and the following {@code monthsAhead} months.
+     */
+    public static List<YearMonth> upcoming(YearMonth currentMonth, int monthsAhead) {
+        List<YearMonth> months = new ArrayList<>(monthsAhead + 1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            months.add(currentMonth.plusMonths(i));
+        }
+        return months;
+    }
+}
@@ -0,0 +1,180 @@
+package com.MediConnect.EntryRelated.service.retention;
+
+import com.MediConnect.config.startup.StartupTask;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the monthly partitions of the append-heavy tables (see V9__monthly_partitions.sql).
+ * 
+ * Daily, and once at startup, it creates partitions for the coming months and drops whole
+ * partitions older than each table's retention. Dropping a partition is a metadata operation,
+ * so old rows disappear without row-by-row deletes, dead tuples or vacuum work.
+ * Tables that have not been converted to partitioned tables are skipped, and so are expired
+ * login_sessions partitions that still hold active sessions: a session outlives its login month
+ * until it is logged out. Identifiers are validated and quoted before they reach DDL.
+ */
+@Slf4j
+@Component
+public class PartitionRetentionManager implements StartupTask {
+
+    private static final String IS_PARTITIONED_SQL =
+            "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = ?";
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT child.relname FROM pg_inherits i " +
+            "JOIN pg_class parent ON parent.oid = i.inhparent " +
+            "JOIN pg_class child ON child.oid = i.inhrelid " +
+            "WHERE parent.relname = ? ORDER BY child.relname";
+
+    /** Rows that keep an expired partition alive, per table */
+    private static final Map<String, String> LIVE_ROW_CONDITIONS = Map.of("login_sessions", "is_active");
+
+    /** Rows outside the partitioned table that belong to a dropped month, per table (V17) */
+    private static final Map<String, String> DROP_COMPANION_SQL = Map.of("login_sessions",
+            "DELETE FROM login_session_tokens WHERE login_time >= ? AND login_time < ?");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final Map<String, Integer> retentionMonthsByTable;
+
+    @Autowired
+    public PartitionRetentionManager(JdbcTemplate jdbcTemplate,
+                                     @Value("${retention.partitions.enabled:true}") boolean enabled,
+                                     @Value("${retention.partitions.months-ahead:3}") int monthsAhead,
+                                     @Value("${retention.account-activities.months:12}") int accountActivityMonths,
+                                     @Value("${retention.login-sessions.months:6}") int loginSessionMonths,
+                                     @Value("${retention.profile-views.months:24}") int profileViewMonths,
+                                     @Value("${retention.notifications.months:6}") int notificationMonths) {
+        this(jdbcTemplate, Clock.systemDefaultZone(), enabled, monthsAhead, retentionMap(
+                accountActivityMonths, loginSessionMonths, profileViewMonths, notificationMonths));
+    }
+
+    PartitionRetentionManager(JdbcTemplate jdbcTemplate, Clock clock, boolean enabled, int monthsAhead,
+                              Map<String, Integer> retentionMonthsByTable) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonthsByTable = retentionMonthsByTable;
+    }
+
+    static Map<String, Integer> retentionMap(int accountActivityMonths, int loginSessionMonths,
+                                             int profileViewMonths, int notificationMonths) {
+        Map<String, Integer> retention = new LinkedHashMap<>();
+        retention.put("account_activities", accountActivityMonths);
+        retention.put("login_sessions", loginSessionMonths);
+        retention.put("profile_views", profileViewMonths);
+        retention.put("notifications", notificationMonths);
+        return retention;
+    }
+
+    @Override
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${retention.partitions.cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+        retentionMonthsByTable.forEach((table, retentionMonths) -> {
+            try {
+                maintain(table, retentionMonths);
+            } catch (DataAccessException ex) {
+                log.warn("Partition maintenance failed for {}: {}", table, ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Creates upcoming partitions and drops expired ones for a single table.
+     *
+     * @return names of the partitions that were dropped
+     */
+    List<String> maintain(String table, int retentionMonths) {
+        Integer partitioned = jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Integer.class, table);
+        if (partitioned == null || partitioned == 0) {
+            log.debug("Skipping partition maintenance for {}: table is not partitioned", table);
+            return List.of();
+        }
+
+        YearMonth currentMonth = YearMonth.now(clock);
+        for (YearMonth month : MonthlyPartitions.upcoming(currentMonth, monthsAhead)) {
+            createPartition(table, month);
+        }
+
+        List<String> partitions = jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class, table);
+        List<String> dropped = new ArrayList<>();
+        for (String partition : MonthlyPartitions.expired(table, partitions, currentMonth, retentionMonths)) {
+            if (holdsLiveRows(table, partition)) {
+                log.info("Keeping expired partition {}: it still holds live rows", partition);
+                continue;
+            }
+            // Detach first so the parent's lock is brief, then drop the standalone table
+            jdbcTemplate.execute("ALTER TABLE " + MonthlyPartitions.quote(table)
+                    + " DETACH PARTITION " + MonthlyPartitions.quote(partition));
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + MonthlyPartitions.quote(partition));
+            dropCompanionRows(table, partition);
+            dropped.add(partition);
+        }
+        if (!dropped.isEmpty()) {
+            log.info("Dropped {} expired partitions of {} (retention {} months): {}",
+                    dropped.size(), table, retentionMonths, dropped);
+        }
+        return dropped;
+    }
+
+    private boolean holdsLiveRows(String table, String partition) {
+        String condition = LIVE_ROW_CONDITIONS.get(table);
+        if (condition == null) {
+            return false;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM "
+                + MonthlyPartitions.quote(partition) + " WHERE " + condition + ")", Boolean.class));
+    }
+
+    private void dropCompanionRows(String table, String partition) {
+        String sql = DROP_COMPANION_SQL.get(table);
+        if (sql == null) {
+            return;
+        }
+        YearMonth month = MonthlyPartitions.monthOf(table, partition).orElseThrow();
+        try {
+            jdbcTemplate.update(sql, Timestamp.valueOf(month.atDay(1).atStartOfDay()),
+                    Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+        } catch (DataAccessException ex) {
+            log.warn("Could not remove rows belonging to dropped partition {}: {}", partition, ex.getMessage());
+        }
+    }
+
+    private void createPartition(String table, YearMonth month) {
+        // The bounds are formatted LocalDates, so only the identifiers need quoting
+        String sql = "CREATE TABLE IF NOT EXISTS " + MonthlyPartitions.quote(MonthlyPartitions.partitionName(table, month))
+                + " PARTITION OF " + MonthlyPartitions.quote(table)
+                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException ex) {
+            // Typically rows for that month already sit in the default partition
+            log.warn("Could not create partition {} for {}: {}", MonthlyPartitions.partitionName(table, month),
+                    table, ex.getMessage());
+        }
+    }
+}
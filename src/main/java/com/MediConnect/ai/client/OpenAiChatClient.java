@@ -0,0 +1,167 @@
+package com.MediConnect.ai.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking client for the OpenAI Chat Completions endpoint.
+ * <p>
+ * Requests are sent with the JDK {@link HttpClient}, which keeps a pool of keep-alive
+ * connections and completes responses on its own executor, so no servlet thread waits
+ * on the model. Two guards keep a slow or failing provider from taking the app down:
+ * <ul>
+ *     <li>a concurrency limiter that rejects calls immediately once {@code maxConcurrentRequests}
+ *     are in flight, instead of queueing them behind a slow upstream;</li>
+ *     <li>a circuit breaker that opens after {@code failureThreshold} consecutive failures and
+ *     lets a single trial call through once {@code openDuration} has elapsed.</li>
+ * </ul>
+ * Every rejection or failure surfaces as an {@link OpenAiUnavailableException}.
+ */
+@Slf4j
+public class OpenAiChatClient {
+
+    private static final String CHAT_COMPLETIONS_PATH = "/v1/chat/completions";
+
+    private final HttpClient httpClient;
+    private final URI chatCompletionsUri;
+    private final String apiKey;
+    private final Duration requestTimeout;
+    private final Semaphore concurrencyLimiter;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+    private volatile long openedAtNanos;
+    private volatile boolean open;
+
+    public OpenAiChatClient(HttpClient httpClient,
+                            URI baseUri,
+                            String apiKey,
+                            Duration requestTimeout,
+                            int maxConcurrentRequests,
+                            int failureThreshold,
+                            Duration openDuration) {
+        this.httpClient = httpClient;
+        this.chatCompletionsUri = baseUri.resolve(CHAT_COMPLETIONS_PATH);
+        this.apiKey = apiKey;
+        this.requestTimeout = requestTimeout;
+        this.concurrencyLimiter = new Semaphore(maxConcurrentRequests);
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Sends a serialised chat completion request and returns the raw response body.
+     *
+     * @param requestJson JSON payload for the Chat Completions API
+     * @return future completed with the response body, or exceptionally with
+     *         {@link OpenAiUnavailableException}
+     */
+    public CompletableFuture<String> complete(String requestJson) {
+        boolean trial;
+        try {
+            trial = acquireCircuitPermission();
+        } catch (OpenAiUnavailableException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            if (trial) {
+                trialInFlight.set(false);
+            }
+            return CompletableFuture.failedFuture(
+                    new OpenAiUnavailableException("Too many assistant requests in flight"));
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(chatCompletionsUri)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + apiKey)
+                .POST(HttpRequest.BodyPublishers.ofString(requestJson))
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((response, error) -> {
+                    concurrencyLimiter.release();
+                    if (trial) {
+                        trialInFlight.set(false);
+                    }
+                    if (error != null) {
+                        recordFailure();
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause()
+                                : error;
+                        throw new OpenAiUnavailableException("Assistant request failed: " + cause, cause);
+                    }
+                    if (response.statusCode() / 100 != 2 || response.body() == null) {
+                        // 4xx responses are caller errors, not provider outages, so they don't trip the breaker.
+                        if (response.statusCode() >= 500 || response.statusCode() == 429) {
+                            recordFailure();
+                        }
+                        throw new OpenAiUnavailableException(
+                                "Assistant returned non-success status: " + response.statusCode());
+                    }
+                    recordSuccess();
+                    return response.body();
+                });
+    }
+
+    /**
+     * @return {@code true} while the circuit is open and calls are short-circuited
+     */
+    public boolean isCircuitOpen() {
+        return open;
+    }
+
+    public int getAvailablePermits() {
+        return concurrencyLimiter.availablePermits();
+    }
+
+    /**
+     * Checks the breaker state. Returns {@code true} when the caller holds the half-open trial slot.
+     */
+    private boolean acquireCircuitPermission() {
+        if (!open) {
+            return false;
+        }
+        if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+            throw new OpenAiUnavailableException("Assistant temporarily unavailable (circuit open)");
+        }
+        if (!trialInFlight.compareAndSet(false, true)) {
+            throw new OpenAiUnavailableException("Assistant temporarily unavailable (circuit half-open)");
+        }
+        return true;
+    }
+
+    private void recordSuccess() {
+        consecutiveFailures.set(0);
+        if (open) {
+            open = false;
+            log.info("OpenAI circuit closed after successful trial request");
+        }
+    }
+
+    private void recordFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (open || failures >= failureThreshold) {
+            openedAtNanos = System.nanoTime();
+            if (!open) {
+                open = true;
+                log.warn("OpenAI circuit opened after {} consecutive failures", failures);
+            }
+        }
+    }
+}
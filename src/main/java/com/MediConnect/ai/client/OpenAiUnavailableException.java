@@ -0,0 +1,18 @@
+package com.MediConnect.ai.client;
+
+/**
+ * Raised when a chat completion could not be obtained from the model provider.
+ * <p>
+ * Covers rejected calls (circuit open, too many concurrent requests) as well as
+ * non-2xx responses and timeouts, so callers only need a single fallback path.
+ */
+public class OpenAiUnavailableException extends RuntimeException {
+
+    public OpenAiUnavailableException(String message) {
+        super(message);
+    }
+
+    public OpenAiUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,29 +1,79 @@
 package com.MediConnect.ai.config;
 
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import com.MediConnect.ai.client.OpenAiChatClient;
+import com.MediConnect.ai.service.ChatCompletionCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
 //test g
 /**
  * Dedicated HTTP client for talking to the OpenAI API.
  * <p>
  * Using a named bean keeps our service code clean and makes it easier to adjust
  * timeouts or add logging in the future without touching business logic.
+ * The client is asynchronous, so chat requests no longer pin a servlet thread for the
+ * whole model call; the base URL is configurable so tests can point it at a local server.
  */
 @Configuration
 public class AiConfiguration {
 
-    @Bean(name = "openAiRestTemplate")
-    public RestTemplate openAiRestTemplate(RestTemplateBuilder builder) {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout((int) java.time.Duration.ofSeconds(10).toMillis());
-        factory.setReadTimeout((int) java.time.Duration.ofSeconds(45).toMillis());
+    /**
+     * Small pool that completes OpenAI responses and runs the post-processing of the reply.
+     * It only does CPU work (parsing, scoring); the network wait happens inside the HTTP client.
+     */
+    @Bean(name = "openAiExecutor")
+    public Executor openAiExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("openai-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Loads the doctor catalogue for chat requests off the servlet thread. Each task holds a JDBC
+     * connection while it reads the providers, so the pool stays well below the Hikari pool size.
+     */
+    @Bean(name = "aiCatalogueExecutor")
+    public Executor aiCatalogueExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("ai-catalogue-");
+        executor.initialize();
+        return executor;
+    }
 
-        return builder
-                .requestFactory(() -> factory)
+    @Bean
+    public OpenAiChatClient openAiChatClient(
+            @Value("${openai.base-url:https://api.openai.com}") String baseUrl,
+            @Value("${openai.api-key:}") String apiKey,
+            @Value("${openai.connect-timeout:10s}") Duration connectTimeout,
+            @Value("${openai.read-timeout:45s}") Duration readTimeout,
+            @Value("${openai.max-concurrent-requests:16}") int maxConcurrentRequests,
+            @Value("${openai.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${openai.circuit-breaker.open-duration:30s}") Duration openDuration) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .executor(openAiExecutor())
                 .build();
+        return new OpenAiChatClient(httpClient, URI.create(baseUrl), apiKey, readTimeout,
+                maxConcurrentRequests, failureThreshold, openDuration);
     }
-}
 
+    @Bean
+    public ChatCompletionCache chatCompletionCache(
+            @Value("${openai.cache.ttl:10m}") Duration ttl,
+            @Value("${openai.cache.max-entries:1000}") int maxEntries) {
+        return new ChatCompletionCache(ttl, maxEntries);
+    }
+}
@@ -0,0 +1,125 @@
+package com.MediConnect.ai.matching;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Immutable Aho–Corasick automaton for finding many literal patterns in one pass over a text.
+ * <p>
+ * Patterns are compiled once; {@link #findAll(String)} then runs in time linear in the text
+ * length plus the number of matches, no matter how many patterns are registered. Matching is
+ * case-sensitive and literal, so callers normalise patterns and text the same way beforehand.
+ *
+ * @param <V> value attached to each pattern (for example a specialisation name)
+ */
+public final class AhoCorasickMatcher<V> {
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<Integer> failure = new ArrayList<>();
+    private final List<List<Integer>> outputs = new ArrayList<>();
+    private final List<String> patterns = new ArrayList<>();
+    private final List<V> values = new ArrayList<>();
+
+    private AhoCorasickMatcher(Map<String, V> patternValues) {
+        newNode();
+        patternValues.forEach((pattern, value) -> {
+            if (pattern == null || pattern.isEmpty()) {
+                return;
+            }
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer next = transitions.get(node).get(c);
+                if (next == null) {
+                    next = newNode();
+                    transitions.get(node).put(c, next);
+                }
+                node = next;
+            }
+            outputs.get(node).add(patterns.size());
+            patterns.add(pattern);
+            values.add(value);
+        });
+        buildFailureLinks();
+    }
+
+    /**
+     * Compiles an automaton for the given patterns. Iteration order of the map decides the
+     * pattern ids, which callers can use as a priority.
+     */
+    public static <V> AhoCorasickMatcher<V> compile(Map<String, V> patternValues) {
+        return new AhoCorasickMatcher<>(patternValues);
+    }
+
+    public boolean isEmpty() {
+        return patterns.isEmpty();
+    }
+
+    /**
+     * Returns every pattern occurrence in {@code text}, ordered by end position.
+     */
+    public List<Match<V>> findAll(String text) {
+        List<Match<V>> matches = new ArrayList<>();
+        if (text == null || patterns.isEmpty()) {
+            return matches;
+        }
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            node = step(node, text.charAt(i));
+            for (int patternId : outputs.get(node)) {
+                String pattern = patterns.get(patternId);
+                matches.add(new Match<>(patternId, pattern, values.get(patternId), i + 1 - pattern.length(), i + 1));
+            }
+        }
+        return matches;
+    }
+
+    private int step(int node, char c) {
+        while (true) {
+            Integer next = transitions.get(node).get(c);
+            if (next != null) {
+                return next;
+            }
+            if (node == 0) {
+                return 0;
+            }
+            node = failure.get(node);
+        }
+    }
+
+    private void buildFailureLinks() {
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : transitions.get(0).values()) {
+            failure.set(child, 0);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(node).entrySet()) {
+                int child = edge.getValue();
+                int fallback = failure.get(node);
+                failure.set(child, step(fallback, edge.getKey()));
+                // Inherit matches that end at the failure target (suffix patterns).
+                outputs.get(child).addAll(outputs.get(failure.get(child)));
+                queue.add(child);
+            }
+        }
+    }
+
+    private int newNode() {
+        transitions.add(new HashMap<>(4));
+        failure.add(0);
+        outputs.add(new ArrayList<>(1));
+        return transitions.size() - 1;
+    }
+
+    /**
+     * A single occurrence of a pattern; {@code patternId} reflects registration order.
+     */
+    public record Match<V>(int patternId, String pattern, V value, int start, int end) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.MediConnect.ai.matching;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Burkhard–Keller tree over Levenshtein distance for fuzzy lookup of misspelt terms.
+ * <p>
+ * The triangle inequality lets a query with tolerance {@code k} skip every subtree whose edge
+ * distance lies outside {@code [d - k, d + k]}, so only a handful of terms are compared.
+ * Each comparison uses {@link #boundedDistance}, which keeps two rows instead of a full matrix
+ * and stops as soon as the distance is known to exceed the bound.
+ *
+ * @param <V> value attached to each term
+ */
+public final class BkTree<V> {
+
+    private Node<V> root;
+    private int size;
+
+    public void add(String term, V value) {
+        if (term == null || term.isEmpty()) {
+            return;
+        }
+        if (root == null) {
+            root = new Node<>(term, value, size++);
+            return;
+        }
+        Node<V> node = root;
+        while (true) {
+            int distance = boundedDistance(term, node.term, Integer.MAX_VALUE);
+            if (distance == 0) {
+                return;
+            }
+            Node<V> child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node<>(term, value, size++));
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Finds the closest term within {@code maxDistance} of {@code query}. Ties keep the term
+     * that was added first.
+     */
+    public Optional<Result<V>> findClosest(String query, int maxDistance) {
+        if (root == null || query == null) {
+            return Optional.empty();
+        }
+        Node<V> best = null;
+        int bestDistance = maxDistance + 1;
+        Deque<Node<V>> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node<V> node = pending.pop();
+            // Pruning needs the exact distance up to maxDistance + the widest edge, so bound generously.
+            int distance = boundedDistance(query, node.term, maxDistance + node.maxEdge());
+            if (distance < bestDistance || (distance == bestDistance && best != null && node.order < best.order)) {
+                best = node;
+                bestDistance = distance;
+            }
+            for (Map.Entry<Integer, Node<V>> edge : node.children.entrySet()) {
+                if (Math.abs(edge.getKey() - distance) <= maxDistance) {
+                    pending.push(edge.getValue());
+                }
+            }
+        }
+        return best == null || bestDistance > maxDistance
+                ? Optional.empty()
+                : Optional.of(new Result<>(best.term, best.value, bestDistance));
+    }
+
+    /**
+     * Levenshtein distance, or any value greater than {@code bound} once the true distance is
+     * known to exceed it. Uses two rolling rows rather than an {@code (m+1)x(n+1)} matrix.
+     */
+    public static int boundedDistance(String left, String right, int bound) {
+        int m = left.length();
+        int n = right.length();
+        if (Math.abs(m - n) > bound) {
+            return bound == Integer.MAX_VALUE ? bound : bound + 1;
+        }
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= m; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char l = left.charAt(i - 1);
+            for (int j = 1; j <= n; j++) {
+                int cost = l == right.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > bound) {
+                return rowMin;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[n];
+    }
+
+    public record Result<V>(String term, V value, int distance) {
+    }
+
+    private static final class Node<V> {
+        final String term;
+        final V value;
+        final int order;
+        final Map<Integer, Node<V>> children = new HashMap<>(4);
+
+        Node(String term, V value, int order) {
+            this.term = term;
+            this.value = value;
+            this.order = order;
+        }
+
+        int maxEdge() {
+            int max = 0;
+            for (int edge : children.keySet()) {
+                max = Math.max(max, edge);
+            }
+            return max;
+        }
+    }
+}
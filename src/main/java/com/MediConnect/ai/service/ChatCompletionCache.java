@@ -0,0 +1,56 @@
+package com.MediConnect.ai.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small in-process LRU cache of raw model responses.
+ * <p>
+ * Keys are digests of the normalised patient context plus the truncated conversation
+ * (see {@link PatientRecommendationChatService}), so patients repeating a common intent
+ * such as "I need a cardiologist" are answered without another model round-trip.
+ * Entries expire after {@code ttl} and the least recently used entry is evicted once
+ * {@code maxEntries} is reached.
+ */
+public class ChatCompletionCache {
+
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+
+    public ChatCompletionCache(Duration ttl, int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(Math.max(16, maxEntries / 4), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized String get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.storedAtNanos > ttlNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.body;
+    }
+
+    public synchronized void put(String key, String body) {
+        if (ttlNanos <= 0 || body == null) {
+            return;
+        }
+        entries.put(key, new Entry(body, System.nanoTime()));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry(String body, long storedAtNanos) {
+    }
+}
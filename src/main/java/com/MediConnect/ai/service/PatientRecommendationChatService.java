@@ -9,26 +9,29 @@ import com.MediConnect.ai.dto.ChatRequestDTO;
 import com.MediConnect.ai.dto.ChatResponseDTO;
 import com.MediConnect.ai.dto.DoctorSuggestionDTO;
 import com.MediConnect.ai.dto.PatientContextDTO;
+import com.MediConnect.ai.client.OpenAiChatClient;
+import com.MediConnect.ai.matching.AhoCorasickMatcher;
+import com.MediConnect.ai.matching.BkTree;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
-import org.springframework.web.client.RestTemplate;
 
-import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
@@ -36,6 +39,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.HashSet;
 
@@ -50,42 +59,81 @@ import java.util.HashSet;
 @Service
 public class PatientRecommendationChatService {
 
-    private static final URI OPENAI_CHAT_URI = URI.create("https://api.openai.com/v1/chat/completions");
     private static final double BASE_MATCH_SCORE = 1.0d;
     private static final int MAX_HISTORY_LENGTH = 8; // Reduced to save tokens
     private static final int MAX_DOCTORS_SHARED_WITH_MODEL = 4; // Reduced to save tokens
     private static final int MAX_DOCTORS_RETURNED_TO_PATIENT = 4;
-    private static final Map<SpecializationType, Set<String>> SPECIALISATION_KEYWORDS = buildSpecialisationKeywordMap();
-    private static final Map<String, String> SPECIALISATION_SYNONYMS = buildSpecialisationSynonymMap();
+    private static final int MAX_SPECIALISATION_EDIT_DISTANCE = 2;
 
     private final HealthcareProviderRepo healthcareProviderRepo;
     private final ObjectMapper objectMapper;
-    private final RestTemplate openAiRestTemplate;
-    
-    @Value("${openai.api-key:}")
-    private String openAiApiKey;
+    private final OpenAiChatClient openAiChatClient;
+    private final ChatCompletionCache completionCache;
+    private final ProviderAttributeIndexCache attributeIndexCache;
+    private final TransactionTemplate catalogueTransaction;
+    private final Executor catalogueExecutor;
     
     @Value("${openai.model:gpt-4o-mini}")
     private String openAiModel;
 
-    // Explicit constructor injection to properly handle @Qualifier
     public PatientRecommendationChatService(
             HealthcareProviderRepo healthcareProviderRepo,
             ObjectMapper objectMapper,
-            @Qualifier("openAiRestTemplate") RestTemplate openAiRestTemplate) {
+            OpenAiChatClient openAiChatClient,
+            ChatCompletionCache completionCache,
+            ProviderAttributeIndexCache attributeIndexCache,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("aiCatalogueExecutor") Executor catalogueExecutor) {
         this.healthcareProviderRepo = healthcareProviderRepo;
         this.objectMapper = objectMapper;
-        this.openAiRestTemplate = openAiRestTemplate;
+        this.openAiChatClient = openAiChatClient;
+        this.completionCache = completionCache;
+        this.attributeIndexCache = attributeIndexCache;
+        this.catalogueTransaction = new TransactionTemplate(transactionManager);
+        this.catalogueTransaction.setReadOnly(true);
+        this.catalogueExecutor = catalogueExecutor;
     }
 
+    /**
+     * Blocking variant kept for callers that need the reply inline.
+     */
     public ChatResponseDTO chat(ChatRequestDTO request) {
+        return chatAsync(request).join();
+    }
+
+    /**
+     * Prepares the doctor catalogue on the {@code aiCatalogueExecutor}, then hands the model call
+     * to the non-blocking {@link OpenAiChatClient}, so the servlet thread returns as soon as the
+     * request is queued. The catalogue is read in its own read-only transaction because the
+     * providers' lazy collections are no longer loaded through the request's open session. The
+     * returned future never completes exceptionally; failures are turned into the usual fallback
+     * response.
+     */
+    public CompletableFuture<ChatResponseDTO> chatAsync(ChatRequestDTO request) {
         PatientContextDTO context = Optional.ofNullable(request.getContext()).orElseGet(PatientContextDTO::new);
+        CompletableFuture<CompletableFuture<ChatResponseDTO>> prepared;
+        try {
+            prepared = CompletableFuture.supplyAsync(
+                    () -> catalogueTransaction.execute(status -> prepareAndSend(request, context)), catalogueExecutor);
+        } catch (RejectedExecutionException ex) {
+            log.warn("Chat catalogue executor is saturated: {}", ex.getMessage());
+            return CompletableFuture.completedFuture(buildFallbackResponse(context, List.of(), ex.getMessage()));
+        }
+        return prepared
+                .thenCompose(Function.identity())
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("Preparing the chat request failed: {}", cause.getMessage(), cause);
+                    return buildFallbackResponse(context, List.of(), cause.getMessage());
+                });
+    }
 
+    private CompletableFuture<ChatResponseDTO> prepareAndSend(ChatRequestDTO request, PatientContextDTO context) {
         List<HealthcareProvider> providers = healthcareProviderRepo.findAll();
         log.info("Fetched {} providers from database", providers.size());
         if (providers.isEmpty()) {
             log.warn("No providers found in database at all!");
-            return buildFallbackResponse(context, List.of(), "No active doctors available.");
+            return CompletableFuture.completedFuture(buildFallbackResponse(context, List.of(), "No active doctors available."));
         }
 
         List<ChatMessageDTO> incomingMessages = Optional.ofNullable(request.getMessages()).orElse(List.of());
@@ -120,7 +168,7 @@ public class PatientRecommendationChatService {
         // Only return early if the original catalogue is completely empty
         if (intent == InteractionIntent.FIND_DOCTOR && doctorCatalogue.isEmpty()) {
             log.warn("Doctor catalogue is completely empty. Returning fallback message.");
-            return buildFallbackResponse(context, List.of(), "No active doctors available.");
+            return CompletableFuture.completedFuture(buildFallbackResponse(context, List.of(), "No active doctors available."));
         }
 
         // Log what we're sending for debugging
@@ -142,27 +190,47 @@ public class PatientRecommendationChatService {
         payload.put("temperature", 0.2);
         payload.put("messages", payloadMessages);
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(openAiApiKey);
+        final List<DoctorSuggestionDTO> sentDoctors = doctorsToSend;
+        String requestJson;
+        try {
+            requestJson = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            log.error("Failed to serialise OpenAI payload: {}", ex.getMessage(), ex);
+            return CompletableFuture.completedFuture(buildFallbackResponse(context, sentDoctors, ex.getMessage()));
+        }
 
-        HttpEntity<Map<String, Object>> httpEntity = new HttpEntity<>(payload, headers);
+        // Identical intents (same normalised context, same recent history, same doctors) reuse the last model reply.
+        String cacheKey = buildCacheKey(context, incomingMessages, sentDoctors, intent);
+        String cachedBody = completionCache.get(cacheKey);
+        CompletableFuture<String> modelResponse;
+        if (cachedBody != null) {
+            log.debug("Serving chatbot reply from completion cache");
+            modelResponse = CompletableFuture.completedFuture(cachedBody);
+        } else {
+            modelResponse = openAiChatClient.complete(requestJson)
+                    .thenApply(body -> {
+                        completionCache.put(cacheKey, body);
+                        return body;
+                    });
+        }
+
+        return modelResponse
+                .thenApply(body -> buildChatResponse(body, context, sentDoctors, recommendationOutcome, intent))
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    log.error("OpenAI chat call failed: {}", cause.getMessage(), cause);
+                    return buildFallbackResponse(context, sentDoctors, cause.getMessage());
+                });
+    }
 
+    private ChatResponseDTO buildChatResponse(String responseBody,
+                                              PatientContextDTO context,
+                                              List<DoctorSuggestionDTO> doctorsToSend,
+                                              RecommendationOutcome recommendationOutcome,
+                                              InteractionIntent intent) {
         try {
-            ResponseEntity<String> response = openAiRestTemplate.exchange(
-                    OPENAI_CHAT_URI,
-                    HttpMethod.POST,
-                    httpEntity,
-                    String.class
-            );
-
-            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                log.warn("OpenAI request returned non-success status: {}", response.getStatusCode());
-                return buildFallbackResponse(context, doctorsToSend, "Assistant unavailable right now.");
-            }
-
             // Use the doctors we actually sent to the AI for parsing
-            ChatResponseDTO chatResponse = parseResponse(response.getBody(), context, doctorsToSend);
+            ChatResponseDTO chatResponse = parseResponse(responseBody, context, doctorsToSend);
             mergeRecommendationGuidance(chatResponse, recommendationOutcome, intent == InteractionIntent.FIND_DOCTOR);
             
             // CRITICAL: Filter recommended doctors to only include those matching the requested specialization
@@ -263,11 +331,46 @@ public class PatientRecommendationChatService {
             }
             return chatResponse;
         } catch (Exception ex) {
-            log.error("OpenAI chat call failed: {}", ex.getMessage(), ex);
+            log.error("Failed to build chatbot response: {}", ex.getMessage(), ex);
             return buildFallbackResponse(context, doctorsToSend, ex.getMessage());
         }
     }
 
+    /**
+     * Digest of everything that shapes the model's answer: the normalised context, the truncated
+     * history, the doctors shared with the model and the detected intent.
+     */
+    private String buildCacheKey(PatientContextDTO context,
+                                 List<ChatMessageDTO> incomingMessages,
+                                 List<DoctorSuggestionDTO> catalogue,
+                                 InteractionIntent intent) {
+        StringBuilder key = new StringBuilder(openAiModel).append('|').append(intent.name()).append('|');
+        Map<String, Object> contextFields = objectMapper.convertValue(context, new TypeReference<Map<String, Object>>() { });
+        new TreeMap<>(Optional.ofNullable(contextFields).orElse(Map.of())).forEach((field, value) -> {
+            if (value != null && !value.toString().isBlank()) {
+                key.append(field).append('=').append(normaliseForCache(value.toString())).append(';');
+            }
+        });
+        key.append('|');
+        for (ChatMessageDTO message : truncateHistory(incomingMessages)) {
+            key.append(message.getNormalisedRole()).append(':')
+                    .append(normaliseForCache(message.getContent())).append('\n');
+        }
+        key.append('|');
+        catalogue.forEach(doctor -> key.append(doctor.getId()).append(','));
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            return key.toString();
+        }
+    }
+
+    private String normaliseForCache(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
     private List<Map<String, Object>> buildMessagesPayload(List<ChatMessageDTO> incomingMessages,
                                                            PatientContextDTO context,
                                                            List<DoctorSuggestionDTO> catalogue) {
@@ -429,29 +532,7 @@ public class PatientRecommendationChatService {
         if (isBlank(message)) {
             return null;
         }
-
-        String normalisedMessage = normaliseInsuranceName(message);
-        Set<String> messageTokens = tokenise(normalisedMessage);
-
-        // Build a list of distinct insurance providers from the supplied doctors to match against patient text.
-        return providers.stream()
-                .filter(Objects::nonNull)
-                .map(HealthcareProvider::getInsuranceAccepted)
-                .filter(Objects::nonNull)
-                .flatMap(List::stream)
-                .filter(Objects::nonNull)
-                .map(String::trim)
-                .filter(value -> !value.isEmpty())
-                .distinct()
-                .filter(provider -> {
-                    String normalisedProvider = normaliseInsuranceName(provider);
-                    Set<String> providerTokens = tokenise(normalisedProvider);
-                    return !providerTokens.isEmpty() && messageTokens.containsAll(providerTokens)
-                            || normalisedMessage.contains(normalisedProvider)
-                            || normalisedProvider.contains(normalisedMessage);
-                })
-                .findFirst()
-                .orElse(null);
+        return providerAttributeIndex(providers).findInsurance(message);
     }
 
     private String capitalise(String value) {
@@ -466,45 +547,18 @@ public class PatientRecommendationChatService {
     }
 
     private String normaliseInsuranceName(String value) {
-        if (value == null) {
-            return "";
-        }
-        String noParentheses = value.replaceAll("\\(.*?\\)", " ");
-        return noParentheses.replaceAll("[^a-zA-Z0-9 ]", " ")
-                .toLowerCase(Locale.ROOT)
-                .replaceAll("\\s+", " ")
-                .trim();
+        return ProviderAttributeIndex.normaliseInsuranceName(value);
     }
 
     private Set<String> tokenise(String input) {
-        Set<String> tokens = new HashSet<>();
-        if (input == null) {
-            return tokens;
-        }
-        String[] parts = input.toLowerCase(Locale.ROOT).split("\\s+");
-        for (String part : parts) {
-            if (part.length() > 2) {
-                tokens.add(part);
-            }
-        }
-        return tokens;
+        return ProviderAttributeIndex.tokenise(input);
     }
 
     private String findStateReference(String message, List<HealthcareProvider> providers) {
         if (isBlank(message) || CollectionUtils.isEmpty(providers)) {
             return null;
         }
-
-        String lowerCaseMessage = message.toLowerCase(Locale.ROOT);
-
-        return providers.stream()
-                .map(HealthcareProvider::getState)
-                .filter(this::isNotBlank)
-                .map(String::trim)
-                .distinct()
-                .filter(state -> lowerCaseMessage.contains(state.toLowerCase(Locale.ROOT)))
-                .findFirst()
-                .orElse(null);
+        return providerAttributeIndex(providers).findState(message.toLowerCase(Locale.ROOT));
     }
 
     private boolean isNotBlank(String value) {
@@ -515,17 +569,15 @@ public class PatientRecommendationChatService {
         if (isBlank(message) || CollectionUtils.isEmpty(providers)) {
             return null;
         }
+        return providerAttributeIndex(providers).findCountry(message.toLowerCase(Locale.ROOT));
+    }
 
-        String lowerCaseMessage = message.toLowerCase(Locale.ROOT);
-
-        return providers.stream()
-                .map(HealthcareProvider::getCountry)
-                .filter(this::isNotBlank)
-                .map(String::trim)
-                .distinct()
-                .filter(country -> lowerCaseMessage.contains(country.toLowerCase(Locale.ROOT)))
-                .findFirst()
-                .orElse(null);
+    /**
+     * Returns the compiled location/insurance matchers. They are cached across requests and
+     * rebuilt from {@code providers} only after a doctor change invalidated them.
+     */
+    private ProviderAttributeIndex providerAttributeIndex(List<HealthcareProvider> providers) {
+        return attributeIndexCache.get(providers);
     }
 
     private List<ChatMessageDTO> truncateHistory(List<ChatMessageDTO> messages) {
@@ -1022,10 +1074,9 @@ public class PatientRecommendationChatService {
         }
 
         // Attempt explicit keyword match first.
-        Optional<String> keywordMatch = SPECIALISATION_KEYWORDS.entrySet().stream()
-                .filter(entry -> entry.getValue().stream().anyMatch(combinedText::contains))
-                .map(entry -> entry.getKey().name())
-                .findFirst();
+        Optional<String> keywordMatch = SpecialisationMatchers.KEYWORD_MATCHER.findAll(combinedText).stream()
+                .min(Comparator.comparingInt(AhoCorasickMatcher.Match::patternId))
+                .map(AhoCorasickMatcher.Match::value);
         if (keywordMatch.isPresent()) {
             return keywordMatch.get();
         }
@@ -1128,27 +1179,17 @@ public class PatientRecommendationChatService {
         return value == null || value.trim().isEmpty();
     }
 
-    private int levenshteinDistance(String left, String right) {
-        if (left == null || right == null) {
-            return Integer.MAX_VALUE;
-        }
-        int[][] dp = new int[left.length() + 1][right.length() + 1];
-        for (int i = 0; i <= left.length(); i++) {
-            dp[i][0] = i;
-        }
-        for (int j = 0; j <= right.length(); j++) {
-            dp[0][j] = j;
-        }
-        for (int i = 1; i <= left.length(); i++) {
-            for (int j = 1; j <= right.length(); j++) {
-                int cost = left.charAt(i - 1) == right.charAt(j - 1) ? 0 : 1;
-                dp[i][j] = Math.min(
-                        Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1),
-                        dp[i - 1][j - 1] + cost
-                );
-            }
-        }
-        return dp[left.length()][right.length()];
+    /**
+     * Keyword and synonym tables with the matchers compiled from them. Held in their own class so
+     * they are built on the first recommendation rather than when the service is loaded at startup;
+     * detection does not scale with the number of synonyms.
+     */
+    private static final class SpecialisationMatchers {
+        static final Map<SpecializationType, Set<String>> KEYWORDS = buildSpecialisationKeywordMap();
+        static final Map<String, String> SYNONYMS = buildSpecialisationSynonymMap();
+        static final AhoCorasickMatcher<String> KEYWORD_MATCHER = buildKeywordMatcher();
+        static final AhoCorasickMatcher<String> SYNONYM_MATCHER = buildSynonymMatcher();
+        static final BkTree<String> FUZZY_INDEX = buildSynonymFuzzyIndex();
     }
 
     /**
@@ -1485,28 +1526,54 @@ public class PatientRecommendationChatService {
         if (isBlank(message)) {
             return null;
         }
-        String normalised = message.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9\s]", " ");
+        String normalised = normaliseForKeywordMatch(message);
 
-        // Direct keyword lookup.
-        for (Map.Entry<String, String> entry : SPECIALISATION_SYNONYMS.entrySet()) {
-            if (normalised.contains(entry.getKey())) {
-                return entry.getValue();
+        // Direct keyword lookup: one automaton pass, longest synonym wins.
+        AhoCorasickMatcher.Match<String> exact = null;
+        for (AhoCorasickMatcher.Match<String> match : SpecialisationMatchers.SYNONYM_MATCHER.findAll(normalised)) {
+            if (exact == null || match.pattern().length() > exact.pattern().length()) {
+                exact = match;
             }
         }
+        if (exact != null) {
+            return exact.value();
+        }
 
         // Fuzzy matching for individual words.
-        String[] tokens = normalised.split("\\s+");
-        for (String token : tokens) {
+        for (String token : normalised.split("\\s+")) {
             if (token.length() < 4) {
                 continue;
             }
-            for (String candidate : SPECIALISATION_SYNONYMS.keySet()) {
-                if (levenshteinDistance(token, candidate) <= 2) {
-                    return SPECIALISATION_SYNONYMS.get(candidate);
-                }
+            Optional<BkTree.Result<String>> fuzzy = SpecialisationMatchers.FUZZY_INDEX.findClosest(token, MAX_SPECIALISATION_EDIT_DISTANCE);
+            if (fuzzy.isPresent()) {
+                return fuzzy.get().value();
             }
         }
         return null;
     }
-}
 
+    private static String normaliseForKeywordMatch(String value) {
+        return value.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9\\s]", " ");
+    }
+
+    private static AhoCorasickMatcher<String> buildSynonymMatcher() {
+        Map<String, String> patterns = new LinkedHashMap<>();
+        SpecialisationMatchers.SYNONYMS.forEach((synonym, specialisation) ->
+                patterns.put(normaliseForKeywordMatch(synonym), specialisation));
+        return AhoCorasickMatcher.compile(patterns);
+    }
+
+    private static BkTree<String> buildSynonymFuzzyIndex() {
+        BkTree<String> tree = new BkTree<>();
+        SpecialisationMatchers.SYNONYMS.forEach(tree::add);
+        return tree;
+    }
+
+    private static AhoCorasickMatcher<String> buildKeywordMatcher() {
+        // EnumMap iteration order gives pattern ids, so the first specialisation in enum order still wins.
+        Map<String, String> patterns = new LinkedHashMap<>();
+        SpecialisationMatchers.KEYWORDS.forEach((specialisation, keywords) ->
+                keywords.stream().sorted().forEach(keyword -> patterns.putIfAbsent(keyword, specialisation.name())));
+        return AhoCorasickMatcher.compile(patterns);
+    }
+}
@@ -0,0 +1,184 @@
+package com.MediConnect.ai.service;
+
+import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.MediConnect.ai.matching.AhoCorasickMatcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precompiled matchers for the location and insurance values found in the provider catalogue.
+ * <p>
+ * Built once per provider catalogue and reused across chat requests (see
+ * {@link ProviderAttributeIndexCache}), so resolving "in Texas" or "I have Blue Cross" is one automaton pass over the message
+ * instead of a scan over every provider attribute. When several values match, the one that appears
+ * first in the provider list wins, as it did with the previous stream-based lookup.
+ */
+public final class ProviderAttributeIndex {
+
+    private final Source source;
+    private final AhoCorasickMatcher<String> stateMatcher;
+    private final AhoCorasickMatcher<String> countryMatcher;
+    private final AhoCorasickMatcher<Integer> insuranceNameMatcher;
+    private final Map<String, List<Integer>> insuranceIdsByToken = new HashMap<>();
+    private final int[] insuranceTokenCounts;
+    private final String[] normalisedInsuranceNames;
+    private final int longestInsuranceName;
+
+    private ProviderAttributeIndex(Source source) {
+        this.source = source;
+        this.stateMatcher = AhoCorasickMatcher.compile(lowerCasePatterns(source.states()));
+        this.countryMatcher = AhoCorasickMatcher.compile(lowerCasePatterns(source.countries()));
+
+        List<String> insurances = source.insurances();
+        Map<String, Integer> insurancePatterns = new LinkedHashMap<>();
+        insuranceTokenCounts = new int[insurances.size()];
+        normalisedInsuranceNames = new String[insurances.size()];
+        int longest = 0;
+        for (int id = 0; id < insurances.size(); id++) {
+            String normalised = normaliseInsuranceName(insurances.get(id));
+            normalisedInsuranceNames[id] = normalised;
+            longest = Math.max(longest, normalised.length());
+            insurancePatterns.putIfAbsent(normalised, id);
+            Set<String> tokens = tokenise(normalised);
+            insuranceTokenCounts[id] = tokens.size();
+            for (String token : tokens) {
+                insuranceIdsByToken.computeIfAbsent(token, key -> new ArrayList<>(2)).add(id);
+            }
+        }
+        this.insuranceNameMatcher = AhoCorasickMatcher.compile(insurancePatterns);
+        this.longestInsuranceName = longest;
+    }
+
+    public static ProviderAttributeIndex build(Source source) {
+        return new ProviderAttributeIndex(source);
+    }
+
+    /**
+     * @param lowerCaseMessage patient message, already lower-cased
+     */
+    public String findState(String lowerCaseMessage) {
+        return firstByRegistrationOrder(stateMatcher.findAll(lowerCaseMessage));
+    }
+
+    /**
+     * @param lowerCaseMessage patient message, already lower-cased
+     */
+    public String findCountry(String lowerCaseMessage) {
+        return firstByRegistrationOrder(countryMatcher.findAll(lowerCaseMessage));
+    }
+
+    /**
+     * Matches an insurance name when all of its significant tokens appear in the message, when
+     * the message contains the full name, or when the message is a fragment of the name.
+     */
+    public String findInsurance(String message) {
+        String normalisedMessage = normaliseInsuranceName(message);
+        if (normalisedMessage.isEmpty() || source.insurances().isEmpty()) {
+            return null;
+        }
+
+        int best = Integer.MAX_VALUE;
+        for (AhoCorasickMatcher.Match<Integer> match : insuranceNameMatcher.findAll(normalisedMessage)) {
+            best = Math.min(best, match.value());
+        }
+
+        Map<Integer, Integer> tokenHits = new HashMap<>();
+        for (String token : tokenise(normalisedMessage)) {
+            for (int id : insuranceIdsByToken.getOrDefault(token, List.of())) {
+                int hits = tokenHits.merge(id, 1, Integer::sum);
+                if (hits == insuranceTokenCounts[id]) {
+                    best = Math.min(best, id);
+                }
+            }
+        }
+
+        // Short messages such as "aetna" may be a fragment of a longer plan name.
+        if (normalisedMessage.length() <= longestInsuranceName) {
+            for (int id = 0; id < Math.min(best, normalisedInsuranceNames.length); id++) {
+                if (normalisedInsuranceNames[id].contains(normalisedMessage)) {
+                    best = id;
+                    break;
+                }
+            }
+        }
+        return best == Integer.MAX_VALUE ? null : source.insurances().get(best);
+    }
+
+    static String normaliseInsuranceName(String value) {
+        if (value == null) {
+            return "";
+        }
+        String noParentheses = value.replaceAll("\\(.*?\\)", " ");
+        return noParentheses.replaceAll("[^a-zA-Z0-9 ]", " ")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+
+    static Set<String> tokenise(String input) {
+        Set<String> tokens = new HashSet<>();
+        if (input == null) {
+            return tokens;
+        }
+        String[] parts = input.toLowerCase(Locale.ROOT).split("\\s+");
+        for (String part : parts) {
+            if (part.length() > 2) {
+                tokens.add(part);
+            }
+        }
+        return tokens;
+    }
+
+    private static Map<String, String> lowerCasePatterns(List<String> values) {
+        Map<String, String> patterns = new LinkedHashMap<>();
+        values.forEach(value -> patterns.putIfAbsent(value.toLowerCase(Locale.ROOT), value));
+        return patterns;
+    }
+
+    private static String firstByRegistrationOrder(List<AhoCorasickMatcher.Match<String>> matches) {
+        AhoCorasickMatcher.Match<String> first = null;
+        for (AhoCorasickMatcher.Match<String> match : matches) {
+            if (first == null || match.patternId() < first.patternId()) {
+                first = match;
+            }
+        }
+        return first == null ? null : first.value();
+    }
+
+    /**
+     * Distinct, trimmed attribute values in provider order.
+     */
+    public record Source(List<String> states, List<String> countries, List<String> insurances) {
+
+        public static Source of(List<HealthcareProvider> providers) {
+            Set<String> states = new LinkedHashSet<>();
+            Set<String> countries = new LinkedHashSet<>();
+            Set<String> insurances = new LinkedHashSet<>();
+            for (HealthcareProvider provider : providers) {
+                if (provider == null) {
+                    continue;
+                }
+                addTrimmed(states, provider.getState());
+                addTrimmed(countries, provider.getCountry());
+                if (provider.getInsuranceAccepted() != null) {
+                    provider.getInsuranceAccepted().forEach(insurance -> addTrimmed(insurances, insurance));
+                }
+            }
+            return new Source(List.copyOf(states), List.copyOf(countries), List.copyOf(insurances));
+        }
+
+        private static void addTrimmed(Set<String> target, String value) {
+            if (value != null && !value.trim().isEmpty()) {
+                target.add(value.trim());
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.MediConnect.ai.service;
+
+import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.MediConnect.EntryRelated.service.profile.DoctorProfileChangedEvent;
+import com.MediConnect.config.cache.CacheInvalidationPublisher;
+import com.MediConnect.config.cache.TieredCacheManager;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Holds the compiled {@link ProviderAttributeIndex} between chat requests.
+ * <p>
+ * The index is built from the provider list of the first request after an invalidation and then
+ * reused, so a chat message costs three automaton passes rather than a catalogue scan and a
+ * rebuild. Doctor changes drop it after commit, on this node and, through the cache invalidation
+ * channel, on the others. Insurance-only edits change an element collection, which only raises an
+ * entity event when Hibernate also schedules an update of the provider row, so the profile update
+ * paths publish {@link DoctorProfileChangedEvent} themselves. The TTL is a backstop for writes
+ * that bypass both, such as direct SQL.
+ */
+@Slf4j
+@Component
+public class ProviderAttributeIndexCache {
+
+    static final String NEAR_CACHE_NAME = "provider-attribute-index";
+    private static final String KEY = "all";
+
+    private final Cache<String, ProviderAttributeIndex> cache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    public ProviderAttributeIndexCache(TieredCacheManager cacheManager,
+                                       CacheInvalidationPublisher invalidationPublisher,
+                                       @Value("${ai.provider-index.ttl:10m}") Duration ttl) {
+        this.invalidationPublisher = invalidationPublisher;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .build();
+        cacheManager.registerNearCache(NEAR_CACHE_NAME, cache, Function.identity());
+    }
+
+    /**
+     * Returns the current index, building it from {@code providers} if there is none.
+     *
+     * @param providers Full provider catalogue, as already loaded by the request
+     */
+    public ProviderAttributeIndex get(List<HealthcareProvider> providers) {
+        return cache.get(KEY, key -> {
+            ProviderAttributeIndex.Source source = ProviderAttributeIndex.Source.of(providers);
+            log.debug("Building provider attribute index: {} states, {} countries, {} insurance names",
+                    source.states().size(), source.countries().size(), source.insurances().size());
+            return ProviderAttributeIndex.build(source);
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProviderChanged(DoctorProfileChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        cache.invalidate(KEY);
+        invalidationPublisher.evicted(NEAR_CACHE_NAME, KEY);
+    }
+}
@@ -3,10 +3,10 @@ package com.MediConnect.config;
 import com.MediConnect.EntryRelated.entities.Users;
 import com.MediConnect.Repos.UserRepo;
 import lombok.RequiredArgsConstructor;
+import com.MediConnect.config.startup.StartupTask;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.CommandLineRunner;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
@@ -14,14 +14,15 @@ import java.util.Date;
 /**
  * Ensures a default administrator account exists based on configuration.
  * Designed for development bootstrap; update credentials for production use.
+ * Runs as a {@link StartupTask}, once the application is ready.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class AdminUserInitializer implements CommandLineRunner {
+public class AdminUserInitializer implements StartupTask {
 
     private final UserRepo userRepo;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
 
     @Value("${admin.default.enabled:false}")
     private boolean adminBootstrapEnabled;
@@ -42,7 +43,7 @@ public class AdminUserInitializer implements CommandLineRunner {
     private String defaultAdminLastName;
 
     @Override
-    public void run(String... args) {
+    public void onStartup() {
         if (!adminBootstrapEnabled) {
             log.info("Default admin bootstrap disabled. Skipping admin user initialization.");
             return;
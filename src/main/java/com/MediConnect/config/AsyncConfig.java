@@ -1,7 +1,11 @@
 package com.MediConnect.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -13,6 +17,9 @@ import java.util.concurrent.Executor;
  * 
  * This allows notification creation to run in the background, improving response times
  * for user actions like liking posts, commenting, etc.
+ *
+ * In virtual-thread mode (see {@link VirtualThreadConfig}) each notification gets its own
+ * virtual thread, limited to half the JDBC pool so fan-out cannot starve request handling.
  */
 @Configuration
 @EnableAsync
@@ -24,7 +31,18 @@ public class AsyncConfig {
      * @return Executor with configured thread pool settings
      */
     @Bean(name = "notificationTaskExecutor")
-    public Executor notificationTaskExecutor() {
+    public Executor notificationTaskExecutor(
+            Environment environment,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int dbPoolSize) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("notification-virtual-");
+            virtual.setVirtualThreads(true);
+            // Submitters wait (cheaply, on their own virtual thread) once the limit is reached
+            virtual.setConcurrencyLimit(Math.max(1, dbPoolSize / 2));
+            virtual.setTaskTerminationTimeout(60_000);
+            return virtual;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         
         // Core pool size: number of threads to keep alive
@@ -1,48 +1,86 @@
 package com.MediConnect.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.MediConnect.config.cache.CacheInvalidationPublisher;
+import com.MediConnect.config.cache.CacheSerializers;
+import com.MediConnect.config.cache.TieredCacheManager;
+import com.MediConnect.config.cache.TieredCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
-import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Configuration for Redis caching.
  * Ensures proper serialization/deserialization of cached values, including Long types.
+ * 
+ * Caches are two-level: a per-node Caffeine L1 in front of Redis (L2). See {@link TieredCacheManager}.
  */
 @Configuration
+@EnableConfigurationProperties(TieredCacheProperties.class)
 public class RedisConfig {
 
     /**
-     * Configures Redis cache manager with proper serialization.
-     * Uses a custom ObjectMapper that ensures Long values are always deserialized as Long,
-     * not Integer (which can happen with small numbers).
+     * Configures the tiered cache manager.
+     * The Redis level uses the serializer selected by {@code cache.serializer} (see
+     * {@link CacheSerializers}) and per-cache TTLs from {@code cache.specs.<name>.l2-ttl}.
      * 
      * @param connectionFactory Redis connection factory
-     * @return Configured Redis cache manager
+     * @return Configured tiered cache manager
      */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        // Create custom ObjectMapper that handles Long deserialization correctly
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.configure(DeserializationFeature.USE_LONG_FOR_INTS, true);
-        
-        // Create serializer with custom ObjectMapper
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
-        
+    public TieredCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                           TieredCacheProperties properties,
+                                           CacheInvalidationPublisher invalidationPublisher,
+                                           MeterRegistry meterRegistry) {
+        RedisSerializer<Object> serializer = CacheSerializers.create(properties.getSerializer(),
+                properties.getCompressionThreshold());
+
         RedisCacheConfiguration redisCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(5))
+                .entryTtl(properties.getDefaults().getL2Ttl())
                 .disableCachingNullValues()
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
-        return RedisCacheManager
+
+        Map<String, RedisCacheConfiguration> perCache = new HashMap<>();
+        properties.getSpecs().keySet().forEach(name ->
+                perCache.put(name, redisCacheConfiguration.entryTtl(properties.specFor(name).getL2Ttl())));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager
                 .builder(connectionFactory)
                 .cacheDefaults(redisCacheConfiguration)
+                .withInitialCacheConfigurations(perCache)
                 .build();
+        // Not exposed as a bean, so initialise it here
+        redisCacheManager.afterPropertiesSet();
+        return new TieredCacheManager(redisCacheManager, properties, invalidationPublisher, meterRegistry);
+    }
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate redisTemplate,
+                                                                 TieredCacheProperties properties) {
+        return new CacheInvalidationPublisher(redisTemplate, properties.getInvalidationChannel());
+    }
+
+    /**
+     * Delivers L1 invalidations published by other nodes to the cache manager.
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TieredCacheManager cacheManager,
+                                                                            CacheInvalidationPublisher invalidationPublisher) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(invalidationPublisher.getChannel()));
+        return container;
     }
 }
@@ -0,0 +1,49 @@
+package com.MediConnect.config;
+
+import com.MediConnect.filter.RequestConcurrencyLimitFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Virtual-thread mode, opt-in with {@code spring.threads.virtual.enabled=true} on a Java 21
+ * runtime (build with {@code -Pjava21}). Spring Boot then runs Tomcat requests, the default
+ * {@code @Async} executor and {@code @Scheduled} jobs on virtual threads; {@link AsyncConfig}
+ * switches the notification executor as well.
+ * <p>
+ * Virtual threads remove the worker pool that used to bound concurrency. The request cap here
+ * defaults to {@code server.tomcat.threads.max} (200), so switching modes never lowers how many
+ * requests may wait on Cloudinary, OpenAI or SMTP at once; it only stops unbounded bursts. The
+ * cap is held for the whole request, so it is not a JDBC limit: requests contend for connections
+ * in Hikari, which fails them after {@code spring.datasource.hikari.connection-timeout}. Lower
+ * {@code virtual-threads.max-concurrent-requests} only if that wait, rather than a 503, is the
+ * worse outcome. On Java 17 this configuration is inactive.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter(
+            @Value("${server.tomcat.threads.max:200}") int tomcatMaxThreads,
+            @Value("${virtual-threads.max-concurrent-requests:0}") int maxConcurrentRequests,
+            @Value("${virtual-threads.request-queue-timeout:5s}") Duration queueTimeout) {
+        int limit = maxConcurrentRequests > 0 ? maxConcurrentRequests : tomcatMaxThreads;
+        log.info("Virtual threads enabled: at most {} concurrent requests", limit);
+
+        FilterRegistrationBean<RequestConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new RequestConcurrencyLimitFilter(limit, queueTimeout));
+        // Ahead of Spring Security so rejected requests never touch the user store
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
@@ -0,0 +1,58 @@
+package com.MediConnect.config.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * Broadcasts L1 invalidations over Redis pub/sub.
+ * <p>
+ * Messages are {@code nodeId|cacheName|key} for a single key and {@code nodeId|cacheName|} plus
+ * the clear marker for a whole cache. Each node ignores its own messages, since it has already
+ * updated its L1 before publishing.
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    static final String SEPARATOR = "|";
+    static final String CLEAR_MARKER = "\u0000*";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * Tells other nodes to drop {@code localKey} from their L1 (or registered near cache) named {@code cacheName}.
+     */
+    public void evicted(String cacheName, String localKey) {
+        publish(cacheName, localKey);
+    }
+
+    void cleared(String cacheName) {
+        publish(cacheName, CLEAR_MARKER);
+    }
+
+    private void publish(String cacheName, String localKey) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + SEPARATOR + cacheName + SEPARATOR + localKey);
+        } catch (DataAccessException e) {
+            // Other nodes fall back to the L1 TTL
+            log.warn("Could not publish L1 invalidation for cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
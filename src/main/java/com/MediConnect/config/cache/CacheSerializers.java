@@ -0,0 +1,38 @@
+package com.MediConnect.config.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Factory for the Redis cache value serializers, shared by {@code RedisConfig} and the benchmarks.
+ */
+public final class CacheSerializers {
+
+    public enum Format {
+        JSON,
+        COMPACT
+    }
+
+    private CacheSerializers() {
+    }
+
+    public static RedisSerializer<Object> create(Format format, int compressionThreshold) {
+        return format == Format.JSON ? json() : compact(compressionThreshold);
+    }
+
+    /**
+     * JSON with a custom ObjectMapper that ensures Long values are always deserialized as Long,
+     * not Integer (which can happen with small numbers).
+     */
+    public static RedisSerializer<Object> json() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.USE_LONG_FOR_INTS, true);
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
+    public static RedisSerializer<Object> compact(int compressionThreshold) {
+        return new CompactRedisSerializer(CacheTypeRegistry.defaults(), json(), compressionThreshold);
+    }
+}
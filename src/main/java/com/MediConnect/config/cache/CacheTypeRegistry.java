@@ -0,0 +1,100 @@
+package com.MediConnect.config.cache;
+
+import com.MediConnect.EntryRelated.entities.Users;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stable numeric ids for the types stored in Redis caches.
+ * <p>
+ * The id is written instead of a class name, so entries stay small and survive class renames.
+ * Ids are never reused: if a cached type changes shape incompatibly, give it a new id and old
+ * entries simply read as cache misses. Lists are matched on their element type, so
+ * {@code List<Users>} round-trips as users rather than maps.
+ */
+public final class CacheTypeRegistry {
+
+    static final int UNREGISTERED = 0;
+
+    private final Map<Integer, Registration> byId = new HashMap<>();
+    private final List<Registration> registrations = new ArrayList<>();
+    private final TypeFactory typeFactory = TypeFactory.defaultInstance();
+
+    public static CacheTypeRegistry defaults() {
+        CacheTypeRegistry registry = new CacheTypeRegistry();
+        registry.register(1, Long.class);
+        registry.register(2, String.class);
+        registry.register(3, Integer.class);
+        registry.register(4, Boolean.class);
+        registry.register(5, Double.class);
+        registry.registerList(6, Object.class);
+        // adminUsers
+        registry.register(20, Users.class);
+        registry.registerList(21, Users.class);
+        return registry;
+    }
+
+    public void register(int id, Class<?> type) {
+        add(new Registration(id, type, null, typeFactory.constructType(type)));
+    }
+
+    public void registerList(int id, Class<?> elementType) {
+        add(new Registration(id, List.class, elementType, typeFactory.constructCollectionType(ArrayList.class, elementType)));
+    }
+
+    /**
+     * @return The id for {@code value}, or {@link #UNREGISTERED} if its type is not registered
+     */
+    int idOf(Object value) {
+        Class<?> elementType = value instanceof Collection<?> collection ? elementTypeOf(collection) : null;
+        for (Registration registration : registrations) {
+            if (registration.elementType() == null) {
+                if (registration.type() == value.getClass()) {
+                    return registration.id();
+                }
+            } else if (value instanceof List<?> && registration.elementType() == elementType) {
+                return registration.id();
+            }
+        }
+        return UNREGISTERED;
+    }
+
+    JavaType typeOf(int id) {
+        Registration registration = byId.get(id);
+        return registration != null ? registration.javaType() : null;
+    }
+
+    private void add(Registration registration) {
+        if (byId.putIfAbsent(registration.id(), registration) != null) {
+            throw new IllegalArgumentException("Cache type id " + registration.id() + " is already registered");
+        }
+        registrations.add(registration);
+    }
+
+    /**
+     * Common element class of a collection; {@code Object} for empty or mixed collections.
+     */
+    private static Class<?> elementTypeOf(Collection<?> collection) {
+        Class<?> common = null;
+        for (Object element : collection) {
+            if (element == null) {
+                continue;
+            }
+            if (common == null) {
+                common = element.getClass();
+            } else if (common != element.getClass()) {
+                return Object.class;
+            }
+        }
+        return common != null ? common : Object.class;
+    }
+
+    private record Registration(int id, Class<?> type, Class<?> elementType, JavaType javaType) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.MediConnect.config.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary cache value serializer: Jackson Smile payloads tagged with a {@link CacheTypeRegistry} id,
+ * LZ4-compressed above a size threshold.
+ * <p>
+ * Layout: magic byte, format version, flags, type id (short), then for compressed values the
+ * uncompressed length (int) followed by the LZ4 block, otherwise the Smile bytes. Types that are
+ * not registered fall back to the JSON serializer, as do entries written before this format,
+ * so switching serializers does not require flushing Redis.
+ */
+@Slf4j
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xC7;
+    static final byte FORMAT_VERSION = 1;
+    private static final byte FLAG_LZ4 = 1;
+    private static final int HEADER_LENGTH = 5;
+
+    private final ObjectMapper smileMapper;
+    private final CacheTypeRegistry typeRegistry;
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    /**
+     * @param fallback Serializer for unregistered types and for entries in its own format
+     * @param compressionThreshold Payloads of at least this many bytes are LZ4-compressed; 0 or less disables compression
+     */
+    public CompactRedisSerializer(CacheTypeRegistry typeRegistry, RedisSerializer<Object> fallback, int compressionThreshold) {
+        // The 4-byte Smile header is redundant next to our own header
+        SmileFactory smileFactory = SmileFactory.builder()
+                .disable(SmileGenerator.Feature.WRITE_HEADER)
+                .disable(SmileParser.Feature.REQUIRE_HEADER)
+                .build();
+        this.smileMapper = new ObjectMapper(smileFactory)
+                .configure(DeserializationFeature.USE_LONG_FOR_INTS, true)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.typeRegistry = typeRegistry;
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+        LZ4Factory lz4 = LZ4Factory.fastestInstance();
+        this.compressor = lz4.fastCompressor();
+        this.decompressor = lz4.fastDecompressor();
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        int typeId = typeRegistry.idOf(value);
+        if (typeId == CacheTypeRegistry.UNREGISTERED) {
+            return fallback.serialize(value);
+        }
+        byte[] payload;
+        try {
+            payload = smileMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value of type " + value.getClass().getName(), e);
+        }
+
+        boolean compress = compressionThreshold > 0 && payload.length >= compressionThreshold;
+        if (compress) {
+            byte[] compressed = new byte[compressor.maxCompressedLength(payload.length)];
+            int compressedLength = compressor.compress(payload, 0, payload.length, compressed, 0);
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + 4 + compressedLength);
+            writeHeader(buffer, FLAG_LZ4, typeId);
+            buffer.putInt(payload.length);
+            buffer.put(compressed, 0, compressedLength);
+            return buffer.array();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + payload.length);
+        writeHeader(buffer, (byte) 0, typeId);
+        buffer.put(payload);
+        return buffer.array();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[1] != FORMAT_VERSION) {
+            // Written by a newer format; treat as a miss so the value is reloaded
+            return null;
+        }
+        byte flags = bytes[2];
+        int typeId = ((bytes[3] & 0xFF) << 8) | (bytes[4] & 0xFF);
+        JavaType type = typeRegistry.typeOf(typeId);
+        if (type == null) {
+            log.debug("Unknown cache type id {}, treating entry as a miss", typeId);
+            return null;
+        }
+
+        byte[] payload;
+        int offset;
+        int length;
+        if ((flags & FLAG_LZ4) != 0) {
+            int originalLength = ByteBuffer.wrap(bytes, HEADER_LENGTH, 4).getInt();
+            payload = new byte[originalLength];
+            decompressor.decompress(bytes, HEADER_LENGTH + 4, payload, 0, originalLength);
+            offset = 0;
+            length = originalLength;
+        } else {
+            payload = bytes;
+            offset = HEADER_LENGTH;
+            length = bytes.length - HEADER_LENGTH;
+        }
+        try {
+            return smileMapper.readValue(payload, offset, length, type);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read cache value with type id " + typeId, e);
+        }
+    }
+
+    private static void writeHeader(ByteBuffer buffer, byte flags, int typeId) {
+        buffer.put(MAGIC);
+        buffer.put(FORMAT_VERSION);
+        buffer.put(flags);
+        buffer.putShort((short) typeId);
+    }
+}
@@ -0,0 +1,136 @@
+package com.MediConnect.config.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A cache that reads from a small in-process Caffeine cache (L1) before Redis (L2).
+ * <p>
+ * Writes and evictions go to both levels and are broadcast so other nodes drop their L1 copy.
+ * L1 entries are keyed by {@code String.valueOf(key)}, which is also what the broadcast carries.
+ * Values served from L1 are shared instances, so callers must treat them as read-only.
+ * Null values are not cached, matching the Redis configuration.
+ */
+public class TieredCache implements Cache {
+
+    private final String name;
+    private final Cache redisCache;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    public TieredCache(String name,
+                       Cache redisCache,
+                       com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                       CacheInvalidationPublisher invalidationPublisher) {
+        this.name = name;
+        this.redisCache = redisCache;
+        this.localCache = localCache;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        if (localCache != null) {
+            Object local = localCache.getIfPresent(localKey(key));
+            if (local != null) {
+                return new SimpleValueWrapper(local);
+            }
+        }
+        ValueWrapper remote = redisCache.get(key);
+        if (remote != null && remote.get() != null && localCache != null) {
+            localCache.put(localKey(key), remote.get());
+        }
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (localCache != null) {
+            Object local = localCache.getIfPresent(localKey(key));
+            if (local != null) {
+                return (T) local;
+            }
+        }
+        // RedisCache serialises concurrent loads of a missing key on this node
+        T value = redisCache.get(key, valueLoader);
+        if (value != null && localCache != null) {
+            localCache.put(localKey(key), value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        redisCache.put(key, value);
+        if (localCache != null) {
+            localCache.put(localKey(key), value);
+        }
+        invalidationPublisher.evicted(name, localKey(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        redisCache.evict(key);
+        evictLocal(localKey(key));
+        invalidationPublisher.evicted(name, localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = redisCache.evictIfPresent(key);
+        evictLocal(localKey(key));
+        invalidationPublisher.evicted(name, localKey(key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        clearLocal();
+        invalidationPublisher.cleared(name);
+    }
+
+    void evictLocal(String localKey) {
+        if (localCache != null) {
+            localCache.invalidate(localKey);
+        }
+    }
+
+    void clearLocal() {
+        if (localCache != null) {
+            localCache.invalidateAll();
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
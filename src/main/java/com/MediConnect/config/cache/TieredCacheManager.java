@@ -0,0 +1,124 @@
+package com.MediConnect.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * {@link CacheManager} that puts a bounded Caffeine L1 in front of each Redis cache.
+ * <p>
+ * Hot keys such as the admin user list and unread counts are then served from the heap, while
+ * Redis stays the shared source of truth. Sizes and TTLs come from {@link TieredCacheProperties}.
+ * The manager also listens on the invalidation channel and drops L1 entries changed by other nodes,
+ * including those of near caches that services keep themselves (see {@link #registerNearCache}).
+ */
+@Slf4j
+public class TieredCacheManager implements CacheManager, MessageListener {
+
+    private final RedisCacheManager redisCacheManager;
+    private final TieredCacheProperties properties;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, TieredCache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, NearCache<?>> nearCaches = new ConcurrentHashMap<>();
+
+    public TieredCacheManager(RedisCacheManager redisCacheManager,
+                              TieredCacheProperties properties,
+                              CacheInvalidationPublisher invalidationPublisher,
+                              MeterRegistry meterRegistry) {
+        this.redisCacheManager = redisCacheManager;
+        this.properties = properties;
+        this.invalidationPublisher = invalidationPublisher;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Subscribes a service-owned Caffeine cache to the invalidation channel under {@code name}.
+     * The service publishes its own changes with {@link CacheInvalidationPublisher#evicted}.
+     *
+     * @param name      Name used on the channel; must not clash with a tiered cache
+     * @param cache     The near cache to invalidate
+     * @param keyParser Turns the broadcast key (the {@code String.valueOf} of the cache key) back into a key
+     */
+    public <K> void registerNearCache(String name, com.github.benmanes.caffeine.cache.Cache<K, ?> cache,
+                                      Function<String, K> keyParser) {
+        nearCaches.put(name, new NearCache<>(cache, keyParser));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\" + CacheInvalidationPublisher.SEPARATOR, 3);
+        if (parts.length != 3 || parts[0].equals(invalidationPublisher.getNodeId())) {
+            return;
+        }
+        boolean clear = CacheInvalidationPublisher.CLEAR_MARKER.equals(parts[2]);
+        TieredCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            if (clear) {
+                cache.clearLocal();
+            } else {
+                cache.evictLocal(parts[2]);
+            }
+            return;
+        }
+        NearCache<?> nearCache = nearCaches.get(parts[1]);
+        if (nearCache != null) {
+            if (clear) {
+                nearCache.cache().invalidateAll();
+            } else {
+                nearCache.evict(parts[2]);
+            }
+        }
+    }
+
+    private TieredCache createCache(String name) {
+        Cache redisCache = redisCacheManager.getCache(name);
+        TieredCacheProperties.Spec spec = properties.specFor(name);
+        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache = null;
+        if (spec.getL1MaxEntries() != null && spec.getL1MaxEntries() > 0 && spec.getL1Ttl() != null) {
+            localCache = Caffeine.newBuilder()
+                    .maximumSize(spec.getL1MaxEntries())
+                    .expireAfterWrite(spec.getL1Ttl())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, localCache, name + ".l1");
+        }
+        log.debug("Created tiered cache {} (L1 max {}, L1 ttl {})", name, spec.getL1MaxEntries(), spec.getL1Ttl());
+        return new TieredCache(name, redisCache, localCache, invalidationPublisher);
+    }
+
+    private record NearCache<K>(com.github.benmanes.caffeine.cache.Cache<K, ?> cache, Function<String, K> keyParser) {
+
+        void evict(String key) {
+            try {
+                cache.invalidate(keyParser.apply(key));
+            } catch (RuntimeException e) {
+                log.debug("Ignoring invalidation with unreadable key {}", key);
+            }
+        }
+    }
+}
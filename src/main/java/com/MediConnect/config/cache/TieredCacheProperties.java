@@ -0,0 +1,74 @@
+package com.MediConnect.config.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-cache sizing for {@link TieredCacheManager}, bound from {@code cache.*}.
+ * Caches without an entry under {@code cache.specs} use {@code cache.defaults}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache")
+public class TieredCacheProperties {
+
+    private Spec defaults = new Spec(Duration.ofSeconds(30), 10_000L, Duration.ofMinutes(5));
+
+    private Map<String, Spec> specs = new HashMap<>();
+
+    /**
+     * Redis pub/sub channel used to drop L1 entries on other nodes.
+     */
+    private String invalidationChannel = "cache:l1-invalidate";
+
+    /**
+     * Encoding of Redis values: {@code compact} (Smile + type ids + LZ4) or {@code json}.
+     */
+    private CacheSerializers.Format serializer = CacheSerializers.Format.COMPACT;
+
+    /**
+     * Compact values of at least this many bytes are LZ4-compressed; 0 disables compression.
+     */
+    private int compressionThreshold = 1024;
+
+    public Spec specFor(String cacheName) {
+        Spec spec = specs.get(cacheName);
+        if (spec == null) {
+            return defaults;
+        }
+        return new Spec(
+                spec.getL1Ttl() != null ? spec.getL1Ttl() : defaults.getL1Ttl(),
+                spec.getL1MaxEntries() != null ? spec.getL1MaxEntries() : defaults.getL1MaxEntries(),
+                spec.getL2Ttl() != null ? spec.getL2Ttl() : defaults.getL2Ttl());
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+
+        /**
+         * How long an entry stays in the in-process cache. Bounds staleness if an
+         * invalidation message is lost.
+         */
+        private Duration l1Ttl;
+
+        /**
+         * Maximum in-process entries; 0 disables L1 for the cache.
+         */
+        private Long l1MaxEntries;
+
+        /**
+         * Redis entry TTL.
+         */
+        private Duration l2Ttl;
+    }
+}
@@ -0,0 +1,21 @@
+package com.MediConnect.config.password;
+
+import lombok.Getter;
+
+/**
+ * Raised when a password could not be hashed or verified because the hashing pool is saturated:
+ * the queue was full, or the task waited longer than {@code security.password.pool.max-queue-time}.
+ * <p>
+ * Login endpoints map this to {@code 503} with {@code Retry-After} instead of reporting bad
+ * credentials.
+ */
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
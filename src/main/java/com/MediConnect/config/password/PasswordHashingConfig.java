@@ -0,0 +1,73 @@
+package com.MediConnect.config.password;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Password hashing: algorithm and cost, plus the pool that runs it off the request threads.
+ * <p>
+ * New hashes are written as {@code {bcrypt}...} or {@code {argon2}...} depending on
+ * {@code security.password.algorithm}. Existing unprefixed hashes are bcrypt and still verify.
+ * A stored hash whose algorithm or cost differs from the current settings is re-encoded after
+ * the next successful login (see {@code MyUserDetailsService#updatePassword}), so raising the
+ * cost or switching algorithms takes effect as users sign in. Lowering the cost does not
+ * rewrite stronger hashes.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+
+    @Bean(destroyMethod = "close")
+    public PasswordHashingPool passwordHashingPool(
+            MeterRegistry meterRegistry,
+            @Value("${security.password.pool.threads:0}") int threads,
+            @Value("${security.password.pool.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password.pool.max-queue-time:2s}") Duration maxQueueTime,
+            @Value("${security.password.pool.hash-timeout:5s}") Duration hashTimeout) {
+        return new PasswordHashingPool(threads, queueCapacity, maxQueueTime, hashTimeout, meterRegistry);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            PasswordHashingPool pool,
+            @Value("${security.password.algorithm:bcrypt}") String algorithm,
+            @Value("${security.password.bcrypt.strength:12}") int bcryptStrength,
+            @Value("${security.password.argon2.memory-kib:19456}") int argon2MemoryKib,
+            @Value("${security.password.argon2.iterations:2}") int argon2Iterations,
+            @Value("${security.password.argon2.parallelism:1}") int argon2Parallelism) {
+        PasswordEncoder hashing = hashingEncoder(algorithm, bcryptStrength,
+                argon2MemoryKib, argon2Iterations, argon2Parallelism);
+        return new PooledPasswordEncoder(hashing, pool);
+    }
+
+    /**
+     * Builds the unpooled encoder; also used by the login benchmark.
+     */
+    public static PasswordEncoder hashingEncoder(String algorithm, int bcryptStrength,
+                                                 int argon2MemoryKib, int argon2Iterations, int argon2Parallelism) {
+        if (!BCRYPT.equals(algorithm) && !ARGON2.equals(algorithm)) {
+            throw new IllegalArgumentException("Unsupported security.password.algorithm: " + algorithm);
+        }
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(ARGON2, new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2MemoryKib, argon2Iterations));
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Hashes created before the {id} prefix was introduced are plain bcrypt
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+}
@@ -0,0 +1,132 @@
+package com.MediConnect.config.password;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded executor for CPU-bound password hashing.
+ * <p>
+ * A fixed number of threads (one per core by default) run bcrypt/Argon2, so a login burst costs
+ * at most that many cores instead of occupying every Tomcat worker. Callers still block for the
+ * result, but admission is bounded twice: a full queue is rejected immediately, and a task that
+ * waited longer than {@code maxQueueTime} is dropped when it reaches a thread instead of burning
+ * CPU for a caller that has already given up. Both cases raise {@link PasswordHashingBusyException}.
+ * <p>
+ * Metrics: {@code mediconnect.password.queue.wait}, {@code mediconnect.password.hash} (tagged by
+ * operation), {@code mediconnect.password.rejected} and the {@code mediconnect.password.queue.size} gauge.
+ */
+@Slf4j
+public class PasswordHashingPool implements AutoCloseable {
+
+    private final ThreadPoolExecutor executor;
+    private final long maxQueueNanos;
+    private final long callerTimeoutNanos;
+    private final long retryAfterSeconds;
+
+    private final Timer queueWait;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHashingPool(int threads, int queueCapacity, Duration maxQueueTime, Duration hashTimeout,
+                               MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+        this.maxQueueNanos = maxQueueTime.toNanos();
+        this.callerTimeoutNanos = maxQueueTime.plus(hashTimeout).toNanos();
+        this.retryAfterSeconds = Math.max(1, maxQueueTime.toSeconds());
+
+        this.queueWait = Timer.builder("mediconnect.password.queue.wait")
+                .description("Time a hashing task waited for a pool thread")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("mediconnect.password.hash")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("mediconnect.password.hash")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter("mediconnect.password.rejected");
+        meterRegistry.gauge("mediconnect.password.queue.size", executor, pool -> pool.getQueue().size());
+
+        log.info("Password hashing pool: {} threads, queue {}, max queue time {}", poolSize, queueCapacity, maxQueueTime);
+    }
+
+    public String encode(Callable<String> task) {
+        return run(task, encodeTimer);
+    }
+
+    public boolean matches(Callable<Boolean> task) {
+        return run(task, matchesTimer);
+    }
+
+    public int getPoolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    private <T> T run(Callable<T> task, Timer timer) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long waited = System.nanoTime() - enqueuedAt;
+                queueWait.record(waited, TimeUnit.NANOSECONDS);
+                if (waited > maxQueueNanos) {
+                    throw busy("Password hashing queue wait exceeded");
+                }
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException ex) {
+            throw busy("Password hashing queue is full");
+        }
+
+        try {
+            return future.get(callerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw busy("Password hashing timed out");
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy("Interrupted while waiting for password hashing");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private PasswordHashingBusyException busy(String reason) {
+        rejected.increment();
+        log.warn("{} (pool {}, queued {})", reason, executor.getCorePoolSize(), executor.getQueue().size());
+        return new PasswordHashingBusyException("The server is busy, please try again shortly", retryAfterSeconds);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,36 @@
+package com.MediConnect.config.password;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs {@link #encode} and {@link #matches} of the wrapped encoder on a {@link PasswordHashingPool}.
+ * <p>
+ * Every caller of the application's {@code PasswordEncoder} bean goes through the pool without
+ * code changes: the login {@code DaoAuthenticationProvider}, registration, password reset and
+ * change-password. {@link #upgradeEncoding} only parses the stored hash and runs inline.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingPool pool;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, PasswordHashingPool pool) {
+        this.delegate = delegate;
+        this.pool = pool;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return pool.encode(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return pool.matches(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
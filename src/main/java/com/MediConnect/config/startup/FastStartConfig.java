@@ -0,0 +1,31 @@
+package com.MediConnect.config.startup;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+
+/**
+ * Keeps lazy initialization ({@code spring.main.lazy-initialization=true}, fast-start profile)
+ * from switching off background work.
+ * <p>
+ * A lazy bean is created on first injection or use. Beans whose only job is a {@code @Scheduled}
+ * method, such as the job dispatcher or the email outbox, are never used that way, so their
+ * schedules would never start. They stay eager, and everything else, including the mappers,
+ * Cloudinary and the AI services, is built on the first request that needs it.
+ */
+@Configuration(proxyBeanMethods = false)
+public class FastStartConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansStayEager() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                        AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                                || AnnotatedElementUtils.hasAnnotation(method, Schedules.class) ? Boolean.TRUE : null)
+                .isEmpty();
+    }
+}
@@ -0,0 +1,11 @@
+package com.MediConnect.config.startup;
+
+/**
+ * Work that has to happen once per instance after startup but that no request depends on,
+ * such as bootstrapping the admin account or catching up on maintenance.
+ * {@link StartupTaskRunner} runs every task once the application is ready, in {@code @Order}.
+ */
+public interface StartupTask {
+
+    void onStartup();
+}
@@ -0,0 +1,55 @@
+package com.MediConnect.config.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Runs the {@link StartupTask}s when the application is ready.
+ * <p>
+ * By default they run inline, before the instance reports itself ready. With
+ * {@code startup.deferred-tasks=true} (the fast-start profile) they run one after another on a
+ * background thread, so a new instance takes traffic without waiting for them. A failing task
+ * is logged and does not stop the others.
+ */
+@Slf4j
+@Component
+public class StartupTaskRunner {
+
+    private final ObjectProvider<StartupTask> tasks;
+    private final boolean deferred;
+
+    public StartupTaskRunner(ObjectProvider<StartupTask> tasks,
+                             @Value("${startup.deferred-tasks:false}") boolean deferred) {
+        this.tasks = tasks;
+        this.deferred = deferred;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        List<StartupTask> ordered = tasks.orderedStream().toList();
+        if (!deferred) {
+            ordered.forEach(StartupTaskRunner::runTask);
+            return;
+        }
+        Thread runner = new Thread(() -> ordered.forEach(StartupTaskRunner::runTask), "startup-tasks");
+        runner.setDaemon(true);
+        runner.start();
+    }
+
+    private static void runTask(StartupTask task) {
+        long started = System.nanoTime();
+        try {
+            task.onStartup();
+            log.debug("Startup task {} finished in {} ms",
+                    task.getClass().getSimpleName(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Startup task {} failed", task.getClass().getSimpleName(), e);
+        }
+    }
+}
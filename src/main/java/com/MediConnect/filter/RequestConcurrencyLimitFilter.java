@@ -0,0 +1,75 @@
+package com.MediConnect.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests handled at the same time.
+ * <p>
+ * Only registered when requests run on virtual threads (see {@code VirtualThreadConfig}). Tomcat's
+ * platform pool used to be the implicit limit; with a virtual thread per request, nothing else
+ * would bound a burst. The slot covers the whole request, not just its JDBC work. Requests wait up to
+ * {@code queueTimeout} for a slot and then get {@code 503} with {@code Retry-After}.
+ * Async requests (SSE chat streaming) release their slot once the handler returns.
+ */
+@Slf4j
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long queueTimeoutNanos;
+    private final int limit;
+
+    public RequestConcurrencyLimitFilter(int limit, Duration queueTimeout) {
+        this.limit = limit;
+        this.permits = new Semaphore(limit, true);
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.warn("Rejected {} {}: {} requests already in flight", request.getMethod(), request.getRequestURI(), limit);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"status\":\"error\",\"message\":\"The server is busy, please try again shortly\"}");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // WebSocket/SockJS sessions are long-lived and do not hold a JDBC connection
+        return request.getRequestURI().startsWith(request.getContextPath() + "/ws");
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -537,8 +537,9 @@ public class MedicalPostController {
             
             // Default pagination: first page, 20 posts per page (for better performance)
             // If page/size are explicitly provided, use them; otherwise use defaults
-            int pageNum = (page != null) ? page : 0;
-            int pageSize = (size != null) ? size : 20;
+            // Sizes are capped at 100 so a single request cannot pull a doctor's whole history
+            int pageNum = (page != null && page >= 0) ? page : 0;
+            int pageSize = (size != null && size > 0) ? Math.min(size, 100) : 20;
             
             Map<String, Object> response = medicalPostService.getPostsByDoctor(doctorId, userId, pageNum, pageSize);
             return ResponseEntity.ok(response);
@@ -13,7 +13,8 @@ import java.util.List;
 public class CommentReply {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_reply_seq")
+    @SequenceGenerator(name = "comment_reply_seq", sequenceName = "comment_reply_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -12,7 +12,8 @@ import java.util.Date;
 public class CommentReplyLike {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_reply_like_seq")
+    @SequenceGenerator(name = "comment_reply_like_seq", sequenceName = "comment_reply_like_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -15,7 +15,8 @@ import java.util.List;
 public class MedicalPost {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medical_post_seq")
+    @SequenceGenerator(name = "medical_post_seq", sequenceName = "medical_post_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -14,7 +14,8 @@ import java.util.List;
 public class MedicalPostComment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medical_post_comment_seq")
+    @SequenceGenerator(name = "medical_post_comment_seq", sequenceName = "medical_post_comment_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
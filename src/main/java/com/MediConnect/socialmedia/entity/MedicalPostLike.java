@@ -13,7 +13,8 @@ import java.util.Date;
 public class MedicalPostLike {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medical_post_like_seq")
+    @SequenceGenerator(name = "medical_post_like_seq", sequenceName = "medical_post_like_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
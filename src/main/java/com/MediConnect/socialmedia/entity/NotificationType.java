@@ -17,6 +17,7 @@ public enum NotificationType {
     APPOINTMENT_RESCHEDULE_CONFIRMED, // Sent to doctor when patient accepts rescheduled time
     APPOINTMENT_RESCHEDULE_CANCELLED, // Sent to doctor when patient rejects rescheduled time (appointment cancelled)
     APPOINTMENT_REMINDER_24H,        // Sent to both patient and doctor 24 hours before appointment
+    APPOINTMENT_REMINDER_1H,         // Sent to both patient and doctor 1 hour before appointment (optional)
     
     // ===== CHAT-RELATED NOTIFICATIONS =====
     // These notification types are used for chat messages between patients and doctors
@@ -10,12 +10,15 @@ import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface MedicalPostRepository extends JpaRepository<MedicalPost, Long>, JpaSpecificationExecutor<MedicalPost> {
+public interface MedicalPostRepository extends JpaRepository<MedicalPost, Long>, JpaSpecificationExecutor<MedicalPost>,
+        MedicalPostRepositoryCustom {
     
     /**
      * Finds all posts ordered by creation date (newest first).
@@ -38,6 +41,19 @@ public interface MedicalPostRepository extends JpaRepository<MedicalPost, Long>,
     @Query("SELECT p FROM MedicalPost p WHERE p.postProvider.id = :providerId ORDER BY p.createdAt DESC")
     List<MedicalPost> findByPostProviderIdOrderByCreatedAtDesc(Long providerId);
 
+    /**
+     * Finds one page of a doctor's posts. Callers sort by createdAt and id descending, which
+     * idx_medical_post_provider_created serves without reading the doctor's other posts.
+     *
+     * @param providerId The ID of the healthcare provider
+     * @param pageable The pagination and sort information
+     * @return Page of posts with postProvider eagerly loaded
+     */
+    @EntityGraph(attributePaths = {"postProvider"})
+    @Query(value = "SELECT p FROM MedicalPost p WHERE p.postProvider.id = :providerId",
+           countQuery = "SELECT COUNT(p) FROM MedicalPost p WHERE p.postProvider.id = :providerId")
+    Page<MedicalPost> findPageByPostProviderId(@Param("providerId") Long providerId, Pageable pageable);
+
     /**
      * Finds all flagged posts ordered by flag date (newest first).
      * Uses EntityGraph to eagerly fetch postProvider to avoid N+1 queries.
@@ -79,4 +95,14 @@ public interface MedicalPostRepository extends JpaRepository<MedicalPost, Long>,
      */
     @EntityGraph(attributePaths = {"postProvider"})
     Page<MedicalPost> findAll(Pageable pageable);
+
+    /**
+     * Loads the given posts with postProvider eagerly fetched, in no particular order.
+     * Used to hydrate a page of ids produced by an aggregate query.
+     *
+     * @param ids Post IDs to load
+     * @return Posts with postProvider eagerly loaded
+     */
+    @EntityGraph(attributePaths = {"postProvider"})
+    List<MedicalPost> findByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,52 @@
+package com.MediConnect.socialmedia.repository;
+
+import com.MediConnect.socialmedia.entity.MedicalPost;
+import com.MediConnect.socialmedia.service.post.dto.ModerationQueueCursor;
+import com.MediConnect.socialmedia.service.post.dto.ModerationQueueSort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Queries on {@link MedicalPost} that need the Criteria API beyond what a Specification can express.
+ */
+public interface MedicalPostRepositoryCustom {
+
+    /**
+     * Returns one page of reported posts with their report aggregates, computed in a single grouped query.
+     *
+     * @param spec  post filter (admin filter criteria)
+     * @param sort  queue ordering
+     * @param after keyset position of the last row of the previous page, or null for the first page
+     * @param limit maximum number of rows to return
+     */
+    List<ModerationQueueEntry> findModerationQueue(Specification<MedicalPost> spec,
+                                                   ModerationQueueSort sort,
+                                                   ModerationQueueCursor after,
+                                                   int limit);
+
+    /**
+     * Number of reported posts matching {@code spec}.
+     */
+    long countModerationQueue(Specification<MedicalPost> spec);
+
+    /**
+     * Deletes a post and everything that references it with one bulk statement per table,
+     * children first: notifications, reply likes, replies, comment likes, comments, likes,
+     * ratings, reports and finally the post. Nothing is loaded into the persistence context.
+     * <p>
+     * Pending changes are flushed before and the persistence context is cleared afterwards,
+     * so callers must not reuse entities loaded earlier in the transaction.
+     *
+     * @param postId the post to delete
+     * @return total number of rows deleted across all tables
+     */
+    int deletePostCascade(Long postId);
+
+    /**
+     * Report aggregates for one post in the moderation queue.
+     */
+    record ModerationQueueEntry(Long postId, long reportCount, long pendingReportCount, Date lastReportedAt) {
+    }
+}
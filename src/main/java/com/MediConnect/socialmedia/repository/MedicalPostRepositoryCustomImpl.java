@@ -0,0 +1,139 @@
+package com.MediConnect.socialmedia.repository;
+
+import com.MediConnect.socialmedia.entity.MedicalPost;
+import com.MediConnect.socialmedia.entity.MedicalPostReport;
+import com.MediConnect.socialmedia.service.post.dto.ModerationQueueCursor;
+import com.MediConnect.socialmedia.service.post.dto.ModerationQueueSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Criteria-based implementation of {@link MedicalPostRepositoryCustom}.
+ */
+public class MedicalPostRepositoryCustomImpl implements MedicalPostRepositoryCustom {
+
+    private static final String POST_COMMENT_IDS =
+            "SELECT c.id FROM MedicalPostComment c WHERE c.post.id = :postId";
+
+    /**
+     * Dependency order: every statement only removes rows no longer referenced by anything still present.
+     */
+    private static final List<String> POST_CASCADE_DELETES = List.of(
+            "DELETE FROM Notification n WHERE n.post.id = :postId OR n.comment.id IN (" + POST_COMMENT_IDS + ")",
+            "DELETE FROM CommentReplyLike l WHERE l.reply.id IN "
+                    + "(SELECT r.id FROM CommentReply r WHERE r.comment.id IN (" + POST_COMMENT_IDS + "))",
+            "DELETE FROM CommentReply r WHERE r.comment.id IN (" + POST_COMMENT_IDS + ")",
+            "DELETE FROM CommentLike l WHERE l.comment.id IN (" + POST_COMMENT_IDS + ")",
+            "DELETE FROM MedicalPostComment c WHERE c.post.id = :postId",
+            "DELETE FROM MedicalPostLike l WHERE l.post.id = :postId",
+            "DELETE FROM MedicalPostRating r WHERE r.post.id = :postId",
+            "DELETE FROM MedicalPostReport r WHERE r.post.id = :postId",
+            "DELETE FROM MedicalPost p WHERE p.id = :postId"
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ModerationQueueEntry> findModerationQueue(Specification<MedicalPost> spec,
+                                                          ModerationQueueSort sort,
+                                                          ModerationQueueCursor after,
+                                                          int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<MedicalPost> post = query.from(MedicalPost.class);
+        Join<MedicalPost, MedicalPostReport> report = post.join("reports", JoinType.INNER);
+
+        Path<Long> postId = post.get("id");
+        Expression<Long> reportCount = cb.count(report);
+        Expression<Integer> pendingReportCount = cb.sum(cb.<Integer>selectCase()
+                .when(cb.isFalse(report.get("reviewed")), 1)
+                .otherwise(0));
+        Expression<Date> lastReportedAt = cb.greatest(report.<Date>get("createdAt"));
+
+        query.multiselect(
+                postId.alias("postId"),
+                reportCount.alias("reportCount"),
+                pendingReportCount.alias("pendingReportCount"),
+                lastReportedAt.alias("lastReportedAt"));
+
+        Predicate filter = spec != null ? spec.toPredicate(post, query, cb) : null;
+        if (filter != null) {
+            query.where(filter);
+        }
+        query.groupBy(postId);
+
+        // Keyset paging: continue strictly after (sortKey, postId) of the previous page's last row
+        if (sort == ModerationQueueSort.RECENT) {
+            if (after != null) {
+                Date afterDate = after.sortKeyAsTimestamp();
+                query.having(cb.or(
+                        cb.lessThan(lastReportedAt, afterDate),
+                        cb.and(cb.equal(lastReportedAt, afterDate), cb.lessThan(postId, after.postId()))));
+            }
+            query.orderBy(cb.desc(lastReportedAt), cb.desc(postId));
+        } else {
+            if (after != null) {
+                query.having(cb.or(
+                        cb.lessThan(reportCount, after.sortKey()),
+                        cb.and(cb.equal(reportCount, after.sortKey()), cb.lessThan(postId, after.postId()))));
+            }
+            query.orderBy(cb.desc(reportCount), cb.desc(postId));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(row -> new ModerationQueueEntry(
+                        row.get("postId", Long.class),
+                        ((Number) row.get("reportCount")).longValue(),
+                        row.get("pendingReportCount") != null ? ((Number) row.get("pendingReportCount")).longValue() : 0L,
+                        row.get("lastReportedAt", Date.class)))
+                .toList();
+    }
+
+    @Override
+    public int deletePostCascade(Long postId) {
+        entityManager.flush();
+        int deleted = 0;
+        for (String statement : POST_CASCADE_DELETES) {
+            deleted += entityManager.createQuery(statement)
+                    .setParameter("postId", postId)
+                    .executeUpdate();
+        }
+        // Bulk statements bypass the persistence context; drop anything now stale
+        entityManager.clear();
+        return deleted;
+    }
+
+    @Override
+    public long countModerationQueue(Specification<MedicalPost> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<MedicalPost> post = query.from(MedicalPost.class);
+        query.select(cb.count(post));
+
+        Subquery<Long> reports = query.subquery(Long.class);
+        Root<MedicalPostReport> report = reports.from(MedicalPostReport.class);
+        reports.select(report.get("id")).where(cb.equal(report.get("post"), post));
+
+        Predicate filter = spec != null ? spec.toPredicate(post, query, cb) : null;
+        query.where(filter != null ? cb.and(filter, cb.exists(reports)) : cb.exists(reports));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -21,7 +21,8 @@ import java.util.stream.Collectors;
 
 /**
  * Service for managing notifications.
- * Notification creation methods are asynchronous to improve response times.
+ * Notification creation methods are asynchronous to improve response times, except appointment
+ * reminders, which are written inside the delayed job that fires them.
  */
 @Slf4j
 @Service
@@ -227,27 +228,31 @@ public class NotificationService {
         saveNotification(recipient, sender, NotificationType.CHAT_MESSAGE, message, channelId, null, null);
     }
 
-    @Async("notificationTaskExecutor")
+    /**
+     * Stores the reminders for a due appointment reminder job.
+     * Unlike the other create methods this runs synchronously in the caller's transaction, so the
+     * job is only marked done once both reminders are stored, and a failure rolls them back and
+     * reaches the job's retry.
+     */
     @Transactional
     public void createAppointmentReminderNotification(Users patient, Users doctor, NotificationType notificationType, Long appointmentId, java.util.Date appointmentDateTime) {
-        if (notificationType != NotificationType.APPOINTMENT_REMINDER_24H) return;
+        String leadTime;
+        if (notificationType == NotificationType.APPOINTMENT_REMINDER_24H) leadTime = "24 hours";
+        else if (notificationType == NotificationType.APPOINTMENT_REMINDER_1H) leadTime = "1 hour";
+        else return;
 
         java.text.SimpleDateFormat dateFormat = new java.text.SimpleDateFormat("MMM dd, yyyy 'at' HH:mm");
         String formattedDateTime = dateFormat.format(appointmentDateTime);
 
-        try {
-            if (notificationPreferencesService.isNotificationEnabled(patient, "appointment_reminders")) {
-                String msg = "Reminder: You have an appointment with Dr. " + doctor.getFirstName() + " " + doctor.getLastName() + " in 24 hours (" + formattedDateTime + ")";
-                saveNotification(patient, doctor, NotificationType.APPOINTMENT_REMINDER_24H, msg, appointmentId, null, null);
-            }
-        } catch (Exception e) { log.warn("Failed to send patient reminder", e); }
+        if (notificationPreferencesService.isNotificationEnabled(patient, "appointment_reminders")) {
+            String msg = "Reminder: You have an appointment with Dr. " + doctor.getFirstName() + " " + doctor.getLastName() + " in " + leadTime + " (" + formattedDateTime + ")";
+            saveNotification(patient, doctor, notificationType, msg, appointmentId, null, null);
+        }
 
-        try {
-            if (notificationPreferencesService.isNotificationEnabled(doctor, "appointment_reminders")) {
-                String msg = "Reminder: You have an appointment with " + patient.getFirstName() + " " + patient.getLastName() + " in 24 hours (" + formattedDateTime + ")";
-                saveNotification(doctor, patient, NotificationType.APPOINTMENT_REMINDER_24H, msg, appointmentId, null, null);
-            }
-        } catch (Exception e) { log.warn("Failed to send doctor reminder", e); }
+        if (notificationPreferencesService.isNotificationEnabled(doctor, "appointment_reminders")) {
+            String msg = "Reminder: You have an appointment with " + patient.getFirstName() + " " + patient.getLastName() + " in " + leadTime + " (" + formattedDateTime + ")";
+            saveNotification(doctor, patient, notificationType, msg, appointmentId, null, null);
+        }
     }
 
     // --- HELPER METHODS ---
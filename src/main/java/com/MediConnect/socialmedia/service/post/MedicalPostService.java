@@ -4,6 +4,7 @@ package com.MediConnect.socialmedia.service.post;
 import com.MediConnect.socialmedia.dto.CreatePostRequestDTO;
 import com.MediConnect.socialmedia.entity.MedicalPost;
 import com.MediConnect.socialmedia.service.post.dto.AdminPostFilter;
+import com.MediConnect.socialmedia.service.post.dto.ModerationQueueSort;
 
 import java.util.List;
 import java.util.Map;
@@ -57,4 +58,14 @@ public interface MedicalPostService {
      * @return Map containing "data" (list of posts), "totalElements", "totalPages", "currentPage", "pageSize"
      */
     Map<String, Object> getAllPostsForAdmin(AdminPostFilter filter, Integer page, Integer size);
+    /**
+     * Retrieves one keyset-paged page of reported posts for moderation.
+     * 
+     * @param filter Filter criteria (can be null); only reported posts are returned
+     * @param sort Order by report count or by most recent report
+     * @param cursor Opaque cursor from the previous page (null for the first page)
+     * @param size Page size
+     * @return Map containing "data", "pageSize", "hasNext", "nextCursor" and, on the first page, "totalElements"
+     */
+    Map<String, Object> getModerationQueue(AdminPostFilter filter, ModerationQueueSort sort, String cursor, int size);
 }
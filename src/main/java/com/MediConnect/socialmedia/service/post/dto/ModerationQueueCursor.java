@@ -0,0 +1,63 @@
+package com.MediConnect.socialmedia.service.post.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Keyset position in the moderation queue: the sort key and post id of the last row already returned.
+ * <p>
+ * The sort key is the report count for {@link ModerationQueueSort#REPORT_COUNT} and the last report
+ * time in epoch microseconds for {@link ModerationQueueSort#RECENT}, the full precision of a
+ * PostgreSQL timestamp; a millisecond key would not compare equal to the stored value, and the
+ * post id tie-break would never apply. Encoded as an opaque URL-safe token
+ * that also records the sort, so a cursor cannot be replayed against the other order.
+ */
+public record ModerationQueueCursor(ModerationQueueSort sort, long sortKey, long postId) {
+
+    private static final long MICROS_PER_SECOND = 1_000_000;
+
+    /**
+     * Sort key for {@link ModerationQueueSort#RECENT}: {@code time} in epoch microseconds.
+     * Sub-millisecond digits are kept when {@code time} is a {@link Timestamp} read from the database.
+     */
+    public static long epochMicros(Date time) {
+        Instant instant = time.toInstant();
+        return instant.getEpochSecond() * MICROS_PER_SECOND + instant.getNano() / 1_000;
+    }
+
+    /**
+     * The {@link ModerationQueueSort#RECENT} sort key as a timestamp to compare against.
+     */
+    public Timestamp sortKeyAsTimestamp() {
+        return Timestamp.from(Instant.ofEpochSecond(
+                Math.floorDiv(sortKey, MICROS_PER_SECOND), Math.floorMod(sortKey, MICROS_PER_SECOND) * 1_000));
+    }
+
+    public String encode() {
+        String raw = sort.name() + ":" + sortKey + ":" + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token is malformed or was issued for a different sort
+     */
+    public static ModerationQueueCursor decode(String token, ModerationQueueSort expectedSort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid moderation queue cursor", ex);
+        }
+        if (parts.length != 3 || !expectedSort.name().equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid moderation queue cursor for sort " + expectedSort);
+        }
+        try {
+            return new ModerationQueueCursor(expectedSort, Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid moderation queue cursor", ex);
+        }
+    }
+}
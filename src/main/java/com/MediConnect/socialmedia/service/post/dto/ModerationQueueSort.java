@@ -0,0 +1,28 @@
+package com.MediConnect.socialmedia.service.post.dto;
+
+import java.util.Locale;
+
+/**
+ * Ordering of the admin moderation queue. Both orders are descending with post id as tie-breaker.
+ */
+public enum ModerationQueueSort {
+    /** Most reported posts first. */
+    REPORT_COUNT,
+    /** Most recently reported posts first. */
+    RECENT;
+
+    /**
+     * Parses a request parameter such as {@code reports} or {@code recent}, defaulting to {@link #REPORT_COUNT}.
+     */
+    public static ModerationQueueSort fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return REPORT_COUNT;
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        return switch (normalized) {
+            case "REPORTS", "REPORT_COUNT", "COUNT" -> REPORT_COUNT;
+            case "RECENT", "RECENCY", "LATEST" -> RECENT;
+            default -> throw new IllegalArgumentException("Unknown moderation queue sort: " + value);
+        };
+    }
+}
@@ -15,8 +15,10 @@ import com.MediConnect.socialmedia.repository.MedicalPostRepository;
 import com.MediConnect.socialmedia.repository.MedicalPostLikeRepository;
 import com.MediConnect.socialmedia.repository.MedicalPostCommentRepository;
 import com.MediConnect.socialmedia.repository.MedicalPostReportRepository;
-import com.MediConnect.socialmedia.repository.NotificationRepository;
+import com.MediConnect.socialmedia.repository.MedicalPostRepositoryCustom;
 import com.MediConnect.socialmedia.service.post.dto.AdminPostFilter;
+import com.MediConnect.socialmedia.service.post.dto.ModerationQueueCursor;
+import com.MediConnect.socialmedia.service.post.dto.ModerationQueueSort;
 import com.MediConnect.socialmedia.service.NotificationService;
 import com.MediConnect.socialmedia.service.post.MedicalPostService;
 import com.MediConnect.socialmedia.service.post.mapper.PostMapStructRelated;
@@ -35,6 +37,8 @@ import org.springframework.util.StringUtils;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import java.util.*;
 import java.util.Locale;
 import java.util.stream.Collectors;
@@ -55,7 +59,6 @@ public class MedicalPostServiceImpl implements MedicalPostService {
     private final MedicalPostCommentRepository medicalPostCommentRepository;
     private final UserRepo userRepo;
     private final NotificationService notificationService;
-    private final NotificationRepository notificationRepository;
     private final MedicalPostReportRepository medicalPostReportRepository;
 
     @Override
@@ -207,18 +210,13 @@ public class MedicalPostServiceImpl implements MedicalPostService {
         long totalElements;
         
         if (page != null && size != null) {
-            // Paginated query - need to count total first, then fetch page
-            long totalCount = medicalPostRepository.findByPostProviderIdOrderByCreatedAtDesc(doctorId).size();
-            totalElements = totalCount;
-            
-            // Manual pagination for custom query
-            List<MedicalPost> allPosts = medicalPostRepository.findByPostProviderIdOrderByCreatedAtDesc(doctorId);
-            int start = page * size;
-            int end = Math.min(start + size, allPosts.size());
-            posts = start < allPosts.size() ? allPosts.subList(start, end) : new ArrayList<>();
-            
-            log.debug("Fetched {} posts (page {} of {}, total: {})", posts.size(), page, 
-                    (int) Math.ceil((double) totalElements / size), totalElements);
+            // Paginated query - one page plus a count, both on (provider_id, created_at)
+            Pageable pageable = PageRequest.of(page, size,
+                    Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")));
+            Page<MedicalPost> postPage = medicalPostRepository.findPageByPostProviderId(doctorId, pageable);
+            posts = postPage.getContent();
+            totalElements = postPage.getTotalElements();
+            log.debug("Fetched {} posts (page {} of {}, total: {})", posts.size(), page, postPage.getTotalPages(), totalElements);
         } else {
             // Non-paginated query (backward compatible)
             posts = medicalPostRepository.findByPostProviderIdOrderByCreatedAtDesc(doctorId);
@@ -378,9 +376,13 @@ public class MedicalPostServiceImpl implements MedicalPostService {
     public List<Map<String, Object>> getFlaggedPosts() {
         List<MedicalPost> posts = medicalPostRepository.findByAdminFlaggedTrueOrderByAdminFlaggedAtDesc();
         
+        // Batch fetch report, like and comment counts (a few queries instead of several per post)
+        Map<Long, Long> reportCounts = batchFetchReportCounts(posts);
+        BatchPostData batchData = batchFetchPostData(posts, null);
+        
         // Build admin DTOs using helper method
         return posts.stream()
-            .map(post -> buildPostDTOForAdmin(post, medicalPostReportRepository.countByPostId(post.getId())))
+            .map(post -> buildPostDTOForAdmin(post, reportCounts.getOrDefault(post.getId(), 0L), batchData))
             .collect(Collectors.toList());
     }
 
@@ -562,26 +564,15 @@ public class MedicalPostServiceImpl implements MedicalPostService {
             return new ArrayList<>();
         }
         
-        // Batch fetch report counts for all filtered posts (1 query instead of N)
+        // Batch fetch report, like and comment counts for all filtered posts (1 query each instead of N)
         Map<Long, Long> reportCounts = batchFetchReportCounts(posts);
-        
-        // Apply reportedOnly filter if specified (must be done after getting report counts)
-        final List<MedicalPost> finalPosts;
-        if (filter != null && Boolean.TRUE.equals(filter.getReportedOnly())) {
-            finalPosts = posts.stream()
-                .filter(post -> reportCounts.getOrDefault(post.getId(), 0L) > 0)
-                .collect(Collectors.toList());
-            log.debug("Applied reportedOnly filter: {} posts remaining out of {}", 
-                    finalPosts.size(), posts.size());
-        } else {
-            finalPosts = posts;
-        }
+        BatchPostData batchData = batchFetchPostData(posts, null);
         
         // Build DTOs using helper method
-        return finalPosts.stream()
+        return posts.stream()
             .map(post -> {
                 long reportCount = reportCounts.getOrDefault(post.getId(), 0L);
-                return buildPostDTOForAdmin(post, reportCount);
+                return buildPostDTOForAdmin(post, reportCount, batchData);
             })
             .collect(Collectors.toList());
     }
@@ -627,34 +618,90 @@ public class MedicalPostServiceImpl implements MedicalPostService {
             return buildPaginationResponse(new ArrayList<>(), totalElements, page, size);
         }
         
-        // Batch fetch report counts for all filtered posts (1 query instead of N)
+        // Batch fetch report, like and comment counts for all filtered posts (1 query each instead of N)
         Map<Long, Long> reportCounts = batchFetchReportCounts(posts);
-        
-        // Apply reportedOnly filter if specified (must be done after getting report counts)
-        final List<MedicalPost> finalPosts;
-        if (filter != null && Boolean.TRUE.equals(filter.getReportedOnly())) {
-            finalPosts = posts.stream()
-                .filter(post -> reportCounts.getOrDefault(post.getId(), 0L) > 0)
-                .collect(Collectors.toList());
-            log.debug("Applied reportedOnly filter: {} posts remaining out of {}", 
-                    finalPosts.size(), posts.size());
-            // Update totalElements to reflect filtered count
-            totalElements = finalPosts.size();
-        } else {
-            finalPosts = posts;
-        }
+        BatchPostData batchData = batchFetchPostData(posts, null);
         
         // Build DTOs using helper method
-        List<Map<String, Object>> postDTOs = finalPosts.stream()
+        List<Map<String, Object>> postDTOs = posts.stream()
             .map(post -> {
                 long reportCount = reportCounts.getOrDefault(post.getId(), 0L);
-                return buildPostDTOForAdmin(post, reportCount);
+                return buildPostDTOForAdmin(post, reportCount, batchData);
             })
             .collect(Collectors.toList());
         
         return buildPaginationResponse(postDTOs, totalElements, page, size);
     }
     
+    /**
+     * Retrieves one page of the moderation queue: reported posts matching the admin filter,
+     * ordered by report count or by most recent report.
+     * Report aggregates are computed in SQL in the same grouped query that selects the page,
+     * and paging is keyset-based, so pages stay consistent while new reports arrive.
+     * 
+     * @param filter Filter criteria (can be null); reportedOnly is implied
+     * @param sort Queue ordering
+     * @param cursor Cursor returned with the previous page (null for the first page)
+     * @param size Page size
+     * @return Map containing "data", "pageSize", "hasNext", "nextCursor" and, on the first page, "totalElements"
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getModerationQueue(AdminPostFilter filter, ModerationQueueSort sort, String cursor, int size) {
+        ModerationQueueCursor after = StringUtils.hasText(cursor) ? ModerationQueueCursor.decode(cursor, sort) : null;
+        Specification<MedicalPost> spec = buildAdminPostSpecification(filter);
+        
+        // Fetch one extra row to know whether another page follows
+        List<MedicalPostRepositoryCustom.ModerationQueueEntry> entries =
+                medicalPostRepository.findModerationQueue(spec, sort, after, size + 1);
+        boolean hasNext = entries.size() > size;
+        if (hasNext) {
+            entries = entries.subList(0, size);
+        }
+        
+        List<Long> postIds = entries.stream()
+            .map(MedicalPostRepositoryCustom.ModerationQueueEntry::postId)
+            .collect(Collectors.toList());
+        Map<Long, MedicalPost> postsById = postIds.isEmpty()
+            ? new HashMap<>()
+            : medicalPostRepository.findByIdIn(postIds).stream()
+                .collect(Collectors.toMap(MedicalPost::getId, post -> post));
+        BatchPostData batchData = batchFetchPostData(new ArrayList<>(postsById.values()), null);
+        
+        // Keep the queue order produced by the aggregate query
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (MedicalPostRepositoryCustom.ModerationQueueEntry entry : entries) {
+            MedicalPost post = postsById.get(entry.postId());
+            if (post == null) {
+                continue; // deleted between the two queries
+            }
+            Map<String, Object> postDetails = buildPostDTOForAdmin(post, entry.reportCount(), batchData);
+            postDetails.put("pendingReportCount", entry.pendingReportCount());
+            postDetails.put("lastReportedAt", entry.lastReportedAt());
+            data.add(postDetails);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("data", data);
+        response.put("pageSize", size);
+        response.put("hasNext", hasNext);
+        response.put("sort", sort.name());
+        if (hasNext) {
+            MedicalPostRepositoryCustom.ModerationQueueEntry last = entries.get(entries.size() - 1);
+            long sortKey = sort == ModerationQueueSort.RECENT
+                ? ModerationQueueCursor.epochMicros(last.lastReportedAt())
+                : last.reportCount();
+            response.put("nextCursor", new ModerationQueueCursor(sort, sortKey, last.postId()).encode());
+        }
+        // The total needs a second aggregate, so it is only computed for the first page
+        if (after == null) {
+            response.put("totalElements", medicalPostRepository.countModerationQueue(spec));
+        }
+        
+        log.debug("Moderation queue page: {} posts, sort {}, hasNext {}", data.size(), sort, hasNext);
+        return response;
+    }
+    
     /**
      * Builds a pagination response map with data and pagination metadata.
      * If page and size are null, returns response without pagination metadata (backward compatible).
@@ -738,9 +785,15 @@ public class MedicalPostServiceImpl implements MedicalPostService {
                 predicates.add(fullNameMatch);
             }
             
-            // Note: reportedOnly filter is applied after fetching report counts
-            // because it requires counting reports, which is more efficient to do
-            // in a separate batch query than using a subquery in the main query
+            // Filter by reported status (at least one report exists).
+            // Done in SQL so page sizes and totals match the filtered result.
+            if (Boolean.TRUE.equals(filter.getReportedOnly())) {
+                Subquery<Long> reports = query.subquery(Long.class);
+                Root<MedicalPostReport> report = reports.from(MedicalPostReport.class);
+                reports.select(report.get("id"))
+                    .where(criteriaBuilder.equal(report.get("post"), root));
+                predicates.add(criteriaBuilder.exists(reports));
+            }
             
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
@@ -900,9 +953,10 @@ public class MedicalPostServiceImpl implements MedicalPostService {
      * 
      * @param post The post entity
      * @param reportCount The number of reports for this post
+     * @param batchData Pre-fetched like and comment counts
      * @return Map containing post details for admin view
      */
-    private Map<String, Object> buildPostDTOForAdmin(MedicalPost post, long reportCount) {
+    private Map<String, Object> buildPostDTOForAdmin(MedicalPost post, long reportCount, BatchPostData batchData) {
         Map<String, Object> postDetails = new HashMap<>();
         
         // Basic post information
@@ -929,10 +983,9 @@ public class MedicalPostServiceImpl implements MedicalPostService {
             postDetails.put("doctorProfilePicture", provider.getProfilePicture());
         }
         
-        // Count likes and comments
-        long likeCount = medicalPostLikeRepository.countByPostId(post.getId());
-        postDetails.put("likes", (int) likeCount);
-        postDetails.put("comments", post.getComments() != null ? post.getComments().size() : 0);
+        // Like and comment counts from batch data (avoids N+1 queries and lazy loading)
+        postDetails.put("likes", batchData.likeCounts.getOrDefault(post.getId(), 0L).intValue());
+        postDetails.put("comments", batchData.commentCounts.getOrDefault(post.getId(), 0L).intValue());
         
         return postDetails;
     }
@@ -1008,24 +1061,13 @@ public class MedicalPostServiceImpl implements MedicalPostService {
         return likerDetails;
     }
 
+    /**
+     * Deletes a post with its notifications, reports, likes, ratings, comments and replies
+     * using set-based deletes, so the cost does not grow with loading the interaction graph.
+     */
     private void removePostWithDependencies(MedicalPost post) {
-        // Delete notifications related to the post
-        notificationRepository.deleteByPost(post);
-
-        // Delete notifications related to comments
-        if (post.getComments() != null && !post.getComments().isEmpty()) {
-            for (com.MediConnect.socialmedia.entity.MedicalPostComment comment : post.getComments()) {
-                notificationRepository.deleteByComment(comment);
-            }
-        }
-
-        // Delete reports related to the post (to avoid foreign key constraint violation)
-        List<MedicalPostReport> reports = medicalPostReportRepository.findByPost(post);
-        if (reports != null && !reports.isEmpty()) {
-            medicalPostReportRepository.deleteAll(reports);
-        }
-
-        // Delete the post (cascade will handle ratings, likes, and comments)
-        medicalPostRepository.delete(post);
+        Long postId = post.getId();
+        int deletedRows = medicalPostRepository.deletePostCascade(postId);
+        log.debug("Deleted post {} with {} rows including dependencies", postId, deletedRows);
     }
 }
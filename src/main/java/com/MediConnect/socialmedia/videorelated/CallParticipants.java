@@ -0,0 +1,7 @@
+package com.MediConnect.socialmedia.videorelated;
+
+/**
+ * The two usernames allowed to signal for one appointment, as seen from one side.
+ */
+public record CallParticipants(int appointmentId, String username, String peerUsername) {
+}
@@ -0,0 +1,75 @@
+package com.MediConnect.socialmedia.videorelated;
+
+import com.MediConnect.EntryRelated.repository.AppointmentRepository;
+import com.MediConnect.EntryRelated.repository.AppointmentRepository.CallParticipantsView;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks that the STOMP user is the patient or the doctor of a video appointment.
+ * <p>
+ * The result is kept in the WebSocket session attributes, so each session hits the database
+ * once per appointment rather than once per offer, answer or ICE candidate, and the grant
+ * disappears with the session.
+ */
+@Component
+public class SignalingAuthorizer {
+
+    private static final String SESSION_KEY = SignalingAuthorizer.class.getName() + ".calls";
+
+    private final AppointmentRepository appointmentRepository;
+
+    public SignalingAuthorizer(AppointmentRepository appointmentRepository) {
+        this.appointmentRepository = appointmentRepository;
+    }
+
+    /**
+     * @return The caller and their peer for this appointment
+     * @throws AccessDeniedException If the caller is anonymous or not part of the video appointment
+     */
+    public CallParticipants authorize(SimpMessageHeaderAccessor headers, int appointmentId, Principal principal) {
+        if (principal == null) {
+            throw new AccessDeniedException("Authentication required for video signaling");
+        }
+        Map<Integer, CallParticipants> granted = grantedCalls(headers);
+        CallParticipants participants = granted != null ? granted.get(appointmentId) : null;
+        if (participants != null && participants.username().equals(principal.getName())) {
+            return participants;
+        }
+
+        participants = lookUp(appointmentId, principal.getName());
+        if (granted != null) {
+            granted.put(appointmentId, participants);
+        }
+        return participants;
+    }
+
+    private CallParticipants lookUp(int appointmentId, String username) {
+        CallParticipantsView view = appointmentRepository.findCallParticipants(appointmentId)
+                .orElseThrow(() -> new AccessDeniedException("Appointment not found"));
+        if (!Boolean.TRUE.equals(view.getIsVideoCall())) {
+            throw new AccessDeniedException("Appointment is not a video call");
+        }
+        if (username.equals(view.getPatientUsername())) {
+            return new CallParticipants(appointmentId, username, view.getDoctorUsername());
+        }
+        if (username.equals(view.getDoctorUsername())) {
+            return new CallParticipants(appointmentId, username, view.getPatientUsername());
+        }
+        throw new AccessDeniedException("Not a participant of this appointment");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, CallParticipants> grantedCalls(SimpMessageHeaderAccessor headers) {
+        Map<String, Object> attributes = headers.getSessionAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (Map<Integer, CallParticipants>) attributes.computeIfAbsent(SESSION_KEY, key -> new ConcurrentHashMap<>());
+    }
+}
@@ -4,13 +4,21 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class VideoSignal {
-    private String type;      // "offer", "answer", or "ice-candidate"
+    private String type;      // "offer", "answer", "ice-candidate", or "ice-candidates" (batched, peer-to-peer channel only)
     private String sdp;       // Session Description Protocol (Connection technical details)
     private Object candidate; // Network candidate details
     private String sender;    // Who sent this? (e.g., "doctor" or "patient")
     private String recipient; // Who should receive this?
-}
\ No newline at end of file
+    private List<Object> candidates; // Coalesced candidates, set on "ice-candidates"
+    private Long sentAt;      // Optional client send time (epoch millis), used for latency metrics
+
+    public VideoSignal(String type, String sdp, Object candidate, String sender, String recipient) {
+        this(type, sdp, candidate, sender, recipient, null, null);
+    }
+}
@@ -0,0 +1,213 @@
+package com.MediConnect.socialmedia.videorelated;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers WebRTC signals to the other participant only, via the user destination
+ * {@code /user/queue/video/{appointmentId}}.
+ * <p>
+ * Trickle ICE produces bursts of candidates a few milliseconds apart. Candidates travelling in
+ * the same direction are held for {@code video.signaling.ice-batch-window} and sent as one
+ * {@code ice-candidates} message. Any other signal first flushes the pending batch, so the peer
+ * still sees candidates and descriptions in the order they were sent.
+ * <p>
+ * Metrics: {@code mediconnect.video.call.setup} (offer relayed until answer relayed, per call),
+ * {@code mediconnect.video.signal.transit} (client send time to server receipt, when the client
+ * sets {@code sentAt}; subject to clock skew), and ICE batch size and hold time.
+ */
+@Slf4j
+@Component
+public class VideoSignalRouter {
+
+    static final String USER_DESTINATION_PREFIX = "/queue/video/";
+    static final String ICE_CANDIDATE = "ice-candidate";
+    static final String ICE_CANDIDATES = "ice-candidates";
+
+    private static final long MAX_TRANSIT_MS = 60_000;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final Map<Direction, IceBatch> pending = new ConcurrentHashMap<>();
+    private final Cache<Integer, Long> pendingOffers = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .build();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "video-ice-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final MeterRegistry meterRegistry;
+    private final Timer callSetup;
+    private final Timer batchHold;
+    private final DistributionSummary batchSize;
+    private final Counter signalsRelayed;
+
+    public VideoSignalRouter(SimpMessagingTemplate messagingTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${video.signaling.ice-batch-window:20ms}") Duration batchWindow,
+                             @Value("${video.signaling.ice-batch-max:20}") int maxBatchSize) {
+        this.messagingTemplate = messagingTemplate;
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.meterRegistry = meterRegistry;
+        this.callSetup = Timer.builder("mediconnect.video.call.setup")
+                .description("Time from relaying an offer to relaying its answer")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.batchHold = meterRegistry.timer("mediconnect.video.ice.batch.hold");
+        this.batchSize = meterRegistry.summary("mediconnect.video.ice.batch.size");
+        this.signalsRelayed = meterRegistry.counter("mediconnect.video.signals.relayed");
+    }
+
+    /**
+     * Sends a signal from {@code call.username()} to {@code call.peerUsername()}.
+     */
+    public void route(CallParticipants call, VideoSignal signal) {
+        signal.setSender(call.username());
+        signal.setRecipient(call.peerUsername());
+        recordTransit(signal);
+
+        Direction direction = new Direction(call.appointmentId(), call.username(), call.peerUsername());
+        if (ICE_CANDIDATE.equals(signal.getType()) && signal.getCandidate() != null) {
+            enqueueCandidate(direction, signal.getCandidate());
+            return;
+        }
+
+        // Descriptions and end-of-candidates must not overtake candidates sent before them
+        IceBatch batch = pending.get(direction);
+        if (batch != null) {
+            batch.flush();
+        }
+        trackCallSetup(call.appointmentId(), signal.getType());
+        send(direction, signal);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        pending.values().forEach(IceBatch::flush);
+    }
+
+    private void enqueueCandidate(Direction direction, Object candidate) {
+        while (true) {
+            IceBatch batch = pending.computeIfAbsent(direction, IceBatch::new);
+            if (batch.add(candidate)) {
+                return;
+            }
+            // Lost a race with a flush that retired this batch; start a new one
+        }
+    }
+
+    private void trackCallSetup(int appointmentId, String type) {
+        if ("offer".equals(type)) {
+            pendingOffers.put(appointmentId, System.nanoTime());
+        } else if ("answer".equals(type)) {
+            Long offeredAt = pendingOffers.asMap().remove(appointmentId);
+            if (offeredAt != null) {
+                long elapsed = System.nanoTime() - offeredAt;
+                callSetup.record(elapsed, TimeUnit.NANOSECONDS);
+                log.debug("Video call {} answered {} ms after offer", appointmentId, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+        }
+    }
+
+    private void recordTransit(VideoSignal signal) {
+        if (signal.getSentAt() == null || signal.getType() == null) {
+            return;
+        }
+        long transit = System.currentTimeMillis() - signal.getSentAt();
+        if (transit >= 0 && transit <= MAX_TRANSIT_MS) {
+            meterRegistry.timer("mediconnect.video.signal.transit", "type", signal.getType())
+                    .record(transit, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void send(Direction direction, VideoSignal signal) {
+        messagingTemplate.convertAndSendToUser(direction.to(), USER_DESTINATION_PREFIX + direction.appointmentId(), signal);
+        signalsRelayed.increment();
+    }
+
+    private record Direction(int appointmentId, String from, String to) {
+    }
+
+    /**
+     * Candidates waiting to go out in one direction. Once flushed a batch is retired; callers
+     * that still hold it start a fresh one. It leaves the map only after its message has been
+     * sent, so a signal routed during the send finds it, waits on its lock and goes out after it.
+     */
+    private final class IceBatch {
+
+        private final Direction direction;
+        private final List<Object> candidates = new ArrayList<>();
+        private long firstAddedAt;
+        private ScheduledFuture<?> scheduledFlush;
+        private boolean retired;
+
+        IceBatch(Direction direction) {
+            this.direction = direction;
+        }
+
+        synchronized boolean add(Object candidate) {
+            if (retired) {
+                return false;
+            }
+            if (candidates.isEmpty()) {
+                firstAddedAt = System.nanoTime();
+                scheduledFlush = flusher.schedule(this::flush, batchWindowNanos, TimeUnit.NANOSECONDS);
+            }
+            candidates.add(candidate);
+            if (candidates.size() >= maxBatchSize) {
+                flush();
+            }
+            return true;
+        }
+
+        synchronized void flush() {
+            if (retired) {
+                return;
+            }
+            retired = true;
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+            }
+            try {
+                if (candidates.isEmpty()) {
+                    return;
+                }
+                VideoSignal batch = new VideoSignal();
+                batch.setType(ICE_CANDIDATES);
+                batch.setSender(direction.from());
+                batch.setRecipient(direction.to());
+                batch.setCandidates(List.copyOf(candidates));
+                batchHold.record(System.nanoTime() - firstAddedAt, TimeUnit.NANOSECONDS);
+                batchSize.record(candidates.size());
+                candidates.clear();
+                send(direction, batch);
+            } finally {
+                pending.remove(direction, this);
+            }
+        }
+    }
+}
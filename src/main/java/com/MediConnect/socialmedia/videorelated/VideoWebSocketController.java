@@ -3,22 +3,31 @@ package com.MediConnect.socialmedia.videorelated;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
+import java.util.Map;
 
 @Controller
 @RequiredArgsConstructor
 @Slf4j
 public class VideoWebSocketController {
 
+    private final SignalingAuthorizer signalingAuthorizer;
+    private final VideoSignalRouter signalRouter;
+
     /**
      * Endpoint: /app/video/{appointmentId}
      * Broadcasts to: /topic/video/{appointmentId}
      * * Handles: "offer", "answer", "ice-candidate"
+     * * Kept for clients that have not moved to /app/video/{appointmentId}/signal yet.
      */
     @MessageMapping("/video/{appointmentId}")
     @SendTo("/topic/video/{appointmentId}")
@@ -33,11 +42,38 @@ public class VideoWebSocketController {
             signal.setSender(principal.getName());
         }
 
-        log.info("Video Signal [{}] for Appointment {} from {}",
+        log.debug("Video Signal [{}] for Appointment {} from {}",
                 signal.getType(), appointmentId, signal.getSender());
 
         // The frontend subscribes to this topic.
         // Frontend Logic: "If signal.sender === myUsername, ignore. Else, process."
         return signal;
     }
-}
\ No newline at end of file
+
+    /**
+     * Endpoint: /app/video/{appointmentId}/signal
+     * Delivers to the other participant only: /user/queue/video/{appointmentId}
+     * * Handles: "offer", "answer", "ice-candidate" (delivered as batched "ice-candidates")
+     * * The sender must be the patient or doctor of the appointment; checked once per session.
+     */
+    @MessageMapping("/video/{appointmentId}/signal")
+    public void relaySignal(
+            @DestinationVariable int appointmentId,
+            @Payload VideoSignal signal,
+            SimpMessageHeaderAccessor headers,
+            Principal principal
+    ) {
+        CallParticipants call = signalingAuthorizer.authorize(headers, appointmentId, principal);
+        signalRouter.route(call, signal);
+    }
+
+    /**
+     * Rejected signals are reported to the sender on /user/queue/video/errors.
+     */
+    @MessageExceptionHandler(AccessDeniedException.class)
+    @SendToUser(destinations = "/queue/video/errors", broadcast = false)
+    public Map<String, Object> handleAccessDenied(AccessDeniedException e) {
+        log.debug("Rejected video signal: {}", e.getMessage());
+        return Map.of("status", "error", "message", e.getMessage());
+    }
+}
@@ -0,0 +1,20 @@
+-- Durable delayed jobs (appointment reminders), polled by DelayedJobDispatcher
+CREATE TABLE IF NOT EXISTS scheduled_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    job_type VARCHAR(64) NOT NULL,
+    reference_id BIGINT NOT NULL,
+    due_at TIMESTAMP NOT NULL,
+    run_after TIMESTAMP NOT NULL,
+    status VARCHAR(16) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    CONSTRAINT uk_scheduled_jobs_type_reference UNIQUE (job_type, reference_id),
+    CONSTRAINT scheduled_jobs_status_check CHECK (status IN ('PENDING', 'DONE', 'CANCELLED', 'FAILED'))
+);
+
+-- Dispatcher claims due rows by (status, run_after)
+CREATE INDEX IF NOT EXISTS idx_scheduled_jobs_status_run_after ON scheduled_jobs (status, run_after);
+
+COMMENT ON TABLE scheduled_jobs IS 'Delayed jobs keyed by fire time; one row per (job_type, reference_id)';
@@ -0,0 +1,8 @@
+-- Paged appointment lists: per-party filter with appointment time ordering and range filters
+CREATE INDEX IF NOT EXISTS idx_appointment_patient_date_time ON appointment_entity (patient_id, appointment_date_time);
+CREATE INDEX IF NOT EXISTS idx_appointment_provider_date_time ON appointment_entity (provider_id, appointment_date_time);
+
+-- Batched medical-record lookups for a page of appointments
+CREATE INDEX IF NOT EXISTS idx_medication_patient_id ON medication (patient_id);
+CREATE INDEX IF NOT EXISTS idx_mental_health_medication_patient_id ON mental_health_medication (patient_id);
+CREATE INDEX IF NOT EXISTS idx_laboratory_result_patient_id ON laboratory_result (patient_id);
@@ -0,0 +1,2 @@
+-- Paged "posts by doctor": equality on provider_id, newest first with id as tie-breaker
+CREATE INDEX IF NOT EXISTS idx_medical_post_provider_created ON medical_post (provider_id, created_at DESC, id DESC);
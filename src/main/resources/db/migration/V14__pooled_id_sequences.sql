@@ -0,0 +1,27 @@
+-- Pooled id sequences (allocationSize = 50) for the write-heavy social and notification tables.
+-- IDENTITY ids force Hibernate to insert one row per round trip; with a sequence it can batch inserts.
+-- Every insert, ORM or not, now draws from <table>_seq. The sequence is only ever moved forward, so
+-- id ranges already handed out to running nodes stay valid.
+
+CREATE OR REPLACE FUNCTION mc_use_pooled_sequence(p_table text) RETURNS void AS $$
+DECLARE
+    v_sequence text := p_table || '_seq';
+BEGIN
+    EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', v_sequence);
+    EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', v_sequence);
+    EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', p_table);
+    EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', p_table, v_sequence);
+    -- Hibernate's pooled optimizer treats a fetched value v as the range (v - 49, v], so keep 50 clear of MAX(id)
+    EXECUTE format('SELECT setval(%L, GREATEST(COALESCE((SELECT MAX(id) FROM %I), 0) + 50, '
+                       || '(SELECT last_value + CASE WHEN is_called THEN 50 ELSE 0 END FROM %I)), false)',
+                   v_sequence, p_table, v_sequence);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT mc_use_pooled_sequence('notifications');
+SELECT mc_use_pooled_sequence('medical_post');
+SELECT mc_use_pooled_sequence('medical_post_like');
+SELECT mc_use_pooled_sequence('medical_post_comment');
+SELECT mc_use_pooled_sequence('comment_like');
+SELECT mc_use_pooled_sequence('comment_reply');
+SELECT mc_use_pooled_sequence('comment_reply_like');
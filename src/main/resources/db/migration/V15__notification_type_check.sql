@@ -0,0 +1,22 @@
+-- Allowed notification types, previously rebuilt at startup by DatabaseSchemaPatcher.
+-- On the partitioned table (V9) the constraint applies to every partition.
+-- Adding a NotificationType value needs a new migration that repeats this with the extended list.
+ALTER TABLE notifications DROP CONSTRAINT IF EXISTS notifications_type_check;
+ALTER TABLE notifications ADD CONSTRAINT notifications_type_check CHECK (type IN (
+    'POST_LIKE',
+    'POST_COMMENT',
+    'COMMENT_LIKE',
+    'COMMENT_REPLY',
+    'POST_SHARE',
+    'APPOINTMENT_REQUESTED',
+    'APPOINTMENT_CONFIRMED',
+    'APPOINTMENT_CANCELLED',
+    'APPOINTMENT_RESCHEDULED',
+    'APPOINTMENT_RESCHEDULE_CONFIRMED',
+    'APPOINTMENT_RESCHEDULE_CANCELLED',
+    'APPOINTMENT_REMINDER_24H',
+    'APPOINTMENT_REMINDER_1H',
+    'CHAT_MESSAGE',
+    'ADMIN_POST_REPORTED',
+    'ADMIN_DOCTOR_REGISTRATION'
+));
@@ -0,0 +1,33 @@
+-- Indexes on the remaining foreign-key columns. PostgreSQL does not index the referencing side on its
+-- own, so joins, "by owner" lookups and ON DELETE checks against the parent table scan the child.
+-- medical_post_like.post_id (V7) and notifications.recipient_id (V9) are already covered.
+
+-- Chat: message history per channel in send order, unread counts per sender
+CREATE INDEX IF NOT EXISTS idx_chat_messages_channel_sent ON chat_messages (channel_id, sent_at);
+CREATE INDEX IF NOT EXISTS idx_chat_messages_sender_id ON chat_messages (sender_id);
+-- (patient_id, doctor_id) is covered by the channel's unique constraint
+CREATE INDEX IF NOT EXISTS idx_chat_channels_doctor_id ON chat_channels (doctor_id);
+CREATE INDEX IF NOT EXISTS idx_chat_channels_appointment_id ON chat_channels (appointment_id);
+
+-- Notifications: unread badge counts only touch unread rows
+CREATE INDEX IF NOT EXISTS idx_notifications_actor_id ON notifications (actor_id);
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_unread ON notifications (recipient_id) WHERE is_read = false;
+
+-- Social feed
+CREATE INDEX IF NOT EXISTS idx_medical_post_rating_provider_id ON medical_post_rating (provider_id);
+CREATE INDEX IF NOT EXISTS idx_medical_post_report_reporter_id ON medical_post_report (reporter_id);
+
+-- Doctor profile: reviews, history and scheduling
+CREATE INDEX IF NOT EXISTS idx_doctor_review_doctor_id ON doctor_review (doctor_id);
+CREATE INDEX IF NOT EXISTS idx_doctor_review_patient_id ON doctor_review (patient_id);
+CREATE INDEX IF NOT EXISTS idx_doctor_review_appointment_id ON doctor_review (appointment_id);
+CREATE INDEX IF NOT EXISTS idx_education_history_provider_id ON education_history (provider_id);
+CREATE INDEX IF NOT EXISTS idx_work_experience_provider_id ON work_experience (provider_id);
+CREATE INDEX IF NOT EXISTS idx_blocked_time_slots_provider_date ON blocked_time_slots (provider_id, blocked_date);
+CREATE INDEX IF NOT EXISTS idx_provider_specializations_provider_id ON healthcare_provider_specializations (healthcare_provider_id);
+CREATE INDEX IF NOT EXISTS idx_provider_availability_provider_id ON provider_availability (healthcare_provider_id);
+CREATE INDEX IF NOT EXISTS idx_provider_insurance_provider_id ON provider_insurance (healthcare_provider_id);
+
+-- Medical records; appointment_id is covered by its unique constraint
+CREATE INDEX IF NOT EXISTS idx_medical_record_patient_id ON medical_record (patient_id);
+CREATE INDEX IF NOT EXISTS idx_medical_record_provider_id ON medical_record (provider_id);
@@ -0,0 +1,46 @@
+-- Global session-token uniqueness for the partitioned login_sessions table.
+-- A unique constraint on a partitioned table must include the partition key, so V9 could only
+-- enforce UNIQUE (session_token, login_time). This unpartitioned registry holds one row per token
+-- and triggers keep it in step with login_sessions, so a second row with the same token fails.
+-- Dropping a partition fires no triggers; PartitionRetentionManager removes the registry rows
+-- of the months it drops.
+
+CREATE TABLE IF NOT EXISTS login_session_tokens (
+    session_token VARCHAR(255) PRIMARY KEY,
+    login_time TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_login_session_tokens_login_time ON login_session_tokens (login_time);
+
+-- Sessions written before this migration; if a token was reused, the earliest session keeps it
+INSERT INTO login_session_tokens (session_token, login_time)
+SELECT session_token, MIN(login_time) FROM login_sessions GROUP BY session_token
+ON CONFLICT (session_token) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION mc_login_session_token_sync() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO login_session_tokens (session_token, login_time) VALUES (NEW.session_token, NEW.login_time);
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE login_session_tokens SET session_token = NEW.session_token, login_time = NEW.login_time
+        WHERE session_token = OLD.session_token;
+    ELSE
+        DELETE FROM login_session_tokens WHERE session_token = OLD.session_token AND login_time = OLD.login_time;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_login_sessions_token_insert ON login_sessions;
+CREATE TRIGGER trg_login_sessions_token_insert AFTER INSERT ON login_sessions
+    FOR EACH ROW EXECUTE FUNCTION mc_login_session_token_sync();
+
+DROP TRIGGER IF EXISTS trg_login_sessions_token_update ON login_sessions;
+CREATE TRIGGER trg_login_sessions_token_update AFTER UPDATE OF session_token, login_time ON login_sessions
+    FOR EACH ROW EXECUTE FUNCTION mc_login_session_token_sync();
+
+DROP TRIGGER IF EXISTS trg_login_sessions_token_delete ON login_sessions;
+CREATE TRIGGER trg_login_sessions_token_delete AFTER DELETE ON login_sessions
+    FOR EACH ROW EXECUTE FUNCTION mc_login_session_token_sync();
+
+COMMENT ON TABLE login_session_tokens IS 'One row per login_sessions.session_token; enforces token uniqueness across partitions';
@@ -0,0 +1,675 @@
+-- Baseline schema: every table mapped by the JPA entities, as of the switch to Flyway.
+-- Existing databases (previously built by ddl-auto=update) are baselined at version 1 and skip this script.
+-- Later scripts add indexes, partitioning and sequences on top; entity changes need a new migration.
+
+create sequence comment_like_seq start with 1 increment by 50;
+
+create sequence comment_reply_like_seq start with 1 increment by 50;
+
+create sequence comment_reply_seq start with 1 increment by 50;
+
+create sequence medical_post_comment_seq start with 1 increment by 50;
+
+create sequence medical_post_like_seq start with 1 increment by 50;
+
+create sequence medical_post_seq start with 1 increment by 50;
+
+create sequence notifications_seq start with 1 increment by 50;
+
+create table account_activities (
+    id bigint generated by default as identity,
+    additional_data TEXT,
+    description TEXT not null,
+    device varchar(255),
+    ip_address varchar(255) not null,
+    location varchar(255),
+    timestamp timestamp(6) not null,
+    type varchar(255) not null check (type in ('LOGIN','LOGOUT','PASSWORD_CHANGE','TWO_FA_ENABLED','TWO_FA_DISABLED','PROFILE_UPDATE','ACCOUNT_CREATED','EMAIL_CHANGE','PHONE_CHANGE','SECURITY_SETTINGS_CHANGE')),
+    user_agent varchar(255),
+    user_id bigint not null,
+    primary key (id)
+);
+
+create table appointment_entity (
+    id integer generated by default as identity,
+    appointment_date_time timestamp(6),
+    created_at timestamp(6),
+    duration_minutes integer,
+    is_call_active boolean not null,
+    is_video_call boolean not null,
+    notes TEXT,
+    reason TEXT,
+    reminder_24h_sent boolean not null,
+    share_medical_records boolean not null,
+    status varchar(255) check (status in ('PENDING','CONFIRMED','RESCHEDULED','CANCELLED','COMPLETED')),
+    type varchar(255) check (type in ('CONSULTATION','FOLLOW_UP','CHECKUP','EMERGENCY','VACCINATION','SURGERY','THERAPY')),
+    updated_at timestamp(6),
+    provider_id bigint not null,
+    patient_id bigint not null,
+    primary key (id)
+);
+
+create table blocked_time_slots (
+    id bigint generated by default as identity,
+    blocked_date date not null,
+    created_at timestamp(6) not null,
+    end_time varchar(5) not null,
+    reason TEXT,
+    start_time varchar(5) not null,
+    provider_id bigint not null,
+    primary key (id)
+);
+
+create table chat_channels (
+    id bigint generated by default as identity,
+    created_at timestamp(6) not null,
+    is_active boolean not null,
+    last_activity_at timestamp(6) not null,
+    appointment_id integer not null,
+    doctor_id bigint not null,
+    patient_id bigint not null,
+    primary key (id),
+    unique (patient_id, doctor_id)
+);
+
+create table chat_messages (
+    id bigint generated by default as identity,
+    content TEXT not null,
+    is_deleted boolean not null,
+    is_read boolean not null,
+    read_at timestamp(6),
+    sent_at timestamp(6) not null,
+    channel_id bigint not null,
+    sender_id bigint not null,
+    primary key (id)
+);
+
+create table comment_like (
+    id bigint not null,
+    created_at timestamp(6),
+    like_giver_id bigint,
+    comment_id bigint not null,
+    primary key (id)
+);
+
+create table comment_reply (
+    id bigint not null,
+    content TEXT not null,
+    created_at timestamp(6),
+    replier_id bigint,
+    comment_id bigint not null,
+    primary key (id)
+);
+
+create table comment_reply_like (
+    id bigint not null,
+    created_at timestamp(6),
+    like_giver_id bigint,
+    reply_id bigint not null,
+    primary key (id)
+);
+
+create table day_availability (
+    id bigint generated by default as identity,
+    day_of_week varchar(20) not null,
+    enabled boolean not null,
+    end_time varchar(5),
+    start_time varchar(5),
+    provider_id bigint not null,
+    primary key (id),
+    unique (provider_id, day_of_week)
+);
+
+create table doctor_review (
+    id bigint generated by default as identity,
+    created_at timestamp(6) not null,
+    notes TEXT,
+    rating integer not null,
+    appointment_id integer not null,
+    doctor_id bigint not null,
+    patient_id bigint not null,
+    primary key (id)
+);
+
+create table education_history (
+    id bigint generated by default as identity,
+    end_date date,
+    institution_name varchar(255),
+    start_date date,
+    still_enrolled boolean not null,
+    provider_id bigint,
+    primary key (id)
+);
+
+create table email_outbox (
+    id bigint generated by default as identity,
+    attempts integer not null,
+    body TEXT,
+    created_at timestamp(6) not null,
+    last_error varchar(1000),
+    next_attempt_at timestamp(6) not null,
+    recipient varchar(255) not null,
+    sent_at timestamp(6),
+    status varchar(16) not null check (status in ('PENDING','SENT','FAILED')),
+    subject varchar(255) not null,
+    primary key (id)
+);
+
+create table healthcare_provider (
+    admin_flag_reason TEXT,
+    admin_flagged boolean,
+    admin_flagged_at timestamp(6),
+    appointment_duration_minutes integer,
+    available_time_end varchar(255),
+    available_time_start varchar(255),
+    bio TEXT,
+    clinic_name varchar(255),
+    consultation_fee float(53),
+    follow_list bigint array,
+    license_document BYTEA,
+    license_document_content_type varchar(255),
+    license_document_url varchar(255),
+    license_number varchar(255),
+    id bigint not null,
+    primary key (id)
+);
+
+create table healthcare_provider_specializations (
+    healthcare_provider_id bigint not null,
+    specialization varchar(255) check (specialization in ('INTERNAL_MEDICINE','GENERAL_SURGERY','PEDIATRICS','OBSTETRICS_GYNECOLOGY','FAMILY_MEDICINE','PSYCHIATRY','EMERGENCY_MEDICINE','ANESTHESIOLOGY','RADIOLOGY','PATHOLOGY','ORTHOPEDIC_SURGERY','NEUROSURGERY','CARDIOLOGY','DERMATOLOGY','NEUROLOGY','UROLOGY','PLASTIC_SURGERY','OPHTHALMOLOGY'))
+);
+
+create table laboratory_result (
+    id bigint generated by default as identity,
+    description varchar(255),
+    has_image boolean,
+    image BYTEA,
+    image_size integer,
+    result_url varchar(255),
+    patient_id bigint,
+    primary key (id)
+);
+
+create table login_sessions (
+    id bigint generated by default as identity,
+    browser varchar(255),
+    created_at timestamp(6) not null,
+    device varchar(255),
+    ip_address varchar(255) not null,
+    is_active boolean not null,
+    last_activity_time timestamp(6),
+    location varchar(255),
+    login_time timestamp(6) not null,
+    logout_time timestamp(6),
+    session_token varchar(255) not null,
+    user_agent varchar(255) not null,
+    user_id bigint not null,
+    primary key (id)
+);
+
+create table medical_post (
+    id bigint not null,
+    admin_flag_reason TEXT,
+    admin_flagged boolean,
+    admin_flagged_at timestamp(6),
+    content TEXT,
+    created_at timestamp(6),
+    media_url TEXT,
+    media_urls TEXT,
+    privacy varchar(255) check (privacy in ('PUBLIC','PRIVATE')),
+    provider_id bigint not null,
+    primary key (id)
+);
+
+create table medical_post_comment (
+    id bigint not null,
+    commenter_id bigint,
+    content TEXT not null,
+    created_at timestamp(6),
+    post_id bigint not null,
+    primary key (id)
+);
+
+create table medical_post_like (
+    id bigint not null,
+    created_at timestamp(6),
+    like_giver_id bigint,
+    post_id bigint not null,
+    primary key (id)
+);
+
+create table medical_post_rating (
+    id bigint generated by default as identity,
+    comment TEXT,
+    context_rank varchar(255) check (context_rank in ('GIVES_FULL_CONTEXT','NOT_ENOUGH_CONTEXT','NO_CONTEXT')),
+    created_at timestamp(6),
+    truth_rank varchar(255) check (truth_rank in ('VERIFIED','HIGHLY_TRUSTED','MODERATELY_TRUSTED','LOW_TRUST','MISLEADING')),
+    post_id bigint not null,
+    provider_id bigint not null,
+    primary key (id)
+);
+
+create table medical_post_report (
+    id bigint generated by default as identity,
+    created_at timestamp(6) not null,
+    details TEXT,
+    other_reason TEXT,
+    reason varchar(40) not null check (reason in ('INAPPROPRIATE_CONTENT','MISINFORMATION','HARASSMENT_OR_ABUSE','SPAM_OR_SCAM','PRIVACY_CONCERN','OTHER')),
+    reporter_id bigint not null,
+    reporter_type varchar(20) not null check (reporter_type in ('DOCTOR','PATIENT')),
+    reviewed boolean not null,
+    post_id bigint not null,
+    primary key (id)
+);
+
+create table medical_record (
+    id integer generated by default as identity,
+    blood_pressure varchar(255),
+    created_at timestamp(6),
+    diagnosis TEXT,
+    heart_rate integer,
+    height float(53),
+    notes TEXT,
+    prescription TEXT,
+    symptoms TEXT,
+    temperature float(53),
+    treatment TEXT,
+    visit_date timestamp(6),
+    weight float(53),
+    appointment_id integer unique,
+    patient_id bigint not null,
+    provider_id bigint not null,
+    primary key (id)
+);
+
+create table medication (
+    id bigint generated by default as identity,
+    in_use boolean not null,
+    medication_dosage varchar(255) not null,
+    medication_end_date date,
+    medication_frequency varchar(255) not null,
+    medication_name varchar(255) not null,
+    medication_start_date date,
+    patient_id bigint,
+    primary key (id)
+);
+
+create table mental_health_medication (
+    id bigint generated by default as identity,
+    in_use boolean not null,
+    medication_dosage varchar(255) not null,
+    medication_end_date date,
+    medication_frequency varchar(255) not null,
+    medication_name varchar(255) not null,
+    medication_start_date date,
+    patient_id bigint,
+    primary key (id)
+);
+
+create table notifications (
+    id bigint not null,
+    created_at timestamp(6) not null,
+    is_read boolean not null,
+    message TEXT,
+    related_entity_id bigint,
+    type varchar(255) not null check (type in ('POST_LIKE','POST_COMMENT','COMMENT_LIKE','COMMENT_REPLY','POST_SHARE','APPOINTMENT_REQUESTED','APPOINTMENT_CONFIRMED','APPOINTMENT_CANCELLED','APPOINTMENT_RESCHEDULED','APPOINTMENT_RESCHEDULE_CONFIRMED','APPOINTMENT_RESCHEDULE_CANCELLED','APPOINTMENT_REMINDER_24H','APPOINTMENT_REMINDER_1H','CHAT_MESSAGE','ADMIN_POST_REPORTED','ADMIN_DOCTOR_REGISTRATION')),
+    actor_id bigint not null,
+    comment_id bigint,
+    post_id bigint,
+    recipient_id bigint not null,
+    primary key (id)
+);
+
+create table patient (
+    admin_flag_reason TEXT,
+    admin_flagged boolean,
+    admin_flagged_at timestamp(6),
+    alcohol_consumption varchar(255) check (alcohol_consumption in ('Never_Drinks','Occasionally_Drinks','Regularly_Drinks','Heavy_Drinker','Former_Drinker')),
+    allergies TEXT,
+    blood_type varchar(255) check (blood_type in ('A_POSITIVE','A_NEGATIVE','B_POSITIVE','B_NEGATIVE','AB_POSITIVE','AB_NEGATIVE','O_POSITIVE','O_NEGATIVE')),
+    dietary_habits varchar(255) check (dietary_habits in ('BALANCED_DIET','VEGETARIAN','VEGAN','PEDESTRIAN','KETO_LOW_CARB','GLUTEN_FREE','HIGH_PROTEIN','Prefer_Not_To_Say','Other')),
+    emergency_contact_name varchar(255),
+    emergency_contact_phone varchar(255),
+    emergency_contact_relation varchar(255),
+    family_medical_history TEXT,
+    height float(53),
+    insurance_number varchar(255),
+    insurance_provider varchar(255),
+    list_of_followed_people bigint array,
+    medical_conditions TEXT,
+    mental_health_condition varchar(255) check (mental_health_condition in ('NO_KNOWN_MENTAL_HEALTH_CONDITIONS','DEPRESSION','ANXIETY_DISORDER_GENERALIZED_ANXIETY_DISORDER','BIPOLAR_DISORDER','POST_TRAUMATIC_STRESS_DISORDER_PTSD','OBSESSIVE_COMPULSIVE_DISORDER_OCD','SCHIZOPHRENIA','SCHIZOAFFECTIVE_DISORDER','ATTENTION_DEFICIT_HYPERACTIVITY_DISORDER_ADHD','AUTISM_SPECTRUM_DISORDER_ASD','PANIC_DISORDER','SOCIAL_ANXIETY_DISORDER','EATING_DISORDER_E_G_ANOREXIA_BULIMIA','PERSONALITY_DISORDER_E_G_BORDERLINE_PERSONALITY_DISORDER','SUBSTANCE_USE_DISORDER_ALCOHOL_OR_DRUGS','INSOMNIA_CHRONIC_SLEEP_DISORDER','DEMENTIA_COGNITIVE_DECLINE','ALZHEIMER_DISEASE','ADJUSTMENT_DISORDER','PSYCHOTIC_DISORDER_OTHER_THAN_SCHIZOPHRENIA','OTHER','PREFER_NOT_TO_SAY')),
+    physical_activity varchar(255) check (physical_activity in ('Sedentary','Lightly_Active','Moderately_Active','Very_Active','Athlete')),
+    previous_surgeries TEXT,
+    smoking_status varchar(255) check (smoking_status in ('Never_Smoked','Former_Smoker','Occasional_Smoker','Regular_Smoker','Heavy_Smoker','Prefer_Not_To_Say')),
+    weight float(53),
+    id bigint not null,
+    primary key (id)
+);
+
+create table profile_view_daily (
+    id bigint generated by default as identity,
+    doctor_id bigint not null,
+    view_count bigint not null,
+    view_date date not null,
+    primary key (id),
+    constraint uk_profile_view_daily_doctor_date unique (doctor_id, view_date)
+);
+
+create table profile_views (
+    id bigint generated by default as identity,
+    doctor_id bigint not null,
+    viewed_at timestamp(6) not null,
+    primary key (id)
+);
+
+create table provider_availability (
+    healthcare_provider_id bigint not null,
+    available_days varchar(255)
+);
+
+create table provider_insurance (
+    healthcare_provider_id bigint not null,
+    insurance_accepted varchar(255)
+);
+
+create table scheduled_jobs (
+    id bigint generated by default as identity,
+    attempts integer not null,
+    completed_at timestamp(6),
+    created_at timestamp(6) not null,
+    due_at timestamp(6) not null,
+    job_type varchar(64) not null check (job_type in ('APPOINTMENT_REMINDER_24H','APPOINTMENT_REMINDER_1H')),
+    last_error varchar(1000),
+    reference_id bigint not null,
+    run_after timestamp(6) not null,
+    status varchar(16) not null check (status in ('PENDING','DONE','CANCELLED','FAILED')),
+    primary key (id),
+    constraint uk_scheduled_jobs_type_reference unique (job_type, reference_id)
+);
+
+create table user_notification_preferences (
+    id bigint generated by default as identity,
+    appointment_reminders boolean not null,
+    comment_likes boolean not null,
+    comment_replies boolean not null,
+    created_at timestamp(6) not null,
+    email_notifications boolean not null,
+    lab_results boolean not null,
+    login_alerts boolean not null,
+    maintenance_alerts boolean not null,
+    medication_reminders boolean not null,
+    password_change_alerts boolean not null,
+    post_comments boolean not null,
+    post_likes boolean not null,
+    prescription_updates boolean not null,
+    push_notifications boolean not null,
+    security_alerts boolean not null,
+    system_updates boolean not null,
+    updated_at timestamp(6) not null,
+    user_id bigint not null unique,
+    primary key (id)
+);
+
+create table user_privacy_settings (
+    id bigint generated by default as identity,
+    created_at timestamp(6) not null,
+    profile_visibility varchar(255) not null,
+    show_address boolean not null,
+    show_email boolean not null,
+    show_medical_history boolean not null,
+    show_phone boolean not null,
+    updated_at timestamp(6) not null,
+    user_id bigint not null unique,
+    primary key (id)
+);
+
+create table users (
+    id bigint generated by default as identity,
+    account_status varchar(255) not null check (account_status in ('PENDING','ACTIVE','ON_HOLD','BANNED','REJECTED')),
+    address varchar(255),
+    banner_picture TEXT,
+    city varchar(255),
+    country varchar(255),
+    date_of_birth date,
+    email varchar(255) not null unique,
+    first_name varchar(255) not null,
+    gender varchar(255),
+    last_name varchar(255) not null,
+    password varchar(255) not null,
+    phone_number varchar(255),
+    profile_picture TEXT,
+    registration_date timestamp(6),
+    role varchar(255) not null,
+    state varchar(255),
+    two_factor_enabled boolean,
+    username varchar(255) not null unique,
+    zipcode varchar(255),
+    primary key (id)
+);
+
+create table work_experience (
+    id bigint generated by default as identity,
+    end_date date,
+    organization_name varchar(255),
+    role_title varchar(255),
+    start_date date,
+    still_working boolean not null,
+    provider_id bigint,
+    primary key (id)
+);
+
+create index idx_email_outbox_status_next_attempt
+   on email_outbox (status, next_attempt_at);
+
+create index idx_scheduled_jobs_status_run_after
+   on scheduled_jobs (status, run_after);
+
+alter table if exists account_activities
+   add constraint FK4rbdxgt6rpdu1untd80d5ov
+   foreign key (user_id)
+   references users;
+
+alter table if exists appointment_entity
+   add constraint FK6xpyhu9iyy10uakprgmh9i52m
+   foreign key (provider_id)
+   references healthcare_provider;
+
+alter table if exists appointment_entity
+   add constraint FKs2nb1fljws3huf0w05a9rgb5i
+   foreign key (patient_id)
+   references patient;
+
+alter table if exists blocked_time_slots
+   add constraint FKq4i3fsebbj3bueuv4w0malfnk
+   foreign key (provider_id)
+   references healthcare_provider;
+
+alter table if exists chat_channels
+   add constraint FK970qrbpotclu5rpph6w2mv80x
+   foreign key (appointment_id)
+   references appointment_entity;
+
+alter table if exists chat_channels
+   add constraint FK8udo5gdgr6sa26f23xm73sfqa
+   foreign key (doctor_id)
+   references healthcare_provider;
+
+alter table if exists chat_channels
+   add constraint FKkclj2fkonhyno9q9s4ics42cl
+   foreign key (patient_id)
+   references patient;
+
+alter table if exists chat_messages
+   add constraint FK7d773200rrat1tg8s6vw5g36f
+   foreign key (channel_id)
+   references chat_channels;
+
+alter table if exists chat_messages
+   add constraint FKgiqeap8ays4lf684x7m0r2729
+   foreign key (sender_id)
+   references users;
+
+alter table if exists comment_like
+   add constraint FK3hh54j8ev7l6qtu64u4yjb93s
+   foreign key (comment_id)
+   references medical_post_comment;
+
+alter table if exists comment_reply
+   add constraint FK19srq13a3t800u5nvhbk7drb4
+   foreign key (comment_id)
+   references medical_post_comment;
+
+alter table if exists comment_reply_like
+   add constraint FK8qkio92vviu0m3om2d34nyq93
+   foreign key (reply_id)
+   references comment_reply;
+
+alter table if exists day_availability
+   add constraint FKsn0lrq2vf58kw0firmop6u477
+   foreign key (provider_id)
+   references healthcare_provider;
+
+alter table if exists doctor_review
+   add constraint FKsqxitl6gy7acf9ymj4l99xpyw
+   foreign key (appointment_id)
+   references appointment_entity;
+
+alter table if exists doctor_review
+   add constraint FKccs9q8hl6nes0je69rcwgtrme
+   foreign key (doctor_id)
+   references healthcare_provider;
+
+alter table if exists doctor_review
+   add constraint FK2g4a4524hg7t6vkpv31iyrfx6
+   foreign key (patient_id)
+   references patient;
+
+alter table if exists education_history
+   add constraint FKpdyfm7f0gdo9x3gk4vwevn827
+   foreign key (provider_id)
+   references healthcare_provider;
+
+alter table if exists healthcare_provider
+   add constraint FK2wgccy55f107myqrjaapq0v39
+   foreign key (id)
+   references users;
+
+alter table if exists healthcare_provider_specializations
+   add constraint FK7gjgcc07ui1ue1riaoac6ntow
+   foreign key (healthcare_provider_id)
+   references healthcare_provider;
+
+alter table if exists laboratory_result
+   add constraint FKdtq5d24k6j01m4nhrqjolyp6h
+   foreign key (patient_id)
+   references patient;
+
+alter table if exists login_sessions
+   add constraint FKkpoyfbvelbgh15mdtfxl7dh82
+   foreign key (user_id)
+   references users;
+
+alter table if exists medical_post
+   add constraint FK97q2qg06rtev64drfsegpknrf
+   foreign key (provider_id)
+   references healthcare_provider;
+
+alter table if exists medical_post_comment
+   add constraint FKpogor89ytoq0hbl564whdwbov
+   foreign key (post_id)
+   references medical_post;
+
+alter table if exists medical_post_like
+   add constraint FK3jfnh895l24eoo6vvb0yuyagu
+   foreign key (post_id)
+   references medical_post;
+
+alter table if exists medical_post_rating
+   add constraint FKnkvydd1aoycj3i3e8hxwbips9
+   foreign key (post_id)
+   references medical_post;
+
+alter table if exists medical_post_rating
+   add constraint FKb12y74qr952tsp7sa1mxoh4bu
+   foreign key (provider_id)
+   references healthcare_provider;
+
+alter table if exists medical_post_report
+   add constraint FKh10yq7do494hdl8vd6iu2llm7
+   foreign key (post_id)
+   references medical_post;
+
+alter table if exists medical_record
+   add constraint FKooecutoidf8vs8sxrqqljiogo
+   foreign key (appointment_id)
+   references appointment_entity;
+
+alter table if exists medical_record
+   add constraint FKt0lf3feuiurr73bpln2n6x0v
+   foreign key (patient_id)
+   references patient;
+
+alter table if exists medical_record
+   add constraint FKasik6oa9al6f25flopyrrlg6m
+   foreign key (provider_id)
+   references healthcare_provider;
+
+alter table if exists medication
+   add constraint FKt1rgak6o7ydl3dm8fkja3q0pt
+   foreign key (patient_id)
+   references patient;
+
+alter table if exists mental_health_medication
+   add constraint FKfv4msij5b0ty9tlpjqj9iylsn
+   foreign key (patient_id)
+   references patient;
+
+alter table if exists notifications
+   add constraint FK4sd9fik0uthbk6d9rsxco4uja
+   foreign key (actor_id)
+   references users;
+
+alter table if exists notifications
+   add constraint FK48qm8mwsaqicvqv4k9l0xq6fk
+   foreign key (comment_id)
+   references medical_post_comment;
+
+alter table if exists notifications
+   add constraint FKj118beap0g1qloq432b681hcj
+   foreign key (post_id)
+   references medical_post;
+
+alter table if exists notifications
+   add constraint FKqqnsjxlwleyjbxlmm213jaj3f
+   foreign key (recipient_id)
+   references users;
+
+alter table if exists patient
+   add constraint FKf0or75ex3abs31ottuqg8s301
+   foreign key (id)
+   references users;
+
+alter table if exists provider_availability
+   add constraint FKps3x9ili1690kpobgct6cqka0
+   foreign key (healthcare_provider_id)
+   references healthcare_provider;
+
+alter table if exists provider_insurance
+   add constraint FKlljd3v342iyvb7ihcirx1t3nr
+   foreign key (healthcare_provider_id)
+   references healthcare_provider;
+
+alter table if exists user_notification_preferences
+   add constraint FKjqii7bt0v7fyg56obr7nio4ax
+   foreign key (user_id)
+   references users;
+
+alter table if exists user_privacy_settings
+   add constraint FKbjtqm30tcrdxb0dvtods9agbu
+   foreign key (user_id)
+   references users;
+
+alter table if exists work_experience
+   add constraint FKbwf03mhvhd6immkhhnu9nmgn0
+   foreign key (provider_id)
+   references healthcare_provider;
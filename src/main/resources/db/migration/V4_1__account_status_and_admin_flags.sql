@@ -0,0 +1,14 @@
+-- Account status and admin moderation flags, previously added at startup by DatabaseSchemaPatcher.
+-- Databases baselined at V1 may predate these columns; V5 indexes them.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS account_status VARCHAR(32) DEFAULT 'ACTIVE';
+UPDATE users SET account_status = 'ACTIVE' WHERE account_status IS NULL;
+
+ALTER TABLE healthcare_provider ADD COLUMN IF NOT EXISTS admin_flagged BOOLEAN DEFAULT false;
+ALTER TABLE healthcare_provider ADD COLUMN IF NOT EXISTS admin_flag_reason TEXT;
+ALTER TABLE healthcare_provider ADD COLUMN IF NOT EXISTS admin_flagged_at TIMESTAMP;
+UPDATE healthcare_provider SET admin_flagged = false WHERE admin_flagged IS NULL;
+
+ALTER TABLE patient ADD COLUMN IF NOT EXISTS admin_flagged BOOLEAN DEFAULT false;
+ALTER TABLE patient ADD COLUMN IF NOT EXISTS admin_flag_reason TEXT;
+ALTER TABLE patient ADD COLUMN IF NOT EXISTS admin_flagged_at TIMESTAMP;
+UPDATE patient SET admin_flagged = false WHERE admin_flagged IS NULL;
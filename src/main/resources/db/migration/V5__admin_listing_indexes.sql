@@ -0,0 +1,5 @@
+-- Indexes backing the admin doctor/patient listings (status filter, flag filter, newest-first paging)
+CREATE INDEX IF NOT EXISTS idx_users_account_status ON users (account_status, id);
+CREATE INDEX IF NOT EXISTS idx_users_registration_date ON users (registration_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_healthcare_provider_admin_flagged ON healthcare_provider (admin_flagged, id);
+CREATE INDEX IF NOT EXISTS idx_patient_admin_flagged ON patient (admin_flagged, id);
@@ -0,0 +1,2 @@
+-- Supports the admin moderation queue: per-post report counts and latest report time
+CREATE INDEX IF NOT EXISTS idx_medical_post_report_post_created ON medical_post_report (post_id, created_at);
@@ -0,0 +1,9 @@
+-- Foreign-key indexes used by the bulk post deletion path (and by per-post lookups)
+CREATE INDEX IF NOT EXISTS idx_medical_post_comment_post_id ON medical_post_comment (post_id);
+CREATE INDEX IF NOT EXISTS idx_medical_post_like_post_id ON medical_post_like (post_id);
+CREATE INDEX IF NOT EXISTS idx_medical_post_rating_post_id ON medical_post_rating (post_id);
+CREATE INDEX IF NOT EXISTS idx_comment_like_comment_id ON comment_like (comment_id);
+CREATE INDEX IF NOT EXISTS idx_comment_reply_comment_id ON comment_reply (comment_id);
+CREATE INDEX IF NOT EXISTS idx_comment_reply_like_reply_id ON comment_reply_like (reply_id);
+CREATE INDEX IF NOT EXISTS idx_notifications_post_id ON notifications (post_id);
+CREATE INDEX IF NOT EXISTS idx_notifications_comment_id ON notifications (comment_id);
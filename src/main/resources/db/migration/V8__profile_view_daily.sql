@@ -0,0 +1,17 @@
+-- Daily profile view buckets, written in batches by the in-memory view counter
+CREATE TABLE IF NOT EXISTS profile_view_daily (
+    id BIGSERIAL PRIMARY KEY,
+    doctor_id BIGINT NOT NULL,
+    view_date DATE NOT NULL,
+    view_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_profile_view_daily_doctor_date UNIQUE (doctor_id, view_date)
+);
+
+-- Carry over the per-view rows recorded before bucketing
+INSERT INTO profile_view_daily (doctor_id, view_date, view_count)
+SELECT doctor_id, CAST(viewed_at AS DATE), COUNT(*)
+FROM profile_views
+GROUP BY doctor_id, CAST(viewed_at AS DATE)
+ON CONFLICT (doctor_id, view_date) DO NOTHING;
+
+COMMENT ON TABLE profile_view_daily IS 'Profile views per doctor per day';
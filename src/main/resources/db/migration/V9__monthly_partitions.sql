@@ -0,0 +1,89 @@
+-- Monthly range partitioning for the append-heavy activity, session, view and notification tables.
+-- PartitionRetentionManager keeps future partitions created and drops whole partitions past retention.
+-- Partitions are named <table>_pYYYY_MM; a <table>_default partition catches anything outside them.
+
+CREATE OR REPLACE FUNCTION mc_create_month_partition(p_table text, p_month date) RETURNS void AS $$
+DECLARE
+    v_from date := date_trunc('month', p_month)::date;
+    v_to   date := (date_trunc('month', p_month) + interval '1 month')::date;
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   p_table || '_p' || to_char(v_from, 'YYYY_MM'), p_table, v_from, v_to);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Rebuilds p_table as a table partitioned by month on p_column, keeping its rows and id sequence.
+-- Foreign keys, unique constraints and indexes are re-created per table below.
+CREATE OR REPLACE FUNCTION mc_partition_by_month(p_table text, p_column text) RETURNS void AS $$
+DECLARE
+    v_legacy   text := p_table || '_unpartitioned';
+    v_sequence text := p_table || '_part_id_seq';
+    v_first    date;
+    v_month    date;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid
+               WHERE c.relname = p_table) THEN
+        RETURN;
+    END IF;
+
+    EXECUTE format('ALTER TABLE %I RENAME TO %I', p_table, v_legacy);
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY RANGE (%I)',
+                   p_table, v_legacy, p_column);
+
+    -- Identity columns are not allowed on partitioned tables before PostgreSQL 17; use a plain sequence
+    EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I OWNED BY %I.id', v_sequence, p_table);
+    EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', p_table, v_sequence);
+    EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 1, false)', v_sequence, v_legacy);
+
+    -- The legacy table still holds <table>_pkey until it is dropped, so use a distinct name
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I PRIMARY KEY (id, %I)', p_table, p_table || '_part_pkey', p_column);
+
+    EXECUTE format('SELECT date_trunc(''month'', MIN(%I))::date FROM %I', p_column, v_legacy) INTO v_first;
+    v_month := LEAST(COALESCE(v_first, CURRENT_DATE), CURRENT_DATE);
+    WHILE v_month <= (CURRENT_DATE + interval '3 months')::date LOOP
+        PERFORM mc_create_month_partition(p_table, v_month);
+        v_month := (v_month + interval '1 month')::date;
+    END LOOP;
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I DEFAULT', p_table || '_default', p_table);
+
+    EXECUTE format('INSERT INTO %I SELECT * FROM %I', p_table, v_legacy);
+    EXECUTE format('DROP TABLE %I', v_legacy);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Adds a constraint unless p_table already has one named p_name, so this script can be re-run
+-- against a database that was partitioned before it was baselined.
+CREATE OR REPLACE FUNCTION mc_add_constraint(p_table text, p_name text, p_definition text) RETURNS void AS $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = p_table::regclass AND conname = p_name) THEN
+        EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I %s', p_table, p_name, p_definition);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- account_activities, by activity timestamp
+SELECT mc_partition_by_month('account_activities', 'timestamp');
+SELECT mc_add_constraint('account_activities', 'fk_account_activities_user', 'FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE');
+CREATE INDEX IF NOT EXISTS idx_account_activities_user_id ON account_activities (user_id, timestamp DESC);
+CREATE INDEX IF NOT EXISTS idx_account_activities_type ON account_activities (type);
+
+-- login_sessions, by login time; token uniqueness must include the partition key
+SELECT mc_partition_by_month('login_sessions', 'login_time');
+SELECT mc_add_constraint('login_sessions', 'fk_login_sessions_user', 'FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE');
+SELECT mc_add_constraint('login_sessions', 'unique_session_token', 'UNIQUE (session_token, login_time)');
+CREATE INDEX IF NOT EXISTS idx_login_sessions_user_id ON login_sessions (user_id, login_time DESC);
+CREATE INDEX IF NOT EXISTS idx_login_sessions_is_active ON login_sessions (is_active);
+
+-- profile_views, by view time (legacy raw rows; new views go to profile_view_daily)
+SELECT mc_partition_by_month('profile_views', 'viewed_at');
+CREATE INDEX IF NOT EXISTS idx_profile_views_doctor_id ON profile_views (doctor_id, viewed_at);
+
+-- notifications, by creation time
+SELECT mc_partition_by_month('notifications', 'created_at');
+SELECT mc_add_constraint('notifications', 'fk_notifications_recipient', 'FOREIGN KEY (recipient_id) REFERENCES users(id)');
+SELECT mc_add_constraint('notifications', 'fk_notifications_actor', 'FOREIGN KEY (actor_id) REFERENCES users(id)');
+SELECT mc_add_constraint('notifications', 'fk_notifications_post', 'FOREIGN KEY (post_id) REFERENCES medical_post(id)');
+SELECT mc_add_constraint('notifications', 'fk_notifications_comment', 'FOREIGN KEY (comment_id) REFERENCES medical_post_comment(id)');
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient ON notifications (recipient_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_notifications_post_id ON notifications (post_id);
+CREATE INDEX IF NOT EXISTS idx_notifications_comment_id ON notifications (comment_id);
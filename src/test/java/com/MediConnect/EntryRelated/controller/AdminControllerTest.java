@@ -0,0 +1,59 @@
+package com.MediConnect.EntryRelated.controller;
+
+import com.MediConnect.EntryRelated.entities.Users;
+import com.MediConnect.Repos.UserRepo;
+import com.MediConnect.Service.UserService;
+import com.MediConnect.config.password.PasswordHashingBusyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class AdminControllerTest {
+
+    private static final String LOGIN = "{\"username\":\"admin\",\"password\":\"secret\"}";
+
+    private final UserService userService = mock(UserService.class);
+    private final UserRepo userRepo = mock(UserRepo.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setup() {
+        Users admin = new Users();
+        admin.setUsername("admin");
+        admin.setRole("ADMIN");
+        when(userRepo.findByUsername("admin")).thenReturn(Optional.of(admin));
+        mockMvc = MockMvcBuilders.standaloneSetup(new AdminController(userService, userRepo)).build();
+    }
+
+    @Test
+    public void testLoginReturnsToken() throws Exception {
+        when(userService.authenticate("admin", "secret")).thenReturn("jwt");
+
+        mockMvc.perform(post("/admin/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("jwt"));
+    }
+
+    @Test
+    public void testBusyHashingPoolReturns503WithRetryAfter() throws Exception {
+        when(userService.authenticate("admin", "secret"))
+                .thenThrow(new PasswordHashingBusyException("Login is busy, please retry shortly", 2));
+
+        mockMvc.perform(post("/admin/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status").value("error"))
+                .andExpect(jsonPath("$.message").value("Login is busy, please retry shortly"));
+    }
+}
@@ -0,0 +1,256 @@
+package com.MediConnect.EntryRelated.controller;
+
+import com.MediConnect.EntryRelated.service.appointment.AppointmentService;
+import com.MediConnect.EntryRelated.service.appointment.impl.AppointmentServiceImpl;
+import com.MediConnect.config.JWTService;
+import com.MediConnect.socialmedia.service.ChatService;
+import com.MediConnect.socialmedia.service.NotificationService;
+import com.MediConnect.support.TestDatabase;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the paged appointment lists and the on-demand medical records on PostgreSQL and checks
+ * them against the full lists they replace. Rows roll back after each test.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AppointmentServiceImpl.class)
+public class AppointmentControllerTest {
+
+    private static final String PATIENT_TOKEN = "patient-token";
+    private static final String DOCTOR_TOKEN = "doctor-token";
+    private static final TypeReference<Map<String, Object>> JSON_MAP = new TypeReference<>() {
+    };
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @MockitoBean
+    private JWTService jwtService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private ChatService chatService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MockMvc mockMvc;
+
+    private int shared;
+    private int notShared;
+    private int otherPatientShared;
+    private int cancelled;
+
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new AppointmentController(appointmentService)).build();
+        when(jwtService.extractUserName(PATIENT_TOKEN)).thenReturn("records-patient");
+        when(jwtService.extractUserName(DOCTOR_TOKEN)).thenReturn("records-doctor");
+
+        long doctor = user("records-doctor", "Gregory", "House", "HEALTHPROVIDER");
+        jdbcTemplate.update("UPDATE users SET phone_number = '+1 555 0199', profile_picture = 'https://img/house.png' WHERE id = ?", doctor);
+        jdbcTemplate.update("INSERT INTO healthcare_provider (id, clinic_name) VALUES (?, 'Princeton')", doctor);
+        jdbcTemplate.update("INSERT INTO healthcare_provider_specializations (healthcare_provider_id, specialization) VALUES (?, 'NEUROLOGY')", doctor);
+
+        long patient = user("records-patient", "Lisa", "Cuddy", "PATIENT");
+        jdbcTemplate.update("UPDATE users SET phone_number = '+1 555 0100', gender = 'FEMALE', date_of_birth = '1980-06-15' WHERE id = ?", patient);
+        jdbcTemplate.update("INSERT INTO patient (id, blood_type, allergies, height, weight, smoking_status, insurance_provider, insurance_number) " +
+                "VALUES (?, 'O_NEGATIVE', 'penicillin', 170.5, 60.0, 'Never_Smoked', 'Aetna', 'AET-1')", patient);
+        jdbcTemplate.update("INSERT INTO medication (patient_id, medication_name, medication_dosage, medication_frequency, " +
+                "medication_start_date, in_use) VALUES (?, 'Ibuprofen', '200mg', 'daily', '2026-01-10', true)", patient);
+        jdbcTemplate.update("INSERT INTO mental_health_medication (patient_id, medication_name, medication_dosage, medication_frequency, " +
+                "medication_end_date, in_use) VALUES (?, 'Sertraline', '50mg', 'daily', '2026-02-01', false)", patient);
+        jdbcTemplate.update("INSERT INTO laboratory_result (patient_id, description, image, result_url) VALUES (?, 'x-ray', ?, 'https://lab/1')",
+                patient, new byte[]{1, 2, 3});
+        jdbcTemplate.update("INSERT INTO laboratory_result (patient_id, description, image) VALUES (?, 'blood panel', NULL)", patient);
+        jdbcTemplate.update("INSERT INTO laboratory_result (patient_id, description, image) VALUES (?, 'empty scan', ?)", patient, new byte[0]);
+
+        long otherPatient = user("records-other", "James", "Wilson", "PATIENT");
+        jdbcTemplate.update("INSERT INTO patient (id) VALUES (?)", otherPatient);
+
+        shared = appointment(patient, doctor, "2026-03-01T09:30:00Z", "CONFIRMED", true, "Headache", "Take rest");
+        notShared = appointment(patient, doctor, "2026-03-05T14:00:00Z", "COMPLETED", false, null, null);
+        cancelled = appointment(patient, doctor, "2026-04-01T08:00:00Z", "CANCELLED", false, "Checkup", null);
+        otherPatientShared = appointment(otherPatient, doctor, "2026-03-02T10:00:00Z", "PENDING", true, "Follow-up", null);
+    }
+
+    private long user(String username, String firstName, String lastName, String role) {
+        return jdbcTemplate.queryForObject("INSERT INTO users (account_status, email, first_name, last_name, password, role, username) " +
+                "VALUES ('ACTIVE', ?, ?, ?, 'x', ?, ?) RETURNING id", Long.class, username + "@example.com", firstName, lastName, role, username);
+    }
+
+    private int appointment(long patient, long doctor, String at, String status, boolean shareRecords, String reason, String notes) {
+        return jdbcTemplate.queryForObject("INSERT INTO appointment_entity (patient_id, provider_id, appointment_date_time, created_at, " +
+                        "status, share_medical_records, reason, notes, is_video_call, is_call_active, reminder_24h_sent) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, true, false, false) RETURNING id", Integer.class,
+                patient, doctor, Timestamp.from(Instant.parse(at)), Timestamp.from(Instant.parse("2026-02-01T12:00:00Z")),
+                status, shareRecords, reason, notes);
+    }
+
+    private Map<String, Object> call(MockHttpServletRequestBuilder request, String token) throws Exception {
+        String body = mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, JSON_MAP);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> data(Map<String, Object> response) {
+        return (List<Map<String, Object>>) response.get("data");
+    }
+
+    private static List<Object> ids(Map<String, Object> response) {
+        return data(response).stream().map(row -> row.get("id")).toList();
+    }
+
+    /**
+     * Legacy list rows by id, without the inline medical records the paged list leaves out.
+     */
+    private static Map<Object, Map<String, Object>> withoutRecords(List<Map<String, Object>> rows) {
+        Map<Object, Map<String, Object>> byId = new TreeMap<>(Comparator.comparing(String::valueOf));
+        for (Map<String, Object> row : rows) {
+            Map<String, Object> copy = new HashMap<>(row);
+            copy.remove("medicalRecords");
+            byId.put(row.get("id"), copy);
+        }
+        return byId;
+    }
+
+    /**
+     * Sorts the record lists by id; the legacy lists come from unordered entity collections.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> normalized(Object records) {
+        Map<String, Object> copy = new HashMap<>((Map<String, Object>) records);
+        for (String list : List.of("medications", "mentalHealthMedications", "labResults")) {
+            List<Map<String, Object>> sorted = new ArrayList<>((List<Map<String, Object>>) copy.get(list));
+            sorted.sort(Comparator.comparing(row -> ((Number) row.get("id")).longValue()));
+            copy.put(list, sorted);
+        }
+        return copy;
+    }
+
+    @Test
+    public void testPatientPageMatchesTheLegacyListRows() throws Exception {
+        Map<String, Object> legacy = call(get("/appointments/patient"), PATIENT_TOKEN);
+        Map<String, Object> page = call(get("/appointments/patient/page").param("size", "100"), PATIENT_TOKEN);
+
+        assertEquals(withoutRecords(data(legacy)), withoutRecords(data(page)));
+        assertEquals(List.of(cancelled, notShared, shared), ids(page));
+        Map<String, Object> first = data(page).get(2);
+        assertEquals("NEUROLOGY", first.get("doctorSpecialty"));
+        assertEquals("2026-03-01", first.get("date"));
+        assertEquals("09:30", first.get("time"));
+        assertEquals(3, page.get("totalElements"));
+        assertEquals(false, page.get("hasNext"));
+    }
+
+    @Test
+    public void testDoctorPageMatchesTheLegacyListRows() throws Exception {
+        Map<String, Object> legacy = call(get("/appointments/doctor"), DOCTOR_TOKEN);
+        Map<String, Object> page = call(get("/appointments/doctor/page").param("size", "100"), DOCTOR_TOKEN);
+
+        assertEquals(withoutRecords(data(legacy)), withoutRecords(data(page)));
+        assertEquals(4, page.get("totalElements"));
+    }
+
+    @Test
+    public void testPageFiltersByStatusAndDateRangeAndPagesInOrder() throws Exception {
+        Map<String, Object> march = call(get("/appointments/doctor/page")
+                .param("status", "pending, confirmed,COMPLETED")
+                .param("from", "2026-03-01")
+                .param("to", "2026-03-02")
+                .param("direction", "asc")
+                .param("size", "1")
+                .param("page", "1"), DOCTOR_TOKEN);
+
+        // The to date includes that whole day; cancelled and April are filtered out
+        assertEquals(List.of(otherPatientShared), ids(march));
+        assertEquals(2, march.get("totalElements"));
+        assertEquals(2, march.get("totalPages"));
+        assertEquals(1, march.get("currentPage"));
+        assertEquals(false, march.get("hasNext"));
+
+        Map<String, Object> beforeNoon = call(get("/appointments/patient/page")
+                .param("to", "2026-03-05T14:00:00Z"), PATIENT_TOKEN);
+        assertEquals(List.of(shared), ids(beforeNoon));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMedicalRecordsMatchTheLegacyRecordsIncludingLabImages() throws Exception {
+        Map<String, Object> legacyRow = data(call(get("/appointments/patient"), PATIENT_TOKEN)).stream()
+                .filter(row -> row.get("id").equals(shared)).findFirst().orElseThrow();
+
+        Map<String, Object> records = (Map<String, Object>) call(get("/appointments/medical-records")
+                .param("appointmentIds", shared + "," + notShared + "," + otherPatientShared), PATIENT_TOKEN).get("data");
+
+        // Only the patient's own appointment that shares records
+        assertEquals(List.of(String.valueOf(shared)), List.copyOf(records.keySet()));
+        Map<String, Object> sharedRecords = normalized(records.get(String.valueOf(shared)));
+        assertEquals(normalized(legacyRow.get("medicalRecords")), sharedRecords);
+
+        List<Map<String, Object>> labs = (List<Map<String, Object>>) sharedRecords.get("labResults");
+        assertEquals(List.of(true, false, false), labs.stream().map(lab -> lab.get("hasImage")).toList());
+        assertEquals(List.of(3, 0, 0), labs.stream().map(lab -> lab.get("imageSize")).toList());
+        assertEquals("1980-06-15", sharedRecords.get("dateOfBirth"));
+
+        Map<String, Object> doctorRecords = (Map<String, Object>) call(get("/appointments/medical-records")
+                .param("appointmentIds", shared + "," + notShared + "," + otherPatientShared), DOCTOR_TOKEN).get("data");
+        assertEquals(List.of(String.valueOf(shared), String.valueOf(otherPatientShared)),
+                doctorRecords.keySet().stream().sorted(Comparator.comparing(Integer::valueOf)).toList());
+    }
+
+    @Test
+    public void testRejectsMissingTokenAndBadParameters() throws Exception {
+        mockMvc.perform(get("/appointments/patient/page")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/appointments/doctor/page")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/appointments/medical-records").param("appointmentIds", "1")).andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/appointments/patient/page").param("status", "lost")
+                .header("Authorization", "Bearer " + PATIENT_TOKEN)).andExpect(status().isBadRequest());
+        List<String> tooMany = new ArrayList<>();
+        for (int id = 1; id <= 101; id++) {
+            tooMany.add(String.valueOf(id));
+        }
+        mockMvc.perform(get("/appointments/medical-records").param("appointmentIds", String.join(",", tooMany))
+                .header("Authorization", "Bearer " + PATIENT_TOKEN)).andExpect(status().isBadRequest());
+    }
+}
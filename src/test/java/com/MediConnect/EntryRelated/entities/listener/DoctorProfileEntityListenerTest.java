@@ -0,0 +1,176 @@
+package com.MediConnect.EntryRelated.entities.listener;
+
+import com.MediConnect.EntryRelated.entities.DayAvailability;
+import com.MediConnect.EntryRelated.entities.EducationHistory;
+import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.MediConnect.EntryRelated.entities.UserPrivacySettings;
+import com.MediConnect.EntryRelated.entities.WorkExperience;
+import com.MediConnect.EntryRelated.service.profile.DoctorProfileChangedEvent;
+import com.MediConnect.EntryRelated.service.profile.PublicProfileCache;
+import com.MediConnect.support.TestDatabase;
+import com.MediConnect.support.TestRedis;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that writes to each public-profile entity reach the public profile cache, from the
+ * Hibernate callback to the eviction after commit.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@RecordApplicationEvents
+@Import({PublicProfileCache.class, DoctorProfileEntityListenerTest.RedisConfig.class})
+public class DoctorProfileEntityListenerTest {
+
+    @TestConfiguration
+    static class RedisConfig {
+        @Bean
+        StringRedisTemplate stringRedisTemplate() {
+            return TestRedis.stringRedisTemplate();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private PublicProfileCache publicProfileCache;
+
+    private long doctorId;
+
+    @BeforeEach
+    public void setup() {
+        TestRedis.flushAll();
+        doctorId = jdbcTemplate.queryForObject("INSERT INTO users (account_status, email, first_name, last_name, password, role, username) " +
+                "VALUES ('ACTIVE', 'listener@example.com', 'Listener', 'Test', 'x', 'HEALTHPROVIDER', 'listener-test') RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO healthcare_provider (id) VALUES (?)", doctorId);
+    }
+
+    private HealthcareProvider doctor() {
+        return entityManager.find(HealthcareProvider.class, doctorId);
+    }
+
+    private List<Long> changedDoctors() {
+        return events.stream(DoctorProfileChangedEvent.class).map(DoctorProfileChangedEvent::doctorId).toList();
+    }
+
+    /**
+     * Persists, updates and removes {@code entity}, flushing after each step, and expects one event per step.
+     */
+    private <T> void assertEachWritePublishes(T entity, Consumer<T> update) {
+        entityManager.persist(entity);
+        entityManager.flush();
+        assertEquals(List.of(doctorId), changedDoctors(), "persist");
+
+        update.accept(entity);
+        entityManager.flush();
+        assertEquals(List.of(doctorId, doctorId), changedDoctors(), "update");
+
+        entityManager.remove(entity);
+        entityManager.flush();
+        assertEquals(List.of(doctorId, doctorId, doctorId), changedDoctors(), "remove");
+    }
+
+    @Test
+    public void testDayAvailabilityWritesPublishTheDoctor() {
+        DayAvailability availability = new DayAvailability();
+        availability.setProvider(doctor());
+        availability.setDayOfWeek("Monday");
+        availability.setStartTime("09:00");
+        availability.setEndTime("17:00");
+
+        assertEachWritePublishes(availability, day -> day.setEndTime("13:00"));
+    }
+
+    @Test
+    public void testEducationHistoryWritesPublishTheDoctor() {
+        EducationHistory education = new EducationHistory();
+        education.setProvider(doctor());
+        education.setInstitutionName("Medical School");
+
+        assertEachWritePublishes(education, entry -> entry.setStillEnrolled(true));
+    }
+
+    @Test
+    public void testWorkExperienceWritesPublishTheDoctor() {
+        WorkExperience experience = new WorkExperience();
+        experience.setProvider(doctor());
+        experience.setOrganizationName("General Hospital");
+
+        assertEachWritePublishes(experience, entry -> entry.setRoleTitle("Cardiologist"));
+    }
+
+    @Test
+    public void testPrivacySettingsWritesPublishTheUser() {
+        UserPrivacySettings settings = new UserPrivacySettings();
+        settings.setUser(doctor());
+
+        assertEachWritePublishes(settings, entry -> entry.setShowEmail(true));
+    }
+
+    @Test
+    public void testCachedProfileIsEvictedWhenTheTransactionCommits() {
+        Supplier<Map<String, Object>> loader = () -> Map.of("doctorId", doctorId);
+        publicProfileCache.get(doctorId, loader);
+        String dataKey = "public-profile:" + doctorId;
+        StringRedisTemplate redis = TestRedis.stringRedisTemplate();
+
+        try {
+            WorkExperience experience = new WorkExperience();
+            experience.setProvider(doctor());
+            experience.setOrganizationName("General Hospital");
+            entityManager.persist(experience);
+            entityManager.flush();
+
+            // Readers keep the cached copy until the write is visible to them
+            assertNotNull(redis.opsForValue().get(dataKey));
+            TestTransaction.flagForCommit();
+            TestTransaction.end();
+            assertNull(redis.opsForValue().get(dataKey));
+        } finally {
+            jdbcTemplate.update("DELETE FROM work_experience WHERE provider_id = ?", doctorId);
+            jdbcTemplate.update("DELETE FROM healthcare_provider WHERE id = ?", doctorId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", doctorId);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.MediConnect.EntryRelated.repository;
+
+import com.MediConnect.EntryRelated.dto.PrivacySettingsDTO;
+import com.MediConnect.EntryRelated.repository.UserPrivacySettingsRepository.PrivacySettingsView;
+import com.MediConnect.EntryRelated.service.PrivacySettingsService;
+import com.MediConnect.config.cache.CacheInvalidationPublisher;
+import com.MediConnect.config.cache.TieredCacheManager;
+import com.MediConnect.config.cache.TieredCacheProperties;
+import com.MediConnect.support.TestDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the bulk privacy projection and the service's batched lookup on PostgreSQL. Each test's rows roll back with its transaction.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PrivacySettingsService.class, UserPrivacySettingsRepositoryTest.CacheConfig.class})
+public class UserPrivacySettingsRepositoryTest {
+
+    @TestConfiguration
+    static class CacheConfig {
+        @Bean
+        CacheInvalidationPublisher cacheInvalidationPublisher() {
+            return mock(CacheInvalidationPublisher.class);
+        }
+
+        @Bean
+        TieredCacheManager tieredCacheManager(CacheInvalidationPublisher publisher) {
+            return new TieredCacheManager(mock(RedisCacheManager.class), new TieredCacheProperties(), publisher,
+                    new SimpleMeterRegistry());
+        }
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private UserPrivacySettingsRepository privacySettingsRepository;
+
+    @Autowired
+    private PrivacySettingsService privacySettingsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private long privateDoctor;
+    private long publicPatient;
+    private long withoutSettings;
+
+    @BeforeEach
+    public void setup() {
+        privateDoctor = user("privacy-doctor", "HEALTHPROVIDER");
+        publicPatient = user("privacy-patient", "PATIENT");
+        withoutSettings = user("privacy-none", "PATIENT");
+        settings(privateDoctor, "private", true);
+        settings(publicPatient, "public", false);
+    }
+
+    private long user(String username, String role) {
+        return jdbcTemplate.queryForObject("INSERT INTO users (account_status, email, first_name, last_name, password, role, username) " +
+                "VALUES ('ACTIVE', ?, 'Privacy', 'Test', 'x', ?, ?) RETURNING id", Long.class, username + "@example.com", role, username);
+    }
+
+    private void settings(long userId, String visibility, boolean showEmail) {
+        jdbcTemplate.update("INSERT INTO user_privacy_settings (user_id, profile_visibility, show_email, show_phone, show_address, " +
+                "show_medical_history, created_at, updated_at) VALUES (?, ?, ?, true, false, false, now(), now())",
+                userId, visibility, showEmail);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private int settingsRows() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM user_privacy_settings WHERE user_id IN (?, ?, ?)",
+                Integer.class, privateDoctor, publicPatient, withoutSettings);
+    }
+
+    @Test
+    public void testProjectionReturnsOnlyStoredSettings() {
+        Map<Long, PrivacySettingsView> views = privacySettingsRepository
+                .findViewsByUserIdIn(List.of(privateDoctor, publicPatient, withoutSettings)).stream()
+                .collect(Collectors.toMap(PrivacySettingsView::getUserId, Function.identity()));
+
+        assertEquals(Set.of(privateDoctor, publicPatient), views.keySet());
+        PrivacySettingsView doctor = views.get(privateDoctor);
+        assertEquals("private", doctor.getProfileVisibility());
+        assertTrue(doctor.getShowEmail());
+        assertTrue(doctor.getShowPhone());
+        assertFalse(doctor.getShowAddress());
+        assertFalse(doctor.getShowMedicalHistory());
+        assertEquals("public", views.get(publicPatient).getProfileVisibility());
+    }
+
+    @Test
+    public void testBulkLookupResolvesSeveralUsersInOneQueryWithDefaultsForMissingRows() {
+        Statistics statistics = statistics();
+
+        Map<Long, PrivacySettingsDTO> settings = privacySettingsService.getPrivacySettingsByUserIds(
+                Arrays.asList(privateDoctor, publicPatient, withoutSettings, privateDoctor, null));
+
+        assertEquals(1, statistics.getQueryExecutionCount());
+        assertEquals(Set.of(privateDoctor, publicPatient, withoutSettings), settings.keySet());
+        assertEquals("private", settings.get(privateDoctor).getProfileVisibility());
+        assertTrue(settings.get(privateDoctor).getShowEmail());
+        assertEquals("public", settings.get(publicPatient).getProfileVisibility());
+        assertFalse(settings.get(publicPatient).getShowEmail());
+        // A user without a row gets the defaults, and reading does not create the row
+        PrivacySettingsDTO defaults = settings.get(withoutSettings);
+        assertEquals("public", defaults.getProfileVisibility());
+        assertFalse(defaults.getShowEmail());
+        assertFalse(defaults.getShowPhone());
+        assertEquals(2, settingsRows());
+    }
+
+    @Test
+    public void testBulkLookupQueriesOnlyTheUsersNotCached() {
+        privacySettingsService.getPrivacySettingsByUserIds(List.of(privateDoctor));
+        // Changed behind the service's back, so a cached copy is recognisable by its old value
+        jdbcTemplate.update("UPDATE user_privacy_settings SET profile_visibility = 'public' WHERE user_id = ?", privateDoctor);
+        jdbcTemplate.update("UPDATE user_privacy_settings SET profile_visibility = 'private' WHERE user_id = ?", publicPatient);
+        Statistics statistics = statistics();
+
+        Map<Long, PrivacySettingsDTO> settings = privacySettingsService.getPrivacySettingsByUserIds(
+                List.of(privateDoctor, publicPatient, withoutSettings));
+
+        assertEquals(1, statistics.getQueryExecutionCount());
+        assertEquals("private", settings.get(privateDoctor).getProfileVisibility());
+        assertEquals("private", settings.get(publicPatient).getProfileVisibility());
+        assertEquals("public", settings.get(withoutSettings).getProfileVisibility());
+
+        // Everything is cached now, including the defaults
+        statistics.clear();
+        privacySettingsService.getPrivacySettingsByUserIds(List.of(privateDoctor, publicPatient, withoutSettings));
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertFalse(privacySettingsService.isProfilePublicByUserId(publicPatient));
+        assertEquals(0, statistics.getQueryExecutionCount());
+        assertEquals(2, settingsRows());
+
+        // Callers get copies, so changing a result does not change the cache
+        settings.get(privateDoctor).setProfileVisibility("public");
+        assertFalse(privacySettingsService.isProfilePublicByUserId(privateDoctor));
+    }
+}
@@ -0,0 +1,199 @@
+package com.MediConnect.EntryRelated.service;
+
+import com.MediConnect.EntryRelated.entities.AccountActivity;
+import com.MediConnect.support.TestDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Drains the activity queue into PostgreSQL, including failed and rejected batches.
+ */
+public class ActivityEventPipelineTest {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0) Chrome/120.0";
+
+    private final JdbcTemplate database = TestDatabase.jdbcTemplate();
+    private final JdbcTemplate jdbcTemplate = spy(TestDatabase.jdbcTemplate());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private long userId;
+
+    @BeforeEach
+    public void setup() {
+        userId = database.queryForObject("INSERT INTO users (account_status, email, first_name, last_name, password, role, username) " +
+                "VALUES ('ACTIVE', 'pipeline@example.com', 'Pipeline', 'Test', 'x', 'PATIENT', 'pipeline-test') RETURNING id", Long.class);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        database.update("DELETE FROM account_activities WHERE user_id = ?", userId);
+        database.update("DELETE FROM login_sessions WHERE user_id = ?", userId);
+        database.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    private ActivityEventPipeline pipeline(int capacity, Duration retryFor) {
+        return new ActivityEventPipeline(jdbcTemplate, new DataSourceTransactionManager(TestDatabase.dataSource()),
+                meterRegistry, capacity, 100, retryFor);
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.counter("mediconnect.activity.dropped", "reason", reason).count();
+    }
+
+    private List<String> activityTypes() {
+        return database.queryForList("SELECT type FROM account_activities WHERE user_id = ? ORDER BY id", String.class, userId);
+    }
+
+    private Map<String, Object> session(String token) {
+        return database.queryForMap("SELECT * FROM login_sessions WHERE session_token = ?", token);
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    @Test
+    public void testDrainWritesSessionsThenActivitiesAndLogouts() {
+        ActivityEventPipeline pipeline = pipeline(100, Duration.ofMinutes(5));
+        LocalDateTime login = now();
+        pipeline.sessionStarted(userId, "pipeline-token-1", "10.0.0.1", USER_AGENT, login);
+        pipeline.activity(userId, AccountActivity.ActivityType.PASSWORD_CHANGE, "Password changed", "10.0.0.1", USER_AGENT, login);
+        pipeline.sessionEnded("pipeline-token-1", login.plusMinutes(1));
+
+        pipeline.drain();
+
+        Map<String, Object> session = session("pipeline-token-1");
+        assertEquals(false, session.get("is_active"));
+        assertEquals("Chrome", session.get("browser"));
+        assertEquals(Timestamp.valueOf(login.plusMinutes(1)), session.get("logout_time"));
+        assertEquals(List.of("LOGIN", "PASSWORD_CHANGE", "LOGOUT"), activityTypes());
+        assertEquals(0, pipeline.getQueuedEvents());
+    }
+
+    @Test
+    public void testQueuedSessionIsListedUntilItIsWritten() {
+        ActivityEventPipeline pipeline = pipeline(100, Duration.ofMinutes(5));
+        LocalDateTime login = now();
+        pipeline.sessionStarted(userId, "pipeline-token-1", "10.0.0.1", USER_AGENT, login);
+        pipeline.sessionStarted(userId + 1, "pipeline-other-user", "10.0.0.2", USER_AGENT, login);
+
+        List<ActivityEventPipeline.QueuedSession> queued = pipeline.queuedSessions(userId);
+        assertEquals(1, queued.size());
+        assertEquals("pipeline-token-1", queued.get(0).sessionToken());
+        assertNull(queued.get(0).logoutTime());
+
+        pipeline.sessionEnded("pipeline-token-1", login.plusMinutes(1));
+        assertEquals(login.plusMinutes(1), pipeline.queuedSessions(userId).get(0).logoutTime());
+
+        pipeline.drain();
+        assertTrue(pipeline.queuedSessions(userId).isEmpty());
+    }
+
+    @Test
+    public void testBatchIsRetriedWhileTheDatabaseIsUnavailable() {
+        ActivityEventPipeline pipeline = pipeline(100, Duration.ofMinutes(5));
+        doThrow(new DataAccessResourceFailureException("Connection refused"))
+                .doCallRealMethod()
+                .when(jdbcTemplate).batchUpdate(startsWith("INSERT INTO account_activities"), anyList());
+        pipeline.sessionStarted(userId, "pipeline-token-1", "10.0.0.1", USER_AGENT, now());
+
+        pipeline.drain();
+
+        // Rolled back with the batch, and still listed for the session page
+        assertEquals(0, database.queryForObject("SELECT count(*) FROM login_sessions WHERE user_id = ?", Integer.class, userId));
+        assertEquals(1, pipeline.queuedSessions(userId).size());
+        assertEquals(1.0, meterRegistry.counter("mediconnect.activity.retried").count());
+
+        pipeline.activity(userId, AccountActivity.ActivityType.PROFILE_UPDATE, "Profile updated", null, null, now());
+        pipeline.drain();
+
+        assertEquals(true, session("pipeline-token-1").get("is_active"));
+        assertEquals(List.of("LOGIN", "PROFILE_UPDATE"), activityTypes());
+        assertTrue(pipeline.queuedSessions(userId).isEmpty());
+        assertEquals(0, pipeline.getDroppedEvents());
+    }
+
+    @Test
+    public void testBatchIsDroppedAndCountedOnceTheRetryPeriodIsOver() {
+        ActivityEventPipeline pipeline = pipeline(100, Duration.ZERO);
+        doThrow(new DataAccessResourceFailureException("Connection refused"))
+                .when(jdbcTemplate).batchUpdate(startsWith("INSERT INTO login_sessions"), anyList());
+        pipeline.sessionStarted(userId, "pipeline-token-1", "10.0.0.1", USER_AGENT, now());
+        pipeline.sessionStarted(userId, "pipeline-token-2", "10.0.0.1", USER_AGENT, now());
+
+        pipeline.drain();
+
+        assertEquals(2.0, dropped("write-failed"));
+        assertTrue(pipeline.queuedSessions(userId).isEmpty());
+
+        doCallRealMethod().when(jdbcTemplate).batchUpdate(startsWith("INSERT INTO login_sessions"), anyList());
+        pipeline.sessionStarted(userId, "pipeline-token-3", "10.0.0.1", USER_AGENT, now());
+        pipeline.drain();
+        assertEquals(true, session("pipeline-token-3").get("is_active"));
+    }
+
+    @Test
+    public void testRejectedBatchDropsOnlyTheOffendingEvent() {
+        ActivityEventPipeline pipeline = pipeline(100, Duration.ofMinutes(5));
+        pipeline.sessionStarted(userId, "pipeline-token-1", "10.0.0.1", USER_AGENT, now());
+        // The user was deleted between the request and the drain
+        pipeline.activity(-1L, AccountActivity.ActivityType.PROFILE_UPDATE, "Profile updated", null, null, now());
+        pipeline.activity(userId, AccountActivity.ActivityType.PROFILE_UPDATE, "Profile updated", null, null, now());
+
+        pipeline.drain();
+
+        assertEquals(true, session("pipeline-token-1").get("is_active"));
+        assertEquals(List.of("LOGIN", "PROFILE_UPDATE"), activityTypes());
+        assertEquals(1.0, dropped("write-failed"));
+    }
+
+    @Test
+    public void testFullQueueDropsNewEventsAndCountsThem() {
+        ActivityEventPipeline pipeline = pipeline(1, Duration.ofMinutes(5));
+        pipeline.activity(userId, AccountActivity.ActivityType.PROFILE_UPDATE, "Profile updated", null, null, now());
+        pipeline.sessionStarted(userId, "pipeline-token-1", "10.0.0.1", USER_AGENT, now());
+
+        assertEquals(1.0, dropped("queue-full"));
+        assertTrue(pipeline.queuedSessions(userId).isEmpty());
+        assertEquals(1.0, meterRegistry.get("mediconnect.activity.queued").gauge().value());
+    }
+
+    @Test
+    public void testFailedTouchesAreKeptForTheNextInterval() {
+        ActivityEventPipeline pipeline = pipeline(100, Duration.ofMinutes(5));
+        LocalDateTime login = now().minusMinutes(10);
+        pipeline.sessionStarted(userId, "pipeline-token-1", "10.0.0.1", USER_AGENT, login);
+        pipeline.drain();
+        LocalDateTime touched = now();
+        doThrow(new DataAccessResourceFailureException("Connection refused"))
+                .doCallRealMethod()
+                .when(jdbcTemplate).batchUpdate(startsWith("UPDATE login_sessions"), anyList());
+        pipeline.sessionTouched("pipeline-token-1", touched);
+
+        pipeline.flushTouches();
+        assertEquals(Timestamp.valueOf(login), session("pipeline-token-1").get("last_activity_time"));
+
+        pipeline.flushTouches();
+        assertEquals(Timestamp.valueOf(touched), session("pipeline-token-1").get("last_activity_time"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.MediConnect.EntryRelated.service;
+
+import com.MediConnect.EntryRelated.dto.LoginSessionDTO;
+import com.MediConnect.EntryRelated.entities.LoginSession;
+import com.MediConnect.EntryRelated.entities.Patient;
+import com.MediConnect.EntryRelated.repository.AccountActivityRepository;
+import com.MediConnect.EntryRelated.repository.LoginSessionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ActivityServiceTest {
+
+    @Test
+    public void testSessionListIncludesSessionsNotWrittenYet() {
+        Patient patient = new Patient();
+        patient.setId(7L);
+        LocalDateTime now = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+        LoginSession stored = new LoginSession();
+        stored.setSessionToken("stored");
+        stored.setLoginTime(now.minusDays(1));
+        stored.setIsActive(true);
+        LoginSessionRepository sessionRepository = mock(LoginSessionRepository.class);
+        when(sessionRepository.findByUserOrderByLoginTimeDesc(patient)).thenReturn(List.of(stored));
+
+        ActivityEventPipeline pipeline = mock(ActivityEventPipeline.class);
+        when(pipeline.queuedSessions(7L)).thenReturn(List.of(
+                // Written between the query and the pipeline check
+                new ActivityEventPipeline.QueuedSession(7L, "stored", "10.0.0.1", null, now.minusDays(1), null),
+                new ActivityEventPipeline.QueuedSession(7L, "just-logged-in", "10.0.0.1", "Firefox/120.0", now, null)));
+
+        ActivityService service = new ActivityService(sessionRepository, mock(AccountActivityRepository.class), pipeline);
+        List<LoginSessionDTO> sessions = service.getLoginSessions(patient);
+
+        assertEquals(List.of("just-logged-in", "stored"), sessions.stream().map(LoginSessionDTO::getSessionToken).toList());
+        assertEquals("Firefox", sessions.get(0).getBrowser());
+        assertEquals(true, sessions.get(0).getIsActive());
+    }
+}
@@ -0,0 +1,49 @@
+package com.MediConnect.EntryRelated.service;
+
+import com.MediConnect.EntryRelated.exception.OtpRateLimitExceededException;
+import com.MediConnect.EntryRelated.service.email.EmailOutbox;
+import com.MediConnect.EntryRelated.service.otp.InMemoryOtpStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class OTPServiceTest {
+
+    private final OTPService otpService = new OTPService(mock(EmailOutbox.class), new InMemoryOtpStore(),
+            Duration.ofMinutes(5), Duration.ofMinutes(10), Duration.ofMinutes(5), Duration.ofMinutes(15), 5, 2, 10);
+
+    @AfterEach
+    public void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static void requestFrom(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/patient/login");
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @Test
+    public void testPerIpLimitIgnoresClientSuppliedForwardedFor() {
+        // Same client, a new made-up X-Forwarded-For and recipient on every request
+        requestFrom("203.0.113.7", "198.51.100.1");
+        otpService.sendLoginOTP("first@example.com");
+        requestFrom("203.0.113.7", "198.51.100.2");
+        otpService.sendLoginOTP("second@example.com");
+
+        requestFrom("203.0.113.7", "198.51.100.3");
+        assertThrows(OtpRateLimitExceededException.class, () -> otpService.sendLoginOTP("third@example.com"));
+
+        // Another client address has its own budget
+        requestFrom("203.0.113.8", "198.51.100.3");
+        otpService.sendLoginOTP("third@example.com");
+    }
+}
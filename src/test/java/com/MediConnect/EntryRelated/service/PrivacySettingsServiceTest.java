@@ -0,0 +1,139 @@
+package com.MediConnect.EntryRelated.service;
+
+import com.MediConnect.EntryRelated.dto.PrivacySettingsDTO;
+import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.MediConnect.EntryRelated.entities.UserPrivacySettings;
+import com.MediConnect.EntryRelated.repository.UserPrivacySettingsRepository;
+import com.MediConnect.EntryRelated.repository.UserPrivacySettingsRepository.PrivacySettingsView;
+import com.MediConnect.EntryRelated.service.profile.DoctorProfileChangedEvent;
+import com.MediConnect.Repos.UserRepo;
+import com.MediConnect.config.cache.CacheInvalidationPublisher;
+import com.MediConnect.config.cache.TieredCacheManager;
+import com.MediConnect.config.cache.TieredCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two services sharing one database and one invalidation channel, standing in for two nodes.
+ */
+public class PrivacySettingsServiceTest {
+
+    private static final String CHANNEL = "cache-invalidation";
+    private static final long DOCTOR_ID = 7L;
+
+    private final AtomicReference<String> storedVisibility = new AtomicReference<>("public");
+    private final List<TieredCacheManager> subscribers = new ArrayList<>();
+    private UserPrivacySettingsRepository repository;
+    private HealthcareProvider doctor;
+    private PrivacySettingsService nodeA;
+    private PrivacySettingsService nodeB;
+
+    @BeforeEach
+    public void setup() {
+        repository = mock(UserPrivacySettingsRepository.class);
+        when(repository.findViewsByUserIdIn(anyCollection())).thenAnswer(invocation -> List.of(view()));
+        when(repository.findByUser(any())).thenAnswer(invocation -> Optional.of(entity()));
+        when(repository.save(any(UserPrivacySettings.class))).thenAnswer(invocation -> {
+            UserPrivacySettings saved = invocation.getArgument(0);
+            storedVisibility.set(saved.getProfileVisibility());
+            return saved;
+        });
+        doctor = new HealthcareProvider();
+        doctor.setId(DOCTOR_ID);
+        doctor.setUsername("dr.seven");
+
+        nodeA = node();
+        nodeB = node();
+    }
+
+    @Test
+    public void testUpdateOnOneNodeEvictsTheOtherNodesCopy() {
+        assertTrue(nodeA.isProfilePublicByUserId(DOCTOR_ID));
+        assertTrue(nodeB.isProfilePublicByUserId(DOCTOR_ID));
+
+        PrivacySettingsDTO update = new PrivacySettingsDTO();
+        update.setProfileVisibility("private");
+        nodeA.updatePrivacySettings(doctor, update);
+
+        assertFalse(nodeA.isProfilePublicByUserId(DOCTOR_ID));
+        assertFalse(nodeB.isProfilePublicByUserId(DOCTOR_ID));
+    }
+
+    @Test
+    public void testEntityChangeOnOneNodeEvictsTheOtherNodesCopy() {
+        assertTrue(nodeB.isProfilePublic(doctor));
+
+        // e.g. an admin edit that reaches the table without going through updatePrivacySettings
+        storedVisibility.set("private");
+        nodeA.onSettingsChanged(new DoctorProfileChangedEvent(DOCTOR_ID));
+
+        assertFalse(nodeB.isProfilePublic(doctor));
+    }
+
+    @Test
+    public void testCurrentSettingsBypassTheNearCache() {
+        assertTrue(nodeB.isProfilePublic(doctor));
+
+        // Change not yet broadcast
+        storedVisibility.set("private");
+
+        assertTrue(nodeB.isProfilePublic(doctor));
+        assertFalse(PrivacySettingsService.isPublic(nodeB.getCurrentPrivacySettings(doctor)));
+    }
+
+    private PrivacySettingsService node() {
+        // Redis pub/sub delivers every message to every subscriber, including the sender
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        doAnswer(invocation -> {
+            byte[] body = ((String) invocation.getArgument(1)).getBytes(StandardCharsets.UTF_8);
+            subscribers.forEach(subscriber -> subscriber.onMessage(
+                    new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body), null));
+            return 1L;
+        }).when(redisTemplate).convertAndSend(anyString(), anyString());
+        CacheInvalidationPublisher publisher = new CacheInvalidationPublisher(redisTemplate, CHANNEL);
+        TieredCacheManager cacheManager = new TieredCacheManager(mock(RedisCacheManager.class),
+                new TieredCacheProperties(), publisher, new SimpleMeterRegistry());
+        subscribers.add(cacheManager);
+        return new PrivacySettingsService(repository, mock(UserRepo.class), cacheManager, publisher,
+                Duration.ofMinutes(10), 1000);
+    }
+
+    private UserPrivacySettings entity() {
+        UserPrivacySettings settings = new UserPrivacySettings();
+        settings.setUser(doctor);
+        settings.setProfileVisibility(storedVisibility.get());
+        return settings;
+    }
+
+    private PrivacySettingsView view() {
+        String visibility = storedVisibility.get();
+        return new PrivacySettingsView() {
+            public Long getUserId() { return DOCTOR_ID; }
+            public String getProfileVisibility() { return visibility; }
+            public Boolean getShowEmail() { return false; }
+            public Boolean getShowPhone() { return false; }
+            public Boolean getShowAddress() { return false; }
+            public Boolean getShowMedicalHistory() { return false; }
+        };
+    }
+}
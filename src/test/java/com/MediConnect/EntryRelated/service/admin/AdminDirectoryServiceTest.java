@@ -0,0 +1,240 @@
+package com.MediConnect.EntryRelated.service.admin;
+
+import com.MediConnect.EntryRelated.dto.admin.AdminAccountFilter;
+import com.MediConnect.EntryRelated.dto.admin.AdminDoctorListItemDTO;
+import com.MediConnect.EntryRelated.dto.admin.AdminPatientListItemDTO;
+import com.MediConnect.EntryRelated.entities.AccountStatus;
+import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.MediConnect.EntryRelated.entities.SpecializationType;
+import com.MediConnect.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the admin listing Specifications and projections on PostgreSQL. Rows roll back after each test.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AdminDirectoryService.class)
+public class AdminDirectoryServiceTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    private AdminDirectoryService adminDirectoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long alice;
+    private long bob;
+    private long carol;
+    private long dan;
+    private long eve;
+    private long frank;
+    private long grace;
+
+    @BeforeEach
+    public void setup() {
+        alice = doctor("Alice", "Smith", "Heart Clinic", "Boston", "ACTIVE", false, "2026-01-01 09:00:00",
+                SpecializationType.CARDIOLOGY, SpecializationType.NEUROLOGY);
+        bob = doctor("Bob", "Jones", "Smithfield Care", "Boston Heights", "ON_HOLD", false, "2026-01-02 09:00:00",
+                SpecializationType.PEDIATRICS);
+        carol = doctor("Carol", "White", "Downtown Practice", "Chicago", "ACTIVE", true, "2026-01-03 09:00:00",
+                SpecializationType.CARDIOLOGY);
+        // Flag never set: listed like an unflagged doctor
+        dan = doctor("Dan", "Brown", null, "boston", "BANNED", null, "2026-01-03 09:00:00");
+
+        eve = patient("Eve", "Smith", "Boston", "ACTIVE", false, "+1 555 0100");
+        frank = patient("Frank", "Smithers", "Denver", "ACTIVE", true, null);
+        grace = patient("Grace", "Hill", "Boston", "PENDING", false, null);
+    }
+
+    private long user(String firstName, String lastName, String city, String status, String role, String registeredAt, String phone) {
+        String username = (firstName + "." + lastName).toLowerCase();
+        return jdbcTemplate.queryForObject("INSERT INTO users (account_status, email, first_name, last_name, password, role, " +
+                        "username, city, country, registration_date, phone_number) VALUES (?, ?, ?, ?, 'x', ?, ?, ?, 'USA', ?, ?) RETURNING id",
+                Long.class, status, username + "@directory.test", firstName, lastName, role, username, city,
+                Timestamp.valueOf(registeredAt), phone);
+    }
+
+    private long doctor(String firstName, String lastName, String clinic, String city, String status, Boolean flagged,
+                        String registeredAt, SpecializationType... specializations) {
+        long id = user(firstName, lastName, city, status, "HEALTHPROVIDER", registeredAt, null);
+        jdbcTemplate.update("INSERT INTO healthcare_provider (id, clinic_name, admin_flagged) VALUES (?, ?, ?)", id, clinic, flagged);
+        for (SpecializationType specialization : specializations) {
+            jdbcTemplate.update("INSERT INTO healthcare_provider_specializations (healthcare_provider_id, specialization) VALUES (?, ?)",
+                    id, specialization.name());
+        }
+        return id;
+    }
+
+    private long patient(String firstName, String lastName, String city, String status, boolean flagged, String phone) {
+        long id = user(firstName, lastName, city, status, "PATIENT", "2026-02-01 09:00:00", phone);
+        jdbcTemplate.update("INSERT INTO patient (id, admin_flagged) VALUES (?, ?)", id, flagged);
+        return id;
+    }
+
+    private static AdminAccountFilter filter() {
+        return new AdminAccountFilter();
+    }
+
+    private List<Long> doctorIds(AdminAccountFilter filter) {
+        return adminDirectoryService.findDoctorPage(filter, adminDirectoryService.pageRequest(0, 100, "id", "asc"))
+                .getContent().stream().map(AdminDoctorListItemDTO::getId).toList();
+    }
+
+    private List<Long> patientIds(AdminAccountFilter filter) {
+        return adminDirectoryService.findPatientPage(filter, adminDirectoryService.pageRequest(0, 100, "id", "asc"))
+                .getContent().stream().map(AdminPatientListItemDTO::getId).toList();
+    }
+
+    @Test
+    public void testNoFilterListsEveryoneButFlaggedAccounts() {
+        assertEquals(List.of(alice, bob, dan), doctorIds(filter()));
+        assertEquals(List.of(eve, grace), patientIds(filter()));
+
+        AdminAccountFilter includeFlagged = filter();
+        includeFlagged.setIncludeFlagged(true);
+        assertEquals(List.of(alice, bob, carol, dan), doctorIds(includeFlagged));
+        assertEquals(List.of(eve, frank, grace), patientIds(includeFlagged));
+    }
+
+    @Test
+    public void testNameSearchMatchesFullNameAndDoctorClinicIgnoringCase() {
+        AdminAccountFilter smith = filter();
+        smith.setName("  SMITH ");
+        // Alice by surname, Bob by clinic; for patients only the name counts
+        assertEquals(List.of(alice, bob), doctorIds(smith));
+        assertEquals(List.of(eve), patientIds(smith));
+
+        smith.setIncludeFlagged(true);
+        assertEquals(List.of(eve, frank), patientIds(smith));
+
+        AdminAccountFilter fullName = filter();
+        fullName.setName("alice smith");
+        assertEquals(List.of(alice), doctorIds(fullName));
+
+        AdminAccountFilter clinic = filter();
+        clinic.setName("downtown");
+        clinic.setIncludeFlagged(true);
+        assertEquals(List.of(carol), doctorIds(clinic));
+    }
+
+    @Test
+    public void testCityStatusAndSpecializationFiltersCombine() {
+        AdminAccountFilter boston = filter();
+        boston.setCity("Boston");
+        assertEquals(List.of(alice, bob, dan), doctorIds(boston));
+        assertEquals(List.of(eve, grace), patientIds(boston));
+
+        boston.setStatus(AccountStatus.ACTIVE);
+        assertEquals(List.of(alice), doctorIds(boston));
+        assertEquals(List.of(eve), patientIds(boston));
+
+        AdminAccountFilter banned = filter();
+        banned.setStatus(AccountStatus.BANNED);
+        assertEquals(List.of(dan), doctorIds(banned));
+
+        AdminAccountFilter cardiology = filter();
+        cardiology.setSpecialization(SpecializationType.CARDIOLOGY);
+        assertEquals(List.of(alice), doctorIds(cardiology));
+        cardiology.setIncludeFlagged(true);
+        assertEquals(List.of(alice, carol), doctorIds(cardiology));
+        cardiology.setCity("chicago");
+        assertEquals(List.of(carol), doctorIds(cardiology));
+
+        // Ignored for patients
+        AdminAccountFilter patientSpecialization = filter();
+        patientSpecialization.setSpecialization(SpecializationType.CARDIOLOGY);
+        assertEquals(List.of(eve, grace), patientIds(patientSpecialization));
+    }
+
+    @Test
+    public void testDefaultOrderIsNewestFirstWithIdTieBreakAcrossPages() {
+        AdminAccountFilter all = filter();
+        all.setIncludeFlagged(true);
+
+        Page<AdminDoctorListItemDTO> first = adminDirectoryService.findDoctorPage(all, adminDirectoryService.pageRequest(0, 3, null, null));
+        Page<AdminDoctorListItemDTO> second = adminDirectoryService.findDoctorPage(all, adminDirectoryService.pageRequest(1, 3, null, null));
+
+        // Carol and Dan registered at the same time: the higher id comes first
+        assertEquals(List.of(dan, carol, bob), first.getContent().stream().map(AdminDoctorListItemDTO::getId).toList());
+        assertEquals(List.of(alice), second.getContent().stream().map(AdminDoctorListItemDTO::getId).toList());
+        assertEquals(4, first.getTotalElements());
+        assertEquals(Map.of("totalElements", 4L, "totalPages", 2, "currentPage", 1, "pageSize", 3,
+                "hasNext", false, "hasPrevious", true), adminDirectoryService.paginationMetadata(second));
+    }
+
+    @Test
+    public void testSortPropertiesAreWhitelistedAndPageSizeIsCapped() {
+        AdminAccountFilter all = filter();
+        all.setIncludeFlagged(true);
+
+        Page<AdminDoctorListItemDTO> byLastName =
+                adminDirectoryService.findDoctorPage(all, adminDirectoryService.pageRequest(0, 10, "lastName", "asc"));
+        assertEquals(List.of(dan, bob, alice, carol), byLastName.getContent().stream().map(AdminDoctorListItemDTO::getId).toList());
+
+        Pageable unknownSort = adminDirectoryService.pageRequest(-1, 500, "password", "asc");
+        assertEquals(0, unknownSort.getPageNumber());
+        assertEquals(100, unknownSort.getPageSize());
+        assertEquals(List.of(dan, carol, bob, alice), adminDirectoryService.findDoctorPage(all, unknownSort)
+                .getContent().stream().map(AdminDoctorListItemDTO::getId).toList());
+        assertEquals(20, adminDirectoryService.pageRequest(null, null, null, null).getPageSize());
+    }
+
+    @Test
+    public void testListItemsCarryOnlyTheListColumns() {
+        AdminAccountFilter aliceOnly = filter();
+        aliceOnly.setName("alice");
+        AdminDoctorListItemDTO doctor = adminDirectoryService.findDoctorPage(aliceOnly, adminDirectoryService.pageRequest(0, 10, null, null))
+                .getContent().get(0);
+        assertEquals("Heart Clinic", doctor.getClinicName());
+        assertEquals("ACTIVE", doctor.getAccountStatus());
+        assertEquals(List.of("CARDIOLOGY", "NEUROLOGY"), doctor.getSpecializations().stream().sorted().toList());
+        assertEquals(false, doctor.isAdminFlagged());
+        assertEquals(Timestamp.valueOf("2026-01-01 09:00:00"), doctor.getRegistrationDate());
+
+        AdminAccountFilter danOnly = filter();
+        danOnly.setName("dan");
+        AdminDoctorListItemDTO noSpecializations = adminDirectoryService.findDoctorPage(danOnly, adminDirectoryService.pageRequest(0, 10, null, null))
+                .getContent().get(0);
+        assertEquals(List.of(), noSpecializations.getSpecializations());
+        assertEquals("BANNED", noSpecializations.getAccountStatus());
+
+        AdminAccountFilter eveOnly = filter();
+        eveOnly.setName("eve");
+        AdminPatientListItemDTO patient = adminDirectoryService.findPatientPage(eveOnly, adminDirectoryService.pageRequest(0, 10, null, null))
+                .getContent().get(0);
+        assertEquals("+1 555 0100", patient.getPhoneNumber());
+        assertEquals("Boston", patient.getCity());
+    }
+
+    @Test
+    public void testLegacyListingUsesTheSameSpecification() {
+        AdminAccountFilter boston = filter();
+        boston.setCity("boston");
+        boston.setStatus(AccountStatus.ACTIVE);
+
+        assertEquals(List.of(alice), adminDirectoryService.findDoctors(boston).stream().map(HealthcareProvider::getId).toList());
+        assertEquals(List.of(eve), adminDirectoryService.findPatients(boston).stream().map(patient -> patient.getId()).toList());
+    }
+}
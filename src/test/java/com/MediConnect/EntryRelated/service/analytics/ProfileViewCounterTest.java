@@ -0,0 +1,168 @@
+package com.MediConnect.EntryRelated.service.analytics;
+
+import com.MediConnect.support.TestDatabase;
+import com.MediConnect.support.TestRedis;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Records views against PostgreSQL and an embedded Redis, including views that race the flush.
+ */
+public class ProfileViewCounterTest {
+
+    private final JdbcTemplate database = TestDatabase.jdbcTemplate();
+    private final JdbcTemplate jdbcTemplate = spy(TestDatabase.jdbcTemplate());
+    private long doctorId;
+
+    @BeforeEach
+    public void setup() {
+        TestRedis.flushAll();
+        doctorId = database.queryForObject("INSERT INTO users (account_status, email, first_name, last_name, password, role, username) " +
+                "VALUES ('ACTIVE', 'views@example.com', 'Views', 'Test', 'x', 'HEALTHPROVIDER', 'views-test') RETURNING id", Long.class);
+        database.update("INSERT INTO healthcare_provider (id) VALUES (?)", doctorId);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        database.update("DELETE FROM profile_view_daily WHERE doctor_id = ?", doctorId);
+        database.update("DELETE FROM healthcare_provider WHERE id = ?", doctorId);
+        database.update("DELETE FROM users WHERE id = ?", doctorId);
+    }
+
+    private ProfileViewCounter counter() {
+        return new ProfileViewCounter(jdbcTemplate, TestRedis.stringRedisTemplate(), 100, Duration.ofMinutes(10));
+    }
+
+    private long storedViews() {
+        return database.queryForObject("SELECT COALESCE(SUM(view_count), 0) FROM profile_view_daily " +
+                "WHERE doctor_id = ? AND view_date = ?", Long.class, doctorId, Date.valueOf(LocalDate.now()));
+    }
+
+    @Test
+    public void testFlushAddsBufferedViewsToTheDailyBucket() {
+        ProfileViewCounter counter = counter();
+        for (int i = 0; i < 3; i++) {
+            counter.recordView(doctorId, null);
+        }
+        assertEquals(3, counter.pendingViews(doctorId, LocalDate.MIN, LocalDate.MAX));
+
+        counter.flush();
+        assertEquals(3, storedViews());
+        assertEquals(0, counter.pendingViews(doctorId, LocalDate.MIN, LocalDate.MAX));
+
+        counter.recordView(doctorId, null);
+        counter.recordView(doctorId, null);
+        counter.flush();
+        assertEquals(5, storedViews());
+    }
+
+    @Test
+    public void testUnknownDoctorIsRejectedAndKnownDoctorIsNotLookedUpAgain() {
+        ProfileViewCounter counter = counter();
+
+        assertFalse(counter.recordView(-1L, null));
+        assertTrue(counter.recordView(doctorId, null));
+
+        // Remembered: no lookup for the next view, so it is counted even though the row is gone
+        database.update("DELETE FROM healthcare_provider WHERE id = ?", doctorId);
+        assertTrue(counter.recordView(doctorId, null));
+        assertEquals(2, counter.pendingViews(doctorId, LocalDate.MIN, LocalDate.MAX));
+        assertFalse(counter().recordView(doctorId, null));
+    }
+
+    @Test
+    public void testViewsRecordedDuringFlushesAreNotLost() throws Exception {
+        ProfileViewCounter counter = counter();
+        counter.recordView(doctorId, null);
+        int threads = 4;
+        int viewsPerThread = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean recording = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            List<Future<?>> recorders = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                recorders.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < viewsPerThread; i++) {
+                        counter.recordView(doctorId, null);
+                    }
+                    return null;
+                }));
+            }
+            Future<?> flusher = executor.submit(() -> {
+                start.await();
+                while (recording.get()) {
+                    counter.flush();
+                }
+                return null;
+            });
+            start.countDown();
+            for (Future<?> recorder : recorders) {
+                recorder.get();
+            }
+            recording.set(false);
+            flusher.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        counter.flush();
+
+        assertEquals(1 + (long) threads * viewsPerThread, storedViews());
+    }
+
+    @Test
+    public void testFailedFlushKeepsTheCountsForTheNextOne() {
+        ProfileViewCounter counter = counter();
+        counter.recordView(doctorId, null);
+        counter.recordView(doctorId, null);
+        doThrow(new DataAccessResourceFailureException("Connection refused"))
+                .doCallRealMethod()
+                .when(jdbcTemplate).batchUpdate(startsWith("INSERT INTO profile_view_daily"), anyList());
+
+        counter.flush();
+        assertEquals(0, storedViews());
+        assertEquals(2, counter.pendingViews(doctorId, LocalDate.MIN, LocalDate.MAX));
+
+        counter.recordView(doctorId, null);
+        counter.flush();
+        assertEquals(3, storedViews());
+    }
+
+    @Test
+    public void testUniqueViewersAreEstimatedFromTheFlushedViewers() {
+        ProfileViewCounter counter = counter();
+        counter.recordView(doctorId, "user:alice");
+        counter.recordView(doctorId, "user:bob");
+        counter.recordView(doctorId, "user:alice");
+        counter.recordView(doctorId, " ");
+
+        counter.flush();
+
+        assertEquals(2L, counter.estimateUniqueViewers(doctorId, YearMonth.now()));
+        assertEquals(0L, counter.estimateUniqueViewers(doctorId, YearMonth.now().minusMonths(1)));
+    }
+}
@@ -0,0 +1,139 @@
+package com.MediConnect.EntryRelated.service.appointment;
+
+import com.MediConnect.Entities.AppointmentEntity;
+import com.MediConnect.Entities.AppointmentStatus;
+import com.MediConnect.EntryRelated.entities.ScheduledJobType;
+import com.MediConnect.EntryRelated.repository.AppointmentRepository;
+import com.MediConnect.EntryRelated.service.jobs.DelayedJobScheduler;
+import com.MediConnect.EntryRelated.service.jobs.DueJob;
+import com.MediConnect.socialmedia.entity.NotificationType;
+import com.MediConnect.socialmedia.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AppointmentReminderServiceTest {
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private DelayedJobScheduler jobScheduler;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AppointmentReminderService service;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        service = new AppointmentReminderService(appointmentRepository, notificationService, jobScheduler,
+                transactionManager, true, Duration.ofMinutes(15));
+    }
+
+    private static AppointmentEntity appointment(AppointmentStatus status, LocalDateTime start) {
+        AppointmentEntity appointment = new AppointmentEntity();
+        appointment.setId(7);
+        appointment.setStatus(status);
+        appointment.setAppointmentDateTime(Date.from(start.atZone(ZoneId.systemDefault()).toInstant()));
+        return appointment;
+    }
+
+    @Test
+    public void testConfirmedAppointmentSchedulesBothReminders() {
+        LocalDateTime start = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.MINUTES);
+
+        service.syncReminders(7, appointment(AppointmentStatus.CONFIRMED, start));
+
+        verify(jobScheduler).schedule(ScheduledJobType.APPOINTMENT_REMINDER_24H, 7, start.minusHours(24));
+        verify(jobScheduler).schedule(ScheduledJobType.APPOINTMENT_REMINDER_1H, 7, start.minusHours(1));
+    }
+
+    @Test
+    public void testCancelledOrDeletedAppointmentWithdrawsReminders() {
+        LocalDateTime start = LocalDateTime.now().plusDays(3);
+
+        service.syncReminders(7, appointment(AppointmentStatus.CANCELLED, start));
+        service.syncReminders(8, null);
+
+        verify(jobScheduler).cancel(ScheduledJobType.APPOINTMENT_REMINDER_24H, 7);
+        verify(jobScheduler).cancel(ScheduledJobType.APPOINTMENT_REMINDER_1H, 7);
+        verify(jobScheduler).cancel(ScheduledJobType.APPOINTMENT_REMINDER_24H, 8);
+        verify(jobScheduler, never()).schedule(any(), anyLong(), any());
+    }
+
+    @Test
+    public void testLateConfirmationSkipsDayBeforeReminder() {
+        LocalDateTime start = LocalDateTime.now().plusHours(5).truncatedTo(ChronoUnit.SECONDS);
+
+        service.syncReminders(7, appointment(AppointmentStatus.CONFIRMED, start));
+
+        verify(jobScheduler).cancel(ScheduledJobType.APPOINTMENT_REMINDER_24H, 7);
+        verify(jobScheduler).schedule(ScheduledJobType.APPOINTMENT_REMINDER_1H, 7, start.minusHours(1));
+    }
+
+    @Test
+    public void testDueReminderNotifiesAndMarksSent() {
+        LocalDateTime start = LocalDateTime.now().plusHours(24).truncatedTo(ChronoUnit.SECONDS);
+        AppointmentEntity appointment = appointment(AppointmentStatus.CONFIRMED, start);
+        when(appointmentRepository.findWithParticipantsById(7)).thenReturn(Optional.of(appointment));
+
+        service.handle(new DueJob(1, ScheduledJobType.APPOINTMENT_REMINDER_24H, 7, start.minusHours(24), 1));
+
+        verify(notificationService).createAppointmentReminderNotification(any(), any(),
+                eq(NotificationType.APPOINTMENT_REMINDER_24H), eq(7L), any());
+        assertTrue(appointment.getReminder24hSent());
+    }
+
+    @Test
+    public void testNotificationFailureReachesTheDispatcher() {
+        LocalDateTime start = LocalDateTime.now().plusHours(24).truncatedTo(ChronoUnit.SECONDS);
+        AppointmentEntity appointment = appointment(AppointmentStatus.CONFIRMED, start);
+        when(appointmentRepository.findWithParticipantsById(7)).thenReturn(Optional.of(appointment));
+        doThrow(new IllegalStateException("database unavailable")).when(notificationService)
+                .createAppointmentReminderNotification(any(), any(), any(), any(), any());
+
+        DueJob job = new DueJob(1, ScheduledJobType.APPOINTMENT_REMINDER_24H, 7, start.minusHours(24), 1);
+
+        // Thrown into the job transaction, which rolls back and reschedules the job
+        assertThrows(IllegalStateException.class, () -> service.handle(job));
+        assertFalse(Boolean.TRUE.equals(appointment.getReminder24hSent()));
+        verify(appointmentRepository, never()).save(any());
+    }
+
+    @Test
+    public void testStaleJobAfterRescheduleIsSkipped() {
+        LocalDateTime start = LocalDateTime.now().plusHours(30).truncatedTo(ChronoUnit.SECONDS);
+        when(appointmentRepository.findWithParticipantsById(7))
+                .thenReturn(Optional.of(appointment(AppointmentStatus.CONFIRMED, start)));
+
+        // Claimed for the old time, appointment has since moved by six hours
+        service.handle(new DueJob(1, ScheduledJobType.APPOINTMENT_REMINDER_24H, 7, start.minusHours(30), 1));
+
+        verify(notificationService, never()).createAppointmentReminderNotification(any(), any(), any(), any(), any());
+    }
+}
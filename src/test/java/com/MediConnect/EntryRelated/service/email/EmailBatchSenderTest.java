@@ -0,0 +1,91 @@
+package com.MediConnect.EntryRelated.service.email;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmailBatchSenderTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private static JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(port);
+        sender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        return sender;
+    }
+
+    @Test
+    public void testSendsWholeBatch() throws Exception {
+        EmailBatchSender batchSender = new EmailBatchSender(mailSender(greenMail.getSmtp().getPort()));
+
+        Map<Long, Exception> failures = batchSender.send(List.of(
+                new OutboundEmail(1L, "alice@example.com", "MediConnect Login Verification OTP", "Your OTP is: 123456", 1),
+                new OutboundEmail(2L, "bob@example.com", "MediConnect Registration OTP", "Your OTP is: 654321", 1)));
+
+        assertTrue(failures.isEmpty());
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Your OTP is: 123456", GreenMailUtil.getBody(received[0]).trim());
+        assertEquals("bob@example.com", received[1].getAllRecipients()[0].toString());
+    }
+
+    @Test
+    public void testMalformedRecipientFailsOnlyItsOwnMessage() throws Exception {
+        EmailBatchSender batchSender = new EmailBatchSender(mailSender(greenMail.getSmtp().getPort()));
+
+        Map<Long, Exception> failures = batchSender.send(List.of(
+                new OutboundEmail(1L, "alice@example.com", "Subject", "Body 1", 1),
+                new OutboundEmail(2L, "not an address@@", "Subject", "Body 2", 1),
+                new OutboundEmail(3L, "bob@example.com", "Subject", "Body 3", 1)));
+
+        assertEquals(Set.of(2L), failures.keySet());
+        assertTrue(EmailBatchSender.isPermanent(failures.get(2L)));
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("alice@example.com", received[0].getAllRecipients()[0].toString());
+        assertEquals("bob@example.com", received[1].getAllRecipients()[0].toString());
+    }
+
+    @Test
+    public void testConnectionFailureFailsEveryMessage() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        EmailBatchSender batchSender = new EmailBatchSender(mailSender(closedPort));
+
+        Map<Long, Exception> failures = batchSender.send(List.of(
+                new OutboundEmail(1L, "alice@example.com", "Subject", "Body", 1),
+                new OutboundEmail(2L, "bob@example.com", "Subject", "Body", 1)));
+
+        assertEquals(2, failures.size());
+        assertTrue(failures.values().stream().noneMatch(EmailBatchSender::isPermanent));
+    }
+
+    @Test
+    public void testBackoffDoublesUpToCap() {
+        Duration initial = Duration.ofSeconds(30);
+        Duration max = Duration.ofMinutes(10);
+
+        assertEquals(Duration.ofSeconds(30), EmailDispatcher.backoff(1, initial, max));
+        assertEquals(Duration.ofMinutes(2), EmailDispatcher.backoff(3, initial, max));
+        assertEquals(max, EmailDispatcher.backoff(6, initial, max));
+        assertEquals(max, EmailDispatcher.backoff(100, initial, max));
+    }
+}
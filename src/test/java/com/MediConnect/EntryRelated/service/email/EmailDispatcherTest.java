@@ -0,0 +1,179 @@
+package com.MediConnect.EntryRelated.service.email;
+
+import com.MediConnect.EntryRelated.repository.EmailOutboxRepository;
+import com.MediConnect.support.TestDatabase;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the claim and outcome statements against PostgreSQL, sending through GreenMail.
+ */
+public class EmailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    /** Recipients at this domain are refused by the relay with a temporary error. */
+    private static final String BUSY_DOMAIN = "@busy.example.com";
+
+    private final JdbcTemplate jdbcTemplate = TestDatabase.jdbcTemplate();
+    private volatile Consumer<List<OutboundEmail>> beforeSend = batch -> { };
+
+    @BeforeEach
+    public void setup() {
+        jdbcTemplate.update("DELETE FROM email_outbox");
+        beforeSend = batch -> { };
+    }
+
+    private EmailDispatcher dispatcher() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        EmailBatchSender batchSender = new EmailBatchSender(mailSender) {
+            @Override
+            public Map<Long, Exception> send(List<OutboundEmail> batch) {
+                beforeSend.accept(batch);
+                Map<Long, Exception> failures = new HashMap<>(super.send(batch.stream()
+                        .filter(email -> !email.recipient().endsWith(BUSY_DOMAIN)).toList()));
+                batch.stream().filter(email -> email.recipient().endsWith(BUSY_DOMAIN))
+                        .forEach(email -> failures.put(email.id(), new MailSendException("450 mailbox busy")));
+                return failures;
+            }
+        };
+        return new EmailDispatcher(jdbcTemplate, batchSender, mock(EmailOutboxRepository.class),
+                new SimpleMeterRegistry(), 10, 3, Duration.ofMinutes(2), Duration.ofSeconds(30),
+                Duration.ofHours(1), Duration.ofDays(7));
+    }
+
+    private long enqueue(String recipient, int attempts) {
+        LocalDateTime due = LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        return jdbcTemplate.queryForObject("INSERT INTO email_outbox (recipient, subject, body, status, attempts, next_attempt_at, created_at) " +
+                "VALUES (?, 'MediConnect Login Verification OTP', 'Your OTP is: 123456', 'PENDING', ?, ?, ?) RETURNING id",
+                Long.class, recipient, attempts, Timestamp.valueOf(due), Timestamp.valueOf(due));
+    }
+
+    private Map<String, Object> row(long id) {
+        return jdbcTemplate.queryForMap("SELECT * FROM email_outbox WHERE id = ?", id);
+    }
+
+    @Test
+    public void testBatchWithOneRefusedRecipientSendsTheOtherAndReschedulesIt() {
+        long good = enqueue("alice@example.com", 0);
+        long busy = enqueue("bob" + BUSY_DOMAIN, 0);
+
+        assertEquals(2, dispatcher().dispatchBatch());
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        Map<String, Object> sent = row(good);
+        assertEquals("SENT", sent.get("status"));
+        assertEquals(1, sent.get("attempts"));
+        assertNotNull(sent.get("sent_at"));
+        // The OTP does not outlive its delivery
+        assertNull(sent.get("body"));
+        assertNull(sent.get("last_error"));
+
+        Map<String, Object> retry = row(busy);
+        assertEquals("PENDING", retry.get("status"));
+        assertEquals(1, retry.get("attempts"));
+        assertNotNull(retry.get("body"));
+        assertTrue(((String) retry.get("last_error")).contains("450 mailbox busy"));
+        // First retry waits the initial backoff, replacing the claim lease
+        LocalDateTime nextAttempt = ((Timestamp) retry.get("next_attempt_at")).toLocalDateTime();
+        assertTrue(nextAttempt.isAfter(LocalDateTime.now().plusSeconds(20)));
+        assertTrue(nextAttempt.isBefore(LocalDateTime.now().plusSeconds(40)));
+    }
+
+    @Test
+    public void testRowAtMaxAttemptsIsMarkedFailed() {
+        // Two attempts already made; this is the third and last (max-attempts is 3)
+        long lastTry = enqueue("carol" + BUSY_DOMAIN, 2);
+        long malformed = enqueue("not an address@@", 0);
+
+        assertEquals(2, dispatcher().dispatchBatch());
+
+        Map<String, Object> failed = row(lastTry);
+        assertEquals("FAILED", failed.get("status"));
+        assertEquals(3, failed.get("attempts"));
+        assertNull(failed.get("body"));
+        assertTrue(((String) failed.get("last_error")).contains("450 mailbox busy"));
+        // A malformed address is given up on the first time
+        Map<String, Object> permanent = row(malformed);
+        assertEquals("FAILED", permanent.get("status"));
+        assertEquals(1, permanent.get("attempts"));
+        assertEquals(0, dispatcher().dispatchBatch());
+    }
+
+    @Test
+    public void testClaimLeasesTheRowSoAnotherDispatcherDoesNotSendItTwice() {
+        long id = enqueue("alice@example.com", 0);
+        EmailDispatcher other = dispatcher();
+        int[] claimedByOther = new int[1];
+        beforeSend = batch -> {
+            claimedByOther[0] = other.dispatchBatch();
+            Map<String, Object> claimed = row(id);
+            assertEquals(1, claimed.get("attempts"));
+            // The claim has pushed next_attempt_at out by the lease
+            LocalDateTime leasedUntil = ((Timestamp) claimed.get("next_attempt_at")).toLocalDateTime();
+            assertTrue(leasedUntil.isAfter(LocalDateTime.now().plusMinutes(1)));
+        };
+
+        assertEquals(1, dispatcher().dispatchBatch());
+
+        assertEquals(0, claimedByOther[0]);
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        assertEquals("SENT", row(id).get("status"));
+    }
+
+    @Test
+    public void testRowsLockedByAnotherTransactionAreSkipped() throws Exception {
+        long locked = enqueue("alice@example.com", 0);
+        long free = enqueue("bob@example.com", 0);
+
+        try (Connection connection = TestDatabase.dataSource().getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement lock = connection.prepareStatement("SELECT id FROM email_outbox WHERE id = ? FOR UPDATE")) {
+                lock.setLong(1, locked);
+                try (ResultSet ignored = lock.executeQuery()) {
+                    // Another dispatcher is in the middle of claiming the first row
+                    assertEquals(1, dispatcher().dispatchBatch());
+                    assertEquals("SENT", row(free).get("status"));
+                }
+            }
+            connection.commit();
+        }
+
+        Map<String, Object> untouched = row(locked);
+        assertEquals("PENDING", untouched.get("status"));
+        assertEquals(0, untouched.get("attempts"));
+        assertEquals(1, dispatcher().dispatchBatch());
+        assertEquals("SENT", row(locked).get("status"));
+        assertEquals(2, greenMail.getReceivedMessages().length);
+    }
+}
@@ -0,0 +1,141 @@
+package com.MediConnect.EntryRelated.service.healthprovider.impl;
+
+import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.MediConnect.EntryRelated.repository.HealthcareProviderRepo;
+import com.MediConnect.EntryRelated.service.ActivityService;
+import com.MediConnect.EntryRelated.service.OTPService;
+import com.MediConnect.EntryRelated.service.healthprovider.mapper.HealthcareProviderMapper;
+import com.MediConnect.EntryRelated.service.review.ReviewService;
+import com.MediConnect.Service.UserService;
+import com.MediConnect.ai.service.ProviderAttributeIndex;
+import com.MediConnect.ai.service.ProviderAttributeIndexCache;
+import com.MediConnect.config.JWTService;
+import com.MediConnect.config.cache.CacheInvalidationPublisher;
+import com.MediConnect.config.cache.TieredCacheManager;
+import com.MediConnect.config.cache.TieredCacheProperties;
+import com.MediConnect.socialmedia.service.NotificationService;
+import com.MediConnect.support.TestDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks that a profile edit touching only the accepted insurance list, which Hibernate writes
+ * to its collection table alone, still drops the provider attribute index once it commits.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({HealthProviderServiceImpl.class, ProviderAttributeIndexCache.class, HealthProviderServiceImplTest.CacheConfig.class})
+public class HealthProviderServiceImplTest {
+
+    @TestConfiguration
+    static class CacheConfig {
+        @Bean
+        CacheInvalidationPublisher cacheInvalidationPublisher() {
+            return mock(CacheInvalidationPublisher.class);
+        }
+
+        @Bean
+        TieredCacheManager tieredCacheManager(CacheInvalidationPublisher publisher) {
+            return new TieredCacheManager(mock(RedisCacheManager.class), new TieredCacheProperties(), publisher,
+                    new SimpleMeterRegistry());
+        }
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+        registry.add("ai.provider-index.ttl", () -> Duration.ofHours(1).toString());
+    }
+
+    @MockitoBean
+    private HealthcareProviderMapper providerMapper;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private OTPService otpService;
+
+    @MockitoBean
+    private JWTService jwtService;
+
+    @MockitoBean
+    private ActivityService activityService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private ReviewService reviewService;
+
+    @Autowired
+    private HealthProviderServiceImpl providerService;
+
+    @Autowired
+    private HealthcareProviderRepo providerRepo;
+
+    @Autowired
+    private ProviderAttributeIndexCache indexCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testInsuranceOnlyEditDropsTheProviderIndexAfterCommit() {
+        long doctorId = jdbcTemplate.queryForObject("INSERT INTO users (account_status, email, first_name, last_name, password, role, username) " +
+                "VALUES ('ACTIVE', 'insurance@example.com', 'Insurance', 'Test', 'x', 'HEALTHPROVIDER', 'insurance-test') RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO healthcare_provider (id) VALUES (?)", doctorId);
+        jdbcTemplate.update("INSERT INTO provider_insurance (healthcare_provider_id, insurance_accepted) VALUES (?, 'Aetna')", doctorId);
+
+        try {
+            ProviderAttributeIndex before = indexCache.get(providerRepo.findAll());
+            assertEquals("Aetna", before.findInsurance("aetna"));
+
+            HealthcareProvider update = new HealthcareProvider();
+            update.setInsuranceAccepted(new ArrayList<>(List.of("Cigna")));
+            providerService.updateProviderProfileByUsername("insurance-test", update);
+            providerRepo.flush();
+
+            // Readers keep the old index until the edit is visible to them
+            assertSame(before, indexCache.get(List.of()));
+            TestTransaction.flagForCommit();
+            TestTransaction.end();
+
+            TestTransaction.start();
+            ProviderAttributeIndex after = indexCache.get(providerRepo.findAll());
+            assertNotSame(before, after);
+            assertEquals("Cigna", after.findInsurance("cigna"));
+            assertNull(after.findInsurance("aetna"));
+        } finally {
+            jdbcTemplate.update("DELETE FROM provider_insurance WHERE healthcare_provider_id = ?", doctorId);
+            jdbcTemplate.update("DELETE FROM healthcare_provider WHERE id = ?", doctorId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", doctorId);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.MediConnect.EntryRelated.service.jobs;
+
+import com.MediConnect.EntryRelated.entities.ScheduledJobType;
+import com.MediConnect.EntryRelated.repository.ScheduledJobRepository;
+import com.MediConnect.support.TestDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the claim, outcome and upsert statements against PostgreSQL.
+ */
+public class DelayedJobDispatcherTest {
+
+    private static final ScheduledJobType TYPE = ScheduledJobType.APPOINTMENT_REMINDER_24H;
+
+    private final JdbcTemplate jdbcTemplate = TestDatabase.jdbcTemplate();
+    private final DelayedJobScheduler scheduler = new DelayedJobScheduler(jdbcTemplate);
+    private final List<Long> handled = new CopyOnWriteArrayList<>();
+    private volatile Consumer<DueJob> behaviour = job -> { };
+
+    @BeforeEach
+    public void setup() {
+        jdbcTemplate.update("DELETE FROM scheduled_jobs");
+        handled.clear();
+        behaviour = job -> { };
+    }
+
+    private DelayedJobDispatcher dispatcher() {
+        DelayedJobHandler handler = new DelayedJobHandler() {
+            @Override
+            public Set<ScheduledJobType> supportedTypes() {
+                return Set.of(TYPE);
+            }
+
+            @Override
+            public void handle(DueJob job) {
+                handled.add(job.referenceId());
+                behaviour.accept(job);
+            }
+        };
+        return new DelayedJobDispatcher(jdbcTemplate, mock(ScheduledJobRepository.class),
+                new DataSourceTransactionManager(TestDatabase.dataSource()), List.of(handler),
+                new SimpleMeterRegistry(), 10, 2, Duration.ofMinutes(2), Duration.ofSeconds(30),
+                Duration.ofMinutes(30), Duration.ofDays(30));
+    }
+
+    private Map<String, Object> row(long referenceId) {
+        return jdbcTemplate.queryForMap("SELECT * FROM scheduled_jobs WHERE job_type = ? AND reference_id = ?",
+                TYPE.name(), referenceId);
+    }
+
+    private static LocalDateTime past() {
+        return LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @Test
+    public void testClaimsOnlyDueJobsAndMarksThemDone() {
+        scheduler.schedule(TYPE, 1, past());
+        scheduler.schedule(TYPE, 2, LocalDateTime.now().plusHours(1));
+
+        assertEquals(1, dispatcher().dispatchBatch());
+
+        assertEquals(List.of(1L), handled);
+        Map<String, Object> done = row(1);
+        assertEquals("DONE", done.get("status"));
+        assertEquals(1, done.get("attempts"));
+        assertNotNull(done.get("completed_at"));
+        assertEquals("PENDING", row(2).get("status"));
+    }
+
+    @Test
+    public void testClaimLeasesTheRowSoAnotherInstanceDoesNotRunItTwice() {
+        scheduler.schedule(TYPE, 1, past());
+        DelayedJobDispatcher other = dispatcher();
+        int[] claimedByOther = new int[1];
+        behaviour = job -> {
+            claimedByOther[0] = other.dispatchBatch();
+            // The claim has pushed run_after out by the lease
+            Timestamp runAfter = jdbcTemplate.queryForObject(
+                    "SELECT run_after FROM scheduled_jobs WHERE id = ?", Timestamp.class, job.id());
+            assertTrue(runAfter.toLocalDateTime().isAfter(LocalDateTime.now().plusMinutes(1)));
+        };
+
+        dispatcher().dispatchBatch();
+
+        assertEquals(0, claimedByOther[0]);
+        assertEquals(List.of(1L), handled);
+    }
+
+    @Test
+    public void testRowsLockedByAnotherTransactionAreSkipped() throws Exception {
+        scheduler.schedule(TYPE, 1, past());
+        scheduler.schedule(TYPE, 2, past());
+
+        try (Connection connection = TestDatabase.dataSource().getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement lock = connection.prepareStatement(
+                    "SELECT id FROM scheduled_jobs WHERE reference_id = 1 FOR UPDATE")) {
+                try (ResultSet ignored = lock.executeQuery()) {
+                    // Another instance is in the middle of claiming job 1
+                    assertEquals(1, dispatcher().dispatchBatch());
+                    assertEquals(List.of(2L), handled);
+                }
+            }
+            connection.commit();
+        }
+
+        assertEquals(1, dispatcher().dispatchBatch());
+        assertEquals(List.of(2L, 1L), handled);
+    }
+
+    @Test
+    public void testFailureIsRetriedWithBackoffThenGivenUp() {
+        scheduler.schedule(TYPE, 1, past());
+        behaviour = job -> {
+            throw new IllegalStateException("notification store unavailable");
+        };
+        DelayedJobDispatcher dispatcher = dispatcher();
+
+        dispatcher.dispatchBatch();
+
+        Map<String, Object> retry = row(1);
+        assertEquals("PENDING", retry.get("status"));
+        assertEquals(1, retry.get("attempts"));
+        assertTrue(((String) retry.get("last_error")).contains("notification store unavailable"));
+        LocalDateTime runAfter = ((Timestamp) retry.get("run_after")).toLocalDateTime();
+        assertTrue(runAfter.isAfter(LocalDateTime.now().plusSeconds(20)));
+        assertTrue(runAfter.isBefore(LocalDateTime.now().plusSeconds(40)));
+
+        // Second and last attempt (max-attempts is 2)
+        jdbcTemplate.update("UPDATE scheduled_jobs SET run_after = ? WHERE reference_id = 1", Timestamp.valueOf(past()));
+        dispatcher.dispatchBatch();
+
+        Map<String, Object> failed = row(1);
+        assertEquals("FAILED", failed.get("status"));
+        assertEquals(2, failed.get("attempts"));
+    }
+
+    @Test
+    public void testFailedJobRollsBackItsWrites() {
+        scheduler.schedule(TYPE, 1, past());
+        scheduler.schedule(TYPE, 2, LocalDateTime.now().plusHours(1));
+        behaviour = job -> {
+            // Written in the job transaction, like the reminder's notifications and sent flag
+            jdbcTemplate.update("UPDATE scheduled_jobs SET last_error = 'side effect' WHERE reference_id = 2");
+            throw new IllegalStateException("failed after writing");
+        };
+
+        dispatcher().dispatchBatch();
+
+        assertEquals(null, row(2).get("last_error"));
+    }
+
+    @Test
+    public void testRescheduleWhileRunningKeepsTheJobPending() {
+        LocalDateTime moved = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        scheduler.schedule(TYPE, 1, past());
+        behaviour = job -> scheduler.schedule(TYPE, 1, moved);
+
+        dispatcher().dispatchBatch();
+
+        Map<String, Object> job = row(1);
+        assertEquals("PENDING", job.get("status"));
+        assertEquals(Timestamp.valueOf(moved), job.get("due_at"));
+        assertEquals(0, job.get("attempts"));
+    }
+
+    @Test
+    public void testUpsertIsIdempotentForTheSameDueTime() {
+        LocalDateTime due = past();
+        scheduler.schedule(TYPE, 1, due);
+        dispatcher().dispatchBatch();
+
+        // Re-sync after the reminder went out: must not fire again
+        scheduler.schedule(TYPE, 1, due);
+        assertEquals("DONE", row(1).get("status"));
+        assertEquals(0, dispatcher().dispatchBatch());
+
+        // A new appointment time revives it
+        LocalDateTime later = due.plusMinutes(30);
+        scheduler.schedule(TYPE, 1, later);
+        Map<String, Object> moved = row(1);
+        assertEquals("PENDING", moved.get("status"));
+        assertEquals(0, moved.get("attempts"));
+        assertEquals(Timestamp.valueOf(later), moved.get("due_at"));
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT count(*) FROM scheduled_jobs", Long.class));
+    }
+
+    @Test
+    public void testCancelledJobIsNotClaimedUntilScheduledAgain() {
+        LocalDateTime due = past();
+        scheduler.schedule(TYPE, 1, due);
+        scheduler.cancel(TYPE, 1);
+
+        assertEquals(0, dispatcher().dispatchBatch());
+        assertEquals("CANCELLED", row(1).get("status"));
+
+        scheduler.schedule(TYPE, 1, due);
+        assertEquals(1, dispatcher().dispatchBatch());
+        assertEquals("DONE", row(1).get("status"));
+    }
+}
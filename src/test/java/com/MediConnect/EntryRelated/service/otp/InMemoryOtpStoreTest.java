@@ -0,0 +1,82 @@
+package com.MediConnect.EntryRelated.service.otp;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InMemoryOtpStoreTest {
+
+    private static final String EMAIL = "alice@example.com";
+
+    private Instant now = Instant.parse("2026-03-01T10:00:00Z");
+
+    private InMemoryOtpStore newStore() {
+        return new InMemoryOtpStore(new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        });
+    }
+
+    @Test
+    public void testConsumeSucceedsOnlyOnce() {
+        InMemoryOtpStore store = newStore();
+        store.save(OtpPurpose.LOGIN, EMAIL, "123456", Duration.ofMinutes(5));
+
+        assertTrue(store.consumeIfMatches(OtpPurpose.LOGIN, EMAIL, "123456"));
+        assertFalse(store.consumeIfMatches(OtpPurpose.LOGIN, EMAIL, "123456"));
+    }
+
+    @Test
+    public void testWrongCodeDoesNotConsume() {
+        InMemoryOtpStore store = newStore();
+        store.save(OtpPurpose.LOGIN, EMAIL, "123456", Duration.ofMinutes(5));
+
+        assertFalse(store.consumeIfMatches(OtpPurpose.LOGIN, EMAIL, "000000"));
+        assertTrue(store.matches(OtpPurpose.LOGIN, EMAIL, "123456"));
+    }
+
+    @Test
+    public void testPurposesAreIsolatedAndCodesExpire() {
+        InMemoryOtpStore store = newStore();
+        store.save(OtpPurpose.REGISTRATION, EMAIL, "123456", Duration.ofMinutes(5));
+
+        assertFalse(store.matches(OtpPurpose.LOGIN, EMAIL, "123456"));
+
+        now = now.plus(Duration.ofMinutes(5));
+        assertFalse(store.consumeIfMatches(OtpPurpose.REGISTRATION, EMAIL, "123456"));
+    }
+
+    @Test
+    public void testSlidingWindowRejectsUntilOldestAttemptExpires() {
+        InMemoryOtpStore store = newStore();
+        Duration window = Duration.ofMinutes(15);
+
+        assertEquals(0, store.tryAcquire("send:email:" + EMAIL, 2, window));
+        now = now.plus(Duration.ofMinutes(5));
+        assertEquals(0, store.tryAcquire("send:email:" + EMAIL, 2, window));
+        assertEquals(Duration.ofMinutes(10).toMillis(), store.tryAcquire("send:email:" + EMAIL, 2, window));
+
+        now = now.plus(Duration.ofMinutes(10));
+        assertEquals(0, store.tryAcquire("send:email:" + EMAIL, 2, window));
+    }
+}
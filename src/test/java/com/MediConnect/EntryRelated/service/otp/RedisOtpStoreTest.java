@@ -0,0 +1,120 @@
+package com.MediConnect.EntryRelated.service.otp;
+
+import com.MediConnect.support.TestRedis;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the verify-and-consume and sliding-window scripts on a real redis-server.
+ */
+public class RedisOtpStoreTest {
+
+    private static final String EMAIL = "alice@example.com";
+
+    private final StringRedisTemplate redisTemplate = TestRedis.stringRedisTemplate();
+    private final RedisOtpStore store = new RedisOtpStore(redisTemplate);
+
+    @BeforeEach
+    public void setup() {
+        TestRedis.flushAll();
+    }
+
+    @Test
+    public void testConsumeSucceedsOnlyOnce() {
+        store.save(OtpPurpose.LOGIN, EMAIL, "123456", Duration.ofMinutes(5));
+
+        assertTrue(store.consumeIfMatches(OtpPurpose.LOGIN, EMAIL, "123456"));
+        assertFalse(store.consumeIfMatches(OtpPurpose.LOGIN, EMAIL, "123456"));
+        assertNull(redisTemplate.opsForValue().get(OtpPurpose.LOGIN.key(EMAIL)));
+    }
+
+    @Test
+    public void testWrongCodeDoesNotConsume() {
+        store.save(OtpPurpose.LOGIN, EMAIL, "123456", Duration.ofMinutes(5));
+
+        assertFalse(store.consumeIfMatches(OtpPurpose.LOGIN, EMAIL, "000000"));
+        assertFalse(store.consumeIfMatches(OtpPurpose.LOGIN, EMAIL, null));
+        assertTrue(store.matches(OtpPurpose.LOGIN, EMAIL, "123456"));
+        assertFalse(store.consumeIfMatches(OtpPurpose.REGISTRATION, EMAIL, "123456"));
+    }
+
+    @Test
+    public void testConcurrentConsumersOfTheSameCodeHaveOneWinner() throws Exception {
+        store.save(OtpPurpose.LOGIN, EMAIL, "123456", Duration.ofMinutes(5));
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Boolean> consume = () -> {
+            start.await();
+            return store.consumeIfMatches(OtpPurpose.LOGIN, EMAIL, "123456");
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(consume));
+            }
+            start.countDown();
+            int winners = 0;
+            for (Future<Boolean> future : futures) {
+                if (future.get()) {
+                    winners++;
+                }
+            }
+            assertEquals(1, winners);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSavedCodeCarriesItsTtl() {
+        store.save(OtpPurpose.PASSWORD_RESET, EMAIL, "123456", Duration.ofMinutes(10));
+
+        Long ttl = redisTemplate.getExpire(OtpPurpose.PASSWORD_RESET.key(EMAIL));
+        assertTrue(ttl > 590 && ttl <= 600);
+    }
+
+    @Test
+    public void testSlidingWindowRejectsOverTheLimitWithRetryAfter() {
+        Duration window = Duration.ofMinutes(15);
+
+        assertEquals(0, store.tryAcquire("send:email:" + EMAIL, 2, window));
+        assertEquals(0, store.tryAcquire("send:email:" + EMAIL, 2, window));
+        long retryAfter = store.tryAcquire("send:email:" + EMAIL, 2, window);
+
+        // Both attempts were just made, so the oldest leaves the window in about 15 minutes
+        assertTrue(retryAfter > window.toMillis() - 5_000 && retryAfter <= window.toMillis(), "retry after " + retryAfter);
+        // A rejected attempt is not recorded
+        assertEquals(2L, redisTemplate.opsForZSet().zCard("otp:rate:send:email:" + EMAIL));
+        assertEquals(0, store.tryAcquire("send:email:bob@example.com", 2, window));
+    }
+
+    @Test
+    public void testSlidingWindowAdmitsAgainOnceAttemptsAge() throws Exception {
+        Duration window = Duration.ofMillis(300);
+
+        assertEquals(0, store.tryAcquire("verify:login:" + EMAIL, 1, window));
+        assertTrue(store.tryAcquire("verify:login:" + EMAIL, 1, window) > 0);
+
+        Thread.sleep(400);
+        assertEquals(0, store.tryAcquire("verify:login:" + EMAIL, 1, window));
+        // The window key expires with its newest attempt
+        assertTrue(redisTemplate.getExpire("otp:rate:verify:login:" + EMAIL, TimeUnit.MILLISECONDS) <= 300);
+    }
+}
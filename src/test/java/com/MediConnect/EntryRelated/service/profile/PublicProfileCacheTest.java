@@ -0,0 +1,147 @@
+package com.MediConnect.EntryRelated.service.profile;
+
+import com.MediConnect.support.TestRedis;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the load lock and the version-guarded write on a real redis-server. Two cache instances
+ * sharing the server stand in for two nodes.
+ */
+public class PublicProfileCacheTest {
+
+    private static final long DOCTOR_ID = 42L;
+    private static final String DATA_KEY = "public-profile:42";
+    private static final String LOCK_KEY = "public-profile:lock:42";
+    private static final String VERSION_KEY = "public-profile:version:42";
+
+    private final StringRedisTemplate redisTemplate = TestRedis.stringRedisTemplate();
+
+    @BeforeEach
+    public void setup() {
+        TestRedis.flushAll();
+    }
+
+    private PublicProfileCache node(Duration lockWait) {
+        return new PublicProfileCache(redisTemplate, new ObjectMapper(), Duration.ofMinutes(10), Duration.ofSeconds(5), lockWait);
+    }
+
+    private static Map<String, Object> payload(String name) {
+        return Map.of("name", name);
+    }
+
+    @Test
+    public void testMissIsLoadedOnceThenServedFromRedis() {
+        PublicProfileCache cache = node(Duration.ofSeconds(2));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(payload("Dr. Smith"), cache.get(DOCTOR_ID, () -> {
+            loads.incrementAndGet();
+            return payload("Dr. Smith");
+        }));
+        assertEquals(payload("Dr. Smith"), cache.get(DOCTOR_ID, () -> {
+            loads.incrementAndGet();
+            return payload("changed");
+        }));
+
+        assertEquals(1, loads.get());
+        long ttlSeconds = redisTemplate.getExpire(DATA_KEY, TimeUnit.SECONDS);
+        assertTrue(ttlSeconds > 590 && ttlSeconds <= 600, "ttl " + ttlSeconds);
+        // The lock is released once the result is stored
+        assertNull(redisTemplate.opsForValue().get(LOCK_KEY));
+    }
+
+    @Test
+    public void testNodeWithoutTheLockWaitsForTheOtherNodesResult() throws Exception {
+        PublicProfileCache first = node(Duration.ofSeconds(2));
+        PublicProfileCache second = node(Duration.ofSeconds(2));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Map<String, Object>> firstLoad = CompletableFuture.supplyAsync(() -> first.get(DOCTOR_ID, () -> {
+            loading.countDown();
+            await(release);
+            return payload("Dr. Smith");
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        assertTrue(redisTemplate.hasKey(LOCK_KEY));
+
+        CompletableFuture<Map<String, Object>> secondLoad = CompletableFuture.supplyAsync(() -> second.get(DOCTOR_ID, () -> {
+            throw new AssertionError("second node loaded while the first held the lock");
+        }));
+        Thread.sleep(150);
+        release.countDown();
+
+        assertEquals(payload("Dr. Smith"), firstLoad.get(5, TimeUnit.SECONDS));
+        assertEquals(payload("Dr. Smith"), secondLoad.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testLockHolderThatNeverWritesOnlyDelaysTheLoad() {
+        // Another node took the lock and died before storing anything
+        redisTemplate.opsForValue().set(LOCK_KEY, "other-node", Duration.ofSeconds(5));
+        PublicProfileCache cache = node(Duration.ofMillis(200));
+
+        long started = System.nanoTime();
+        assertEquals(payload("Dr. Smith"), cache.get(DOCTOR_ID, () -> payload("Dr. Smith")));
+
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(200));
+        // Only the holder's token releases the lock
+        assertEquals("other-node", redisTemplate.opsForValue().get(LOCK_KEY));
+        assertTrue(redisTemplate.hasKey(DATA_KEY));
+    }
+
+    @Test
+    public void testInvalidationDuringALoadKeepsTheStaleResultOutOfRedis() {
+        PublicProfileCache cache = node(Duration.ofSeconds(2));
+
+        Map<String, Object> stale = cache.get(DOCTOR_ID, () -> {
+            // The profile is updated and committed while the old version is being read
+            cache.onProfileChanged(new DoctorProfileChangedEvent(DOCTOR_ID));
+            return payload("old name");
+        });
+
+        assertEquals(payload("old name"), stale);
+        assertNull(redisTemplate.opsForValue().get(DATA_KEY));
+        assertEquals("1", redisTemplate.opsForValue().get(VERSION_KEY));
+
+        // The next load starts from the new version and is stored
+        assertEquals(payload("new name"), cache.get(DOCTOR_ID, () -> payload("new name")));
+        assertEquals(payload("new name"), cache.get(DOCTOR_ID, () -> payload("unused")));
+    }
+
+    @Test
+    public void testEvictDropsTheEntryAndBumpsTheVersion() {
+        PublicProfileCache cache = node(Duration.ofSeconds(2));
+        cache.get(DOCTOR_ID, () -> payload("old name"));
+
+        cache.evict(DOCTOR_ID);
+        cache.evict(DOCTOR_ID);
+
+        assertNull(redisTemplate.opsForValue().get(DATA_KEY));
+        assertEquals("2", redisTemplate.opsForValue().get(VERSION_KEY));
+        assertTrue(redisTemplate.getExpire(VERSION_KEY, TimeUnit.HOURS) >= 23);
+        assertEquals(payload("new name"), cache.get(DOCTOR_ID, () -> payload("new name")));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.MediConnect.EntryRelated.service.retention;
+
+import com.MediConnect.support.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs partition maintenance against the partitioned tables built by the migrations.
+ */
+public class PartitionRetentionManagerTest {
+
+    private final JdbcTemplate jdbcTemplate = TestDatabase.jdbcTemplate();
+    private long userId;
+
+    @BeforeEach
+    public void setup() {
+        userId = jdbcTemplate.queryForObject("INSERT INTO users (account_status, email, first_name, last_name, password, role, username) " +
+                "VALUES ('ACTIVE', 'retention@example.com', 'Retention', 'Test', 'x', 'PATIENT', 'retention-test') RETURNING id", Long.class);
+        createPartition("login_sessions", YearMonth.of(2020, 1));
+        createPartition("login_sessions", YearMonth.of(2020, 2));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        jdbcTemplate.update("DELETE FROM login_sessions WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS login_sessions_p2020_01");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS login_sessions_p2020_02");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS notifications_p2040_01");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS notifications_p2040_02");
+    }
+
+    private void createPartition(String table, YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + MonthlyPartitions.partitionName(table, month) + " PARTITION OF " + table
+                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    private void insertSession(String token, LocalDateTime loginTime, boolean active) {
+        Timestamp time = Timestamp.valueOf(loginTime);
+        jdbcTemplate.update("INSERT INTO login_sessions (user_id, session_token, ip_address, user_agent, login_time, " +
+                "is_active, created_at) VALUES (?, ?, '127.0.0.1', 'test', ?, ?, ?)", userId, token, time, active, time);
+    }
+
+    private boolean exists(String relation) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, relation);
+    }
+
+    private boolean tokenRegistered(String token) {
+        return jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM login_session_tokens WHERE session_token = ?)",
+                Boolean.class, token);
+    }
+
+    private static PartitionRetentionManager manager(Clock clock) {
+        return new PartitionRetentionManager(TestDatabase.jdbcTemplate(), clock, true, 1,
+                Map.of("login_sessions", 6, "notifications", 6));
+    }
+
+    @Test
+    public void testDropsExpiredPartitionsAndTheirTokens() {
+        insertSession("retention-old", LocalDateTime.of(2020, 1, 15, 9, 0), false);
+
+        List<String> dropped = manager(Clock.systemDefaultZone()).maintain("login_sessions", 6);
+
+        assertEquals(List.of("login_sessions_p2020_01", "login_sessions_p2020_02"), dropped);
+        assertTrue(!exists("login_sessions_p2020_01"));
+        assertTrue(!tokenRegistered("retention-old"));
+    }
+
+    @Test
+    public void testKeepsExpiredPartitionsThatHoldActiveSessions() {
+        insertSession("retention-ended", LocalDateTime.of(2020, 1, 15, 9, 0), false);
+        insertSession("retention-long-lived", LocalDateTime.of(2020, 2, 3, 9, 0), true);
+
+        List<String> dropped = manager(Clock.systemDefaultZone()).maintain("login_sessions", 6);
+
+        assertEquals(List.of("login_sessions_p2020_01"), dropped);
+        assertTrue(exists("login_sessions_p2020_02"));
+        assertTrue(tokenRegistered("retention-long-lived"));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM login_sessions WHERE session_token = 'retention-long-lived'", Integer.class));
+    }
+
+    @Test
+    public void testSessionTokensStayUniqueAcrossPartitions() {
+        insertSession("retention-token", LocalDateTime.of(2020, 1, 15, 9, 0), true);
+
+        // Same token in another month, i.e. another partition
+        assertThrows(DuplicateKeyException.class,
+                () -> insertSession("retention-token", LocalDateTime.of(2020, 2, 15, 9, 0), true));
+
+        jdbcTemplate.update("DELETE FROM login_sessions WHERE session_token = 'retention-token'");
+        assertTrue(!tokenRegistered("retention-token"));
+        insertSession("retention-token", LocalDateTime.of(2020, 2, 15, 9, 0), true);
+    }
+
+    @Test
+    public void testCreatesUpcomingPartitions() {
+        Clock clock = Clock.fixed(Instant.parse("2040-01-10T12:00:00Z"), ZoneOffset.UTC);
+
+        manager(clock).maintain("notifications", 6);
+
+        assertTrue(exists("notifications_p2040_01"));
+        assertTrue(exists("notifications_p2040_02"));
+        assertEquals("FOR VALUES FROM ('2040-02-01 00:00:00') TO ('2040-03-01 00:00:00')", jdbcTemplate.queryForObject(
+                "SELECT pg_get_expr(relpartbound, oid) FROM pg_class WHERE relname = 'notifications_p2040_02'", String.class));
+    }
+
+    @Test
+    public void testSkipsTablesThatAreNotPartitioned() {
+        assertTrue(manager(Clock.systemDefaultZone()).maintain("email_outbox", 1).isEmpty());
+    }
+
+    @Test
+    public void testIdentifiersAreValidatedBeforeReachingDdl() {
+        assertEquals("\"login_sessions_p2020_01\"", MonthlyPartitions.quote("login_sessions_p2020_01"));
+        assertThrows(IllegalArgumentException.class, () -> MonthlyPartitions.quote("login_sessions; DROP TABLE users"));
+        assertThrows(IllegalArgumentException.class, () -> MonthlyPartitions.quote("Login\"Sessions"));
+    }
+
+    @Test
+    public void testPartitionNamesIgnoreOtherTablesAndDefault() {
+        assertEquals(Optional.of(YearMonth.of(2025, 1)),
+                MonthlyPartitions.monthOf("login_sessions", "login_sessions_p2025_01"));
+        assertEquals(Optional.empty(), MonthlyPartitions.monthOf("login_sessions", "login_sessions_default"));
+        assertEquals(Optional.empty(), MonthlyPartitions.monthOf("notifications", "notifications_x_p2025_01"));
+        assertEquals(Optional.empty(), MonthlyPartitions.monthOf("notifications", "notifications_p2025_13"));
+    }
+
+    @Test
+    public void testExpiryKeepsTheRetentionWindow() {
+        List<String> expired = MonthlyPartitions.expired("notifications", List.of(
+                "notifications_p2026_02", "notifications_p2026_03", "notifications_p2026_04",
+                "notifications_p2026_10", "notifications_default"), YearMonth.of(2026, 10), 6);
+
+        // October with 6 months retention keeps April onwards
+        assertEquals(List.of("notifications_p2026_02", "notifications_p2026_03"), expired);
+    }
+}
@@ -0,0 +1,100 @@
+package com.MediConnect.ai.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OpenAiChatClientTest {
+
+    private HttpServer server;
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicInteger hits = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() throws Exception {
+        // Local stand-in for the OpenAI endpoint
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/chat/completions", exchange -> {
+            hits.incrementAndGet();
+            byte[] body = "{\"choices\":[{\"message\":{\"content\":\"{}\"}}]}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status.get(), body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private OpenAiChatClient newClient(int maxConcurrent, int failureThreshold, Duration openDuration) {
+        URI baseUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+        return new OpenAiChatClient(HttpClient.newHttpClient(), baseUri, "test-key",
+                Duration.ofSeconds(5), maxConcurrent, failureThreshold, openDuration);
+    }
+
+    @Test
+    public void testReturnsBodyOnSuccess() {
+        OpenAiChatClient client = newClient(4, 3, Duration.ofSeconds(30));
+
+        String body = client.complete("{}").join();
+
+        assertTrue(body.contains("choices"));
+        assertEquals(4, client.getAvailablePermits());
+    }
+
+    @Test
+    public void testCircuitOpensAfterConsecutiveFailures() {
+        OpenAiChatClient client = newClient(4, 2, Duration.ofMinutes(1));
+        status.set(503);
+
+        assertThrows(CompletionException.class, () -> client.complete("{}").join());
+        assertThrows(CompletionException.class, () -> client.complete("{}").join());
+        assertTrue(client.isCircuitOpen());
+
+        // Further calls are short-circuited without reaching the server
+        CompletionException rejected = assertThrows(CompletionException.class, () -> client.complete("{}").join());
+        assertInstanceOf(OpenAiUnavailableException.class, rejected.getCause());
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    public void testHalfOpenTrialClosesCircuit() throws Exception {
+        OpenAiChatClient client = newClient(4, 1, Duration.ofMillis(50));
+        status.set(500);
+        assertThrows(CompletionException.class, () -> client.complete("{}").join());
+        assertTrue(client.isCircuitOpen());
+
+        Thread.sleep(100);
+        status.set(200);
+
+        client.complete("{}").join();
+        assertFalse(client.isCircuitOpen());
+    }
+
+    @Test
+    public void testClientErrorsDoNotTripCircuit() {
+        OpenAiChatClient client = newClient(4, 1, Duration.ofMinutes(1));
+        status.set(400);
+
+        assertThrows(CompletionException.class, () -> client.complete("{}").join());
+        assertFalse(client.isCircuitOpen());
+    }
+}
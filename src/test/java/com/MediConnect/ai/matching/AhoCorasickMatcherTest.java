@@ -0,0 +1,91 @@
+package com.MediConnect.ai.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AhoCorasickMatcherTest {
+
+    private static Map<String, String> patterns(String... values) {
+        Map<String, String> patterns = new LinkedHashMap<>();
+        for (String value : values) {
+            patterns.put(value, value.toUpperCase());
+        }
+        return patterns;
+    }
+
+    @Test
+    public void testFindsOverlappingAndNestedPatterns() {
+        AhoCorasickMatcher<String> matcher = AhoCorasickMatcher.compile(patterns("he", "she", "his", "hers"));
+
+        List<AhoCorasickMatcher.Match<String>> matches = matcher.findAll("ushers");
+
+        // "she" and its suffix "he" end at the same position, then "hers"
+        assertEquals(List.of("she", "he", "hers"), matches.stream().map(AhoCorasickMatcher.Match::pattern).toList());
+        assertEquals(1, matches.get(0).start());
+        assertEquals(4, matches.get(0).end());
+        assertEquals("HERS", matches.get(2).value());
+    }
+
+    @Test
+    public void testPatternIdsFollowRegistrationOrder() {
+        AhoCorasickMatcher<String> matcher = AhoCorasickMatcher.compile(patterns("new york", "york"));
+
+        List<AhoCorasickMatcher.Match<String>> matches = matcher.findAll("clinic in new york");
+
+        assertEquals(2, matches.size());
+        assertEquals("new york", matches.stream().min(Comparator.comparingInt(AhoCorasickMatcher.Match::patternId)).orElseThrow().pattern());
+    }
+
+    @Test
+    public void testEmptyInputsAndPatterns() {
+        AhoCorasickMatcher<String> empty = AhoCorasickMatcher.compile(patterns(""));
+
+        assertTrue(empty.isEmpty());
+        assertTrue(empty.findAll("anything").isEmpty());
+        assertTrue(AhoCorasickMatcher.compile(patterns("a")).findAll(null).isEmpty());
+    }
+
+    @Test
+    public void testMatchesEveryOccurrenceFoundByANaiveScan() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            Map<String, String> patterns = new LinkedHashMap<>();
+            for (int i = 0; i < 1 + random.nextInt(8); i++) {
+                patterns.putIfAbsent(randomText(random, 1 + random.nextInt(4)), "v" + i);
+            }
+            String text = randomText(random, random.nextInt(40));
+
+            List<String> expected = new ArrayList<>();
+            for (int end = 1; end <= text.length(); end++) {
+                for (String pattern : patterns.keySet()) {
+                    if (end >= pattern.length() && text.startsWith(pattern, end - pattern.length())) {
+                        expected.add(pattern + "@" + (end - pattern.length()));
+                    }
+                }
+            }
+            List<String> actual = AhoCorasickMatcher.compile(patterns).findAll(text).stream()
+                    .map(match -> match.pattern() + "@" + match.start())
+                    .toList();
+
+            assertEquals(expected.stream().sorted().toList(), actual.stream().sorted().toList(), "text " + text);
+        }
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            // Small alphabet, so patterns overlap and share prefixes and suffixes often
+            text.append((char) ('a' + random.nextInt(3)));
+        }
+        return text.toString();
+    }
+}
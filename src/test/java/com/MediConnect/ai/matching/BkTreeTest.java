@@ -0,0 +1,116 @@
+package com.MediConnect.ai.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BkTreeTest {
+
+    private static BkTree<String> tree(String... terms) {
+        BkTree<String> tree = new BkTree<>();
+        for (String term : terms) {
+            tree.add(term, term.toUpperCase());
+        }
+        return tree;
+    }
+
+    @Test
+    public void testFindsMisspeltTermWithinTolerance() {
+        BkTree<String> tree = tree("neurologist", "dermatologist", "cardiologist", "urologist");
+
+        BkTree.Result<String> result = tree.findClosest("neurolgist", 2).orElseThrow();
+
+        assertEquals("neurologist", result.term());
+        assertEquals("NEUROLOGIST", result.value());
+        assertEquals(1, result.distance());
+    }
+
+    @Test
+    public void testNothingWithinToleranceIsEmpty() {
+        BkTree<String> tree = tree("neurologist", "dermatologist");
+
+        assertTrue(tree.findClosest("dentist", 2).isEmpty());
+        assertTrue(new BkTree<String>().findClosest("dentist", 2).isEmpty());
+        assertTrue(tree.findClosest(null, 2).isEmpty());
+    }
+
+    @Test
+    public void testTiesKeepTheFirstTermAdded() {
+        BkTree<String> tree = tree("cat", "bat", "hat");
+
+        assertEquals("cat", tree.findClosest("rat", 1).orElseThrow().term());
+    }
+
+    @Test
+    public void testBoundedDistanceIsExactWithinTheBound() {
+        assertEquals(3, BkTree.boundedDistance("kitten", "sitting", 5));
+        assertEquals(0, BkTree.boundedDistance("", "", 0));
+        assertEquals(4, BkTree.boundedDistance("", "abcd", Integer.MAX_VALUE));
+        assertTrue(BkTree.boundedDistance("kitten", "sitting", 1) > 1);
+        assertTrue(BkTree.boundedDistance("a", "abcdef", 2) > 2);
+    }
+
+    @Test
+    public void testAgreesWithALinearScan() {
+        Random random = new Random(7);
+        for (int round = 0; round < 100; round++) {
+            List<String> terms = new ArrayList<>();
+            BkTree<String> tree = new BkTree<>();
+            for (int i = 0; i < 30; i++) {
+                String term = randomWord(random);
+                tree.add(term, term);
+                if (!terms.contains(term)) {
+                    terms.add(term);
+                }
+            }
+            String query = randomWord(random);
+            int tolerance = random.nextInt(4);
+
+            String expectedTerm = null;
+            int expectedDistance = tolerance + 1;
+            for (String term : terms) {
+                int distance = levenshtein(query, term);
+                if (distance < expectedDistance) {
+                    expectedTerm = term;
+                    expectedDistance = distance;
+                }
+            }
+            Optional<BkTree.Result<String>> actual = tree.findClosest(query, tolerance);
+
+            assertEquals(Optional.ofNullable(expectedTerm), actual.map(BkTree.Result::term), "query " + query);
+            actual.ifPresent(result -> assertEquals(levenshtein(query, result.term()), result.distance()));
+        }
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0, length = 3 + random.nextInt(6); i < length; i++) {
+            word.append((char) ('a' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+
+    private static int levenshtein(String left, String right) {
+        int[][] distance = new int[left.length() + 1][right.length() + 1];
+        for (int i = 0; i <= left.length(); i++) {
+            distance[i][0] = i;
+        }
+        for (int j = 0; j <= right.length(); j++) {
+            distance[0][j] = j;
+        }
+        for (int i = 1; i <= left.length(); i++) {
+            for (int j = 1; j <= right.length(); j++) {
+                int cost = left.charAt(i - 1) == right.charAt(j - 1) ? 0 : 1;
+                distance[i][j] = Math.min(Math.min(distance[i - 1][j] + 1, distance[i][j - 1] + 1),
+                        distance[i - 1][j - 1] + cost);
+            }
+        }
+        return distance[left.length()][right.length()];
+    }
+}
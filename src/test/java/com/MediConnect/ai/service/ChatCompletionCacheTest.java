@@ -0,0 +1,51 @@
+package com.MediConnect.ai.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ChatCompletionCacheTest {
+
+    @Test
+    public void testEntryExpiresAfterTtl() throws Exception {
+        ChatCompletionCache cache = new ChatCompletionCache(Duration.ofMillis(100), 10);
+        cache.put("cardiologist", "{\"reply\":\"cached\"}");
+
+        assertEquals("{\"reply\":\"cached\"}", cache.get("cardiologist"));
+        Thread.sleep(150);
+
+        assertNull(cache.get("cardiologist"));
+        // The expired entry is dropped on read rather than kept until eviction
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvictedAtMaxEntries() {
+        ChatCompletionCache cache = new ChatCompletionCache(Duration.ofMinutes(10), 2);
+        cache.put("a", "reply a");
+        cache.put("b", "reply b");
+        // Reading a makes b the least recently used
+        cache.get("a");
+
+        cache.put("c", "reply c");
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals("reply a", cache.get("a"));
+        assertEquals("reply c", cache.get("c"));
+    }
+
+    @Test
+    public void testZeroTtlOrNullBodyStoresNothing() {
+        ChatCompletionCache disabled = new ChatCompletionCache(Duration.ZERO, 10);
+        disabled.put("a", "reply a");
+        assertNull(disabled.get("a"));
+
+        ChatCompletionCache cache = new ChatCompletionCache(Duration.ofMinutes(10), 10);
+        cache.put("a", null);
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,119 @@
+package com.MediConnect.ai.service;
+
+import com.MediConnect.EntryRelated.entities.HealthcareProvider;
+import com.MediConnect.EntryRelated.service.profile.DoctorProfileChangedEvent;
+import com.MediConnect.config.cache.CacheInvalidationPublisher;
+import com.MediConnect.config.cache.TieredCacheManager;
+import com.MediConnect.config.cache.TieredCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ProviderAttributeIndexTest {
+
+    private static HealthcareProvider provider(String state, String country, String... insurances) {
+        HealthcareProvider provider = new HealthcareProvider();
+        provider.setState(state);
+        provider.setCountry(country);
+        provider.setInsuranceAccepted(List.of(insurances));
+        return provider;
+    }
+
+    private static ProviderAttributeIndex index(HealthcareProvider... providers) {
+        return ProviderAttributeIndex.build(ProviderAttributeIndex.Source.of(List.of(providers)));
+    }
+
+    @Test
+    public void testFindsStateAndCountryByProviderOrder() {
+        ProviderAttributeIndex index = index(
+                provider("Texas", "USA"),
+                provider(" New York ", "Canada"),
+                provider("York", "USA"));
+
+        assertEquals("Texas", index.findState("any dermatologist in texas?"));
+        // Both "new york" and "york" occur; the earlier provider's value wins
+        assertEquals("New York", index.findState("i live in new york"));
+        assertEquals("Canada", index.findCountry("somewhere in canada"));
+        // Priority follows the providers, not the position in the message
+        assertEquals("USA", index.findCountry("somewhere in canada or the usa"));
+        assertNull(index.findState("nowhere in particular"));
+    }
+
+    @Test
+    public void testFindsInsuranceByFullNameTokensOrFragment() {
+        ProviderAttributeIndex index = index(
+                provider("Texas", "USA", "Blue Cross Blue Shield (BCBS)", "Aetna Choice POS II"),
+                provider("Ohio", "USA", "UnitedHealthcare"));
+
+        assertEquals("Blue Cross Blue Shield (BCBS)", index.findInsurance("I have Blue Cross Blue Shield"));
+        // All significant tokens (longer than two letters), in any order
+        assertEquals("Aetna Choice POS II", index.findInsurance("my plan is pos choice from aetna"));
+        // A short message that is part of a plan name
+        assertEquals("Aetna Choice POS II", index.findInsurance("aetna"));
+        assertEquals("UnitedHealthcare", index.findInsurance("unitedhealthcare please"));
+        assertNull(index.findInsurance("cigna"));
+        assertNull(index.findInsurance("   "));
+    }
+
+    @Test
+    public void testSourceKeepsDistinctTrimmedValuesInProviderOrder() {
+        ProviderAttributeIndex.Source source = ProviderAttributeIndex.Source.of(java.util.Arrays.asList(
+                provider("Texas", "USA", "Aetna"),
+                null,
+                provider(" Texas", " ", "Aetna ", "Cigna"),
+                provider(null, "Mexico")));
+
+        assertEquals(List.of("Texas"), source.states());
+        assertEquals(List.of("USA", "Mexico"), source.countries());
+        assertEquals(List.of("Aetna", "Cigna"), source.insurances());
+    }
+
+    @Test
+    public void testCachedIndexIsReusedUntilADoctorChanges() {
+        CacheInvalidationPublisher publisher = mock(CacheInvalidationPublisher.class);
+        ProviderAttributeIndexCache cache = new ProviderAttributeIndexCache(cacheManager(publisher), publisher, Duration.ofMinutes(10));
+        List<HealthcareProvider> before = List.of(provider("Texas", "USA"));
+        List<HealthcareProvider> after = List.of(provider("Ohio", "USA"));
+
+        ProviderAttributeIndex first = cache.get(before);
+        assertSame(first, cache.get(after));
+
+        cache.onProviderChanged(new DoctorProfileChangedEvent(1L));
+
+        ProviderAttributeIndex rebuilt = cache.get(after);
+        assertNotSame(first, rebuilt);
+        assertEquals("Ohio", rebuilt.findState("in ohio"));
+        verify(publisher).evicted(ProviderAttributeIndexCache.NEAR_CACHE_NAME, "all");
+    }
+
+    @Test
+    public void testChangeOnAnotherNodeDropsTheCachedIndex() {
+        CacheInvalidationPublisher publisher = mock(CacheInvalidationPublisher.class);
+        TieredCacheManager cacheManager = cacheManager(publisher);
+        ProviderAttributeIndexCache cache = new ProviderAttributeIndexCache(cacheManager, publisher, Duration.ofMinutes(10));
+        ProviderAttributeIndex first = cache.get(List.of(provider("Texas", "USA")));
+
+        String message = "other-node|" + ProviderAttributeIndexCache.NEAR_CACHE_NAME + "|all";
+        cacheManager.onMessage(new DefaultMessage("cache-invalidation".getBytes(StandardCharsets.UTF_8),
+                message.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertNotSame(first, cache.get(List.of(provider("Ohio", "USA"))));
+    }
+
+    private static TieredCacheManager cacheManager(CacheInvalidationPublisher publisher) {
+        return new TieredCacheManager(mock(RedisCacheManager.class), new TieredCacheProperties(), publisher,
+                new SimpleMeterRegistry());
+    }
+}
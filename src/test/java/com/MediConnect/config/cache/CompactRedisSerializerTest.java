@@ -0,0 +1,74 @@
+package com.MediConnect.config.cache;
+
+import com.MediConnect.EntryRelated.entities.Users;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactRedisSerializerTest {
+
+    private final RedisSerializer<Object> serializer = CacheSerializers.compact(256);
+
+    @Test
+    public void testUserListRoundTripsAsUsers() {
+        List<Users> users = users(3);
+
+        Object restored = serializer.deserialize(serializer.serialize(users));
+
+        List<?> list = assertInstanceOf(List.class, restored);
+        assertEquals(3, list.size());
+        Users first = assertInstanceOf(Users.class, list.get(0));
+        assertEquals("admin0", first.getUsername());
+    }
+
+    @Test
+    public void testLargeValuesAreCompressed() {
+        List<Users> users = users(100);
+
+        byte[] compressed = serializer.serialize(users);
+        byte[] uncompressed = CacheSerializers.compact(0).serialize(users);
+
+        assertTrue(compressed.length < uncompressed.length);
+        assertEquals(100, ((List<?>) serializer.deserialize(compressed)).size());
+    }
+
+    @Test
+    public void testLongsStayLongs() {
+        assertEquals(17L, serializer.deserialize(serializer.serialize(17L)));
+    }
+
+    @Test
+    public void testReadsEntriesWrittenByJsonSerializer() {
+        byte[] legacy = CacheSerializers.json().serialize(42L);
+
+        assertEquals(42L, serializer.deserialize(legacy));
+    }
+
+    @Test
+    public void testUnknownTypeIdIsTreatedAsMiss() {
+        byte[] bytes = serializer.serialize(17L);
+        bytes[3] = 0x7F;
+
+        assertNull(serializer.deserialize(bytes));
+    }
+
+    private static List<Users> users(int count) {
+        List<Users> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Users user = new Users();
+            user.setId((long) i);
+            user.setUsername("admin" + i);
+            user.setRole("ADMIN");
+            user.setEmail("admin" + i + "@meddiconnect.com");
+            users.add(user);
+        }
+        return users;
+    }
+}
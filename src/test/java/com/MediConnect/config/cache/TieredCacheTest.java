@@ -0,0 +1,77 @@
+package com.MediConnect.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TieredCacheTest {
+
+    @Mock
+    private CacheInvalidationPublisher invalidationPublisher;
+
+    private ConcurrentMapCache redisCache;
+    private TieredCache cache;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        // Stand-in for the Redis level
+        redisCache = new ConcurrentMapCache("unreadCount", false);
+        cache = new TieredCache("unreadCount", redisCache,
+                Caffeine.newBuilder().maximumSize(100).expireAfterWrite(Duration.ofMinutes(1)).build(),
+                invalidationPublisher);
+    }
+
+    @Test
+    public void testLoadedValueIsServedFromL1() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(3L, cache.get(42L, () -> (long) loads.incrementAndGet() + 2));
+        redisCache.clear();
+
+        assertEquals(3L, cache.get(42L, () -> (long) loads.incrementAndGet() + 2));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testL1MissFallsBackToL2AndPopulatesL1() {
+        redisCache.put(7L, 5L);
+
+        assertEquals(5L, cache.get(7L).get());
+        redisCache.evict(7L);
+        assertEquals(5L, cache.get(7L).get());
+    }
+
+    @Test
+    public void testEvictClearsBothLevelsAndBroadcasts() {
+        cache.put(42L, 3L);
+
+        cache.evict(42L);
+
+        assertNull(cache.get(42L));
+        assertNull(redisCache.get(42L));
+        // Once for the put, once for the evict
+        verify(invalidationPublisher, times(2)).evicted("unreadCount", "42");
+    }
+
+    @Test
+    public void testRemoteInvalidationDropsOnlyL1() {
+        cache.put(42L, 3L);
+        redisCache.put(42L, 4L);
+
+        cache.evictLocal("42");
+
+        assertEquals(4L, cache.get(42L).get());
+    }
+}
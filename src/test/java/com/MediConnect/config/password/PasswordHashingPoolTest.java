@@ -0,0 +1,106 @@
+package com.MediConnect.config.password;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PasswordHashingPoolTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingPool pool;
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testRejectsWhenQueueIsFull() throws Exception {
+        pool = new PasswordHashingPool(1, 1, Duration.ofSeconds(5), Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> pool.encode(() -> {
+            started.countDown();
+            release.await();
+            return "first";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> pool.encode(() -> "second"));
+        waitForQueued();
+
+        assertThrows(PasswordHashingBusyException.class, () -> pool.encode(() -> "third"));
+
+        release.countDown();
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.counter("mediconnect.password.rejected").count());
+    }
+
+    @Test
+    public void testDropsTasksThatWaitedTooLong() throws Exception {
+        pool = new PasswordHashingPool(1, 4, Duration.ofMillis(50), Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> slow = CompletableFuture.supplyAsync(() -> pool.matches(() -> {
+            started.countDown();
+            Thread.sleep(200);
+            return true;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(PasswordHashingBusyException.class, () -> pool.matches(() -> true));
+        assertTrue(slow.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testLegacyHashesVerifyAndAreUpgraded() {
+        PasswordEncoder encoder = PasswordHashingConfig.hashingEncoder(PasswordHashingConfig.BCRYPT, 5, 1024, 1, 1);
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.matches("secret", legacy));
+        assertFalse(encoder.matches("wrong", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+
+        String current = encoder.encode("secret");
+        assertTrue(current.startsWith("{bcrypt}"));
+        assertFalse(encoder.upgradeEncoding(current));
+    }
+
+    @Test
+    public void testSwitchingToArgon2UpgradesBcryptHashes() {
+        PasswordEncoder bcrypt = PasswordHashingConfig.hashingEncoder(PasswordHashingConfig.BCRYPT, 4, 1024, 1, 1);
+        PasswordEncoder argon2 = PasswordHashingConfig.hashingEncoder(PasswordHashingConfig.ARGON2, 4, 1024, 1, 1);
+        String bcryptHash = bcrypt.encode("secret");
+
+        assertTrue(argon2.matches("secret", bcryptHash));
+        assertTrue(argon2.upgradeEncoding(bcryptHash));
+
+        String argon2Hash = argon2.encode("secret");
+        assertTrue(argon2Hash.startsWith("{argon2}"));
+        assertTrue(argon2.matches("secret", argon2Hash));
+        assertFalse(argon2.upgradeEncoding(argon2Hash));
+    }
+
+    private void waitForQueued() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("mediconnect.password.queue.size").gauge().value() < 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.MediConnect.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RequestConcurrencyLimitFilterTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void cleanup() {
+        release.countDown();
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRequestURI(uri);
+        return request;
+    }
+
+    /**
+     * Starts a request on another thread that holds its permit until {@link #release} opens.
+     */
+    private CompletableFuture<Void> holdPermit(RequestConcurrencyLimitFilter filter) throws InterruptedException {
+        CountDownLatch inside = new CountDownLatch(1);
+        CompletableFuture<Void> held = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(request("/appointments/patient"), new MockHttpServletResponse(), (req, res) -> {
+                    inside.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(inside.await(5, TimeUnit.SECONDS));
+        return held;
+    }
+
+    @Test
+    public void testPermitIsHeldForTheRequestAndReleasedAfterwards() throws Exception {
+        RequestConcurrencyLimitFilter filter = new RequestConcurrencyLimitFilter(2, Duration.ofMillis(50));
+        AtomicInteger permitsInside = new AtomicInteger(-1);
+
+        filter.doFilter(request("/appointments/patient"), new MockHttpServletResponse(),
+                (req, res) -> permitsInside.set(filter.getAvailablePermits()));
+        assertEquals(1, permitsInside.get());
+        assertEquals(2, filter.getAvailablePermits());
+
+        FilterChain failing = (req, res) -> {
+            throw new ServletException("handler failed");
+        };
+        assertThrows(ServletException.class,
+                () -> filter.doFilter(request("/appointments/patient"), new MockHttpServletResponse(), failing));
+        assertEquals(2, filter.getAvailablePermits());
+    }
+
+    @Test
+    public void testRequestIsRejectedWith503AfterWaitingForAPermit() throws Exception {
+        RequestConcurrencyLimitFilter filter = new RequestConcurrencyLimitFilter(1, Duration.ofMillis(100));
+        CompletableFuture<Void> held = holdPermit(filter);
+        AtomicInteger handled = new AtomicInteger();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+        long started = System.nanoTime();
+        filter.doFilter(request("/appointments/patient"), rejected, (req, res) -> handled.incrementAndGet());
+
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, handled.get());
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals("application/json", rejected.getContentType());
+        assertEquals("{\"status\":\"error\",\"message\":\"The server is busy, please try again shortly\"}",
+                rejected.getContentAsString());
+
+        // A rejected request must not give back a permit it never took
+        release.countDown();
+        held.get(5, TimeUnit.SECONDS);
+        assertEquals(1, filter.getAvailablePermits());
+        filter.doFilter(request("/appointments/patient"), new MockHttpServletResponse(), (req, res) -> handled.incrementAndGet());
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    public void testWaitingRequestGetsTheReleasedPermit() throws Exception {
+        RequestConcurrencyLimitFilter filter = new RequestConcurrencyLimitFilter(1, Duration.ofSeconds(5));
+        CompletableFuture<Void> held = holdPermit(filter);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(request("/appointments/doctor"), response, (req, res) -> { });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        release.countDown();
+
+        held.get(5, TimeUnit.SECONDS);
+        waiting.get(5, TimeUnit.SECONDS);
+        assertEquals(200, response.getStatus());
+        assertEquals(1, filter.getAvailablePermits());
+    }
+
+    @Test
+    public void testWebSocketRequestsBypassTheLimit() throws Exception {
+        RequestConcurrencyLimitFilter filter = new RequestConcurrencyLimitFilter(1, Duration.ofMillis(50));
+        holdPermit(filter);
+        AtomicInteger handled = new AtomicInteger();
+
+        MockHttpServletResponse sockJs = new MockHttpServletResponse();
+        filter.doFilter(request("/ws/info"), sockJs, (req, res) -> handled.incrementAndGet());
+
+        MockHttpServletRequest underContextPath = request("/api/ws/websocket");
+        underContextPath.setContextPath("/api");
+        filter.doFilter(underContextPath, new MockHttpServletResponse(), (req, res) -> handled.incrementAndGet());
+
+        assertEquals(2, handled.get());
+        assertEquals(200, sockJs.getStatus());
+        assertNull(sockJs.getHeader("Retry-After"));
+        assertEquals(0, filter.getAvailablePermits());
+    }
+}
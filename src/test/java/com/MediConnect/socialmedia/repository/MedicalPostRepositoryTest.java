@@ -0,0 +1,255 @@
+package com.MediConnect.socialmedia.repository;
+
+import com.MediConnect.socialmedia.entity.MedicalPost;
+import com.MediConnect.socialmedia.service.post.dto.ModerationQueueCursor;
+import com.MediConnect.socialmedia.service.post.dto.ModerationQueueSort;
+import com.MediConnect.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs the moderation queue query, a doctor's post pages and the cascading post delete on PostgreSQL. Each test's rows roll back with its transaction.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class MedicalPostRepositoryTest {
+
+    private static final long FIRST_POST_ID = 9_100_001L;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    private MedicalPostRepository medicalPostRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long providerId;
+
+    @BeforeEach
+    public void setup() {
+        providerId = jdbcTemplate.queryForObject("INSERT INTO users (account_status, email, first_name, last_name, password, role, username) " +
+                "VALUES ('ACTIVE', 'queue@example.com', 'Queue', 'Test', 'x', 'HEALTHPROVIDER', 'queue-test') RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO healthcare_provider (id) VALUES (?)", providerId);
+    }
+
+    private void post(long id) {
+        jdbcTemplate.update("INSERT INTO medical_post (id, provider_id, content, created_at, admin_flagged) " +
+                "VALUES (?, ?, 'post', now(), false)", id, providerId);
+    }
+
+    private void post(long id, long authorId, String createdAt) {
+        jdbcTemplate.update("INSERT INTO medical_post (id, provider_id, content, created_at, admin_flagged) " +
+                "VALUES (?, ?, 'post', ?, false)", id, authorId, Timestamp.valueOf(createdAt));
+    }
+
+    private void report(long postId, String createdAt, boolean reviewed) {
+        jdbcTemplate.update("INSERT INTO medical_post_report (post_id, reason, reporter_type, reporter_id, created_at, reviewed) " +
+                "VALUES (?, 'SPAM_OR_SCAM', 'PATIENT', 1, ?, ?)", postId, Timestamp.valueOf(createdAt), reviewed);
+    }
+
+    /**
+     * Walks the whole queue page by page, passing each page's cursor through its token form.
+     */
+    private List<Long> allPages(ModerationQueueSort sort, int pageSize) {
+        List<Long> ids = new ArrayList<>();
+        ModerationQueueCursor after = null;
+        while (true) {
+            List<MedicalPostRepositoryCustom.ModerationQueueEntry> page =
+                    medicalPostRepository.findModerationQueue(null, sort, after, pageSize);
+            page.forEach(entry -> ids.add(entry.postId()));
+            if (ids.size() > 50) {
+                fail("Cursor does not advance: " + ids);
+            }
+            if (page.size() < pageSize) {
+                return ids;
+            }
+            MedicalPostRepositoryCustom.ModerationQueueEntry last = page.get(page.size() - 1);
+            long sortKey = sort == ModerationQueueSort.RECENT
+                    ? ModerationQueueCursor.epochMicros(last.lastReportedAt())
+                    : last.reportCount();
+            after = ModerationQueueCursor.decode(new ModerationQueueCursor(sort, sortKey, last.postId()).encode(), sort);
+        }
+    }
+
+    @Test
+    public void testRecentPagingKeepsSubMillisecondOrderAndBreaksTiesById() {
+        long a = FIRST_POST_ID, b = a + 1, c = a + 2, d = a + 3, e = a + 4;
+        for (long id = a; id <= e; id++) {
+            post(id);
+        }
+        // a, b and c were last reported in the same microsecond; d later in the same millisecond
+        report(a, "2026-03-01 10:00:00.123456", false);
+        report(b, "2026-03-01 10:00:00.123456", true);
+        report(c, "2026-03-01 09:00:00", false);
+        report(c, "2026-03-01 10:00:00.123456", false);
+        report(d, "2026-03-01 10:00:00.123457", false);
+        report(e, "2026-03-01 10:00:00.123", false);
+
+        List<Long> expected = List.of(d, c, b, a, e);
+        assertEquals(expected, allPages(ModerationQueueSort.RECENT, 100));
+        for (int pageSize = 1; pageSize <= 3; pageSize++) {
+            assertEquals(expected, allPages(ModerationQueueSort.RECENT, pageSize), "page size " + pageSize);
+        }
+
+        MedicalPostRepositoryCustom.ModerationQueueEntry first =
+                medicalPostRepository.findModerationQueue(null, ModerationQueueSort.RECENT, null, 2).get(1);
+        assertEquals(c, first.postId());
+        assertEquals(2, first.reportCount());
+        assertEquals(2, first.pendingReportCount());
+        assertEquals(Timestamp.valueOf("2026-03-01 10:00:00.123456"), first.lastReportedAt());
+    }
+
+    @Test
+    public void testReportCountPagingBreaksTiesById() {
+        long a = FIRST_POST_ID, b = a + 1, c = a + 2, d = a + 3, e = a + 4;
+        for (long id = a; id <= e; id++) {
+            post(id);
+        }
+        int[] reports = {2, 3, 2, 1, 2};
+        for (int i = 0; i < reports.length; i++) {
+            for (int r = 0; r < reports[i]; r++) {
+                report(a + i, "2026-03-01 10:00:0" + r, r == 0);
+            }
+        }
+
+        List<Long> expected = List.of(b, e, c, a, d);
+        for (int pageSize = 1; pageSize <= 5; pageSize++) {
+            assertEquals(expected, allPages(ModerationQueueSort.REPORT_COUNT, pageSize), "page size " + pageSize);
+        }
+        MedicalPostRepositoryCustom.ModerationQueueEntry top =
+                medicalPostRepository.findModerationQueue(null, ModerationQueueSort.REPORT_COUNT, null, 1).get(0);
+        assertEquals(3, top.reportCount());
+        assertEquals(2, top.pendingReportCount());
+        assertEquals(5, medicalPostRepository.countModerationQueue(null));
+    }
+
+    @Test
+    public void testDoctorPostPagesBreakCreatedAtTiesByIdAndSkipOtherDoctors() {
+        long otherDoctor = jdbcTemplate.queryForObject("INSERT INTO users (account_status, email, first_name, last_name, password, role, username) " +
+                "VALUES ('ACTIVE', 'other-posts@example.com', 'Other', 'Test', 'x', 'HEALTHPROVIDER', 'other-posts-test') RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO healthcare_provider (id) VALUES (?)", otherDoctor);
+        long a = FIRST_POST_ID, b = a + 1, c = a + 2, d = a + 3, e = a + 4;
+        post(a, providerId, "2026-03-01 08:00:00");
+        // b and c were created in the same microsecond; c wins on id
+        post(b, providerId, "2026-03-01 10:00:00");
+        post(c, providerId, "2026-03-01 10:00:00");
+        post(d, providerId, "2026-03-01 09:00:00");
+        post(e, providerId, "2026-03-01 11:00:00");
+        post(a + 10, otherDoctor, "2026-03-01 10:30:00");
+        post(a + 11, otherDoctor, "2026-03-01 12:00:00");
+
+        Sort newestFirst = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+        List<List<Long>> pages = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            Page<MedicalPost> result = medicalPostRepository.findPageByPostProviderId(providerId, PageRequest.of(page, 2, newestFirst));
+            assertEquals(5, result.getTotalElements(), "page " + page);
+            assertEquals(3, result.getTotalPages());
+            pages.add(result.getContent().stream().map(MedicalPost::getId).toList());
+        }
+
+        // The tie straddles the first page boundary without repeating or dropping a post
+        assertEquals(List.of(List.of(e, c), List.of(b, d), List.of(a)), pages);
+        assertEquals(0, medicalPostRepository.findPageByPostProviderId(providerId, PageRequest.of(3, 2, newestFirst))
+                .getNumberOfElements());
+        assertEquals(2, medicalPostRepository.findPageByPostProviderId(otherDoctor, PageRequest.of(0, 10, newestFirst))
+                .getTotalElements());
+    }
+
+    /**
+     * Gives a post one row in every table that references it, directly or through its comments.
+     * Ids are offset from the post id so two posts' rows do not collide.
+     */
+    private void engagement(long postId) {
+        long comment = postId + 100, reply = postId + 200;
+        jdbcTemplate.update("INSERT INTO medical_post_like (id, created_at, like_giver_id, post_id) VALUES (?, now(), ?, ?)",
+                postId + 300, providerId, postId);
+        jdbcTemplate.update("INSERT INTO medical_post_comment (id, commenter_id, content, created_at, post_id) " +
+                "VALUES (?, ?, 'comment', now(), ?)", comment, providerId, postId);
+        jdbcTemplate.update("INSERT INTO comment_like (id, created_at, like_giver_id, comment_id) VALUES (?, now(), ?, ?)",
+                postId + 400, providerId, comment);
+        jdbcTemplate.update("INSERT INTO comment_reply (id, content, created_at, replier_id, comment_id) " +
+                "VALUES (?, 'reply', now(), ?, ?)", reply, providerId, comment);
+        jdbcTemplate.update("INSERT INTO comment_reply_like (id, created_at, like_giver_id, reply_id) VALUES (?, now(), ?, ?)",
+                postId + 500, providerId, reply);
+        jdbcTemplate.update("INSERT INTO medical_post_rating (post_id, provider_id, created_at, truth_rank) " +
+                "VALUES (?, ?, now(), 'VERIFIED')", postId, providerId);
+        report(postId, "2026-03-01 10:00:00", false);
+        // One notification about the post, one about its comment only
+        jdbcTemplate.update("INSERT INTO notifications (id, created_at, is_read, type, actor_id, recipient_id, post_id) " +
+                "VALUES (?, now(), false, 'POST_LIKE', ?, ?, ?)", postId + 600, providerId, providerId, postId);
+        jdbcTemplate.update("INSERT INTO notifications (id, created_at, is_read, type, actor_id, recipient_id, comment_id) " +
+                "VALUES (?, now(), false, 'COMMENT_REPLY', ?, ?, ?)", postId + 700, providerId, providerId, comment);
+    }
+
+    /**
+     * Rows belonging to {@code postId} in each dependent table, keyed by table.
+     */
+    private Map<String, Integer> dependents(long postId) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        String comments = "SELECT id FROM medical_post_comment WHERE post_id = ?";
+        count(counts, "medical_post", "SELECT count(*) FROM medical_post WHERE id = ?", postId);
+        count(counts, "medical_post_like", "SELECT count(*) FROM medical_post_like WHERE post_id = ?", postId);
+        count(counts, "medical_post_comment", "SELECT count(*) FROM medical_post_comment WHERE post_id = ?", postId);
+        count(counts, "medical_post_rating", "SELECT count(*) FROM medical_post_rating WHERE post_id = ?", postId);
+        count(counts, "medical_post_report", "SELECT count(*) FROM medical_post_report WHERE post_id = ?", postId);
+        count(counts, "notifications", "SELECT count(*) FROM notifications WHERE id IN (?, ?)", postId + 600, postId + 700);
+        count(counts, "comment_like", "SELECT count(*) FROM comment_like WHERE id = ?", postId + 400);
+        count(counts, "comment_reply", "SELECT count(*) FROM comment_reply WHERE id = ?", postId + 200);
+        count(counts, "comment_reply_like", "SELECT count(*) FROM comment_reply_like WHERE id = ?", postId + 500);
+        return counts;
+    }
+
+    private void count(Map<String, Integer> counts, String table, String sql, Object... args) {
+        counts.put(table, jdbcTemplate.queryForObject(sql, Integer.class, args));
+    }
+
+    @Test
+    public void testDeletePostCascadeRemovesEveryDependentRowAndLeavesNoOrphans() {
+        long deleted = FIRST_POST_ID, kept = FIRST_POST_ID + 1;
+        post(deleted);
+        post(kept);
+        engagement(deleted);
+        engagement(kept);
+
+        Map<String, Integer> before = dependents(deleted);
+        int rows = medicalPostRepository.deletePostCascade(deleted);
+
+        assertEquals(before.values().stream().mapToInt(Integer::intValue).sum(), rows);
+        dependents(deleted).forEach((table, count) -> assertEquals(0, count, table));
+        // The other post keeps all of its rows
+        assertEquals(before, dependents(kept));
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM comment_reply_like l " +
+                "WHERE NOT EXISTS (SELECT 1 FROM comment_reply r WHERE r.id = l.reply_id)", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM comment_reply r " +
+                "WHERE NOT EXISTS (SELECT 1 FROM medical_post_comment c WHERE c.id = r.comment_id)", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM comment_like l " +
+                "WHERE NOT EXISTS (SELECT 1 FROM medical_post_comment c WHERE c.id = l.comment_id)", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM notifications n " +
+                "WHERE (n.post_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM medical_post p WHERE p.id = n.post_id)) " +
+                "OR (n.comment_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM medical_post_comment c WHERE c.id = n.comment_id))",
+                Integer.class));
+    }
+}
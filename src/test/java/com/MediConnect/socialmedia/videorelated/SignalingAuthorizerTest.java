@@ -0,0 +1,110 @@
+package com.MediConnect.socialmedia.videorelated;
+
+import com.MediConnect.EntryRelated.repository.AppointmentRepository;
+import com.MediConnect.EntryRelated.repository.AppointmentRepository.CallParticipantsView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SignalingAuthorizerTest {
+
+    private static final Principal PATIENT = () -> "patient.one";
+    private static final Principal DOCTOR = () -> "dr.house";
+
+    private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+    private final SignalingAuthorizer authorizer = new SignalingAuthorizer(appointmentRepository);
+
+    @BeforeEach
+    public void setup() {
+        when(appointmentRepository.findCallParticipants(12)).thenReturn(Optional.of(view(true)));
+        when(appointmentRepository.findCallParticipants(13)).thenReturn(Optional.of(view(false)));
+        when(appointmentRepository.findCallParticipants(99)).thenReturn(Optional.empty());
+    }
+
+    private static CallParticipantsView view(boolean videoCall) {
+        return new CallParticipantsView() {
+            @Override
+            public String getPatientUsername() {
+                return "patient.one";
+            }
+
+            @Override
+            public String getDoctorUsername() {
+                return "dr.house";
+            }
+
+            @Override
+            public Boolean getIsVideoCall() {
+                return videoCall;
+            }
+        };
+    }
+
+    private static SimpMessageHeaderAccessor session() {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create();
+        headers.setSessionAttributes(new HashMap<>());
+        return headers;
+    }
+
+    @Test
+    public void testEachSideGetsTheOtherAsPeer() {
+        assertEquals(new CallParticipants(12, "patient.one", "dr.house"), authorizer.authorize(session(), 12, PATIENT));
+        assertEquals(new CallParticipants(12, "dr.house", "patient.one"), authorizer.authorize(session(), 12, DOCTOR));
+    }
+
+    @Test
+    public void testNonParticipantIsRejected() {
+        assertThrows(AccessDeniedException.class, () -> authorizer.authorize(session(), 12, () -> "someone.else"));
+        assertThrows(AccessDeniedException.class, () -> authorizer.authorize(session(), 12, null));
+    }
+
+    @Test
+    public void testAppointmentThatIsNotAVideoCallIsRejected() {
+        assertThrows(AccessDeniedException.class, () -> authorizer.authorize(session(), 13, PATIENT));
+    }
+
+    @Test
+    public void testUnknownAppointmentIsRejected() {
+        assertThrows(AccessDeniedException.class, () -> authorizer.authorize(session(), 99, PATIENT));
+    }
+
+    @Test
+    public void testGrantIsLookedUpOncePerSessionAndAppointment() {
+        SimpMessageHeaderAccessor session = session();
+        for (int i = 0; i < 3; i++) {
+            authorizer.authorize(session, 12, PATIENT);
+        }
+        verify(appointmentRepository, times(1)).findCallParticipants(12);
+
+        // Another appointment in the same session, and the same appointment in a new session, look up again
+        assertThrows(AccessDeniedException.class, () -> authorizer.authorize(session, 13, PATIENT));
+        authorizer.authorize(session(), 12, PATIENT);
+        verify(appointmentRepository, times(1)).findCallParticipants(13);
+        verify(appointmentRepository, times(2)).findCallParticipants(12);
+
+        // A rejected lookup is not cached
+        assertThrows(AccessDeniedException.class, () -> authorizer.authorize(session, 13, PATIENT));
+        verify(appointmentRepository, times(2)).findCallParticipants(13);
+    }
+
+    @Test
+    public void testGrantIsNotReusedForAnotherUserOfTheSession() {
+        SimpMessageHeaderAccessor session = session();
+        authorizer.authorize(session, 12, PATIENT);
+
+        assertThrows(AccessDeniedException.class, () -> authorizer.authorize(session, 12, () -> "someone.else"));
+        verify(appointmentRepository, times(2)).findCallParticipants(12);
+    }
+}
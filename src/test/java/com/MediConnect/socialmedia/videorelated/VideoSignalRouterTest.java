@@ -0,0 +1,127 @@
+package com.MediConnect.socialmedia.videorelated;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class VideoSignalRouterTest {
+
+    private static final CallParticipants DOCTOR_SIDE = new CallParticipants(12, "dr.house", "patient.one");
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VideoSignalRouter router;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        router = new VideoSignalRouter(messagingTemplate, meterRegistry, Duration.ofMillis(50), 3);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        router.shutdown();
+    }
+
+    private static VideoSignal candidate(String value) {
+        return new VideoSignal("ice-candidate", null, value, null, null);
+    }
+
+    @Test
+    public void testCandidateBurstIsDeliveredAsOneBatchToThePeerOnly() {
+        router.route(DOCTOR_SIDE, candidate("c1"));
+        router.route(DOCTOR_SIDE, candidate("c2"));
+        verify(messagingTemplate, never()).convertAndSendToUser(any(), any(), any());
+
+        ArgumentCaptor<VideoSignal> sent = ArgumentCaptor.forClass(VideoSignal.class);
+        verify(messagingTemplate, timeout(1000)).convertAndSendToUser(eq("patient.one"), eq("/queue/video/12"), sent.capture());
+        assertEquals("ice-candidates", sent.getValue().getType());
+        assertEquals(List.of("c1", "c2"), sent.getValue().getCandidates());
+        assertEquals("dr.house", sent.getValue().getSender());
+    }
+
+    @Test
+    public void testFullBatchIsSentWithoutWaiting() {
+        router.route(DOCTOR_SIDE, candidate("c1"));
+        router.route(DOCTOR_SIDE, candidate("c2"));
+        router.route(DOCTOR_SIDE, candidate("c3"));
+
+        verify(messagingTemplate).convertAndSendToUser(eq("patient.one"), eq("/queue/video/12"), any());
+    }
+
+    @Test
+    public void testOfferFlushesPendingCandidatesFirst() {
+        router.route(DOCTOR_SIDE, candidate("c1"));
+        router.route(DOCTOR_SIDE, new VideoSignal("offer", "v=0", null, "spoofed", "someone-else"));
+
+        ArgumentCaptor<VideoSignal> sent = ArgumentCaptor.forClass(VideoSignal.class);
+        InOrder order = inOrder(messagingTemplate);
+        order.verify(messagingTemplate, times(2))
+                .convertAndSendToUser(eq("patient.one"), eq("/queue/video/12"), sent.capture());
+        assertEquals("ice-candidates", sent.getAllValues().get(0).getType());
+        assertEquals("offer", sent.getAllValues().get(1).getType());
+        assertEquals("dr.house", sent.getAllValues().get(1).getSender());
+    }
+
+    @Test
+    public void testOfferRoutedWhileABatchIsBeingSentWaitsForIt() throws Exception {
+        CountDownLatch batchSending = new CountDownLatch(1);
+        CountDownLatch releaseBatch = new CountDownLatch(1);
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            VideoSignal signal = invocation.getArgument(2);
+            if ("ice-candidates".equals(signal.getType())) {
+                batchSending.countDown();
+                // The broker is slow to take the batch
+                releaseBatch.await(5, TimeUnit.SECONDS);
+            }
+            delivered.add(signal.getType());
+            return null;
+        }).when(messagingTemplate).convertAndSendToUser(any(), any(), any());
+
+        router.route(DOCTOR_SIDE, candidate("c1"));
+        // The window expires and the flusher thread starts sending the batch
+        assertTrue(batchSending.await(5, TimeUnit.SECONDS));
+        Thread offer = new Thread(() -> router.route(DOCTOR_SIDE, new VideoSignal("offer", "v=0", null, null, null)));
+        offer.start();
+        offer.join(200);
+        releaseBatch.countDown();
+        offer.join(5000);
+
+        assertEquals(List.of("ice-candidates", "offer"), delivered);
+    }
+
+    @Test
+    public void testAnswerRecordsCallSetupTime() {
+        router.route(DOCTOR_SIDE, new VideoSignal("offer", "v=0", null, null, null));
+        router.route(new CallParticipants(12, "patient.one", "dr.house"), new VideoSignal("answer", "v=0", null, null, null));
+
+        assertEquals(1, meterRegistry.get("mediconnect.video.call.setup").timer().count());
+    }
+}
@@ -0,0 +1,66 @@
+package com.MediConnect.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * One embedded PostgreSQL 14 per test JVM, migrated with the application's Flyway scripts.
+ * <p>
+ * For tests of native SQL (SKIP LOCKED, upserts, partitions, keyset cursors) that H2 cannot
+ * stand in for. Tests share the database, so each one cleans up the rows it wrote or runs in a
+ * rolled-back transaction.
+ */
+public final class TestDatabase {
+
+    private static EmbeddedPostgres postgres;
+    private static DataSource dataSource;
+
+    private TestDatabase() {
+    }
+
+    public static synchronized DataSource dataSource() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            // One instance, so transaction managers and templates built on it share connections
+            dataSource = postgres.getPostgresDatabase();
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException e) {
+                    // The temporary data directory is removed with the JVM's temp files
+                }
+            }));
+        }
+        return dataSource;
+    }
+
+    public static JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource());
+    }
+
+    /**
+     * Points a Spring test context (e.g. {@code @DataJpaTest}) at the embedded database.
+     * Call from a {@code @DynamicPropertySource} method.
+     */
+    public static void register(DynamicPropertyRegistry registry) {
+        dataSource();
+        registry.add("spring.datasource.url", () -> "jdbc:postgresql://localhost:" + postgres.getPort() + "/postgres");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+}
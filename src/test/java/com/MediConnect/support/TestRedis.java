@@ -0,0 +1,71 @@
+package com.MediConnect.support;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+
+/**
+ * One embedded redis-server per test JVM, without persistence.
+ * <p>
+ * For tests of the Lua scripts and conditional writes that a mocked template cannot check.
+ * Tests share the server, so each one flushes it or uses its own keys.
+ */
+public final class TestRedis {
+
+    private static final String LOOPBACK = "127.0.0.1";
+
+    private static RedisServer redis;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private TestRedis() {
+    }
+
+    public static synchronized LettuceConnectionFactory connectionFactory() {
+        if (redis == null) {
+            try {
+                int port;
+                try (ServerSocket socket = new ServerSocket(0)) {
+                    port = socket.getLocalPort();
+                }
+                redis = RedisServer.newRedisServer()
+                        .bind(LOOPBACK)
+                        .port(port)
+                        .setting("save \"\"")
+                        .setting("appendonly no")
+                        .build();
+                redis.start();
+                connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(LOOPBACK, port));
+                connectionFactory.afterPropertiesSet();
+                connectionFactory.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                connectionFactory.destroy();
+                try {
+                    redis.stop();
+                } catch (IOException e) {
+                    // The child process exits with the JVM
+                }
+            }));
+        }
+        return connectionFactory;
+    }
+
+    public static StringRedisTemplate stringRedisTemplate() {
+        StringRedisTemplate template = new StringRedisTemplate(connectionFactory());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    public static void flushAll() {
+        try (var connection = connectionFactory().getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+    }
+}